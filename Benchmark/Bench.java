@@ -0,0 +1,200 @@
+package Benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Bench - Arnés de micro-benchmarks (al estilo JMH, sin dependencias)
+ *
+ * Cada benchmark es una operación que recibe un índice (para variar la
+ * entrada sin armar objetos) y devuelve un long que se acumula, así el JIT
+ * no puede eliminar el trabajo como código muerto.
+ *
+ * Por benchmark:
+ * - Calibra cuántas operaciones entran en ~100 us (lote) para que leer el
+ * reloj no pese en operaciones de pocos ns
+ * - Corre WARMUP iteraciones sin medir (compilación del JIT) y después
+ * ITERATIONS iteraciones de MILLIS ms cada una
+ * - Informa ns/op promedio con el error al 99,9% (como JMH: t * desvío /
+ * raíz de n)
+ *
+ * Configuración (propiedades del sistema):
+ * - badicecream.bench.warmup: iteraciones de calentamiento (5 por defecto)
+ * - badicecream.bench.iterations: iteraciones medidas (5 por defecto)
+ * - badicecream.bench.millis: duración de cada iteración (200 por defecto)
+ * - badicecream.bench.filter: expresión regular sobre el nombre (todas por
+ * defecto)
+ * - badicecream.bench.csv: archivo donde se escriben los resultados
+ */
+final class Bench {
+
+    static final int WARMUP = Math.max(0, Integer.getInteger("badicecream.bench.warmup", 5));
+    static final int ITERATIONS = Math.max(2, Integer.getInteger("badicecream.bench.iterations", 5));
+    static final int MILLIS = Math.max(10, Integer.getInteger("badicecream.bench.millis", 200));
+    private static final Pattern FILTER = Pattern.compile(System.getProperty("badicecream.bench.filter", ".*"));
+    private static final long BATCH_NANOS = 100_000L;
+
+    // t de Student al 99,9% (dos colas) según grados de libertad
+    private static final double[] T_999 = { 636.6, 31.60, 12.92, 8.610, 6.869, 5.959, 5.408, 5.041, 4.781,
+            4.587, 4.437, 4.318, 4.221, 4.140, 4.073, 4.015, 3.965, 3.922, 3.883, 3.850 };
+
+    /**
+     * Operación medida
+     */
+    interface Op {
+        long run(int i);
+    }
+
+    /**
+     * Resultado de un benchmark
+     */
+    static final class Result {
+        final String name;
+        final String params;
+        final double nanosPerOp;
+        final double error;
+        final long operations;
+
+        Result(String name, String params, double nanosPerOp, double error, long operations) {
+            this.name = name;
+            this.params = params;
+            this.nanosPerOp = nanosPerOp;
+            this.error = error;
+            this.operations = operations;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-34s %-22s %14.1f ± %10.1f ns/op", name, params, nanosPerOp, error);
+        }
+    }
+
+    // Acumulador de los valores devueltos (se publica al final de cada lote)
+    private static volatile long sink;
+    private final List<Result> results = new ArrayList<>();
+
+    /**
+     * Indica si un benchmark pasa el filtro (para no armar su escenario)
+     */
+    boolean enabled(String name) {
+        return FILTER.matcher(name).find();
+    }
+
+    /**
+     * Mide una operación e imprime el resultado
+     *
+     * @param name   Nombre del benchmark (ej. Board.isValidPosition)
+     * @param params Parámetros del escenario (ej. tamaño=100 entidades=200)
+     */
+    Result run(String name, String params, Op op) {
+        if (!enabled(name)) {
+            return null;
+        }
+        int batch = calibrate(op);
+        int index = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            index = iteration(op, batch, index, null);
+        }
+        double[] samples = new double[ITERATIONS];
+        long[] operations = new long[1];
+        long total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            operations[0] = 0;
+            long start = System.nanoTime();
+            index = iteration(op, batch, index, operations);
+            samples[i] = (double) (System.nanoTime() - start) / operations[0];
+            total += operations[0];
+        }
+
+        double mean = 0;
+        for (double sample : samples) {
+            mean += sample;
+        }
+        mean /= samples.length;
+        double variance = 0;
+        for (double sample : samples) {
+            variance += (sample - mean) * (sample - mean);
+        }
+        variance /= samples.length - 1;
+        double t = T_999[Math.min(samples.length - 2, T_999.length - 1)];
+        double error = t * Math.sqrt(variance / samples.length);
+
+        Result result = new Result(name, params, mean, error, total);
+        results.add(result);
+        System.out.println(result);
+        return result;
+    }
+
+    /**
+     * Una iteración de MILLIS ms (en lotes enteros)
+     *
+     * @return Próximo índice de entrada
+     */
+    private static int iteration(Op op, int batch, int index, long[] operations) {
+        long deadline = System.nanoTime() + MILLIS * 1_000_000L;
+        long done = 0;
+        do {
+            index = runBatch(op, batch, index);
+            done += batch;
+        } while (System.nanoTime() < deadline);
+        if (operations != null) {
+            operations[0] = done;
+        }
+        return index;
+    }
+
+    private static int runBatch(Op op, int batch, int index) {
+        long acc = 0;
+        for (int i = 0; i < batch; i++) {
+            acc += op.run(index++);
+        }
+        sink += acc;
+        return index & 0x3FFFFFFF;
+    }
+
+    /**
+     * Tamaño de lote que tarda al menos BATCH_NANOS
+     */
+    private static int calibrate(Op op) {
+        int batch = 1;
+        while (batch < 1 << 20) {
+            long start = System.nanoTime();
+            runBatch(op, batch, 0);
+            if (System.nanoTime() - start >= BATCH_NANOS) {
+                break;
+            }
+            batch <<= 1;
+        }
+        return batch;
+    }
+
+    List<Result> getResults() {
+        return results;
+    }
+
+    /**
+     * Escribe los resultados en CSV (nombre, parámetros, ns/op, error,
+     * operaciones)
+     */
+    void writeCsv(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("benchmark,parametros,ns_por_op,error,operaciones");
+            writer.newLine();
+            for (Result result : results) {
+                writer.write(String.format(Locale.ROOT, "%s,%s,%.3f,%.3f,%d", result.name, result.params,
+                        result.nanosPerOp, result.error, result.operations));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package Benchmark;
+
+import Controller.GameController;
+import Domain.*;
+import Presentation.GamePanel;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HotPathBenchmarks - Benchmarks de los caminos calientes del juego
+ *
+ * Mide, para cada tamaño de tablero y cantidad de entidades:
+ * - Board.isValidPosition / getFruitAt / getEmptyPositions
+ * - Board.createIceBlock + breakIceBlocks y toggleIceBlocks sobre una fila
+ * que cruza todo el tablero
+ * - getNextMove de cada IceCreamAIStrategy registrada
+ * - GameController.getViewData
+ * - GamePanel.paintComponent sobre una imagen fuera de pantalla
+ *
+ * Ejecución (desde la raíz del proyecto, con Resources/ a mano para los
+ * sprites):
+ *
+ * javac -d out $(find Domain Controller Presentation Benchmark -name "*.java")
+ * java -Djava.awt.headless=true -cp out Benchmark.HotPathBenchmarks
+ *
+ * Parámetros (propiedades del sistema, además de las de Bench):
+ * - badicecream.bench.sizes: lados del tablero (15,50,100,200 por defecto)
+ * - badicecream.bench.entities: frutas por tablero (10,200 por defecto); los
+ * enemigos son una décima parte (al menos uno)
+ * - badicecream.bench.maxPaintSize: lado máximo para medir el pintado (256
+ * por defecto; el panel solo recorre los bloques de 16x16 celdas que ve la
+ * cámara, así que el pintado casi no depende del lado; la captura de ViewData
+ * sigue siendo lineal en la cantidad de entidades)
+ */
+public class HotPathBenchmarks {
+
+    private static final int[] SIZES = parseList(System.getProperty("badicecream.bench.sizes", "15,50,100,200"));
+    private static final int[] ENTITIES = parseList(System.getProperty("badicecream.bench.entities", "10,200"));
+    private static final int MAX_PAINT_SIZE = Integer.getInteger("badicecream.bench.maxPaintSize", 256);
+
+    // Posiciones de consulta precalculadas (potencia de 2 para indexar con máscara)
+    private static final int QUERY_COUNT = 4096;
+
+    public static void main(String[] args) throws Exception {
+        // Los escenarios no deben llenar la consola
+        GameLog.LogLevel logLevel = GameLog.getLevel();
+        GameLog.setLevel(GameLog.LogLevel.WARN);
+
+        System.out.println("========== BENCHMARKS ==========");
+        System.out.println("Calentamiento: " + Bench.WARMUP + " x " + Bench.MILLIS + " ms, medición: "
+                + Bench.ITERATIONS + " x " + Bench.MILLIS + " ms\n");
+
+        Bench bench = new Bench();
+        for (int size : SIZES) {
+            for (int entities : ENTITIES) {
+                runScenario(bench, size, entities);
+            }
+        }
+
+        String csv = System.getProperty("badicecream.bench.csv");
+        if (csv != null && !csv.isBlank()) {
+            bench.writeCsv(Paths.get(csv));
+            System.out.println("\nResultados en " + csv);
+        }
+        GameLog.setLevel(logLevel);
+        System.out.println("\n========== FIN BENCHMARKS ==========");
+    }
+
+    private static void runScenario(Bench bench, int size, int requestedEntities) {
+        Game game = createGame(size, requestedEntities);
+        Board board = game.getBoard();
+        String params = "lado=" + size + " frutas=" + board.getFruits().size() + " enemigos="
+                + board.getEnemies().size();
+        System.out.println("--- " + params + " ---");
+
+        // Consultas sobre todo el tablero (incluye bordes y muros)
+        GameRandom random = new GameRandom(size * 7919L + requestedEntities);
+        Position[] queries = new Position[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            queries[i] = new Position(random.nextInt(size), random.nextInt(size));
+        }
+        int mask = QUERY_COUNT - 1;
+
+        bench.run("Board.isValidPosition", params, i -> board.isValidPosition(queries[i & mask]) ? 1 : 0);
+        bench.run("Board.getFruitAt", params, i -> board.getFruitAt(queries[i & mask]) != null ? 1 : 0);
+        bench.run("Board.getEmptyPositions", params, i -> board.getEmptyPositions().size());
+
+        // Fila de hielo de lado a lado: el helado mira a la derecha desde el borde izquierdo
+        IceCream iceCream = board.getIceCream();
+        iceCream.setCurrentDirection(Direction.RIGHT);
+        bench.run("Board.createIceBlock+break", params, i -> board.createIceBlock() + board.breakIceBlocks());
+        bench.run("Board.toggleIceBlocks x2", params, i -> board.toggleIceBlocks() - board.toggleIceBlocks());
+
+        for (String name : IceCreamAIStrategyManager.getAvailableStrategies()) {
+            String benchmark = "AI." + name + ".getNextMove";
+            if (!bench.enabled(benchmark)) {
+                continue;
+            }
+            IceCreamAIStrategy strategy = IceCreamAIStrategyManager.getStrategy(name);
+            bench.run(benchmark, params, i -> {
+                Direction move = strategy.getNextMove(board, iceCream);
+                return move != null ? move.ordinal() : -1;
+            });
+        }
+
+        if (!bench.enabled("GameController.getViewData") && !bench.enabled("GamePanel.paintComponent")) {
+            return;
+        }
+        GameController controller = new GameController(game);
+        controller.stopGame(); // Sin game loop: solo se mide lo que se llama aquí
+        bench.run("GameController.getViewData", params, i -> controller.getViewData().enemies.size());
+
+        if (size <= MAX_PAINT_SIZE && bench.enabled("GamePanel.paintComponent")) {
+            GamePanel panel = controller.getGamePanel();
+            panel.setSize(panel.getPreferredSize());
+            BufferedImage image = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            bench.run("GamePanel.paintComponent", params, i -> {
+                panel.paint(g);
+                return image.getRGB(i & 7, i & 7);
+            });
+            g.dispose();
+        }
+    }
+
+    /**
+     * Tablero cuadrado con borde de muros, frutas y trolls en posiciones
+     * sorteadas (semilla fija por escenario) y el helado en el borde
+     * izquierdo, a media altura
+     */
+    private static Game createGame(int size, int entities) {
+        Level level = new Level(1, "Banco " + size, size, size);
+        for (int i = 0; i < size; i++) {
+            level.addWallPosition(new Position(i, 0));
+            level.addWallPosition(new Position(i, size - 1));
+            level.addWallPosition(new Position(0, i));
+            level.addWallPosition(new Position(size - 1, i));
+        }
+        level.setIceCreamStartPosition(new Position(1, size / 2));
+
+        // Que sobre lugar para moverse: a lo sumo la mitad del interior ocupado
+        int interior = (size - 2) * (size - 2);
+        int fruits = Math.min(entities, interior / 2);
+        Map<String, Integer> fruitConfig = new HashMap<>();
+        fruitConfig.put("Uvas", fruits);
+        Map<String, Integer> enemyConfig = new HashMap<>();
+        enemyConfig.put("Troll", Math.max(1, Math.min(fruits / 10, interior / 4)));
+
+        Game game = new Game(GameMode.PVM, "CHOCOLATE", null, null, enemyConfig, fruitConfig, null);
+        game.setSeed(size * 31L + entities);
+        game.startLevel(level);
+        return game;
+    }
+
+    private static int[] parseList(String value) {
+        String[] parts = value.split(",");
+        int[] numbers = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            numbers[i] = Integer.parseInt(parts[i].trim());
+        }
+        return numbers;
+    }
+}
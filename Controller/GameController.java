@@ -8,6 +8,7 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntConsumer;
 import Domain.GameState;
 
 /**
@@ -35,6 +36,7 @@ public class GameController implements KeyListener {
     private Game game;
     private GamePanel gamePanel;
     private Timer gameTimer;
+    private LevelManager levelManager; // Niveles de la carpeta levels/ (se crea al pedir el primero)
 
     // Callbacks
     private Runnable onReturnToMenuClick; // Callback para volver al menú
@@ -47,6 +49,33 @@ public class GameController implements KeyListener {
     private boolean running;
     private static final int FPS = 60;
     private static final int FRAME_TIME = 1000 / FPS; // 16ms por frame
+    private long lastFrameTime; // Instante (nanoTime) del último frame procesado
+    private long frameInputTime; // Momento del frame en el reloj de InputHandler
+    private long frameInputNanos; // Tiempo procesando entrada en el frame (perfil)
+    private final IntConsumer tickInput = this::processTickInput; // Sin lambda nueva por frame
+    private long lastAutoSaveTime; // Tiempo de juego (GameClock) del último autoguardado
+    private long lastSnapshotTime; // Tiempo de juego (GameClock) de la última instantánea
+    private static final int REWIND_STEP_SECONDS = 3; // Segundos que retrocede la tecla R
+
+    // ViewData con doble buffer: se escribe el de atrás y luego se publica
+    private final ViewData[] viewBuffers = { new ViewData(), new ViewData() };
+    private final Board[] bufferBoards = new Board[2]; // Tablero copiado en cada buffer
+    private final int[] bufferVersions = new int[2]; // Ocupación copiada en cada buffer
+    private Board staticBoard; // Tablero y versión sólida de la última capa estática
+    private int staticSolidVersion;
+    private int staticVersion; // Se publica en ViewData.staticVersion
+    private volatile int publishedIndex;
+    private boolean publishedOnce;
+    private final Map<String, String> lowerCaseNames = new java.util.HashMap<>();
+
+    // Perfil de frames: uno por sesión (se acumula entre niveles y, con
+    // badicecream.profileCsv, se exporta a CSV al salir); F3 muestra el overlay
+    private static final FrameProfiler PROFILER = new FrameProfiler();
+    private static final FrameProfiler.Phase[] PROFILE_PHASES = FrameProfiler.Phase.values();
+    static {
+        PROFILER.exportOnExit();
+    }
+    private boolean profilerVisible;
 
     // Estrategia de IA para el helado
     private String iceCreamAIStrategy; // Nombre de la estrategia de IA
@@ -62,10 +91,16 @@ public class GameController implements KeyListener {
     private long lastDirectionChangeTime = 0; // Momento del último cambio de dirección
     private static final long DIRECTION_TIMEOUT = 200; // 200ms para cambiar de dirección sin mover
 
-    // Sistema de timing para orientación vs movimiento
-    private java.util.Map<Integer, Long> keyPressTime = new java.util.HashMap<>(); // Tiempo que se presionó cada tecla
+    // Sistema de timing para orientación vs movimiento (ver InputHandler.getHeldMillis)
     private static final long ORIENTATION_THRESHOLD = 100; // 0.10 segundos: si se suelta antes, solo orienta
 
+    // Teclas de dirección por jugador (por orden de prioridad) y su bit en PlayerInput
+    private static final int[] FIRST_PLAYER_KEYS = { KeyEvent.VK_W, KeyEvent.VK_S, KeyEvent.VK_A, KeyEvent.VK_D };
+    private static final int[] SECOND_PLAYER_KEYS = { KeyEvent.VK_UP, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT,
+            KeyEvent.VK_RIGHT };
+    private static final int[] DIRECTION_BITS = { PlayerInput.UP, PlayerInput.DOWN, PlayerInput.LEFT,
+            PlayerInput.RIGHT };
+
     /**
      * Constructor del GameController
      * 
@@ -142,7 +177,7 @@ public class GameController implements KeyListener {
         // Restaurar el estado de juego a PLAYING (si estaba pausado al guardar)
         if (game != null && game.getGameState() != Domain.GameState.PLAYING) {
             game.setGameState(Domain.GameState.PLAYING);
-            System.out.println("[OK] Estado del juego restaurado a PLAYING");
+            GameLog.info("[OK] Estado del juego restaurado a PLAYING");
         }
 
         // Crear la View (GamePanel)
@@ -163,9 +198,9 @@ public class GameController implements KeyListener {
 
         // Iniciar el juego automáticamente
         this.running = true;
-        this.gameTimer.start();
+        startGameTimer();
 
-        System.out.println("[OK] GameController creado con juego cargado y ejecutándose");
+        GameLog.info("[OK] GameController creado con juego cargado y ejecutándose");
     }
 
     /**
@@ -175,213 +210,190 @@ public class GameController implements KeyListener {
     private void setupGameTimer() {
         gameTimer = new Timer(FRAME_TIME, e -> {
             if (running) {
-                // 1. Procesar entradas de teclado presionadas actualmente
-                processInputs();
+                long now = System.nanoTime();
+                long elapsedMs = (now - lastFrameTime) / 1_000_000L;
+                lastFrameTime += elapsedMs * 1_000_000L;
 
-                // 2. Actualizar el Model (lógica del juego)
-                game.update();
+                // 1-2. Actualizar el Model con pasos fijos (N ticks, un
+                // render); antes de cada tick se aplica la entrada de ese tick
+                long frameStart = PROFILER.start();
+                frameInputTime = InputHandler.now();
+                frameInputNanos = 0;
+                game.advance(elapsedMs, tickInput);
+                PROFILER.record(FrameProfiler.Phase.INPUT, frameInputNanos);
 
-                // 3. Actualizar la View (redibujar)
-                gamePanel.repaint();
+                // 3. Actualizar la View (redibujar solo las regiones que cambiaron)
+                gamePanel.repaintDirtyRegions();
 
                 // 4. Verificar si terminó el juego
                 checkGameEnd();
+
+                // 5. Autoguardado periódico (la escritura va en segundo plano)
+                checkAutoSave();
+
+                // 6. Instantánea delta para retroceder
+                checkSnapshot();
+
+                PROFILER.lap(FrameProfiler.Phase.FRAME, frameStart);
+                PROFILER.endFrame();
             }
         });
+        lastAutoSaveTime = game.getClock().now();
+        lastSnapshotTime = lastAutoSaveTime;
+
+        // Cada nivel que empiece se graba para poder reproducirlo
+        game.setRecording(ReplayLog.ENABLED);
+        game.setProfiler(PROFILER);
     }
 
     /**
-     * Procesa todas las teclas presionadas actualmente
-     * NUEVO SISTEMA: Si una tecla se presiona menos de 1 segundo, solo orienta
-     * Si se presiona más de 1 segundo, se mueve
+     * Autoguarda cada SaveWriter.AUTOSAVE_INTERVAL_SECONDS de juego
+     * Se cuenta tiempo de juego (GameClock): las pausas no disparan guardados
      */
-    private void processInputs() {
-        long currentTime = System.currentTimeMillis();
+    private void checkAutoSave() {
+        if (SaveWriter.AUTOSAVE_INTERVAL_SECONDS <= 0 || game.getGameState() != GameState.PLAYING) {
+            return;
+        }
+        long now = game.getClock().now();
+        if (now < lastAutoSaveTime) {
+            lastAutoSaveTime = now; // Se reemplazó el reloj de la partida
+        }
+        if (now - lastAutoSaveTime >= SaveWriter.AUTOSAVE_INTERVAL_SECONDS * 1000L) {
+            lastAutoSaveTime = now;
+            game.autoSave();
+        }
+    }
 
-        // ===== HELADO 1 (WASD) =====
-        // Solo procesar entrada si el helado NO está bajo control de IA
-        IceCream iceCream = game.getBoard().getIceCream();
-        if (iceCream != null && !iceCream.isAIControlled()) {
-            processIceCreamInput(currentTime, Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT,
-                    KeyEvent.VK_W, KeyEvent.VK_S, KeyEvent.VK_A, KeyEvent.VK_D,
-                    iceCream, true);
-        }
-
-        // ===== HELADO 2 O MONSTRUO (FLECHAS) =====
-        if (secondIceCreamFlavor != null) {
-            // Modo Cooperativo: Flechas controlan Helado 2
-            processIceCreamInput(currentTime, Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT,
-                    KeyEvent.VK_UP, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT,
-                    game.getBoard().getSecondIceCream(), false);
-        } else if (game.getGameMode() == GameMode.PVP) {
-            // Modo PVP: Flechas controlan Monstruo con mismo sistema de
-            // orientación/movimiento
-            List<Enemy> enemies = game.getBoard().getEnemies();
-            boolean narvalCharging = false;
-
-            // Verificar si el Narval está cargando
-            for (Enemy enemy : enemies) {
-                if (enemy instanceof Narval) {
-                    Narval narval = (Narval) enemy;
-                    if (narval.isCharging()) {
-                        narvalCharging = true;
-                        break;
-                    }
-                }
-            }
+    /**
+     * Toma una instantánea cada SnapshotJournal.SNAPSHOT_MILLIS de juego
+     */
+    private void checkSnapshot() {
+        if (game.getGameState() != GameState.PLAYING) {
+            return;
+        }
+        long now = game.getClock().now();
+        if (now < lastSnapshotTime || now - lastSnapshotTime >= SnapshotJournal.SNAPSHOT_MILLIS) {
+            lastSnapshotTime = now;
+            game.captureSnapshot();
+        }
+    }
 
-            // Solo procesar entrada de flechas si el Narval NO está cargando
-            if (!narvalCharging && !enemies.isEmpty()) {
-                processEnemyInput(currentTime, enemies.get(0));
-            }
+    /**
+     * Retrocede la partida unos segundos y redibuja todo el tablero
+     */
+    private void handleRewind() {
+        if (game.rewind(REWIND_STEP_SECONDS)) {
+            lastSnapshotTime = game.getClock().now();
+            gamePanel.invalidateLayers();
+            gamePanel.repaint();
         }
     }
 
     /**
-     * Procesa la entrada para un helado específico
-     * ACTUALIZADO: Cambia el sprite según se mueva o esté quieto
+     * Arranca el game loop sin acumular el tiempo que estuvo detenido
      */
-    private void processIceCreamInput(long currentTime, Direction upDir, Direction downDir, Direction leftDir,
-            Direction rightDir, int upKey, int downKey, int leftKey, int rightKey, IceCream iceCream,
-            boolean isFirstIceCream) {
-        Direction directionToProcess = null;
-        int keyPressed = -1;
-
-        // Determinar qué tecla está presionada (por orden de prioridad)
-        if (inputHandler.isKeyPressed(upKey)) {
-            directionToProcess = upDir;
-            keyPressed = upKey;
-        } else if (inputHandler.isKeyPressed(downKey)) {
-            directionToProcess = downDir;
-            keyPressed = downKey;
-        } else if (inputHandler.isKeyPressed(leftKey)) {
-            directionToProcess = leftDir;
-            keyPressed = leftKey;
-        } else if (inputHandler.isKeyPressed(rightKey)) {
-            directionToProcess = rightDir;
-            keyPressed = rightKey;
-        }
-
-        if (directionToProcess != null && keyPressed != -1 && iceCream != null) {
-            // Obtener el tiempo que se ha presionado esta tecla
-            long pressTime = keyPressTime.getOrDefault(keyPressed, currentTime);
-            long elapsedTime = currentTime - pressTime;
-
-            // SIEMPRE actualizar la dirección
-            iceCream.setCurrentDirection(directionToProcess);
-
-            // Si se presionó >= 0.10 segundos, entonces MOVER
-            if (elapsedTime >= ORIENTATION_THRESHOLD) {
-                // NUEVO: Cambiar a acción "walk"
-                iceCream.setCurrentAction("walk");
-
-                if (isFirstIceCream) {
-                    game.moveIceCream(directionToProcess);
-                } else {
-                    game.moveSecondIceCream(directionToProcess);
-                }
-            } else {
-                // NUEVO: Si solo se orientó, mantener "stand"
-                if (!iceCream.getCurrentAction().equals("shoot") &&
-                        !iceCream.getCurrentAction().equals("break")) {
-                    iceCream.setCurrentAction("stand");
-                }
-            }
-        } else if (iceCream != null) {
-            // NUEVO: No hay teclas presionadas, volver a "stand"
-            if (!iceCream.getCurrentAction().equals("shoot") &&
-                    !iceCream.getCurrentAction().equals("break")) {
-                iceCream.setCurrentAction("stand");
-            }
+    private void startGameTimer() {
+        lastFrameTime = System.nanoTime();
+        gameTimer.start();
+    }
+
+    /**
+     * Entrada de un tick (la llama Game.advance antes de cada tick)
+     * El tick corresponde al momento del frame menos los ticks que faltan,
+     * así un frame lento reparte en sus ticks las teclas en el orden en que
+     * llegaron.
+     */
+    private void processTickInput(int ticksAfter) {
+        long start = PROFILER.start();
+        processInputs(frameInputTime - (long) ticksAfter * GameClock.TICK_MS);
+        if (start != 0) {
+            frameInputNanos += System.nanoTime() - start;
         }
     }
 
     /**
-     * Procesa la entrada para un monstruo específico (PVP)
-     * ACTUALIZADO: Cambia el sprite según se mueva o esté quieto
+     * Procesa las teclas de un tick
+     * Vacía la cola de InputHandler hasta el momento del tick y traduce las
+     * teclas a una máscara por jugador (PlayerInput) que aplica
+     * Game.applyInput (y queda en la grabación): si una dirección se mantiene
+     * menos de ORIENTATION_THRESHOLD solo orienta, si no camina. Las acciones
+     * (Q / ESPACIO) presionadas desde el tick anterior se aplican junto con
+     * el movimiento.
+     *
+     * @param currentTime Momento del tick (reloj de InputHandler.now)
      */
-    private void processEnemyInput(long currentTime, Enemy enemy) {
-        if (enemy == null) {
-            return;
+    private void processInputs(long currentTime) {
+        inputHandler.drain(currentTime);
+        boolean actionsEnabled = game.getGameMode() != GameMode.MVM;
+
+        // ===== HELADO 1 (WASD) =====
+        game.applyInput(0, readInput(currentTime, FIRST_PLAYER_KEYS)
+                | (actionsEnabled && inputHandler.wasKeyPressed(KeyEvent.VK_Q) ? PlayerInput.ACTION : 0));
+
+        // ===== HELADO 2 (cooperativo) O MONSTRUO (PVP) CON FLECHAS =====
+        if (secondIceCreamFlavor != null || game.getGameMode() == GameMode.PVP) {
+            game.applyInput(1, readInput(currentTime, SECOND_PLAYER_KEYS)
+                    | (actionsEnabled && inputHandler.wasKeyPressed(KeyEvent.VK_SPACE) ? PlayerInput.ACTION : 0));
         }
+    }
 
-        Direction directionToProcess = null;
-        int keyPressed = -1;
-
-        // Determinar qué tecla está presionada (por orden de prioridad)
-        if (inputHandler.isKeyPressed(KeyEvent.VK_UP)) {
-            directionToProcess = Direction.UP;
-            keyPressed = KeyEvent.VK_UP;
-        } else if (inputHandler.isKeyPressed(KeyEvent.VK_DOWN)) {
-            directionToProcess = Direction.DOWN;
-            keyPressed = KeyEvent.VK_DOWN;
-        } else if (inputHandler.isKeyPressed(KeyEvent.VK_LEFT)) {
-            directionToProcess = Direction.LEFT;
-            keyPressed = KeyEvent.VK_LEFT;
-        } else if (inputHandler.isKeyPressed(KeyEvent.VK_RIGHT)) {
-            directionToProcess = Direction.RIGHT;
-            keyPressed = KeyEvent.VK_RIGHT;
-        }
-
-        if (directionToProcess != null && keyPressed != -1) {
-            // Obtener el tiempo que se ha presionado esta tecla
-            long pressTime = keyPressTime.getOrDefault(keyPressed, currentTime);
-            long elapsedTime = currentTime - pressTime;
-
-            // SIEMPRE actualizar la dirección del monstruo
-            enemy.setCurrentDirection(directionToProcess);
-
-            // Si se presionó >= 0.10 segundos, entonces MOVER
-            if (elapsedTime >= ORIENTATION_THRESHOLD) {
-                // NUEVO: Cambiar a acción "walk"
-                enemy.setCurrentAction("walk");
-                game.moveEnemy(0, directionToProcess);
-            } else {
-                // NUEVO: Solo se orientó, mantener "stand"
-                enemy.setCurrentAction("stand");
+    /**
+     * Máscara de dirección de un jugador (por orden de prioridad) y MOVE si la
+     * tecla se mantuvo al menos ORIENTATION_THRESHOLD
+     */
+    private int readInput(long currentTime, int[] keys) {
+        for (int i = 0; i < keys.length; i++) {
+            long heldMillis = inputHandler.getHeldMillis(keys[i], currentTime);
+            if (heldMillis >= 0) {
+                return DIRECTION_BITS[i] | (heldMillis >= ORIENTATION_THRESHOLD ? PlayerInput.MOVE : 0);
             }
-        } else {
-            // NUEVO: No hay teclas presionadas, volver a "stand"
-            enemy.setCurrentAction("stand");
         }
+        return 0;
     }
 
     /**
      * Inicia el juego en un nivel específico
+     * El nivel sale del LevelManager (archivos .lvl de levels/, o el
+     * predefinido si no hay archivo)
      * 
-     * @param levelNumber Número del nivel (1, 2, 3)
+     * @param levelNumber Número del nivel (1..getCantidadNiveles())
      */
     public void startLevel(int levelNumber) {
         try {
             // Intentar inicializar niveles si no existen
             if (RecursosNivel.listarNivelesDisponibles().isEmpty()) {
-                System.out.println("Creando niveles predefinidos...");
+                GameLog.info("Creando niveles predefinidos...");
                 RecursosNivel.crearNivelesPredefinidos();
             }
         } catch (Exception e) {
-            System.err.println("Error al inicializar recursos: " + e.getMessage());
+            GameLog.error("Error al inicializar recursos: " + e.getMessage());
         }
 
         // RESETEAR EL ESTADO DE LAS TECLAS PRESIONADAS
         inputHandler.clearAllKeys();
-        keyPressTime.clear();
         lastIceCreamDirection = null;
         lastEnemyDirection = null;
         lastDirectionChangeTime = 0;
 
         // Iniciar el nivel en el Model
-        game.startLevel(levelNumber);
+        Level level = getLevelManager().obtenerNivel(levelNumber);
+        if (level == null) {
+            GameLog.error("Nivel inexistente: " + levelNumber + ", se inicia el nivel 1");
+            level = getLevelManager().obtenerNivel(1);
+        }
+        game.startLevel(level);
+        gamePanel.invalidateLayers();
 
         // Iniciar el game loop
         running = true;
-        gameTimer.start();
+        startGameTimer();
 
         // Asegurar que el panel tenga el foco para capturar teclas
         gamePanel.requestFocusInWindow();
 
-        System.out.println("Nivel " + levelNumber + " iniciado");
-        System.out.println("Modo: " + game.getGameMode());
-        System.out.println("Helado: " + game.getIceCreamFlavor());
+        GameLog.info("Nivel " + levelNumber + " iniciado");
+        GameLog.info("Modo: " + game.getGameMode());
+        GameLog.info("Helado: " + game.getIceCreamFlavor());
     }
 
     /**
@@ -390,6 +402,9 @@ public class GameController implements KeyListener {
     private void checkGameEnd() {
         GameState state = game.getGameState();
 
+        if (state == GameState.WON || state == GameState.LOST) {
+            saveReplay();
+        }
         if (state == GameState.WON) {
             pauseGame();
             showVictoryMessage();
@@ -399,6 +414,17 @@ public class GameController implements KeyListener {
         }
     }
 
+    /**
+     * Guarda la grabación del nivel en saves/ (en segundo plano) para poder
+     * reproducirlo con ReplayPlayer
+     */
+    private void saveReplay() {
+        ReplayLog log = game.getReplayLog();
+        if (log != null) {
+            SaveWriter.write(log.toBytes(game), java.nio.file.Paths.get("saves", ReplayLog.LAST_REPLAY_FILE));
+        }
+    }
+
     /**
      * Muestra mensaje de victoria
      */
@@ -416,7 +442,7 @@ public class GameController implements KeyListener {
         if (option == JOptionPane.YES_OPTION) {
             // Cargar siguiente nivel
             int nextLevel = game.getCurrentLevel().getLevelNumber() + 1;
-            if (nextLevel <= 3) {
+            if (nextLevel <= getLevelManager().getCantidadNiveles()) {
                 // Llamar al callback si está configurado
                 if (onLevelComplete != null) {
                     onLevelComplete.accept(nextLevel);
@@ -484,7 +510,6 @@ public class GameController implements KeyListener {
 
         // RESETEAR EL ESTADO DE LAS TECLAS PRESIONADAS AL PAUSAR
         inputHandler.clearAllKeys();
-        keyPressTime.clear();
         lastIceCreamDirection = null;
         lastEnemyDirection = null;
         lastDirectionChangeTime = 0;
@@ -494,8 +519,9 @@ public class GameController implements KeyListener {
      * Reanuda el juego
      */
     private void resumeGame() {
+        inputHandler.clearAllKeys(); // Lo presionado durante la pausa no cuenta
         running = true;
-        gameTimer.start();
+        startGameTimer();
         gamePanel.requestFocusInWindow();
     }
 
@@ -511,7 +537,9 @@ public class GameController implements KeyListener {
      */
     private void returnToMenu() {
         pauseGame();
-        System.out.println("✅ Regresando al menú.. .");
+        saveReplay();
+        game.getAnimationScheduler().cancelAll();
+        GameLog.info("✅ Regresando al menú.. .");
         if (onReturnToMenuClick != null) {
             onReturnToMenuClick.run();
         }
@@ -525,13 +553,17 @@ public class GameController implements KeyListener {
     public void keyPressed(KeyEvent e) {
         int keyCode = e.getKeyCode();
 
-        // Registrar el tiempo cuando se presiona la tecla (para sistema de
-        // orientación/movimiento)
-        if (!keyPressTime.containsKey(keyCode)) {
-            keyPressTime.put(keyCode, System.currentTimeMillis());
-        }
+        // Movimiento, Q y ESPACIO los encola InputHandler (también registrado
+        // en el panel) y los procesa processInputs() en cada tick; aquí solo
+        // van las teclas que controlan la partida
 
-        inputHandler.keyPressed(e); // Delegar a InputHandler
+        // Mostrar/ocultar el perfil de frames con F3
+        if (keyCode == KeyEvent.VK_F3) {
+            profilerVisible = !profilerVisible;
+            copyProfile(getPublishedViewData()); // En pausa no se captura otro frame
+            gamePanel.repaint();
+            return;
+        }
 
         // Pausar/Reanudar con P o ESC
         if (keyCode == KeyEvent.VK_P || keyCode == KeyEvent.VK_ESCAPE) {
@@ -550,10 +582,9 @@ public class GameController implements KeyListener {
             return;
         }
 
-        // Solo procesar acciones de bloques de hielo y habilidades aquí
-        // El movimiento es procesado por processInputs() en cada frame del game loop
-        if (game.getGameMode() != GameMode.MVM) {
-            handleIceBlockActions(keyCode, e);
+        // Retroceder unos segundos con R
+        if (keyCode == KeyEvent.VK_R && game.getGameState() == GameState.PLAYING) {
+            handleRewind();
         }
     }
 
@@ -629,9 +660,14 @@ public class GameController implements KeyListener {
                 "Guardar Partida",
                 JOptionPane.QUESTION_MESSAGE);
 
-        if (nombreArchivo != null && !nombreArchivo.trim().isEmpty()) {
-            boolean guardado = game.saveGame(nombreArchivo.trim());
+        if (nombreArchivo == null || nombreArchivo.trim().isEmpty()) {
+            // Volver a mostrar el menú de pausa
+            showPauseMessage();
+            return;
+        }
 
+        // La escritura se hace en segundo plano; el resultado se muestra en el EDT
+        game.saveGameAsync(nombreArchivo.trim()).thenAccept(guardado -> SwingUtilities.invokeLater(() -> {
             if (guardado) {
                 JOptionPane.showMessageDialog(
                         gamePanel,
@@ -646,10 +682,10 @@ public class GameController implements KeyListener {
                         "Error",
                         JOptionPane.ERROR_MESSAGE);
             }
-        }
 
-        // Volver a mostrar el menú de pausa
-        showPauseMessage();
+            // Volver a mostrar el menú de pausa
+            showPauseMessage();
+        }));
     }
 
     /**
@@ -702,6 +738,7 @@ public class GameController implements KeyListener {
 
             // Reiniciar el timer y actualizar vista
             setupGameTimer();
+            gamePanel.invalidateLayers();
             gamePanel.repaint();
 
             JOptionPane.showMessageDialog(
@@ -726,171 +763,9 @@ public class GameController implements KeyListener {
         }
     }
 
-    /**
-     * Maneja acciones de bloques de hielo y habilidades
-     * ACTUALIZADO: Cambia la acción del sprite según la tecla presionada
-     */
-    private void handleIceBlockActions(int keyCode, KeyEvent e) {
-        IceCream iceCream = game.getBoard().getIceCream();
-        IceCream secondIceCream = game.getBoard().getSecondIceCream();
-
-        // Tecla Q: Para P1 (Helado 1) en todos los modos
-        if (keyCode == KeyEvent.VK_Q) {
-            if (iceCream == null)
-                return;
-
-            // Actualizar la dirección del helado según la última tecla presionada
-            if (inputHandler.isKeyPressed(KeyEvent.VK_W)) {
-                iceCream.setCurrentDirection(Direction.UP);
-            } else if (inputHandler.isKeyPressed(KeyEvent.VK_S)) {
-                iceCream.setCurrentDirection(Direction.DOWN);
-            } else if (inputHandler.isKeyPressed(KeyEvent.VK_A)) {
-                iceCream.setCurrentDirection(Direction.LEFT);
-            } else if (inputHandler.isKeyPressed(KeyEvent.VK_D)) {
-                iceCream.setCurrentDirection(Direction.RIGHT);
-            }
-
-            int result = game.toggleIceBlocks();
-
-            // NUEVO: Cambiar acción según si creó o rompió
-            if (result > 0) {
-                // Creó bloques de hielo
-                iceCream.setCurrentAction("shoot");
-                if (secondIceCreamFlavor != null) {
-                    System.out.println("✓ (P1) Hilera de " + result + " bloque(s) de hielo creada");
-                } else {
-                    System.out.println("✓ Hilera de " + result + " bloque(s) de hielo creada");
-                }
-
-                // Volver a "stand" después de un delay
-                new java.util.Timer().schedule(new java.util.TimerTask() {
-                    @Override
-                    public void run() {
-                        iceCream.setCurrentAction("stand");
-                    }
-                }, 200); // 200ms delay
-
-            } else if (result < 0) {
-                // Rompió bloques de hielo
-                iceCream.setCurrentAction("break");
-                if (secondIceCreamFlavor != null) {
-                    System.out.println("✓ (P1) Hilera de " + (-result) + " bloque(s) roto(s) en efecto dominó");
-                } else {
-                    System.out.println("✓ Hilera de " + (-result) + " bloque(s) roto(s) en efecto dominó");
-                }
-
-                // Volver a "stand" después de un delay
-                new java.util.Timer().schedule(new java.util.TimerTask() {
-                    @Override
-                    public void run() {
-                        iceCream.setCurrentAction("stand");
-                    }
-                }, 200);
-            }
-            return;
-        }
-
-        // Tecla ESPACIO: Diferentes acciones según el modo
-        if (keyCode == KeyEvent.VK_SPACE) {
-            // En modo Cooperativo: ESPACIO controla helado 2 (P2)
-            if (secondIceCreamFlavor != null && secondIceCream != null) {
-                // Actualizar la dirección del helado 2 según la última tecla de flecha
-                // presionada
-                if (inputHandler.isKeyPressed(KeyEvent.VK_UP)) {
-                    secondIceCream.setCurrentDirection(Direction.UP);
-                } else if (inputHandler.isKeyPressed(KeyEvent.VK_DOWN)) {
-                    secondIceCream.setCurrentDirection(Direction.DOWN);
-                } else if (inputHandler.isKeyPressed(KeyEvent.VK_LEFT)) {
-                    secondIceCream.setCurrentDirection(Direction.LEFT);
-                } else if (inputHandler.isKeyPressed(KeyEvent.VK_RIGHT)) {
-                    secondIceCream.setCurrentDirection(Direction.RIGHT);
-                }
-
-                int result = game.toggleIceBlocksSecond();
-
-                // NUEVO: Cambiar acción según si creó o rompió
-                if (result > 0) {
-                    secondIceCream.setCurrentAction("shoot");
-                    System.out.println("✓ (P2) Hilera de " + result + " bloque(s) de hielo creada");
-
-                    new java.util.Timer().schedule(new java.util.TimerTask() {
-                        @Override
-                        public void run() {
-                            secondIceCream.setCurrentAction("stand");
-                        }
-                    }, 200);
-
-                } else if (result < 0) {
-                    secondIceCream.setCurrentAction("break");
-                    System.out.println("✓ (P2) Hilera de " + (-result) + " bloque(s) roto(s) en efecto dominó");
-
-                    new java.util.Timer().schedule(new java.util.TimerTask() {
-                        @Override
-                        public void run() {
-                            secondIceCream.setCurrentAction("stand");
-                        }
-                    }, 200);
-                }
-                return;
-            }
-
-            // En PVP: ESPACIO controla al monstruo (habilidades)
-            if (game.getGameMode() == GameMode.PVP) {
-                List<Enemy> enemies = game.getBoard().getEnemies();
-                if (!enemies.isEmpty()) {
-                    Enemy controlledEnemy = enemies.get(0);
-
-                    // Activar habilidad según el tipo de enemigo
-                    if (controlledEnemy instanceof Pot) {
-                        Pot pot = (Pot) controlledEnemy;
-                        if (pot.isTurboActive()) {
-                            System.out
-                                    .println("⚡ Turbo activo: " + (pot.getTurboTimeRemaining() / 1000) + "s restantes");
-                        } else if (pot.getTurboRechargeTimeRemaining() <= 0) {
-                            pot.executeAbility(); // Activar turbo manualmente
-                            System.out.println("⚡ ¡Turbo ACTIVADO!");
-                        } else {
-                            System.out.println(
-                                    "⏳ Turbo en recarga: " + (pot.getTurboRechargeTimeRemaining() / 1000) + "s");
-                        }
-                    } else if (controlledEnemy instanceof Narval) {
-                        Narval narval = (Narval) controlledEnemy;
-                        if (narval.canCharge()) {
-                            narval.activateCharge(controlledEnemy.getCurrentDirection());
-                            System.out.println("🔱 ¡Carga de Narval ACTIVADA!");
-                        } else {
-                            System.out.println(
-                                    "⏳ Carga en recarga: " + (narval.getChargeRechargeTimeRemaining() / 1000) + "s");
-                        }
-                    } else if (controlledEnemy instanceof YellowSquid) {
-                        YellowSquid squid = (YellowSquid) controlledEnemy;
-
-                        // Intentar romper hielo en la dirección apuntada
-                        boolean broken = game.getBoard().yellowSquidBreakIce(squid);
-
-                        if (broken) {
-                            System.out.println("🟡 ¡Bloque roto!");
-                        } else {
-                            // Mostrar progreso si no hay bloque o si sigue contando
-                            Position targetPos = squid.getPosition().move(squid.getCurrentDirection());
-                            if (game.getBoard().hasIceBlock(targetPos)) {
-                                System.out.println("🟡 Golpe " + squid.getIceBreakCounter() + "/3");
-                            } else {
-                                System.out.println("⚠️ No hay bloque en esa dirección");
-                                squid.resetIceBreakCounter(); // Resetear si no hay bloque
-                            }
-                        }
-                    }
-                }
-            }
-        }
-    }
-
     @Override
     public void keyReleased(KeyEvent e) {
-        int keyCode = e.getKeyCode();
-        inputHandler.keyReleased(e); // Delegar a InputHandler
-        keyPressTime.remove(keyCode); // Limpiar el registro de tiempo de presión
+        // Lo registra InputHandler
     }
 
     @Override
@@ -931,6 +806,8 @@ public class GameController implements KeyListener {
         if (gameTimer != null) {
             gameTimer.stop();
         }
+        // Cancelar animaciones pendientes de la partida
+        game.getAnimationScheduler().cancelAll();
     }
 
     /**
@@ -955,6 +832,21 @@ public class GameController implements KeyListener {
         gamePanel.setOnContinueGameClick(callback);
     }
 
+    /**
+     * Usa el gestor de niveles de la interfaz (para no leer el catálogo dos
+     * veces)
+     */
+    public void setLevelManager(LevelManager levelManager) {
+        this.levelManager = levelManager;
+    }
+
+    private LevelManager getLevelManager() {
+        if (levelManager == null) {
+            levelManager = new LevelManager();
+        }
+        return levelManager;
+    }
+
     /**
      * Establece el callback para cuando se completa un nivel
      */
@@ -1133,16 +1025,36 @@ public class GameController implements KeyListener {
      * Obtiene todos los datos necesarios para renderizado usando ViewData (MVC
      * completo)
      * Permite que GamePanel NO necesite importar Domain
+     *
+     * Actualiza el buffer de atrás en su lugar y lo publica (doble buffer):
+     * - Muros, baldosas y bloques fijos solo se copian cuando cambia el tablero
+     * o su terreno sólido (ViewData.staticVersion)
+     * - Los bloques de hielo solo se recorren cuando cambia la ocupación del
+     * tablero (Board.getOccupancyVersion)
+     * - Helados, enemigos, frutas y fogatas se actualizan en los mismos objetos
+     * Avanza la interpolación visual, así que se llama una vez por frame (game
+     * loop); para solo leer el último frame usar getPublishedViewData().
      */
     public ViewData getViewData() {
-        ViewData data = new ViewData();
+        long start = PROFILER.start();
+        ViewData data = captureViewData();
+        PROFILER.lap(FrameProfiler.Phase.VIEW_DATA, start);
+        return data;
+    }
+
+    private ViewData captureViewData() {
+        int index = 1 - publishedIndex;
+        ViewData data = viewBuffers[index];
 
         // Estado del juego
         data.gameState = getGameStateAsString();
+        copyProfile(data);
 
         if (game == null || game.getBoard() == null) {
             data.boardWidth = 0;
             data.boardHeight = 0;
+            bufferBoards[index] = null;
+            publish(index);
             return data;
         }
 
@@ -1156,7 +1068,9 @@ public class GameController implements KeyListener {
         if (board.getSecondIceCream() != null) {
             board.getSecondIceCream().updateVisualPosition();
         }
-        for (Enemy enemy : board.getEnemies()) {
+        List<Enemy> enemies = board.getEnemiesView();
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
             if (enemy != null) {
                 enemy.updateVisualPosition();
             }
@@ -1178,10 +1092,16 @@ public class GameController implements KeyListener {
         if (iceCream != null) {
             data.iceCreamX = iceCream.getVisualX();
             data.iceCreamY = iceCream.getVisualY();
-            data.iceCreamFlavor = iceCream.getFlavor().toLowerCase();
-            data.iceCreamDirection = iceCream.getCurrentDirection().toString().toLowerCase();
-            data.iceCreamAction = iceCream.getCurrentAction();
+            data.iceCreamFlavorId = flavorId(iceCream.getFlavor());
+            data.iceCreamDirectionId = directionId(iceCream.getCurrentDirection());
+            data.iceCreamActionId = actionId(iceCream.getDisplayAction());
+            data.iceCreamFlavor = ViewData.FLAVOR_NAMES[data.iceCreamFlavorId];
+            data.iceCreamDirection = ViewData.DIRECTION_NAMES[data.iceCreamDirectionId];
+            data.iceCreamAction = ViewData.ACTION_NAMES[data.iceCreamActionId];
             data.iceCreamAlive = iceCream.isAlive();
+        } else {
+            data.iceCreamFlavor = null;
+            data.iceCreamAlive = false;
         }
 
         // Segundo helado
@@ -1189,110 +1109,287 @@ public class GameController implements KeyListener {
         if (secondIceCream != null) {
             data.secondIceCreamX = secondIceCream.getVisualX();
             data.secondIceCreamY = secondIceCream.getVisualY();
-            data.secondIceCreamFlavor = secondIceCream.getFlavor().toLowerCase();
-            data.secondIceCreamDirection = secondIceCream.getCurrentDirection().toString().toLowerCase();
-            data.secondIceCreamAction = secondIceCream.getCurrentAction();
+            data.secondIceCreamFlavorId = flavorId(secondIceCream.getFlavor());
+            data.secondIceCreamDirectionId = directionId(secondIceCream.getCurrentDirection());
+            data.secondIceCreamActionId = actionId(secondIceCream.getDisplayAction());
+            data.secondIceCreamFlavor = ViewData.FLAVOR_NAMES[data.secondIceCreamFlavorId];
+            data.secondIceCreamDirection = ViewData.DIRECTION_NAMES[data.secondIceCreamDirectionId];
+            data.secondIceCreamAction = ViewData.ACTION_NAMES[data.secondIceCreamActionId];
             data.secondIceCreamAlive = secondIceCream.isAlive();
+        } else {
+            data.secondIceCreamFlavor = null;
+            data.secondIceCreamAlive = false;
         }
 
-        // Enemigos
-        data.enemies = new java.util.ArrayList<>();
-        for (Enemy enemy : board.getEnemies()) {
+        // Enemigos (se cuentan los no nulos para reutilizar las vistas)
+        int enemyCount = 0;
+        for (int i = 0; i < enemies.size(); i++) {
+            if (enemies.get(i) != null) {
+                enemyCount++;
+            }
+        }
+        ViewData.resize(data.enemies, data.spareEnemies, enemyCount, ViewData.EnemyView::new);
+        data.enemyIndex.begin(data.boardWidth, data.boardHeight, enemyCount);
+        int e = 0;
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
             if (enemy != null) {
-                ViewData.EnemyView enemyData = new ViewData.EnemyView();
+                ViewData.EnemyView enemyData = data.enemies.get(e++);
                 enemyData.x = enemy.getVisualX();
                 enemyData.y = enemy.getVisualY();
-                enemyData.type = enemy.getEnemyType().toLowerCase();
-                enemyData.direction = enemy.getCurrentDirection().toString().toLowerCase();
-                enemyData.action = enemy.getCurrentAction();
-                if (enemy.getColor() != null) {
-                    enemyData.color = String.format("#%06X", enemy.getColor().getRGB() & 0xFFFFFF);
-                }
+                data.enemyIndex.add((int) enemyData.x, (int) enemyData.y);
+                enemyData.typeId = monsterId(enemy.getEnemyType());
+                enemyData.directionId = directionId(enemy.getCurrentDirection());
+                enemyData.actionId = actionId(enemy.getDisplayAction());
+                enemyData.type = ViewData.MONSTER_NAMES[enemyData.typeId];
+                enemyData.direction = ViewData.DIRECTION_NAMES[enemyData.directionId];
+                enemyData.action = ViewData.ACTION_NAMES[enemyData.actionId];
+                enemyData.color = enemy.getColor();
                 enemyData.alive = enemy.isAlive();
-                data.enemies.add(enemyData);
             }
         }
-
-        // Frutas
-        data.fruits = new java.util.ArrayList<>();
-        data.cactuses = new java.util.ArrayList<>();
-        for (Fruit fruit : board.getFruits()) {
+        data.enemyIndex.finish();
+
+        // Frutas (los cactus van en su propia lista)
+        List<Fruit> fruits = board.getFruitsView();
+        int cactusCount = 0;
+        for (int i = 0; i < fruits.size(); i++) {
+            if (fruits.get(i).getFruitType().equalsIgnoreCase("Cactus")) {
+                cactusCount++;
+            }
+        }
+        ViewData.resize(data.fruits, data.spareFruits, fruits.size() - cactusCount, ViewData.FruitView::new);
+        ViewData.resize(data.cactuses, data.spareCactuses, cactusCount, ViewData.FrutaEspecialView::new);
+        data.fruitIndex.begin(data.boardWidth, data.boardHeight, fruits.size() - cactusCount);
+        data.cactusIndex.begin(data.boardWidth, data.boardHeight, cactusCount);
+        int f = 0;
+        int c = 0;
+        for (int i = 0; i < fruits.size(); i++) {
+            Fruit fruit = fruits.get(i);
+            Position pos = fruit.getPosition();
             if (fruit.getFruitType().equalsIgnoreCase("Cactus")) {
                 // Manejar Cactus especialmente
-                ViewData.FrutaEspecialView cactusData = new ViewData.FrutaEspecialView();
-                Position pos = fruit.getPosition();
+                ViewData.FrutaEspecialView cactusData = data.cactuses.get(c++);
                 cactusData.x = pos.getX();
                 cactusData.y = pos.getY();
+                data.cactusIndex.add(pos.getX(), pos.getY());
                 cactusData.tipo = "cactus";
                 cactusData.visualState = fruit.getVisualState();
                 cactusData.collected = fruit.isCollected();
                 // Obtener el estado spiky desde el Cactus
-                if (fruit instanceof Cactus) {
-                    cactusData.spiky = ((Cactus) fruit).isSpiky();
-                } else {
-                    cactusData.spiky = false;
-                }
-                data.cactuses.add(cactusData);
+                cactusData.spiky = fruit instanceof Cactus && ((Cactus) fruit).isSpiky();
             } else {
                 // Frutas normales
-                ViewData.FruitView fruitData = new ViewData.FruitView();
-                Position pos = fruit.getPosition();
+                ViewData.FruitView fruitData = data.fruits.get(f++);
                 fruitData.x = pos.getX();
                 fruitData.y = pos.getY();
-                fruitData.type = fruit.getFruitType().toLowerCase();
+                data.fruitIndex.add(pos.getX(), pos.getY());
+                fruitData.type = lowerCaseName(fruit.getFruitType());
                 fruitData.collected = fruit.isCollected();
                 fruitData.visualState = fruit.getVisualState();
-                data.fruits.add(fruitData);
             }
         }
+        data.fruitIndex.finish();
+        data.cactusIndex.finish();
+
+        // Fogatas (cambian de estado encendida/apagada con el tiempo)
+        List<Fogata> fogatas = board.getFogatasView();
+        ViewData.resize(data.fogatas, data.spareObstaculos, fogatas.size(), ViewData.ObstaculoView::new);
+        data.fogataIndex.begin(data.boardWidth, data.boardHeight, fogatas.size());
+        for (int i = 0; i < fogatas.size(); i++) {
+            Fogata fogata = fogatas.get(i);
+            ViewData.ObstaculoView fogataView = data.fogatas.get(i);
+            Position pos = fogata.getPosition();
+            fogataView.x = pos.getX();
+            fogataView.y = pos.getY();
+            fogataView.encendida = fogata.isEncendida();
+            data.fogataIndex.add(pos.getX(), pos.getY());
+        }
+        data.fogataIndex.finish();
+
+        // Terreno: solo se vuelve a copiar si el tablero o su ocupación cambiaron
+        if (board != staticBoard || board.getSolidVersion() != staticSolidVersion) {
+            staticBoard = board;
+            staticSolidVersion = board.getSolidVersion();
+            staticVersion++;
+        }
+        boolean staticChanged = data.staticVersion != staticVersion;
+        if (staticChanged || bufferBoards[index] != board || bufferVersions[index] != board.getOccupancyVersion()) {
+            copyTerrain(data, board, staticChanged);
+            bufferBoards[index] = board;
+            bufferVersions[index] = board.getOccupancyVersion();
+            data.staticVersion = staticVersion;
+        }
+
+        publish(index);
+        return data;
+    }
+
+    /**
+     * Obtiene el último ViewData publicado sin volver a capturar el Model
+     * (no avanza la interpolación; para repintados fuera del game loop, clicks
+     * del mouse, etc.)
+     */
+    public ViewData getPublishedViewData() {
+        ViewData published = viewBuffers[publishedIndex];
+        return publishedOnce ? published : getViewData();
+    }
+
+    /**
+     * Registra cuánto tardó el último paintComponent (lo mide GamePanel)
+     */
+    public void recordPaintTime(long nanos) {
+        PROFILER.record(FrameProfiler.Phase.PAINT, nanos);
+    }
+
+    /**
+     * Copia el resumen del último segundo del perfilador si el overlay está
+     * visible
+     */
+    private void copyProfile(ViewData data) {
+        data.profileVisible = profilerVisible;
+        if (!profilerVisible) {
+            return;
+        }
+        int count = PROFILE_PHASES.length;
+        if (data.profilePhases.length != count) {
+            data.profilePhases = new String[count];
+            data.profileP50 = new long[count];
+            data.profileP99 = new long[count];
+            data.profileMax = new long[count];
+        }
+        for (int i = 0; i < count; i++) {
+            FrameProfiler.Phase phase = PROFILE_PHASES[i];
+            data.profilePhases[i] = phase.getLabel();
+            data.profileP50[i] = PROFILER.getP50(phase);
+            data.profileP99[i] = PROFILER.getP99(phase);
+            data.profileMax[i] = PROFILER.getMax(phase);
+        }
+        data.profileFrames = PROFILER.getWindowCount(FrameProfiler.Phase.FRAME);
+    }
 
+    private void publish(int index) {
+        publishedIndex = index;
+        publishedOnce = true;
+    }
+
+    /**
+     * Copia el terreno del tablero en un buffer: bloques de hielo siempre,
+     * muros, baldosas y bloques fijos solo si cambió la capa estática
+     */
+    private void copyTerrain(ViewData data, Board board, boolean staticChanged) {
         // Bloques de hielo
-        data.iceBlocks = new java.util.ArrayList<>();
-        for (IceBlock block : board.getIceBlocks()) {
-            ViewData.PositionView iceBlockData = new ViewData.PositionView();
-            Position pos = block.getPosition();
+        List<IceBlock> iceBlocks = board.getIceBlocksView();
+        ViewData.resize(data.iceBlocks, data.sparePositions, iceBlocks.size(), ViewData.PositionView::new);
+        data.iceBlockIndex.begin(data.boardWidth, data.boardHeight, iceBlocks.size());
+        for (int i = 0; i < iceBlocks.size(); i++) {
+            Position pos = iceBlocks.get(i).getPosition();
+            ViewData.PositionView iceBlockData = data.iceBlocks.get(i);
             iceBlockData.x = pos.getX();
             iceBlockData.y = pos.getY();
-            data.iceBlocks.add(iceBlockData);
-        }
-
-        // Fogatas
-        data.fogatas = new java.util.ArrayList<>();
-        for (GameObject fogata : board.getFogatas()) {
-            ViewData.ObstaculoView fogataView = new ViewData.ObstaculoView();
-            fogataView.x = fogata.getPosition().getX();
-            fogataView.y = fogata.getPosition().getY();
-            // Verificar si es instancia de Fogata para obtener estado encendida
-            if (fogata instanceof Fogata) {
-                fogataView.encendida = ((Fogata) fogata).isEncendida();
-            }
-            data.fogatas.add(fogataView);
+            data.iceBlockIndex.add(pos.getX(), pos.getY());
+        }
+        data.iceBlockIndex.finish();
+
+        if (!staticChanged) {
+            return;
+        }
+
+        // Muros
+        List<Position> walls = board.getWalls();
+        ViewData.resize(data.walls, data.sparePositions, walls.size(), ViewData.PositionView::new);
+        for (int i = 0; i < walls.size(); i++) {
+            data.walls.get(i).x = walls.get(i).getX();
+            data.walls.get(i).y = walls.get(i).getY();
         }
 
         // Baldosas calientes
-        data.baldosasCalientes = new java.util.ArrayList<>();
-        for (GameObject baldosa : board.getBaldosasCalientes()) {
-            ViewData.ObstaculoView baldosaView = new ViewData.ObstaculoView();
-            baldosaView.x = baldosa.getPosition().getX();
-            baldosaView.y = baldosa.getPosition().getY();
-            data.baldosasCalientes.add(baldosaView);
+        List<BaldosaCaliente> baldosas = board.getBaldosasCalientes();
+        ViewData.resize(data.baldosasCalientes, data.spareObstaculos, baldosas.size(), ViewData.ObstaculoView::new);
+        data.baldosaIndex.begin(data.boardWidth, data.boardHeight, baldosas.size());
+        for (int i = 0; i < baldosas.size(); i++) {
+            Position pos = baldosas.get(i).getPosition();
+            data.baldosasCalientes.get(i).x = pos.getX();
+            data.baldosasCalientes.get(i).y = pos.getY();
+            data.baldosaIndex.add(pos.getX(), pos.getY());
         }
+        data.baldosaIndex.finish();
 
         // Bloques de hielo estáticos
-        data.iceBlockObstacles = new java.util.ArrayList<>();
-        for (IceBlockObstacle iceBlock : board.getIceBlockObstacles()) {
-            ViewData.ObstaculoView iceBlockView = new ViewData.ObstaculoView();
-            iceBlockView.x = iceBlock.getPosition().getX();
-            iceBlockView.y = iceBlock.getPosition().getY();
-            data.iceBlockObstacles.add(iceBlockView);
+        List<IceBlockObstacle> obstacles = board.getIceBlockObstacles();
+        ViewData.resize(data.iceBlockObstacles, data.spareObstaculos, obstacles.size(), ViewData.ObstaculoView::new);
+        for (int i = 0; i < obstacles.size(); i++) {
+            Position pos = obstacles.get(i).getPosition();
+            data.iceBlockObstacles.get(i).x = pos.getX();
+            data.iceBlockObstacles.get(i).y = pos.getY();
         }
+    }
 
-        // Muros
-        data.walls = new java.util.ArrayList<>();
-        for (Position pos : board.getWalls()) {
-            data.walls.add(new ViewData.PositionView(pos.getX(), pos.getY()));
+    /**
+     * Nombre en minúsculas de un tipo de fruta (cacheado para no crear un
+     * String por fruta en cada frame)
+     */
+    private String lowerCaseName(String name) {
+        String lower = lowerCaseNames.get(name);
+        if (lower == null) {
+            lower = name.toLowerCase();
+            lowerCaseNames.put(name, lower);
         }
+        return lower;
+    }
 
-        return data;
+    // ========== IDENTIFICADORES DE SPRITES (ViewData) ==========
+
+    private static int flavorId(String flavor) {
+        if ("Chocolate".equalsIgnoreCase(flavor)) {
+            return ViewData.FLAVOR_CHOCOLATE;
+        }
+        if ("Fresa".equalsIgnoreCase(flavor) || "Strawberry".equalsIgnoreCase(flavor)) {
+            return ViewData.FLAVOR_STRAWBERRY;
+        }
+        return ViewData.FLAVOR_VANILLA;
+    }
+
+    private static int monsterId(String enemyType) {
+        if ("Pot".equalsIgnoreCase(enemyType) || "Maceta".equalsIgnoreCase(enemyType)) {
+            return ViewData.MONSTER_POT;
+        }
+        if ("YellowSquid".equalsIgnoreCase(enemyType) || "Calamar".equalsIgnoreCase(enemyType)) {
+            return ViewData.MONSTER_YELLOW_SQUID;
+        }
+        if ("Narval".equalsIgnoreCase(enemyType)) {
+            return ViewData.MONSTER_NARVAL;
+        }
+        return ViewData.MONSTER_TROLL;
+    }
+
+    private static int directionId(Direction direction) {
+        switch (direction) {
+            case UP:
+                return ViewData.DIR_UP;
+            case LEFT:
+                return ViewData.DIR_LEFT;
+            case RIGHT:
+                return ViewData.DIR_RIGHT;
+            default:
+                return ViewData.DIR_DOWN;
+        }
+    }
+
+    private static int actionId(EntityAction action) {
+        switch (action) {
+            case WALK:
+                return ViewData.ACTION_WALK;
+            case BREAK:
+                return ViewData.ACTION_BREAK;
+            case SHOOT:
+                return ViewData.ACTION_SHOOT;
+            case DIE:
+                return ViewData.ACTION_DIE;
+            case WIN:
+                return ViewData.ACTION_WIN;
+            default:
+                return ViewData.ACTION_STAND;
+        }
     }
-}
\ No newline at end of file
+}
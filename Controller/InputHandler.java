@@ -2,26 +2,40 @@ package Controller;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.Arrays;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.function.LongSupplier;
 
 /**
  * InputHandler - Detector de entrada del teclado
- * 
+ *
  * PROPÓSITO:
  * Capturar y mantener el estado actual de las teclas presionadas
- * 
+ *
  * FUNCIÓN:
  * - Implementa KeyListener para escuchar eventos del teclado
- * - Almacena qué teclas están activas en cada momento
+ * - Encola cada evento (tecla, presionada/soltada, momento) en un buffer
+ * circular de long, sin objetos ni boxing
+ * - El game loop vacía la cola una vez por tick, hasta el momento de ese
+ * tick (drain), y mantiene qué teclas están activas en un conjunto de bits
+ * - Los momentos salen de un único reloj monotónico (now), el mismo con el
+ * que el game loop calcula el momento de cada tick
  * - Proporciona métodos para consultar si una acción está siendo realizada
- * 
+ *
  * PATRÓN: Input Buffering
- * Permite detectar inputs sin perderlos entre frames del juego
+ * Permite detectar inputs sin perderlos entre ticks del juego: una tecla
+ * presionada y soltada entre dos ticks igual cuenta como activa en el tick
+ * siguiente.
+ *
+ * HILOS:
+ * Un solo productor (el hilo de eventos de Swing: keyPressed, keyReleased y
+ * clearAllKeys) y un solo consumidor (el game loop: drain y las consultas).
+ * Cada lado solo escribe su propio índice, así que no hacen falta locks y el
+ * game loop puede salir del EDT sin cambios.
  */
 public class InputHandler implements KeyListener {
 
-    private Set<Integer> keysPressed = new HashSet<>();
     private static final int KEY_UP = KeyEvent.VK_UP;
     private static final int KEY_DOWN = KeyEvent.VK_DOWN;
     private static final int KEY_LEFT = KeyEvent.VK_LEFT;
@@ -30,14 +44,52 @@ public class InputHandler implements KeyListener {
     private static final int KEY_P = KeyEvent.VK_P;
     private static final int KEY_ESC = KeyEvent.VK_ESCAPE;
 
+    // Teclas con estado (letras, flechas, espacio...); las demás se ignoran
+    static final int MAX_KEY = 256;
+
+    // Cola de eventos: (momento << 17) | (presionada << 16) | código
+    static final int CAPACITY = 1024; // Potencia de 2
+    private static final int MASK = CAPACITY - 1;
+    private static final long PRESSED_BIT = 1L << 16;
+    private static final long CLEAR_EVENT = -1L; // Soltar todas las teclas
+    private final long[] events = new long[CAPACITY];
+    private volatile long head; // Lo escribe solo el consumidor
+    private volatile long tail; // Lo escribe solo el productor
+    private volatile boolean overflowed;
+
+    // Origen del reloj de la entrada (los momentos nunca son negativos)
+    private static final long CLOCK_ORIGIN = System.nanoTime();
+
+    // Estado del consumidor (lo actualiza drain)
+    private final long[] held = new long[MAX_KEY / 64]; // Presionadas ahora
+    private final long[] active = new long[MAX_KEY / 64]; // Presionadas en algún momento del tick
+    private final long[] pressedEdges = new long[MAX_KEY / 64]; // Presionadas durante el tick
+    private final long[] pressTime = new long[MAX_KEY];
+    private final long[] releaseTime = new long[MAX_KEY];
+
+    // Reloj con el que se marcan los eventos (now, o uno fijo en pruebas)
+    private final LongSupplier clock;
+
+    public InputHandler() {
+        this(InputHandler::now);
+    }
+
+    /**
+     * @param clock Reloj en milisegundos, no negativo (el game loop debe
+     *              calcular el momento de cada tick con el mismo)
+     */
+    public InputHandler(LongSupplier clock) {
+        this.clock = clock;
+    }
+
     @Override
     public void keyPressed(KeyEvent e) {
-        keysPressed.add(e.getKeyCode());
+        offer(e.getKeyCode(), true, clock.getAsLong());
     }
 
     @Override
     public void keyReleased(KeyEvent e) {
-        keysPressed.remove(e.getKeyCode());
+        offer(e.getKeyCode(), false, clock.getAsLong());
     }
 
     @Override
@@ -45,11 +97,142 @@ public class InputHandler implements KeyListener {
         // No necesitamos implementar
     }
 
+    /**
+     * Reloj de la entrada en milisegundos (monotónico, no salta si cambia
+     * la hora del sistema como KeyEvent.getWhen)
+     */
+    public static long now() {
+        return (System.nanoTime() - CLOCK_ORIGIN) / 1_000_000L;
+    }
+
+    /**
+     * Encola un evento de tecla (lado productor)
+     * Si la cola está llena (el game loop dejó de vaciarla, por ejemplo en
+     * pausa) el evento no entra y el próximo drain descarta lo acumulado y
+     * empieza de cero, en lugar de dejar teclas trabadas.
+     */
+    void offer(int keyCode, boolean pressed, long when) {
+        put((when << 17) | (pressed ? PRESSED_BIT : 0) | (keyCode & 0xFFFF));
+    }
+
+    private void put(long event) {
+        long t = tail;
+        if (t - head >= CAPACITY) {
+            overflowed = true;
+            return;
+        }
+        events[(int) t & MASK] = event;
+        tail = t + 1; // Escritura volátil: publica el evento al consumidor
+    }
+
+    /**
+     * Vacía toda la cola y actualiza el estado de las teclas (lado consumidor)
+     *
+     * @return Cantidad de eventos procesados
+     */
+    public int drain() {
+        return drain(Long.MAX_VALUE);
+    }
+
+    /**
+     * Procesa los eventos encolados hasta un momento (lado consumidor)
+     * Se llama una vez por tick antes de consultar las teclas; los eventos
+     * posteriores quedan en la cola para el tick siguiente.
+     *
+     * @param until Momento del tick (reloj de now)
+     * @return Cantidad de eventos procesados
+     */
+    public int drain(long until) {
+        System.arraycopy(held, 0, active, 0, held.length);
+        Arrays.fill(pressedEdges, 0);
+
+        if (overflowed) {
+            overflowed = false;
+            head = tail;
+            reset();
+            return 0;
+        }
+
+        long h = head;
+        long t = tail;
+        long i = h;
+        for (; i < t; i++) {
+            long event = events[(int) i & MASK];
+            if (event != CLEAR_EVENT && event >>> 17 > until) {
+                break;
+            }
+            apply(event);
+        }
+        head = i;
+        return (int) (i - h);
+    }
+
+    private void apply(long event) {
+        if (event == CLEAR_EVENT) {
+            reset();
+            return;
+        }
+        int keyCode = (int) (event & 0xFFFF);
+        if (keyCode >= MAX_KEY) {
+            return;
+        }
+        long when = event >>> 17;
+        int word = keyCode >>> 6;
+        long bit = 1L << keyCode;
+        if ((event & PRESSED_BIT) != 0) {
+            // Las repeticiones automáticas del sistema no reinician el tiempo
+            if ((held[word] & bit) == 0) {
+                held[word] |= bit;
+                active[word] |= bit;
+                pressedEdges[word] |= bit;
+                pressTime[keyCode] = when;
+            }
+        } else if ((held[word] & bit) != 0) {
+            held[word] &= ~bit;
+            releaseTime[keyCode] = when;
+        }
+    }
+
+    private void reset() {
+        Arrays.fill(held, 0);
+        Arrays.fill(active, 0);
+        Arrays.fill(pressedEdges, 0);
+    }
+
+    private static boolean test(long[] bits, int keyCode) {
+        return keyCode >= 0 && keyCode < MAX_KEY && (bits[keyCode >>> 6] & 1L << keyCode) != 0;
+    }
+
     /**
      * Verifica si una tecla está presionada
+     * Cuenta toda tecla que estuvo presionada en el último tick drenado,
+     * aunque ya se haya soltado (toques cortos entre ticks)
      */
     public boolean isKeyPressed(int keyCode) {
-        return keysPressed.contains(keyCode);
+        return test(active, keyCode);
+    }
+
+    /**
+     * Verifica si una tecla se presionó (no repetición) en el último tick
+     * Para acciones de un solo disparo como crear hielo
+     */
+    public boolean wasKeyPressed(int keyCode) {
+        return test(pressedEdges, keyCode);
+    }
+
+    /**
+     * Cuánto se mantuvo una tecla activa en el último tick
+     *
+     * @param now Momento actual (reloj de now)
+     * @return Milisegundos desde que se presionó (hasta que se soltó si ya
+     *         se soltó), o -1 si no estuvo presionada
+     */
+    public long getHeldMillis(int keyCode, long now) {
+        if (!isKeyPressed(keyCode)) {
+            return -1;
+        }
+        long until = test(held, keyCode) ? now : releaseTime[keyCode];
+        return Math.max(0, until - pressTime[keyCode]);
     }
 
     /**
@@ -103,16 +286,30 @@ public class InputHandler implements KeyListener {
 
     /**
      * Limpia el estado de todas las teclas
-     * Útil cuando pierdes foco de ventana
+     * Útil cuando pierdes foco de ventana. Se encola como un evento más (lado
+     * productor), así se aplica en orden en el próximo drain.
      */
     public void clearAllKeys() {
-        keysPressed.clear();
+        put(CLEAR_EVENT);
+    }
+
+    /**
+     * Eventos encolados que el game loop todavía no procesó
+     */
+    public int getPendingEvents() {
+        return (int) (tail - head);
     }
 
     /**
      * Obtiene el conjunto de teclas presionadas (solo lectura)
      */
     public Set<Integer> getPressedKeys() {
-        return new HashSet<>(keysPressed);
+        Set<Integer> keys = new HashSet<>();
+        for (int keyCode = 0; keyCode < MAX_KEY; keyCode++) {
+            if (test(held, keyCode)) {
+                keys.add(keyCode);
+            }
+        }
+        return keys;
     }
 }
@@ -1,5 +1,6 @@
 package Controller;
 
+import Domain.GameLog;
 import Domain.GameMode;
 import Domain.PVPMode;
 import Domain.LevelManager;
@@ -121,10 +122,10 @@ public class PresentationController {
                     // Iniciar el juego con el estado guardado
                     iniciarJuegoConEstadoGuardado(loadedGame);
                 } else {
-                    System.err.println("[ERROR] No se pudo cargar la partida guardada");
+                    GameLog.error("[ERROR] No se pudo cargar la partida guardada");
                 }
             } else {
-                System.err.println("[ERROR] No hay partida guardada disponible");
+                GameLog.error("[ERROR] No hay partida guardada disponible");
             }
         });
 
@@ -306,8 +307,8 @@ public class PresentationController {
         // Listener para el botón MVM en Modos
         modos.setOnMVMClick(() -> {
             selectedGameMode = GameMode.MVM;
-            System.out.println("✅ Modo MVM seleccionado");
-            System.out.println("   Selecciona el helado que será controlado por IA");
+            GameLog.info("✅ Modo MVM seleccionado");
+            GameLog.info("   Selecciona el helado que será controlado por IA");
 
             modos.setVisible(false);
             pvp.setVisible(true); // Mostrar pantalla de selección de helado
@@ -318,7 +319,7 @@ public class PresentationController {
      * Limpia recursos antes de iniciar un nuevo juego
      */
     private void cleanupBeforeNewGame() {
-        System.out.println("🧹 Limpiando recursos antes de nuevo juego...");
+        GameLog.info("🧹 Limpiando recursos antes de nuevo juego...");
 
         // Detener el juego anterior si existe
         if (gameController != null) {
@@ -326,7 +327,7 @@ public class PresentationController {
                 gameController.stopGame();
                 gameController = null;
             } catch (Exception e) {
-                System.err.println("Error deteniendo juego anterior: " + e.getMessage());
+                GameLog.error("Error deteniendo juego anterior: " + e.getMessage());
                 gameController = null;
             }
         }
@@ -338,9 +339,9 @@ public class PresentationController {
                 gameFrame.getContentPane().removeAll();
                 gameFrame.dispose();
                 gameFrame = null;
-                System.out.println("✅ Recursos del juego anterior limpiados");
+                GameLog.info("✅ Recursos del juego anterior limpiados");
             } catch (Exception e) {
-                System.err.println("Error limpiando ventana anterior: " + e.getMessage());
+                GameLog.error("Error limpiando ventana anterior: " + e.getMessage());
                 gameFrame = null;
             }
         }
@@ -351,7 +352,7 @@ public class PresentationController {
      */
     private void iniciarJuego(GameMode gameMode, String iceCreamFlavor, String monsterType) {
         if (gameMode == null) {
-            System.err.println("Error: Modo de juego no seleccionado");
+            GameLog.error("Error: Modo de juego no seleccionado");
             return;
         }
 
@@ -372,6 +373,7 @@ public class PresentationController {
         gameController.setOnReturnToMenuClick(createReturnToMenuCallback());
         gameController.setOnSaveGameClick(createSaveGameCallback());
         gameController.setOnContinueGameClick(createContinueGameCallback());
+        gameController.setLevelManager(levelManager);
         gameController.setOnLevelComplete(createLevelCompleteCallback());
 
         // Crear una ventana para el juego si no existe
@@ -395,7 +397,7 @@ public class PresentationController {
         // Iniciar el primer nivel
         gameController.startLevel(1);
 
-        System.out.println("Juego iniciado - Modo: " + gameMode + ", Helado: " + iceCreamFlavor);
+        GameLog.info("Juego iniciado - Modo: " + gameMode + ", Helado: " + iceCreamFlavor);
     }
 
     /**
@@ -408,18 +410,18 @@ public class PresentationController {
         // Buscar todos los monstruos disponibles
         File carpetaBotones = new File("Resources/Botones/Monstruos/");
         if (!carpetaBotones.exists()) {
-            System.err.println("❌ Carpeta de monstruos no encontrada: " + carpetaBotones.getAbsolutePath());
+            GameLog.error("❌ Carpeta de monstruos no encontrada: " + carpetaBotones.getAbsolutePath());
             return;
         }
 
         // Buscar archivos Selected.gif para identificar monstruos disponibles
         File[] archivos = carpetaBotones.listFiles((d, n) -> n.endsWith("Selected.gif"));
         if (archivos == null || archivos.length == 0) {
-            System.err.println("❌ No se encontraron monstruos (Selected.gif)");
+            GameLog.error("❌ No se encontraron monstruos (Selected.gif)");
             return;
         }
 
-        System.out.println("🔄 Registrando callbacks para " + archivos.length + " monstruos...");
+        GameLog.info("🔄 Registrando callbacks para " + archivos.length + " monstruos...");
 
         for (File archivo : archivos) {
             String nombreMonstruo = archivo.getName()
@@ -429,7 +431,7 @@ public class PresentationController {
             // Verificar que exista Normal.png
             String rutaNormal = carpetaBotones.getAbsolutePath() + File.separator + nombreMonstruo + "Normal.png";
             if (!new File(rutaNormal).exists()) {
-                System.out.println("⚠️ No se encontró Normal.png para: " + nombreMonstruo);
+                GameLog.warn("⚠️ No se encontró Normal.png para: " + nombreMonstruo);
                 continue;
             }
 
@@ -438,7 +440,7 @@ public class PresentationController {
 
             // Registrar callback para este monstruo
             selectMonster.setOnMonstruoClick(monstruoActual, () -> {
-                System.out.println("✅ Monstruo seleccionado: " + monstruoActual);
+                GameLog.info("✅ Monstruo seleccionado: " + monstruoActual);
                 selectMonster.setVisible(false);
                 // Guardar el monstruo y luego mostrar selección de nivel
                 mostrarSeleccionNivelConMonstruo(monstruoActual);
@@ -450,12 +452,12 @@ public class PresentationController {
      * Inicia el juego en modo cooperativo (dos helados)
      */
     private void iniciarJuegoCooperativo(String helado1, String helado2) {
-        System.out.println("✅ Configuración Cooperativa seleccionada:");
-        System.out.println("  Modo: " + selectedGameMode);
-        System.out.println("  Helado (J1): " + helado1);
-        System.out.println("  Helado (J2): " + helado2);
+        GameLog.info("✅ Configuración Cooperativa seleccionada:");
+        GameLog.info("  Modo: " + selectedGameMode);
+        GameLog.info("  Helado (J1): " + helado1);
+        GameLog.info("  Helado (J2): " + helado2);
         if (inAutoProgressionMode) {
-            System.out.println("  📊 Modo progresión automática: iniciando nivel " + selectedLevelNumber);
+            GameLog.info("  📊 Modo progresión automática: iniciando nivel " + selectedLevelNumber);
         }
 
         // Limpiar recursos del juego anterior
@@ -477,6 +479,7 @@ public class PresentationController {
         gameController.setOnReturnToMenuClick(createReturnToMenuCallback());
         gameController.setOnSaveGameClick(createSaveGameCallback());
         gameController.setOnContinueGameClick(createContinueGameCallback());
+        gameController.setLevelManager(levelManager);
         gameController.setOnLevelComplete(createLevelCompleteCallback());
         gameController.setOnLevelFailed(createLevelFailedCallback());
 
@@ -509,7 +512,7 @@ public class PresentationController {
      * PVP Vs Monstruo
      */
     private void mostrarSeleccionNivelConMonstruo(String monsterType) {
-        System.out.println("✅ Guardando monstruo seleccionado: " + monsterType);
+        GameLog.info("✅ Guardando monstruo seleccionado: " + monsterType);
         selectedMonster = monsterType;
         mostrarSeleccionNivel();
     }
@@ -519,12 +522,12 @@ public class PresentationController {
      * nivel)
      */
     private void iniciarJuegoPVM(String helado) {
-        System.out.println("✅ Modo PVM seleccionado:");
-        System.out.println("  Modo: " + selectedGameMode);
-        System.out.println("  Helado: " + helado);
-        System.out.println("  Monstruo: Se asignará automáticamente según el nivel");
+        GameLog.info("✅ Modo PVM seleccionado:");
+        GameLog.info("  Modo: " + selectedGameMode);
+        GameLog.info("  Helado: " + helado);
+        GameLog.info("  Monstruo: Se asignará automáticamente según el nivel");
         if (inAutoProgressionMode) {
-            System.out.println("  📊 Modo progresión automática: iniciando nivel " + selectedLevelNumber);
+            GameLog.info("  📊 Modo progresión automática: iniciando nivel " + selectedLevelNumber);
         }
 
         // Limpiar recursos del juego anterior
@@ -547,6 +550,7 @@ public class PresentationController {
         gameController.setOnReturnToMenuClick(createReturnToMenuCallback());
         gameController.setOnSaveGameClick(createSaveGameCallback());
         gameController.setOnContinueGameClick(createContinueGameCallback());
+        gameController.setLevelManager(levelManager);
         gameController.setOnLevelComplete(createLevelCompleteCallback());
         gameController.setOnLevelFailed(createLevelFailedCallback());
 
@@ -578,13 +582,13 @@ public class PresentationController {
      * Inicia el juego en modo PVP Vs Monstruo (helado vs monstruo específico)
      */
     private void iniciarJuegoVSMonstruo(String helado, String monstruo, String aiStrategy) {
-        System.out.println("✅ Modo PVP Vs Monstruo seleccionado:");
-        System.out.println("  Modo: " + selectedGameMode);
-        System.out.println("  Helado: " + helado);
-        System.out.println("  Monstruo: " + monstruo);
-        System.out.println("  IA Helado: " + aiStrategy);
+        GameLog.info("✅ Modo PVP Vs Monstruo seleccionado:");
+        GameLog.info("  Modo: " + selectedGameMode);
+        GameLog.info("  Helado: " + helado);
+        GameLog.info("  Monstruo: " + monstruo);
+        GameLog.info("  IA Helado: " + aiStrategy);
         if (inAutoProgressionMode) {
-            System.out.println("  📊 Modo progresión automática: iniciando nivel " + selectedLevelNumber);
+            GameLog.info("  📊 Modo progresión automática: iniciando nivel " + selectedLevelNumber);
         }
 
         // Limpiar recursos del juego anterior
@@ -612,6 +616,7 @@ public class PresentationController {
         gameController.setOnReturnToMenuClick(createReturnToMenuCallback());
         gameController.setOnSaveGameClick(createSaveGameCallback());
         gameController.setOnContinueGameClick(createContinueGameCallback());
+        gameController.setLevelManager(levelManager);
         gameController.setOnLevelComplete(createLevelCompleteCallback());
         gameController.setOnLevelFailed(createLevelFailedCallback());
 
@@ -644,13 +649,13 @@ public class PresentationController {
      * El helado es controlado por IA intentando recoger frutas y evitar monstruos
      */
     private void iniciarJuegoMVM() {
-        System.out.println("✅ Modo MVM iniciando:");
-        System.out.println("  Helado controlado por IA: " + selectedIceCream);
-        System.out.println("  Nivel seleccionado: " + selectedLevelNumber);
-        System.out.println("  Los monstruos se asignarán según el nivel");
-        System.out.println("  🤖 La IA controla el helado automáticamente");
+        GameLog.info("✅ Modo MVM iniciando:");
+        GameLog.info("  Helado controlado por IA: " + selectedIceCream);
+        GameLog.info("  Nivel seleccionado: " + selectedLevelNumber);
+        GameLog.info("  Los monstruos se asignarán según el nivel");
+        GameLog.info("  🤖 La IA controla el helado automáticamente");
         if (inAutoProgressionMode) {
-            System.out.println("  📊 Modo progresión automática: iniciando nivel " + selectedLevelNumber);
+            GameLog.info("  📊 Modo progresión automática: iniciando nivel " + selectedLevelNumber);
         }
 
         // Limpiar recursos del juego anterior
@@ -679,6 +684,7 @@ public class PresentationController {
         gameController.setOnReturnToMenuClick(createReturnToMenuCallback());
         gameController.setOnSaveGameClick(createSaveGameCallback());
         gameController.setOnContinueGameClick(createContinueGameCallback());
+        gameController.setLevelManager(levelManager);
         gameController.setOnLevelComplete(createLevelCompleteCallback());
         gameController.setOnLevelFailed(createLevelFailedCallback());
 
@@ -710,7 +716,7 @@ public class PresentationController {
      * Reseta el estado del juego y vuelve al menú
      */
     private void resetGameState() {
-        System.out.println("🔄 Reseteando estado del juego...");
+        GameLog.info("🔄 Reseteando estado del juego...");
 
         selectedGameMode = null;
         selectedPVPMode = null;
@@ -724,7 +730,7 @@ public class PresentationController {
             try {
                 gameController.stopGame();
             } catch (Exception e) {
-                System.err.println("Error deteniendo juego: " + e.getMessage());
+                GameLog.error("Error deteniendo juego: " + e.getMessage());
             }
             gameController = null;
         }
@@ -736,14 +742,14 @@ public class PresentationController {
                 gameFrame.getContentPane().removeAll();
                 gameFrame.dispose();
                 gameFrame = null;
-                System.out.println("✅ Ventana del juego cerrada");
+                GameLog.info("✅ Ventana del juego cerrada");
             } catch (Exception e) {
-                System.err.println("Error cerrando ventana: " + e.getMessage());
+                GameLog.error("Error cerrando ventana: " + e.getMessage());
                 gameFrame = null;
             }
         }
 
-        System.out.println("✅ Estado reseteado exitosamente");
+        GameLog.info("✅ Estado reseteado exitosamente");
     }
 
     /**
@@ -756,14 +762,16 @@ public class PresentationController {
         return () -> {
             if (gameController != null && gameController.getGame() != null) {
                 Domain.Game game = gameController.getGame();
-                // Guardar la partida con un nombre de archivo estándar
-                if (game.saveGame("savegame")) {
-                    System.out.println("[OK] Partida guardada exitosamente en saves/savegame.dat");
-                } else {
-                    System.err.println("[ERROR] Error al guardar la partida");
-                }
+                // Guardar la partida con un nombre de archivo estándar (en segundo plano)
+                game.saveGameAsync("savegame").thenAccept(guardado -> {
+                    if (guardado) {
+                        GameLog.info("[OK] Partida guardada exitosamente en saves/savegame.dat");
+                    } else {
+                        GameLog.error("[ERROR] Error al guardar la partida");
+                    }
+                });
             } else {
-                System.err.println("[ERROR] No hay juego activo para guardar");
+                GameLog.error("[ERROR] No hay juego activo para guardar");
             }
         };
     }
@@ -774,7 +782,7 @@ public class PresentationController {
     private Runnable createContinueGameCallback() {
         return () -> {
             if (gameController != null) {
-                System.out.println("✅ Reanudando juego desde botón...");
+                GameLog.info("✅ Reanudando juego desde botón...");
                 gameController.resume(); // Reanuda el juego
                 gameController.getGamePanel().requestFocusInWindow(); // Devuelve el foco
             }
@@ -783,7 +791,7 @@ public class PresentationController {
 
     private java.util.function.Consumer<Integer> createLevelCompleteCallback() {
         return (nextLevel) -> {
-            System.out.println("✅ Nivel completado, preparando siguiente nivel automáticamente: " + nextLevel);
+            GameLog.info("✅ Nivel completado, preparando siguiente nivel automáticamente: " + nextLevel);
 
             // Guardar el número del siguiente nivel
             nextLevelAfterCompletion = nextLevel;
@@ -811,7 +819,7 @@ public class PresentationController {
 
     private java.util.function.Consumer<Integer> createLevelFailedCallback() {
         return (previousLevel) -> {
-            System.out.println("❌ Nivel fallido, volviendo al inicio desde nivel 1...");
+            GameLog.info("❌ Nivel fallido, volviendo al inicio desde nivel 1...");
 
             // Volver al nivel 1
             selectedLevelNumber = 1;
@@ -838,7 +846,7 @@ public class PresentationController {
 
     private Runnable createReturnToMenuCallback() {
         return () -> {
-            System.out.println("✅ Volviendo al menú desde juego...");
+            GameLog.info("✅ Volviendo al menú desde juego...");
 
             try {
                 // Ocultar y cerrar ventana del juego inmediatamente
@@ -862,10 +870,9 @@ public class PresentationController {
                 intro.requestFocus(); // Dar foco a la ventana
                 intro.resetIntro(); // Reiniciar intro con Timer no-bloqueante
 
-                System.out.println("✅ Vuelto al menú exitosamente");
+                GameLog.info("✅ Vuelto al menú exitosamente");
             } catch (Exception e) {
-                System.err.println("❌ Error al volver al menú: " + e.getMessage());
-                e.printStackTrace();
+                GameLog.error("❌ Error al volver al menú: " + e.getMessage(), e);
             }
         };
     }
@@ -987,17 +994,17 @@ public class PresentationController {
         // Callback para confirmar configuración de frutas
         fruitConfigMenu.setOnConfirmClick(() -> {
             selectedFruitConfig = fruitConfigMenu.getFruitConfiguration();
-            System.out.println("📋 Configuración de frutas recibida:");
+            GameLog.info("📋 Configuración de frutas recibida:");
             if (selectedFruitConfig != null) {
                 for (String fruit : selectedFruitConfig.keySet()) {
-                    System.out.println("  - " + fruit + ": " + selectedFruitConfig.get(fruit));
+                    GameLog.info("  - " + fruit + ": " + selectedFruitConfig.get(fruit));
                 }
             }
             fruitConfigMenu.setVisible(false);
 
             // Si no hay configuración personalizada, usar la del nivel predeterminado
             if (selectedFruitConfig.isEmpty()) {
-                System.out.println("⚠️ Configuración de frutas vacía, usaremos frutas predeterminadas");
+                GameLog.warn("⚠️ Configuración de frutas vacía, usaremos frutas predeterminadas");
                 selectedFruitConfig = null; // null indica usar configuración predeterminada
             }
 
@@ -1021,17 +1028,17 @@ public class PresentationController {
         // Callback para confirmar configuración de obstáculos
         obstaculosConfigMenu.setOnConfirmClick(() -> {
             selectedObstacleConfig = obstaculosConfigMenu.getObstacleConfiguration();
-            System.out.println("🏜️ Configuración de obstáculos recibida:");
+            GameLog.info("🏜️ Configuración de obstáculos recibida:");
             if (selectedObstacleConfig != null) {
                 for (String obstacle : selectedObstacleConfig.keySet()) {
-                    System.out.println("  - " + obstacle + ": " + selectedObstacleConfig.get(obstacle));
+                    GameLog.info("  - " + obstacle + ": " + selectedObstacleConfig.get(obstacle));
                 }
             }
             obstaculosConfigMenu.setVisible(false);
 
             // Si no hay configuración personalizada, usar la del nivel predeterminado
             if (selectedObstacleConfig.isEmpty()) {
-                System.out.println("⚠️ Configuración de obstáculos vacía, no habrá obstáculos personalizados");
+                GameLog.warn("⚠️ Configuración de obstáculos vacía, no habrá obstáculos personalizados");
                 selectedObstacleConfig = null; // null indica usar configuración predeterminada
             }
 
@@ -1060,7 +1067,7 @@ public class PresentationController {
                 if (selectedMonster != null) {
                     iniciarJuegoVSMonstruo(helado, selectedMonster, null);
                 } else {
-                    System.err.println("❌ Error: No se ha seleccionado monstruo para modo PVP Vs Monstruo");
+                    GameLog.error("❌ Error: No se ha seleccionado monstruo para modo PVP Vs Monstruo");
                 }
             }
         } else if (selectedGameMode == GameMode.MVM) {
@@ -1092,6 +1099,7 @@ public class PresentationController {
             gameController.setOnReturnToMenuClick(createReturnToMenuCallback());
             gameController.setOnSaveGameClick(createSaveGameCallback());
             gameController.setOnContinueGameClick(createContinueGameCallback());
+            gameController.setLevelManager(levelManager);
             gameController.setOnLevelComplete(createLevelCompleteCallback());
             gameController.setOnLevelFailed(createLevelFailedCallback());
 
@@ -1110,10 +1118,9 @@ public class PresentationController {
             // Restaurar el enfoque (el juego ya está ejecutándose desde el constructor)
             gameController.getGamePanel().requestFocusInWindow();
 
-            System.out.println("[OK] Juego reanudado exitosamente desde el estado guardado");
+            GameLog.info("[OK] Juego reanudado exitosamente desde el estado guardado");
         } catch (Exception e) {
-            System.err.println("[ERROR] Error al iniciar juego con estado guardado: " + e.getMessage());
-            e.printStackTrace();
+            GameLog.error("[ERROR] Error al iniciar juego con estado guardado: " + e.getMessage(), e);
         }
     }
 
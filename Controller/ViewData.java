@@ -14,9 +14,41 @@ import java.util.List;
  * 
  * PATRÓN: Data Transfer Object (DTO)
  * Los datos aquí son copias/referencias que la View usa SOLO para lectura
+ *
+ * GameController reutiliza dos instancias (doble buffer): los objetos de las
+ * listas se actualizan en su lugar y la View no debe guardar referencias a
+ * ellos entre frames.
  */
 public class ViewData {
 
+    // ========== IDENTIFICADORES DE SPRITES ==========
+    // Índices de las tablas de sprites (ImageLoader/SpriteAtlas): la View elige
+    // el sprite con enteros, sin armar claves de texto en cada frame.
+    public static final int FLAVOR_CHOCOLATE = 0;
+    public static final int FLAVOR_VANILLA = 1;
+    public static final int FLAVOR_STRAWBERRY = 2;
+    public static final String[] FLAVOR_NAMES = { "chocolate", "vainilla", "fresa" };
+
+    public static final int ACTION_STAND = 0;
+    public static final int ACTION_WALK = 1;
+    public static final int ACTION_BREAK = 2;
+    public static final int ACTION_SHOOT = 3;
+    public static final int ACTION_DIE = 4;
+    public static final int ACTION_WIN = 5;
+    public static final String[] ACTION_NAMES = { "stand", "walk", "break", "shoot", "die", "win" };
+
+    public static final int DIR_UP = 0;
+    public static final int DIR_DOWN = 1;
+    public static final int DIR_LEFT = 2;
+    public static final int DIR_RIGHT = 3;
+    public static final String[] DIRECTION_NAMES = { "up", "down", "left", "right" };
+
+    public static final int MONSTER_TROLL = 0;
+    public static final int MONSTER_POT = 1;
+    public static final int MONSTER_YELLOW_SQUID = 2;
+    public static final int MONSTER_NARVAL = 3;
+    public static final String[] MONSTER_NAMES = { "troll", "pot", "yellowsquid", "narval" };
+
     // ========== ESTADO DEL JUEGO ==========
     public String gameState; // "PLAYING", "PAUSED", "WON", "LOST"
     public int score;
@@ -36,6 +68,9 @@ public class ViewData {
     public String iceCreamFlavor;
     public String iceCreamAction;
     public String iceCreamDirection;
+    public int iceCreamFlavorId;
+    public int iceCreamActionId;
+    public int iceCreamDirectionId;
 
     // ========== HELADO SECUNDARIO (Cooperativo) ==========
     public boolean secondIceCreamAlive;
@@ -44,19 +79,153 @@ public class ViewData {
     public String secondIceCreamFlavor;
     public String secondIceCreamAction;
     public String secondIceCreamDirection;
+    public int secondIceCreamFlavorId;
+    public int secondIceCreamActionId;
+    public int secondIceCreamDirectionId;
 
     // ========== ENEMIGOS ==========
     public List<EnemyView> enemies = new ArrayList<>();
+    public final ChunkIndex enemyIndex = new ChunkIndex();
 
     // ========== FRUTAS ==========
     public List<FruitView> fruits = new ArrayList<>();
+    public final ChunkIndex fruitIndex = new ChunkIndex();
 
     // ========== BLOQUES DE HIELO ==========
     public List<PositionView> iceBlocks = new ArrayList<>();
+    public final ChunkIndex iceBlockIndex = new ChunkIndex();
 
     // ========== MUROS ==========
     public List<PositionView> walls = new ArrayList<>();
 
+    // Versión de la capa estática (muros, baldosas y bloques fijos): cambia
+    // con un tablero nuevo o cuando se agrega terreno que no es hielo
+    public int staticVersion;
+
+    // ========== PERFIL DE FRAMES (overlay F3) ==========
+    // Tiempos del último segundo por fase, en nanosegundos (solo se copian
+    // mientras el overlay está visible)
+    public boolean profileVisible;
+    public long profileFrames; // Frames medidos en el último segundo
+    public String[] profilePhases = new String[0];
+    public long[] profileP50 = new long[0];
+    public long[] profileP99 = new long[0];
+    public long[] profileMax = new long[0];
+
+    // ========== POOL DE OBJETOS ==========
+    // Objetos sobrantes de cada lista (se reutilizan cuando la lista vuelve a crecer)
+    final List<EnemyView> spareEnemies = new ArrayList<>();
+    final List<FruitView> spareFruits = new ArrayList<>();
+    final List<PositionView> sparePositions = new ArrayList<>();
+    final List<ObstaculoView> spareObstaculos = new ArrayList<>();
+    final List<FrutaEspecialView> spareCactuses = new ArrayList<>();
+
+    /**
+     * Ajusta el tamaño de una lista reutilizando sus objetos: los que sobran
+     * pasan a "spares" y los que faltan salen de "spares" (o se crean)
+     */
+    static <T> void resize(List<T> list, List<T> spares, int size, java.util.function.Supplier<T> factory) {
+        while (list.size() > size) {
+            spares.add(list.remove(list.size() - 1));
+        }
+        while (list.size() < size) {
+            list.add(spares.isEmpty() ? factory.get() : spares.remove(spares.size() - 1));
+        }
+    }
+
+    // ========== ÍNDICE POR BLOQUES ==========
+
+    /**
+     * Índice de una lista por bloques de CHUNK_CELLS x CHUNK_CELLS celdas
+     * (los mismos de la capa estática de GamePanel): la View recorre solo los
+     * elementos de los bloques que se ven, así pintar depende de lo que entra
+     * en la cámara y no de cuántas entidades tiene el tablero.
+     *
+     * GameController lo arma al copiar la lista (begin, add por elemento en
+     * orden, finish): ordenamiento por conteo, sin objetos nuevos por frame.
+     */
+    public static final class ChunkIndex {
+        public static final int CHUNK_CELLS = 16;
+
+        private int chunkCols;
+        private int chunkRows;
+        private int size;
+        private int[] starts = new int[2]; // Bloque b: order[starts[b]] .. order[starts[b + 1] - 1]
+        private int[] order = new int[0]; // Índices de la lista agrupados por bloque
+        private int[] chunkOf = new int[0]; // Bloque de cada elemento (mientras se arma)
+
+        void begin(int boardWidth, int boardHeight, int count) {
+            chunkCols = Math.max(1, (boardWidth + CHUNK_CELLS - 1) / CHUNK_CELLS);
+            chunkRows = Math.max(1, (boardHeight + CHUNK_CELLS - 1) / CHUNK_CELLS);
+            int chunks = chunkCols * chunkRows;
+            if (starts.length < chunks + 1) {
+                starts = new int[chunks + 1];
+            } else {
+                Arrays.fill(starts, 0, chunks + 1, 0);
+            }
+            if (order.length < count) {
+                order = new int[count];
+                chunkOf = new int[count];
+            }
+            size = 0;
+        }
+
+        /**
+         * Agrega el siguiente elemento de la lista (en orden) en su celda
+         */
+        void add(int cellX, int cellY) {
+            int col = Math.max(0, Math.min(chunkCols - 1, cellX / CHUNK_CELLS));
+            int row = Math.max(0, Math.min(chunkRows - 1, cellY / CHUNK_CELLS));
+            int chunk = row * chunkCols + col;
+            chunkOf[size++] = chunk;
+            starts[chunk + 1]++;
+        }
+
+        void finish() {
+            int chunks = chunkCols * chunkRows;
+            for (int b = 0; b < chunks; b++) {
+                starts[b + 1] += starts[b];
+            }
+            // Se reparte con starts[b] como cursor y después se lo restaura
+            for (int i = 0; i < size; i++) {
+                order[starts[chunkOf[i]]++] = i;
+            }
+            for (int b = chunks; b > 0; b--) {
+                starts[b] = starts[b - 1];
+            }
+            starts[0] = 0;
+        }
+
+        public int getChunkCols() {
+            return chunkCols;
+        }
+
+        public int getChunkRows() {
+            return chunkRows;
+        }
+
+        /**
+         * Primera posición del bloque (para get)
+         */
+        public int start(int chunkCol, int chunkRow) {
+            return starts[chunkRow * chunkCols + chunkCol];
+        }
+
+        /**
+         * Posición siguiente a la última del bloque
+         */
+        public int end(int chunkCol, int chunkRow) {
+            return starts[chunkRow * chunkCols + chunkCol + 1];
+        }
+
+        /**
+         * Índice en la lista del elemento en esa posición del índice
+         */
+        public int get(int position) {
+            return order[position];
+        }
+    }
+
     // ========== CLASES INTERNAS PARA DATOS ==========
 
     public static class EnemyView {
@@ -67,6 +236,9 @@ public class ViewData {
         public String direction;
         public String color; // Como String para evitar dependencia en Color
         public boolean alive;
+        public int typeId;
+        public int actionId;
+        public int directionId;
 
         public EnemyView() {
             // Constructor sin parámetros para inicialización flexible
@@ -105,11 +277,14 @@ public class ViewData {
 
     // ========== OBSTÁCULOS DINÁMICOS ==========
     public List<ObstaculoView> fogatas = new ArrayList<>();
+    public final ChunkIndex fogataIndex = new ChunkIndex();
     public List<ObstaculoView> baldosasCalientes = new ArrayList<>();
+    public final ChunkIndex baldosaIndex = new ChunkIndex();
     public List<ObstaculoView> iceBlockObstacles = new ArrayList<>();
 
     // ========== FRUTAS ESPECIALES ==========
     public List<FrutaEspecialView> cactuses = new ArrayList<>();
+    public final ChunkIndex cactusIndex = new ChunkIndex();
 
     public static class ObstaculoView {
         public int x;
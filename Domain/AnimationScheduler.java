@@ -0,0 +1,116 @@
+package Domain;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Planificador de animaciones del juego
+ * Reemplaza los java.util.Timer que se creaban por cada acción ("break",
+ * "shoot") para volver a "stand": las acciones expiran por frames y se
+ * procesan en el tick del juego, sin hilos adicionales.
+ *
+ * Una instancia por partida (ver Game.getAnimationScheduler()).
+ */
+public class AnimationScheduler {
+
+    // Duración de un frame de lógica (un tick de GameClock)
+    public static final int FRAME_TIME_MS = GameClock.TICK_MS;
+
+    private final List<ActionReset> pending;
+    private long currentTick;
+
+    public AnimationScheduler() {
+        this.pending = new ArrayList<>();
+        this.currentTick = 0;
+    }
+
+    /**
+     * Programa el regreso de un objeto a una acción después de un retraso
+     * Si el objeto ya tenía un regreso pendiente, se reemplaza
+     *
+     * @param target         Objeto animado
+     * @param action         Acción a establecer al expirar (ej. STAND)
+     * @param delayMs        Retraso en milisegundos (se convierte a frames)
+     * @param keepIfWalking  Si es true, no se cambia la acción cuando el objeto
+     *                       ya está caminando
+     */
+    public void scheduleActionReset(GameObject target, EntityAction action, int delayMs, boolean keepIfWalking) {
+        if (target == null) {
+            return;
+        }
+        cancel(target);
+        pending.add(new ActionReset(target, action, currentTick + toTicks(delayMs), keepIfWalking));
+    }
+
+    /**
+     * Avanza un frame y aplica las acciones que expiraron
+     */
+    public void tick() {
+        currentTick++;
+        Iterator<ActionReset> it = pending.iterator();
+        while (it.hasNext()) {
+            ActionReset reset = it.next();
+            if (reset.expiryTick <= currentTick) {
+                it.remove();
+                reset.apply();
+            }
+        }
+    }
+
+    /**
+     * Cancela el regreso pendiente de un objeto
+     */
+    public void cancel(GameObject target) {
+        pending.removeIf(reset -> reset.target == target);
+    }
+
+    /**
+     * Cancela todas las tareas pendientes (al detener la partida o volver al menú)
+     */
+    public void cancelAll() {
+        pending.clear();
+    }
+
+    /**
+     * Obtiene la cantidad de tareas pendientes
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Convierte milisegundos a frames (mínimo 1)
+     */
+    public static int toTicks(int delayMs) {
+        return Math.max(1, (delayMs + FRAME_TIME_MS - 1) / FRAME_TIME_MS);
+    }
+
+    /**
+     * Regreso programado de un objeto a una acción
+     */
+    private static class ActionReset {
+        private final GameObject target;
+        private final EntityAction action;
+        private final long expiryTick;
+        private final boolean keepIfWalking;
+
+        ActionReset(GameObject target, EntityAction action, long expiryTick, boolean keepIfWalking) {
+            this.target = target;
+            this.action = action;
+            this.expiryTick = expiryTick;
+            this.keepIfWalking = keepIfWalking;
+        }
+
+        void apply() {
+            if (keepIfWalking && target.getCurrentAction() == EntityAction.WALK) {
+                return;
+            }
+            target.setCurrentAction(action);
+        }
+    }
+}
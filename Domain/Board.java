@@ -1,6 +1,11 @@
 package Domain;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -27,8 +32,52 @@ public class Board implements BoardStateProvider {
     private List<IceBlockObstacle> iceBlockObstacles; // Bloques de hielo estáticos como obstáculos
 
     // Matriz de celdas (para búsqueda rápida)
+    // Fuente de verdad del terreno bloqueante: muros, hielo, baldosas y
+    // obstáculos de hielo. Las listas de arriba solo se usan para iterar.
     private CellType[][] cells;
 
+    // Capas de ocupación indexadas por celda (y * width + x)
+    // Se reconstruyen al deserializar (ver readObject)
+    private transient IceBlock[] iceBlockGrid; // Bloque de hielo de cada celda
+    private transient int[] iceBlockSlot; // Índice en iceBlocks del bloque de la celda
+    private transient IceBlockObstacle[] obstacleGrid; // Obstáculo de hielo de cada celda
+    private transient Fogata[] fogataGrid; // Fogata de cada celda (no bloquea)
+    private transient Fruit[] fruitGrid; // Una fruta no recolectada de la celda
+    private transient short[] fruitCount; // Frutas no recolectadas en la celda
+    private transient Enemy[] enemyGrid; // Un enemigo de la celda
+    private transient short[] enemyCount; // Enemigos en la celda
+
+    // Planificador de animaciones de la partida (lo asigna Game)
+    private transient AnimationScheduler animationScheduler;
+
+    // Caminos más cortos para las IAs (se invalida con occupancyVersion)
+    private transient PathfindingService pathfinding;
+    private transient int occupancyVersion; // Cambia cada vez que cambia el terreno
+    private transient int solidVersion; // Cambia solo con terreno que no es hielo
+
+    // Celdas cuyo terreno cambió desde la última instantánea completa
+    // (SnapshotJournal las usa para los deltas sin recorrer el tablero)
+    private transient BitSet changedCells;
+
+    // Hash Zobrist del tablero: suma de una clave por (celda, capa) de cada
+    // terreno, fruta no recolectada y enemigo. Se actualiza en O(1) en cada
+    // cambio, sin recorrer el tablero (ver getStateHash)
+    private transient long zobristHash;
+
+    // Celdas libres (terreno vacío, sin frutas ni enemigos) para sortear
+    // posiciones sin recorrer el tablero: arreglo denso de índices de celda y,
+    // por celda, su lugar en el arreglo (-1 si no está). Agregar y quitar son
+    // O(1): quitar mueve la última al hueco.
+    private transient int[] freeCells;
+    private transient int[] freeSlot;
+    private transient int freeCount;
+
+    // Vistas de solo lectura de las listas (sin copiar) para lecturas por frame
+    private transient List<Enemy> enemiesView;
+    private transient List<Fruit> fruitsView;
+    private transient List<IceBlock> iceBlocksView;
+    private transient List<Fogata> fogatasView;
+
     /**
      * Constructor del tablero
      * 
@@ -58,6 +107,117 @@ public class Board implements BoardStateProvider {
                 cells[y][x] = CellType.EMPTY;
             }
         }
+        int size = width * height;
+        iceBlockGrid = new IceBlock[size];
+        iceBlockSlot = new int[size];
+        obstacleGrid = new IceBlockObstacle[size];
+        fogataGrid = new Fogata[size];
+        fruitGrid = new Fruit[size];
+        fruitCount = new short[size];
+        enemyGrid = new Enemy[size];
+        enemyCount = new short[size];
+        changedCells = new BitSet(size);
+        zobristHash = 0;
+        freeCells = new int[size];
+        freeSlot = new int[size];
+        for (int i = 0; i < size; i++) {
+            freeCells[i] = i;
+            freeSlot[i] = i;
+        }
+        freeCount = size;
+    }
+
+    /**
+     * Reconstruye la matriz de celdas y las capas de ocupación a partir de las
+     * listas de entidades (necesario después de deserialización)
+     */
+    private void rebuildOccupancy() {
+        initializeCells();
+
+        List<Position> oldWalls = walls;
+        List<IceBlock> oldIceBlocks = iceBlocks;
+        List<BaldosaCaliente> oldBaldosas = baldosasCalientes;
+        List<IceBlockObstacle> oldObstacles = iceBlockObstacles;
+        walls = new ArrayList<>();
+        iceBlocks = new ArrayList<>();
+        baldosasCalientes = new ArrayList<>();
+        iceBlockObstacles = new ArrayList<>();
+        iceBlocksView = null;
+
+        for (Position wall : oldWalls) {
+            addWall(wall);
+        }
+        for (IceBlock block : oldIceBlocks) {
+            addIceBlock(block);
+        }
+        for (BaldosaCaliente baldosa : oldBaldosas) {
+            addBaldosaCaliente(baldosa);
+        }
+        for (IceBlockObstacle obstacle : oldObstacles) {
+            addIceBlockObstacle(obstacle);
+        }
+        for (Fogata fogata : fogatas) {
+            indexFogata(fogata);
+        }
+        for (Fruit fruit : fruits) {
+            if (!fruit.isCollected()) {
+                indexFruit(fruit, fruit.getPosition());
+            }
+        }
+        for (Enemy enemy : enemies) {
+            indexEnemy(enemy, enemy.getPosition());
+        }
+        sortFreeCells();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        rebuildOccupancy();
+    }
+
+    /**
+     * Convierte una posición en el índice de su celda
+     * 
+     * @return Índice de la celda, o -1 si está fuera del tablero
+     */
+    private int cellIndex(Position pos) {
+        if (pos == null || !isInBounds(pos)) {
+            return -1;
+        }
+        return pos.getY() * width + pos.getX();
+    }
+
+    /**
+     * Obtiene el tipo de terreno de una celda
+     * 
+     * @return Tipo de la celda, o WALL si está fuera del tablero
+     */
+    public CellType getCellType(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return CellType.WALL;
+        }
+        return cells[y][x];
+    }
+
+    /**
+     * Marca una celda vacía con un tipo de terreno bloqueante
+     * 
+     * @return true si la celda estaba vacía y se marcó
+     */
+    private boolean occupyCell(Position pos, CellType type) {
+        if (cellIndex(pos) < 0 || cells[pos.getY()][pos.getX()] != CellType.EMPTY) {
+            return false;
+        }
+        int index = cellIndex(pos);
+        cells[pos.getY()][pos.getX()] = type;
+        occupancyVersion++;
+        if (type != CellType.ICE_BLOCK) {
+            solidVersion++;
+        }
+        changedCells.set(index);
+        zobristHash += zobristKey(index, type.ordinal());
+        updateFree(index);
+        return true;
     }
 
     /**
@@ -67,6 +227,8 @@ public class Board implements BoardStateProvider {
         EMPTY,
         WALL,
         ICE_BLOCK,
+        HOT_TILE,
+        ICE_OBSTACLE,
         ICE_CREAM,
         ENEMY,
         FRUIT
@@ -88,63 +250,30 @@ public class Board implements BoardStateProvider {
             return false;
         }
 
-        // Verificar si hay muro (indestructible)
-        if (isWall(pos)) {
-            return false;
-        }
-
-        // Verificar si hay bloque de hielo
-        if (hasIceBlock(pos)) {
-            return false;
-        }
-
-        // Verificar si hay baldosa caliente
-        if (hasBaldosaCaliente(pos)) {
-            return false;
-        }
-
-        // Verificar si hay bloque de hielo estático
-        if (hasIceBlockObstacle(pos)) {
-            return false;
-        }
-
-        return true;
+        // Muros, hielo, baldosas calientes y hielo estático bloquean el paso
+        return cells[pos.getY()][pos.getX()] == CellType.EMPTY;
     }
 
     /**
      * Verifica si hay un muro en la posición
      */
     public boolean isWall(Position pos) {
-        for (Position wall : walls) {
-            if (wall.equals(pos)) {
-                return true;
-            }
-        }
-        return false;
+        return cellIndex(pos) >= 0 && cells[pos.getY()][pos.getX()] == CellType.WALL;
     }
 
     /**
      * Verifica si hay un bloque de hielo en la posición
      */
     public boolean hasIceBlock(Position pos) {
-        for (IceBlock block : iceBlocks) {
-            if (block.getPosition().equals(pos)) {
-                return true;
-            }
-        }
-        return false;
+        return cellIndex(pos) >= 0 && cells[pos.getY()][pos.getX()] == CellType.ICE_BLOCK;
     }
 
     /**
      * Obtiene el bloque de hielo en una posición
      */
     public IceBlock getIceBlockAt(Position pos) {
-        for (IceBlock block : iceBlocks) {
-            if (block.getPosition().equals(pos)) {
-                return block;
-            }
-        }
-        return null;
+        int index = cellIndex(pos);
+        return index >= 0 ? iceBlockGrid[index] : null;
     }
 
     /**
@@ -153,26 +282,30 @@ public class Board implements BoardStateProvider {
      * (la fruta no puede ser recolectada si está bajo un bloque de hielo)
      */
     public Fruit getFruitAt(Position pos) {
-        for (Fruit fruit : fruits) {
-            if (fruit.getPosition().equals(pos) && !fruit.isCollected()) {
-                // Verificar si hay bloque de hielo en la misma posición
-                if (hasIceBlock(pos)) {
-                    // Hay hielo, no devolver la fruta (protegida)
-                    return null;
-                }
-                return fruit;
-            }
+        // Verificar si hay bloque de hielo en la misma posición
+        if (hasIceBlock(pos)) {
+            // Hay hielo, no devolver la fruta (protegida)
+            return null;
         }
-        return null;
+        return getFruitAtForRendering(pos);
     }
 
     /**
      * Verifica si hay un enemigo en la posición
      */
     public Enemy getEnemyAt(Position pos) {
-        for (Enemy enemy : enemies) {
-            if (enemy.getPosition().equals(pos) && enemy.isAlive()) {
-                return enemy;
+        int index = cellIndex(pos);
+        if (index < 0 || enemyCount[index] == 0) {
+            return null;
+        }
+        Enemy enemy = enemyGrid[index];
+        if (enemyCount[index] == 1 || enemy.isAlive()) {
+            return enemy.isAlive() ? enemy : null;
+        }
+        // Varios enemigos apilados en la celda: buscar uno vivo
+        for (Enemy other : enemies) {
+            if (other.isAlive() && other.getPosition().equals(pos)) {
+                return other;
             }
         }
         return null;
@@ -185,12 +318,127 @@ public class Board implements BoardStateProvider {
      * @return La fruta en la posición, incluso si está bajo hielo
      */
     public Fruit getFruitAtForRendering(Position pos) {
-        for (Fruit fruit : fruits) {
-            if (fruit.getPosition().equals(pos) && !fruit.isCollected()) {
-                return fruit;
+        int index = cellIndex(pos);
+        if (index < 0 || fruitCount[index] == 0) {
+            return null;
+        }
+        return fruitGrid[index];
+    }
+
+    // ========== ÍNDICE DE ENTIDADES POR CELDA ==========
+
+    private void indexFruit(Fruit fruit, Position pos) {
+        int index = cellIndex(pos);
+        if (index < 0) {
+            return;
+        }
+        if (fruitCount[index] == 0) {
+            fruitGrid[index] = fruit;
+        }
+        fruitCount[index]++;
+        zobristHash += zobristKey(index, CellType.FRUIT.ordinal());
+        updateFree(index);
+    }
+
+    private void unindexFruit(Fruit fruit, Position pos) {
+        int index = cellIndex(pos);
+        if (index < 0 || fruitCount[index] == 0) {
+            return;
+        }
+        fruitCount[index]--;
+        zobristHash -= zobristKey(index, CellType.FRUIT.ordinal());
+        updateFree(index);
+        if (fruitCount[index] == 0) {
+            fruitGrid[index] = null;
+        } else if (fruitGrid[index] == fruit) {
+            // Buscar otra fruta no recolectada en la misma celda
+            for (Fruit other : fruits) {
+                if (other != fruit && !other.isCollected() && other.getPosition().equals(pos)) {
+                    fruitGrid[index] = other;
+                    break;
+                }
+            }
+        }
+    }
+
+    private void indexEnemy(Enemy enemy, Position pos) {
+        int index = cellIndex(pos);
+        if (index < 0) {
+            return;
+        }
+        if (enemyCount[index] == 0) {
+            enemyGrid[index] = enemy;
+        }
+        enemyCount[index]++;
+        zobristHash += zobristKey(index, CellType.ENEMY.ordinal());
+        updateFree(index);
+    }
+
+    private void unindexEnemy(Enemy enemy, Position pos) {
+        int index = cellIndex(pos);
+        if (index < 0 || enemyCount[index] == 0) {
+            return;
+        }
+        enemyCount[index]--;
+        zobristHash -= zobristKey(index, CellType.ENEMY.ordinal());
+        updateFree(index);
+        if (enemyCount[index] == 0) {
+            enemyGrid[index] = null;
+        } else if (enemyGrid[index] == enemy) {
+            for (Enemy other : enemies) {
+                if (other != enemy && other.getPosition().equals(pos)) {
+                    enemyGrid[index] = other;
+                    break;
+                }
+            }
+        }
+    }
+
+    private void indexFogata(Fogata fogata) {
+        int index = cellIndex(fogata.getPosition());
+        if (index >= 0 && fogataGrid[index] == null) {
+            fogataGrid[index] = fogata;
+        }
+    }
+
+    /**
+     * Mueve un enemigo a una nueva posición manteniendo el índice de celdas
+     */
+    private void relocateEnemy(Enemy enemy, Position newPos) {
+        unindexEnemy(enemy, enemy.getPosition());
+        enemy.updatePosition(newPos);
+        indexEnemy(enemy, newPos);
+    }
+
+    /**
+     * Recolecta una fruta manteniendo el índice de celdas
+     */
+    private void collectFruit(Fruit fruit, IceCream collector) {
+        Position pos = fruit.getPosition();
+        fruit.collect();
+        if (fruit.isCollected()) {
+            unindexFruit(fruit, pos);
+        }
+        collector.collectFruit();
+        lastCollectedFruit = fruit;
+    }
+
+    /**
+     * Actualiza las frutas (movimiento, teletransporte) y reindexa las que
+     * cambiaron de celda
+     */
+    public void updateFruits() {
+        for (Fruit fruit : new ArrayList<>(fruits)) {
+            if (!fruit.isCollected()) {
+                Position before = fruit.getPosition();
+                fruit.update();
+                Position after = fruit.getPosition();
+                if (!before.equals(after)) {
+                    unindexFruit(fruit, before);
+                    indexFruit(fruit, after);
+                }
             }
         }
-        return null;
     }
 
     /**
@@ -222,9 +470,7 @@ public class Board implements BoardStateProvider {
         // Verificar colisión con fruta
         Fruit fruit = getFruitAt(newPos);
         if (fruit != null && !fruit.isCollected()) {
-            fruit.collect();
-            iceCream.collectFruit();
-            lastCollectedFruit = fruit; // Guardar para que Game sume puntos
+            collectFruit(fruit, iceCream); // Guarda la fruta para que Game sume puntos
         }
 
         // Verificar colisión con enemigo
@@ -262,9 +508,7 @@ public class Board implements BoardStateProvider {
         // Verificar colisión con fruta
         Fruit fruit = getFruitAt(newPos);
         if (fruit != null && !fruit.isCollected()) {
-            fruit.collect();
-            secondIceCream.collectFruit();
-            lastCollectedFruit = fruit;
+            collectFruit(fruit, secondIceCream);
         }
 
         // Verificar colisión con enemigo
@@ -308,7 +552,7 @@ public class Board implements BoardStateProvider {
             Narval narval = (Narval) enemy;
             if (narval.isCharging()) {
                 // NUEVO: Cambiar acción a "break" durante la carga
-                narval.setCurrentAction("break");
+                narval.setCurrentAction(EntityAction.BREAK);
 
                 // En modo carga: intentar avanzar continuamente en la dirección de carga
                 Position newPos = narval.getPosition().move(narval.getChargeDirection());
@@ -317,40 +561,40 @@ public class Board implements BoardStateProvider {
                 if (!isInBounds(newPos)) {
                     // Chocó con el borde del mapa
                     narval.deactivateCharge();
-                    narval.setCurrentAction("stand"); // NUEVO
+                    narval.setCurrentAction(EntityAction.STAND); // NUEVO
                     return false;
                 }
 
                 // Romper hielo si hay
                 if (hasIceBlock(newPos)) {
                     removeIceBlock(newPos);
-                    System.out.println("💥 Narval rompiendo bloque en carga");
-                    narval.updatePosition(newPos);
+                    GameLog.debug("💥 Narval rompiendo bloque en carga");
+                    relocateEnemy(narval, newPos);
                     narval.setCurrentDirection(narval.getChargeDirection());
                     return true;
                 }
 
                 // Verificar colisión con helado
                 if (iceCream != null && iceCream.getPosition().equals(newPos)) {
-                    narval.updatePosition(newPos);
+                    relocateEnemy(narval, newPos);
                     narval.setCurrentDirection(narval.getChargeDirection());
                     iceCream.setAlive(false);
-                    System.out.println("💥 Narval chocó contra el helado");
+                    GameLog.debug("💥 Narval chocó contra el helado");
                     narval.deactivateCharge();
-                    narval.setCurrentAction("stand"); // NUEVO
+                    narval.setCurrentAction(EntityAction.STAND); // NUEVO
                     return true;
                 }
 
                 // Si es posición válida y vacía, moverse
                 if (isValidPosition(newPos)) {
-                    narval.updatePosition(newPos);
+                    relocateEnemy(narval, newPos);
                     narval.setCurrentDirection(narval.getChargeDirection());
                     return true;
                 }
 
                 // Algo más bloqueó el camino, detener carga
                 narval.deactivateCharge();
-                narval.setCurrentAction("stand"); // NUEVO
+                narval.setCurrentAction(EntityAction.STAND); // NUEVO
                 return false;
             }
         }
@@ -362,24 +606,17 @@ public class Board implements BoardStateProvider {
         if (!isValidPosition(newPos)) {
             if (enemy.canBreakIce() && hasIceBlock(newPos) && !(enemy instanceof YellowSquid)) {
                 // NUEVO: Cambiar acción a "break" al romper hielo
-                enemy.setCurrentAction("break");
+                enemy.setCurrentAction(EntityAction.BREAK);
 
                 removeIceBlock(newPos);
-                enemy.updatePosition(newPos);
+                relocateEnemy(enemy, newPos);
                 enemy.setCurrentDirection(direction);
 
                 // Ejecutar habilidad especial del enemigo
                 enemy.executeAbility();
 
                 // NUEVO: Volver a "stand" después de un delay
-                new java.util.Timer().schedule(new java.util.TimerTask() {
-                    @Override
-                    public void run() {
-                        if (!enemy.getCurrentAction().equals("walk")) {
-                            enemy.setCurrentAction("stand");
-                        }
-                    }
-                }, 200);
+                scheduleActionReset(enemy, 200, true);
 
                 return true;
             }
@@ -387,9 +624,9 @@ public class Board implements BoardStateProvider {
         }
 
         // NUEVO: Cambiar acción a "walk" cuando se mueve normalmente
-        enemy.setCurrentAction("walk");
+        enemy.setCurrentAction(EntityAction.WALK);
 
-        enemy.updatePosition(newPos);
+        relocateEnemy(enemy, newPos);
         enemy.setCurrentDirection(direction);
 
         // Ejecutar habilidad especial del enemigo
@@ -418,7 +655,7 @@ public class Board implements BoardStateProvider {
         // Verificar si hay un bloque en la dirección apuntada
         if (isInBounds(targetPos) && hasIceBlock(targetPos)) {
             // NUEVO: Cambiar acción a "break"
-            squid.setCurrentAction("break");
+            squid.setCurrentAction(EntityAction.BREAK);
 
             // Incrementar contador de golpes
             squid.executeAbility();
@@ -427,28 +664,16 @@ public class Board implements BoardStateProvider {
             if (squid.getIceBreakCounter() == 0) {
                 // Acababa de completar 3 golpes, se rompió el bloque
                 removeIceBlock(targetPos);
-                System.out.println("💥 ¡Bloque de hielo roto!");
+                GameLog.debug("💥 ¡Bloque de hielo roto!");
 
                 // NUEVO: Volver a "stand" después de un delay
-                new java.util.Timer().schedule(new java.util.TimerTask() {
-                    @Override
-                    public void run() {
-                        squid.setCurrentAction("stand");
-                    }
-                }, 300);
+                scheduleActionReset(squid, 300, false);
 
                 return true;
             }
 
             // NUEVO: Volver a "stand" si no rompió aún
-            new java.util.Timer().schedule(new java.util.TimerTask() {
-                @Override
-                public void run() {
-                    if (!squid.getCurrentAction().equals("walk")) {
-                        squid.setCurrentAction("stand");
-                    }
-                }
-            }, 200);
+            scheduleActionReset(squid, 200, true);
 
             return false;
         }
@@ -501,7 +726,9 @@ public class Board implements BoardStateProvider {
 
             // Verificar si es baldosa caliente (derritir pero continuar)
             if (hasBaldosaCaliente(currentPos)) {
-                System.out.println("🔥 Baldosa caliente en " + currentPos + " - continuando fila");
+                if (GameLog.isDebugEnabled()) {
+                    GameLog.debug("🔥 Baldosa caliente en " + currentPos + " - continuando fila");
+                }
                 currentPos = currentPos.move(direction);
                 continue; // Saltar esta posición pero continuar la fila
             }
@@ -512,15 +739,16 @@ public class Board implements BoardStateProvider {
                 Fruit fruitAtPos = getFruitAt(currentPos);
                 if (fruitAtPos != null) {
                     // Crear bloque de hielo en la misma posición que la fruta
-                    IceBlock newBlock = new IceBlock(currentPos, true, iceCream);
-                    iceBlocks.add(newBlock);
+                    placeIceBlock(new IceBlock(currentPos, true, iceCream));
 
                     // Si es Cactus con púas, resetear sus púas (congela y desactiva espinas)
                     if (fruitAtPos instanceof Cactus) {
                         Cactus cactus = (Cactus) fruitAtPos;
                         if (cactus.isSpiky()) {
                             cactus.resetTimerAndSpiky();
-                            System.out.println("❄️ Cactus congelado - púas desactivadas en " + currentPos);
+                            if (GameLog.isDebugEnabled()) {
+                                GameLog.debug("❄️ Cactus congelado - púas desactivadas en " + currentPos);
+                            }
                         }
                     }
 
@@ -528,7 +756,9 @@ public class Board implements BoardStateProvider {
                     Fogata fogata = getFogataAt(currentPos);
                     if (fogata != null) {
                         fogata.apagar();
-                        System.out.println("❄️ Hielo apagó la fogata en " + currentPos);
+                        if (GameLog.isDebugEnabled()) {
+                            GameLog.debug("❄️ Hielo apagó la fogata en " + currentPos);
+                        }
                     }
 
                     blocksCreated++;
@@ -541,14 +771,15 @@ public class Board implements BoardStateProvider {
             }
 
             // Crear bloque en posición válida
-            IceBlock newBlock = new IceBlock(currentPos, true, iceCream);
-            iceBlocks.add(newBlock);
+            placeIceBlock(new IceBlock(currentPos, true, iceCream));
 
             // Apagar fogata si hay debajo
             Fogata fogata = getFogataAt(currentPos);
             if (fogata != null) {
                 fogata.apagar();
-                System.out.println("❄️ Hielo apagó la fogata en " + currentPos);
+                if (GameLog.isDebugEnabled()) {
+                    GameLog.debug("❄️ Hielo apagó la fogata en " + currentPos);
+                }
             }
 
             blocksCreated++;
@@ -584,7 +815,9 @@ public class Board implements BoardStateProvider {
 
             // Verificar si es baldosa caliente (derritir pero continuar)
             if (hasBaldosaCaliente(currentPos)) {
-                System.out.println("🔥 Baldosa caliente en " + currentPos + " - continuando fila");
+                if (GameLog.isDebugEnabled()) {
+                    GameLog.debug("🔥 Baldosa caliente en " + currentPos + " - continuando fila");
+                }
                 currentPos = currentPos.move(direction);
                 continue; // Saltar esta posición pero continuar la fila
             }
@@ -595,15 +828,16 @@ public class Board implements BoardStateProvider {
                 Fruit fruitAtPos = getFruitAt(currentPos);
                 if (fruitAtPos != null) {
                     // Crear bloque de hielo en la misma posición que la fruta
-                    IceBlock newBlock = new IceBlock(currentPos, true, secondIceCream);
-                    iceBlocks.add(newBlock);
+                    placeIceBlock(new IceBlock(currentPos, true, secondIceCream));
 
                     // Si es Cactus con púas, resetear sus púas (congela y desactiva espinas)
                     if (fruitAtPos instanceof Cactus) {
                         Cactus cactus = (Cactus) fruitAtPos;
                         if (cactus.isSpiky()) {
                             cactus.resetTimerAndSpiky();
-                            System.out.println("❄️ Cactus congelado - púas desactivadas en " + currentPos);
+                            if (GameLog.isDebugEnabled()) {
+                                GameLog.debug("❄️ Cactus congelado - púas desactivadas en " + currentPos);
+                            }
                         }
                     }
 
@@ -611,7 +845,9 @@ public class Board implements BoardStateProvider {
                     Fogata fogata = getFogataAt(currentPos);
                     if (fogata != null) {
                         fogata.apagar();
-                        System.out.println("❄️ Hielo apagó la fogata en " + currentPos);
+                        if (GameLog.isDebugEnabled()) {
+                            GameLog.debug("❄️ Hielo apagó la fogata en " + currentPos);
+                        }
                     }
 
                     blocksCreated++;
@@ -624,14 +860,15 @@ public class Board implements BoardStateProvider {
             }
 
             // Crear bloque en posición válida
-            IceBlock newBlock = new IceBlock(currentPos, true, secondIceCream);
-            iceBlocks.add(newBlock);
+            placeIceBlock(new IceBlock(currentPos, true, secondIceCream));
 
             // Apagar fogata si hay debajo
             Fogata fogata = getFogataAt(currentPos);
             if (fogata != null) {
                 fogata.apagar();
-                System.out.println("❄️ Hielo apagó la fogata en " + currentPos);
+                if (GameLog.isDebugEnabled()) {
+                    GameLog.debug("❄️ Hielo apagó la fogata en " + currentPos);
+                }
             }
 
             blocksCreated++;
@@ -657,7 +894,7 @@ public class Board implements BoardStateProvider {
         if (isInBounds(targetPos) && hasIceBlock(targetPos)) {
             IceBlock block = getIceBlockAt(targetPos);
             if (block != null && block.isBreakable()) {
-                iceBlocks.remove(block);
+                clearIceBlock(block);
                 return true;
             }
         }
@@ -736,7 +973,7 @@ public class Board implements BoardStateProvider {
         while (isInBounds(currentPos) && hasIceBlock(currentPos)) {
             IceBlock block = getIceBlockAt(currentPos);
             if (block != null && block.isBreakable()) {
-                iceBlocks.remove(block);
+                clearIceBlock(block);
                 brokenBlocks++;
                 currentPos = currentPos.move(direction);
             } else {
@@ -763,7 +1000,7 @@ public class Board implements BoardStateProvider {
         while (isInBounds(currentPos) && hasIceBlock(currentPos)) {
             IceBlock block = getIceBlockAt(currentPos);
             if (block != null && block.isBreakable()) {
-                iceBlocks.remove(block);
+                clearIceBlock(block);
                 brokenBlocks++;
                 currentPos = currentPos.move(direction);
             } else {
@@ -780,12 +1017,97 @@ public class Board implements BoardStateProvider {
     public boolean removeIceBlock(Position pos) {
         IceBlock block = getIceBlockAt(pos);
         if (block != null && block.isBreakable()) {
-            iceBlocks.remove(block);
+            clearIceBlock(block);
             return true;
         }
         return false;
     }
 
+    /**
+     * Obtiene el servicio de caminos más cortos del tablero
+     */
+    public PathfindingService getPathfinding() {
+        if (pathfinding == null) {
+            pathfinding = new PathfindingService(this);
+        }
+        return pathfinding;
+    }
+
+    /**
+     * Versión de la ocupación del terreno (cambia al crear/romper hielo,
+     * agregar muros u obstáculos)
+     */
+    public int getOccupancyVersion() {
+        return occupancyVersion;
+    }
+
+    /**
+     * Versión del terreno sin contar el hielo (cambia al agregar muros u
+     * obstáculos, no al crear/romper hielo): los caminos de quien atraviesa
+     * hielo solo dependen de esta
+     */
+    public int getSolidVersion() {
+        return solidVersion;
+    }
+
+    /**
+     * Celdas (y * width + x) cuyo terreno cambió desde clearChangedCells
+     */
+    BitSet getChangedCells() {
+        return changedCells;
+    }
+
+    void clearChangedCells() {
+        changedCells.clear();
+    }
+
+    /**
+     * Hash Zobrist del tablero: terreno, frutas y enemigos por celda, más la
+     * posición y si sigue vivo cada helado
+     * Dos tableros con el mismo contenido dan el mismo hash sin importar el
+     * orden en que se armaron; no incluye dirección ni estado de animación.
+     */
+    public long getStateHash() {
+        return zobristHash + iceCreamKey(iceCream, 0) + iceCreamKey(secondIceCream, 1);
+    }
+
+    private long iceCreamKey(IceCream player, int slot) {
+        if (player == null) {
+            return 0;
+        }
+        int layer = CellType.ICE_CREAM.ordinal() | slot << 4 | (player.isAlive() ? 0 : 1 << 5);
+        return zobristKey(cellIndex(player.getPosition()), layer);
+    }
+
+    /**
+     * Clave de una celda en una capa: una función fija (no una tabla
+     * aleatoria) para que dos partidas distintas usen las mismas claves
+     */
+    private static long zobristKey(int index, int layer) {
+        return GameRandom.mix((long) index << 8 | layer);
+    }
+
+    @Override
+    public Direction getNextStepToward(Position from, Position target, boolean throughIce) {
+        return getPathfinding().nextStepToward(from, target, throughIce);
+    }
+
+    /**
+     * Asigna el planificador de animaciones de la partida
+     */
+    public void setAnimationScheduler(AnimationScheduler animationScheduler) {
+        this.animationScheduler = animationScheduler;
+    }
+
+    /**
+     * Programa el regreso a "stand" de una entidad después de un delay
+     */
+    private void scheduleActionReset(GameObject target, int delayMs, boolean keepIfWalking) {
+        if (animationScheduler != null) {
+            animationScheduler.scheduleActionReset(target, EntityAction.STAND, delayMs, keepIfWalking);
+        }
+    }
+
     /**
      * Obtiene la posición del helado (para IA de enemigos)
      */
@@ -800,20 +1122,90 @@ public class Board implements BoardStateProvider {
      * Obtiene todas las posiciones vacías del tablero
      */
     public List<Position> getEmptyPositions() {
-        List<Position> emptyPositions = new ArrayList<>();
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                Position pos = new Position(x, y);
-                if (isValidPosition(pos) && getFruitAt(pos) == null &&
-                        (iceCream == null || !iceCream.getPosition().equals(pos)) &&
-                        getEnemyAt(pos) == null) {
-                    emptyPositions.add(pos);
-                }
+        int[] free = Arrays.copyOf(freeCells, freeCount);
+        Arrays.sort(free); // Orden de filas, sin depender de la historia del índice
+        int first = iceCreamCell(iceCream);
+        int second = iceCreamCell(secondIceCream);
+        List<Position> emptyPositions = new ArrayList<>(free.length);
+        for (int index : free) {
+            if (index != first && index != second) {
+                emptyPositions.add(new Position(index % width, index / width));
             }
         }
         return emptyPositions;
     }
 
+    /**
+     * Sortea una celda libre (sin terreno, frutas, enemigos ni helados) con
+     * probabilidad uniforme
+     * Se elige un lugar del arreglo denso de celdas libres (O(1)); solo se
+     * vuelve a sortear si cae en la celda de un helado, que no ocupa el
+     * índice. El arreglo se ordena por filas al armar el tablero (ver
+     * sortFreeCells) y después depende solo de la historia de cambios, que
+     * una repetición (ReplayLog) reproduce igual.
+     *
+     * @return Posición libre, o null si no hay ninguna
+     */
+    public Position getRandomEmptyPosition(GameRandom random) {
+        int first = iceCreamCell(iceCream);
+        int second = iceCreamCell(secondIceCream);
+        int excluded = (first >= 0 && freeSlot[first] >= 0 ? 1 : 0)
+                + (second >= 0 && second != first && freeSlot[second] >= 0 ? 1 : 0);
+        int available = freeCount - excluded;
+        if (available <= 0) {
+            return null;
+        }
+        while (true) {
+            int index = freeCells[random.nextInt(freeCount)];
+            if (index != first && index != second) {
+                return new Position(index % width, index / width);
+            }
+        }
+    }
+
+    /**
+     * Deja el arreglo de celdas libres en orden de filas, sin importar en qué
+     * orden se agregó el terreno (O(ancho x alto); se usa al armar un tablero)
+     */
+    void sortFreeCells() {
+        freeCount = 0;
+        for (int index = 0; index < freeSlot.length; index++) {
+            if (freeSlot[index] >= 0) {
+                freeCells[freeCount] = index;
+                freeSlot[index] = freeCount++;
+            }
+        }
+    }
+
+    /**
+     * Cantidad de celdas libres de terreno, frutas y enemigos
+     */
+    public int getFreeCellCount() {
+        return freeCount;
+    }
+
+    private int iceCreamCell(IceCream player) {
+        return player != null ? cellIndex(player.getPosition()) : -1;
+    }
+
+    /**
+     * Agrega o quita una celda del índice de celdas libres según su estado
+     */
+    private void updateFree(int index) {
+        boolean free = cells[index / width][index % width] == CellType.EMPTY && fruitCount[index] == 0
+                && enemyCount[index] == 0;
+        int slot = freeSlot[index];
+        if (free && slot < 0) {
+            freeCells[freeCount] = index;
+            freeSlot[index] = freeCount++;
+        } else if (!free && slot >= 0) {
+            int last = freeCells[--freeCount];
+            freeCells[slot] = last;
+            freeSlot[last] = slot;
+            freeSlot[index] = -1;
+        }
+    }
+
     /**
      * Cuenta cuántas frutas faltan por recolectar
      */
@@ -856,24 +1248,102 @@ public class Board implements BoardStateProvider {
         return new ArrayList<>(enemies);
     }
 
+    /**
+     * Vista de solo lectura de los enemigos, sin copiar la lista
+     * (para lecturas de cada frame; no modificar el tablero mientras se recorre)
+     */
+    public List<Enemy> getEnemiesView() {
+        if (enemiesView == null) {
+            enemiesView = Collections.unmodifiableList(enemies);
+        }
+        return enemiesView;
+    }
+
     public void addEnemy(Enemy enemy) {
         this.enemies.add(enemy);
+        indexEnemy(enemy, enemy.getPosition());
     }
 
     public List<Fruit> getFruits() {
         return new ArrayList<>(fruits);
     }
 
+    /**
+     * Vista de solo lectura de las frutas, sin copiar la lista
+     */
+    public List<Fruit> getFruitsView() {
+        if (fruitsView == null) {
+            fruitsView = Collections.unmodifiableList(fruits);
+        }
+        return fruitsView;
+    }
+
     public void addFruit(Fruit fruit) {
         this.fruits.add(fruit);
+        if (!fruit.isCollected()) {
+            indexFruit(fruit, fruit.getPosition());
+        }
     }
 
     public List<IceBlock> getIceBlocks() {
         return new ArrayList<>(iceBlocks);
     }
 
+    /**
+     * Vista de solo lectura de los bloques de hielo, sin copiar la lista
+     */
+    public List<IceBlock> getIceBlocksView() {
+        if (iceBlocksView == null) {
+            iceBlocksView = Collections.unmodifiableList(iceBlocks);
+        }
+        return iceBlocksView;
+    }
+
     public void addIceBlock(IceBlock block) {
-        this.iceBlocks.add(block);
+        placeIceBlock(block);
+    }
+
+    /**
+     * Coloca un bloque de hielo si la celda no tiene terreno bloqueante
+     * 
+     * @return true si el bloque se colocó
+     */
+    private boolean placeIceBlock(IceBlock block) {
+        Position pos = block.getPosition();
+        if (!occupyCell(pos, CellType.ICE_BLOCK)) {
+            return false;
+        }
+        int index = cellIndex(pos);
+        iceBlockGrid[index] = block;
+        iceBlockSlot[index] = iceBlocks.size();
+        iceBlocks.add(block);
+        return true;
+    }
+
+    /**
+     * Quita un bloque de hielo del tablero y libera su celda
+     * El último bloque de la lista ocupa el lugar del quitado (sin recorrer
+     * la lista), así romper una hilera no es cuadrático; el orden de
+     * iceBlocks no tiene significado.
+     */
+    private void clearIceBlock(IceBlock block) {
+        Position pos = block.getPosition();
+        int index = cellIndex(pos);
+        if (index >= 0 && iceBlockGrid[index] == block) {
+            iceBlockGrid[index] = null;
+            cells[pos.getY()][pos.getX()] = CellType.EMPTY;
+            occupancyVersion++;
+            changedCells.set(index);
+            zobristHash -= zobristKey(index, CellType.ICE_BLOCK.ordinal());
+            updateFree(index);
+
+            int slot = iceBlockSlot[index];
+            IceBlock last = iceBlocks.remove(iceBlocks.size() - 1);
+            if (last != block) {
+                iceBlocks.set(slot, last);
+                iceBlockSlot[cellIndex(last.getPosition())] = slot;
+            }
+        }
     }
 
     public List<Position> getWalls() {
@@ -881,30 +1351,41 @@ public class Board implements BoardStateProvider {
     }
 
     public void addWall(Position pos) {
-        if (!walls.contains(pos)) {
-            walls.add(pos);
+        if (occupyCell(pos, CellType.WALL)) {
+            walls.add(new Position(pos));
         }
     }
 
     // ========== FOGATAS ==========
     public void addFogata(Fogata fogata) {
         this.fogatas.add(fogata);
+        indexFogata(fogata);
     }
 
     public List<Fogata> getFogatas() {
         return new ArrayList<>(fogatas);
     }
 
+    /**
+     * Vista de solo lectura de las fogatas, sin copiar la lista
+     */
+    public List<Fogata> getFogatasView() {
+        if (fogatasView == null) {
+            fogatasView = Collections.unmodifiableList(fogatas);
+        }
+        return fogatasView;
+    }
+
     public Fogata getFogataAt(Position pos) {
-        return fogatas.stream()
-                .filter(f -> f.getPosition().equals(pos))
-                .findFirst()
-                .orElse(null);
+        int index = cellIndex(pos);
+        return index >= 0 ? fogataGrid[index] : null;
     }
 
     // ========== BALDOSAS CALIENTES ==========
     public void addBaldosaCaliente(BaldosaCaliente baldosa) {
-        this.baldosasCalientes.add(baldosa);
+        if (occupyCell(baldosa.getPosition(), CellType.HOT_TILE)) {
+            this.baldosasCalientes.add(baldosa);
+        }
     }
 
     public List<BaldosaCaliente> getBaldosasCalientes() {
@@ -912,13 +1393,15 @@ public class Board implements BoardStateProvider {
     }
 
     public boolean hasBaldosaCaliente(Position pos) {
-        return baldosasCalientes.stream()
-                .anyMatch(b -> b.getPosition().equals(pos));
+        return cellIndex(pos) >= 0 && cells[pos.getY()][pos.getX()] == CellType.HOT_TILE;
     }
 
     // ========== BLOQUES DE HIELO ESTÁTICOS ==========
     public void addIceBlockObstacle(IceBlockObstacle iceBlockObstacle) {
-        this.iceBlockObstacles.add(iceBlockObstacle);
+        if (occupyCell(iceBlockObstacle.getPosition(), CellType.ICE_OBSTACLE)) {
+            obstacleGrid[cellIndex(iceBlockObstacle.getPosition())] = iceBlockObstacle;
+            this.iceBlockObstacles.add(iceBlockObstacle);
+        }
     }
 
     public List<IceBlockObstacle> getIceBlockObstacles() {
@@ -926,14 +1409,11 @@ public class Board implements BoardStateProvider {
     }
 
     public boolean hasIceBlockObstacle(Position pos) {
-        return iceBlockObstacles.stream()
-                .anyMatch(i -> i.getPosition().equals(pos));
+        return cellIndex(pos) >= 0 && cells[pos.getY()][pos.getX()] == CellType.ICE_OBSTACLE;
     }
 
     public IceBlockObstacle getIceBlockObstacleAt(Position pos) {
-        return iceBlockObstacles.stream()
-                .filter(i -> i.getPosition().equals(pos))
-                .findFirst()
-                .orElse(null);
+        int index = cellIndex(pos);
+        return index >= 0 ? obstacleGrid[index] : null;
     }
 }
\ No newline at end of file
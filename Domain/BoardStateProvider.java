@@ -38,4 +38,16 @@ public interface BoardStateProvider extends Serializable {
      * @return IceCream o null si no existe
      */
     IceCream getIceCream();
+
+    /**
+     * Obtiene el siguiente paso del camino más corto hacia un objetivo
+     * 
+     * @param from       Posición actual
+     * @param target     Posición objetivo
+     * @param throughIce Si el camino puede atravesar bloques de hielo
+     * @return Dirección a tomar, o null si no hay camino conocido
+     */
+    default Direction getNextStepToward(Position from, Position target, boolean throughIce) {
+        return null;
+    }
 }
@@ -16,14 +16,14 @@ public class Cactus extends Fruit {
         super(position, "Cactus");
         this.setBehavior(new StaticFruitBehavior());
         this.spiky = false;
-        this.lastStateChange = System.currentTimeMillis();
+        this.lastStateChange = GameClock.currentTimeMillis();
     }
 
     @Override
     public void update() {
         super.update();
         if (collected) return;
-        long now = System.currentTimeMillis();
+        long now = GameClock.currentTimeMillis();
         if (now - lastStateChange >= SPIKY_INTERVAL) {
             spiky = !spiky;
             lastStateChange = now;
@@ -53,9 +53,21 @@ public class Cactus extends Fruit {
         return spiky;
     }
 
+    long getLastStateChange() {
+        return lastStateChange;
+    }
+
+    /**
+     * Restaura el ciclo de púas de una partida guardada (ver SaveCodec)
+     */
+    void restoreSpikes(boolean spiky, long lastStateChange) {
+        this.spiky = spiky;
+        this.lastStateChange = lastStateChange;
+    }
+
     public void resetTimerAndSpiky() {
         this.spiky = false;
-        this.lastStateChange = System.currentTimeMillis();
+        this.lastStateChange = GameClock.currentTimeMillis();
         this.collected = false;
     }
 }
\ No newline at end of file
@@ -46,7 +46,13 @@ public class ChaseMovement implements MovementBehavior {
 
         Position enemyPos = enemy.getPosition();
 
-        // Calcular la dirección que más acerca al helado
+        // Seguir el camino más corto (rodea muros y hielo que no puede romper)
+        Direction step = stateProvider.getNextStepToward(enemyPos, iceCreamPosition, enemy.canBreakIce());
+        if (step != null) {
+            return step;
+        }
+
+        // Sin camino: calcular la dirección que más acerca al helado
         int deltaX = iceCreamPosition.getX() - enemyPos.getX();
         int deltaY = iceCreamPosition.getY() - enemyPos.getY();
 
@@ -68,7 +74,7 @@ public class ChaseMovement implements MovementBehavior {
      */
     private Direction getRandomDirection() {
         Direction[] directions = Direction.values();
-        return directions[(int) (Math.random() * directions.length)];
+        return directions[GameClock.random().nextInt(directions.length)];
     }
 
     @Override
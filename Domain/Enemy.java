@@ -1,7 +1,5 @@
 package Domain;
 
-import java.awt.Color;
-
 /**
  * Clase abstracta que representa un enemigo
  * Los enemigos se mueven según diferentes patrones y pueden tener habilidades
@@ -13,7 +11,7 @@ public abstract class Enemy extends GameObject {
     protected String enemyType; // Tipo de enemigo (Troll, Maceta, Calamar)
     protected MovementBehavior movementBehavior; // Patrón de movimiento
     protected boolean canBreakIce; // Si puede romper bloques de hielo
-    protected Color color; // Color de identificación del enemigo
+    protected String colorHex; // Color de identificación del enemigo (#RRGGBB)
 
     /**
      * Constructor de Enemy
@@ -107,11 +105,11 @@ public abstract class Enemy extends GameObject {
         return movementBehavior;
     }
 
-    public Color getColor() {
-        return color;
+    public String getColor() {
+        return colorHex;
     }
 
-    public void setColor(Color color) {
-        this.color = color;
+    public void setColor(String colorHex) {
+        this.colorHex = colorHex;
     }
 }
@@ -0,0 +1,47 @@
+package Domain;
+
+/**
+ * Enum que representa la acción actual de un helado o enemigo
+ * (determina la animación que se dibuja)
+ */
+public enum EntityAction {
+    STAND("stand"),     // Quieto
+    WALK("walk"),       // Caminando
+    BREAK("break"),     // Rompiendo hielo
+    SHOOT("shoot"),     // Creando hielo
+    DIE("die"),         // Muriendo
+    WIN("win");         // Celebrando
+
+    private final String name;
+
+    EntityAction(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Nombre de la acción en minúsculas (ej. "walk"), como en los sprites
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Obtiene la acción a partir de su nombre (sin importar mayúsculas)
+     * @return La acción, o STAND si el nombre no se reconoce
+     */
+    public static EntityAction fromName(String name) {
+        if (name != null) {
+            for (EntityAction action : values()) {
+                if (action.name.equalsIgnoreCase(name)) {
+                    return action;
+                }
+            }
+        }
+        return STAND;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
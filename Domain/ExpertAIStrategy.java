@@ -17,11 +17,22 @@ public class ExpertAIStrategy implements IceCreamAIStrategy {
         Position currentPos = iceCream.getPosition();
         List<Enemy> enemies = board.getEnemies();
         List<Fruit> fruits = board.getFruits();
+        PathfindingService paths = board.getPathfinding();
+
+        // Distancias reales desde el helado (el hielo cuenta como transitable)
+        int[] fromIceCream = paths.getField(currentPos, true);
 
         // PRIORIDAD 1: Si hay peligro INMEDIATO, HUIR primero
-        Enemy closestEnemy = getClosestEnemy(currentPos, enemies);
-        if (closestEnemy != null && getDistance(currentPos, closestEnemy.getPosition()) <= DANGER_DISTANCE) {
-            Direction fleeDir = getDirectionAwayFrom(currentPos, closestEnemy.getPosition(), board);
+        Enemy closestEnemy = getClosestEnemy(fromIceCream, enemies, paths);
+        double enemyDistance = closestEnemy != null
+                ? paths.distanceInField(fromIceCream, closestEnemy.getPosition())
+                : Double.MAX_VALUE;
+        if (closestEnemy != null && enemyDistance <= DANGER_DISTANCE) {
+            Direction fleeDir = paths.nextStepAwayFrom(currentPos, closestEnemy.getPosition(),
+                    closestEnemy.canBreakIce());
+            if (fleeDir == null) {
+                fleeDir = getDirectionAwayFrom(currentPos, closestEnemy.getPosition(), board);
+            }
             if (fleeDir != null) {
                 return fleeDir;
             }
@@ -33,10 +44,11 @@ public class ExpertAIStrategy implements IceCreamAIStrategy {
         }
 
         // PRIORIDAD 2: Si hay frutas cercanas Y REACHABLE, ir por ellas
+        Fruit reachableFruit = null;
         if (fruits != null && !fruits.isEmpty()) {
-            Fruit reachableFruit = getClosestReachableFruit(currentPos, fruits, board);
+            reachableFruit = getClosestReachableFruit(fromIceCream, fruits, paths);
             if (reachableFruit != null) {
-                double fruitDistance = getDistance(currentPos, reachableFruit.getPosition());
+                double fruitDistance = paths.distanceInField(fromIceCream, reachableFruit.getPosition());
                 if (fruitDistance <= FRUIT_PRIORITY_DISTANCE) {
                     Direction towardFruit = getDirectionTowards(currentPos, reachableFruit.getPosition(), board);
                     if (towardFruit != null) {
@@ -47,21 +59,22 @@ public class ExpertAIStrategy implements IceCreamAIStrategy {
         }
 
         // PRIORIDAD 3: Si hay enemigos moderadamente cerca, alejarse
-        if (closestEnemy != null && getDistance(currentPos, closestEnemy.getPosition()) <= DANGER_DISTANCE * 2.5) {
-            Direction awayDir = getDirectionAwayFrom(currentPos, closestEnemy.getPosition(), board);
+        if (closestEnemy != null && enemyDistance <= DANGER_DISTANCE * 2.5) {
+            Direction awayDir = paths.nextStepAwayFrom(currentPos, closestEnemy.getPosition(),
+                    closestEnemy.canBreakIce());
+            if (awayDir == null) {
+                awayDir = getDirectionAwayFrom(currentPos, closestEnemy.getPosition(), board);
+            }
             if (awayDir != null) {
                 return awayDir;
             }
         }
 
         // PRIORIDAD 4: Ir hacia frutas lejanas REACHABLE para completar el nivel
-        if (fruits != null && !fruits.isEmpty()) {
-            Fruit reachableFruit = getClosestReachableFruit(currentPos, fruits, board);
-            if (reachableFruit != null) {
-                Direction towardFruit = getDirectionTowards(currentPos, reachableFruit.getPosition(), board);
-                if (towardFruit != null) {
-                    return towardFruit;
-                }
+        if (reachableFruit != null) {
+            Direction towardFruit = getDirectionTowards(currentPos, reachableFruit.getPosition(), board);
+            if (towardFruit != null) {
+                return towardFruit;
             }
         }
 
@@ -91,7 +104,11 @@ public class ExpertAIStrategy implements IceCreamAIStrategy {
         return Direction.DOWN; // Nunca devolver null
     }
 
-    private Enemy getClosestEnemy(Position from, List<Enemy> enemies) {
+    /**
+     * Enemigo más cercano por camino real (los que están detrás de muros
+     * cuentan como lejanos)
+     */
+    private Enemy getClosestEnemy(int[] fromIceCream, List<Enemy> enemies, PathfindingService paths) {
         if (enemies.isEmpty())
             return null;
 
@@ -99,7 +116,7 @@ public class ExpertAIStrategy implements IceCreamAIStrategy {
         double minDistance = Double.MAX_VALUE;
 
         for (Enemy enemy : enemies) {
-            double distance = getDistance(from, enemy.getPosition());
+            double distance = paths.distanceInField(fromIceCream, enemy.getPosition());
             if (distance < minDistance) {
                 minDistance = distance;
                 closest = enemy;
@@ -108,34 +125,38 @@ public class ExpertAIStrategy implements IceCreamAIStrategy {
         return closest;
     }
 
-    private Fruit getClosestReachableFruit(Position from, List<Fruit> fruits, Board board) {
+    /**
+     * Fruta no recolectada más cercana por camino real, o null si ninguna es
+     * alcanzable
+     */
+    private Fruit getClosestReachableFruit(int[] fromIceCream, List<Fruit> fruits, PathfindingService paths) {
         if (fruits.isEmpty())
             return null;
 
         Fruit closest = null;
-        double minDistance = Double.MAX_VALUE;
+        int minDistance = PathfindingService.UNREACHABLE;
 
         for (Fruit fruit : fruits) {
-            double distance = getDistance(from, fruit.getPosition());
+            if (fruit.isCollected()) {
+                continue;
+            }
+            int distance = paths.distanceInField(fromIceCream, fruit.getPosition());
             if (distance < minDistance) {
-                // Validar que la fruta es alcanzable
-                Direction testDir = getDirectionTowards(from, fruit.getPosition(), board);
-                if (testDir != null) { // Solo considerar si es reachable
-                    minDistance = distance;
-                    closest = fruit;
-                }
+                minDistance = distance;
+                closest = fruit;
             }
         }
         return closest;
     }
 
-    private double getDistance(Position a, Position b) {
-        int dx = a.getX() - b.getX();
-        int dy = a.getY() - b.getY();
-        return Math.sqrt(dx * dx + dy * dy);
-    }
 
     private Direction getDirectionTowards(Position from, Position to, Board board) {
+        // Camino más corto (el hielo del camino se rompe en Game)
+        Direction step = board.getPathfinding().nextStepToward(from, to, true);
+        if (step != null) {
+            return step;
+        }
+
         int dx = Integer.compare(to.getX(), from.getX());
         int dy = Integer.compare(to.getY(), from.getY());
 
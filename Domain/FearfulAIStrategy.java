@@ -14,14 +14,17 @@ public class FearfulAIStrategy implements IceCreamAIStrategy {
     public Direction getNextMove(Board board, IceCream iceCream) {
         Position currentPos = iceCream.getPosition();
         List<Enemy> enemies = board.getEnemies();
+        PathfindingService paths = board.getPathfinding();
 
         // PRIORIDAD 1: Si hay enemigos cercanos, HUIR
         if (!enemies.isEmpty()) {
             Enemy closestEnemy = null;
             double minDistance = Double.MAX_VALUE;
 
+            // Distancia por camino real: un enemigo detrás de un muro no es peligro
+            int[] fromIceCream = paths.getField(currentPos, true);
             for (Enemy enemy : enemies) {
-                double distance = getDistance(currentPos, enemy.getPosition());
+                double distance = paths.distanceInField(fromIceCream, enemy.getPosition());
                 if (distance < minDistance) {
                     minDistance = distance;
                     closestEnemy = enemy;
@@ -30,7 +33,12 @@ public class FearfulAIStrategy implements IceCreamAIStrategy {
 
             // Si hay peligro inmediato (dentro de 5 celdas), huir
             if (closestEnemy != null && minDistance <= DANGER_DISTANCE) {
-                Direction fleeDir = getDirectionAwayFrom(currentPos, closestEnemy.getPosition(), board);
+                // Alejarse por el camino que más aumenta la distancia del enemigo
+                Direction fleeDir = paths.nextStepAwayFrom(currentPos, closestEnemy.getPosition(),
+                        closestEnemy.canBreakIce());
+                if (fleeDir == null) {
+                    fleeDir = getDirectionAwayFrom(currentPos, closestEnemy.getPosition(), board);
+                }
                 if (fleeDir != null) {
                     return fleeDir;
                 }
@@ -54,14 +62,6 @@ public class FearfulAIStrategy implements IceCreamAIStrategy {
         return null;
     }
 
-    /**
-     * Calcula la distancia euclidiana entre dos posiciones
-     */
-    private double getDistance(Position a, Position b) {
-        int dx = a.getX() - b.getX();
-        int dy = a.getY() - b.getY();
-        return Math.sqrt(dx * dx + dy * dy);
-    }
 
     /**
      * Obtiene la dirección para alejarse del objetivo
@@ -14,14 +14,14 @@ public class Fogata extends GameObject {
     public void apagar() {
         if (encendida) {
             encendida = false;
-            tiempoUltimaApagada = System.currentTimeMillis();
+            tiempoUltimaApagada = GameClock.currentTimeMillis();
         }
     }
 
     @Override
     public void update() {
         if (!encendida) {
-            long now = System.currentTimeMillis();
+            long now = GameClock.currentTimeMillis();
             if (now - tiempoUltimaApagada >= DURACION_APAGADA) {
                 encendida = true;
             }
@@ -32,6 +32,18 @@ public class Fogata extends GameObject {
         return encendida;
     }
 
+    long getTiempoUltimaApagada() {
+        return tiempoUltimaApagada;
+    }
+
+    /**
+     * Restaura el estado de una partida guardada (ver SaveCodec)
+     */
+    void restaurar(boolean encendida, long tiempoUltimaApagada) {
+        this.encendida = encendida;
+        this.tiempoUltimaApagada = tiempoUltimaApagada;
+    }
+
     @Override public boolean canMoveTo(Position position) { return false; }
     @Override public String getType() { return "fogata"; }
 }
\ No newline at end of file
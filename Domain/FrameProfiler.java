@@ -0,0 +1,260 @@
+package Domain;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Perfilador de frames por fase
+ * Mide con System.nanoTime cuánto tarda cada fase del game loop (entrada,
+ * partes del tick de Game, captura del ViewData, pintado) y lo acumula en
+ * un LatencyHistogram por fase, sin reservar memoria por muestra.
+ *
+ * - Histograma de la sesión: todo lo medido desde que arrancó el juego (se
+ * exporta a CSV)
+ * - Ventana: el último segundo; al cerrarla se calculan p50/p99/máximo por
+ * fase para el overlay de F3
+ *
+ * Lo usa un solo hilo (el game loop y el pintado corren en el EDT). Para
+ * Game sin perfilador (tests, torneos) se usa DISABLED, que no llama a
+ * nanoTime.
+ *
+ * Configuración (propiedades del sistema):
+ * - badicecream.profileCsv: archivo donde se vuelcan los histogramas al
+ * salir (ej. saves/perfil-frames.csv); sin la propiedad no se exporta
+ */
+public final class FrameProfiler {
+
+    /**
+     * Fases medidas (las de Game se miden una vez por tick, el resto una
+     * vez por frame)
+     */
+    public enum Phase {
+        INPUT("Entrada"),
+        TICK("Tick"),
+        ENEMIES("Enemigos"),
+        FRUITS("Frutas"),
+        AI("IA helado"),
+        CONDITIONS("Condiciones"),
+        VIEW_DATA("ViewData"),
+        PAINT("Pintado"),
+        FRAME("Frame");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    public static final String CSV_FILE = System.getProperty("badicecream.profileCsv", "");
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    /**
+     * Perfilador que no mide nada
+     */
+    public static final FrameProfiler DISABLED = new FrameProfiler(false);
+
+    private final boolean enabled;
+    private final LatencyHistogram[] session;
+    private final LatencyHistogram[] window;
+    private long windowStart;
+    private long frames;
+
+    // Resumen de la última ventana cerrada (lo lee el overlay)
+    private final long[] p50 = new long[PHASES.length];
+    private final long[] p99 = new long[PHASES.length];
+    private final long[] max = new long[PHASES.length];
+    private final long[] counts = new long[PHASES.length];
+
+    public FrameProfiler() {
+        this(true);
+    }
+
+    private FrameProfiler(boolean enabled) {
+        this.enabled = enabled;
+        this.session = enabled ? newHistograms() : null;
+        this.window = enabled ? newHistograms() : null;
+        this.windowStart = System.nanoTime();
+    }
+
+    private static LatencyHistogram[] newHistograms() {
+        LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ========== MEDICIÓN ==========
+
+    /**
+     * Inicio de una medición
+     *
+     * @return Instante actual, o 0 si el perfilador está deshabilitado
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Cierra la fase que empezó en since y devuelve el instante actual, para
+     * encadenar fases consecutivas con una sola lectura del reloj
+     */
+    public long lap(Phase phase, long since) {
+        if (!enabled) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        record(phase, now - since);
+        return now;
+    }
+
+    /**
+     * Registra una duración ya medida
+     */
+    public void record(Phase phase, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        session[phase.ordinal()].record(nanos);
+        window[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Cierra un frame (al final del game loop) y, si pasó un segundo,
+     * calcula el resumen de la ventana
+     */
+    public void endFrame() {
+        if (!enabled) {
+            return;
+        }
+        frames++;
+        long now = System.nanoTime();
+        if (now - windowStart < WINDOW_NANOS) {
+            return;
+        }
+        windowStart = now;
+        for (int i = 0; i < PHASES.length; i++) {
+            LatencyHistogram histogram = window[i];
+            p50[i] = histogram.getPercentile(0.50);
+            p99[i] = histogram.getPercentile(0.99);
+            max[i] = histogram.getMax();
+            counts[i] = histogram.getCount();
+            histogram.reset();
+        }
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Mediana de la fase en el último segundo (ns)
+     */
+    public long getP50(Phase phase) {
+        return p50[phase.ordinal()];
+    }
+
+    /**
+     * Percentil 99 de la fase en el último segundo (ns)
+     */
+    public long getP99(Phase phase) {
+        return p99[phase.ordinal()];
+    }
+
+    /**
+     * Máximo de la fase en el último segundo (ns)
+     */
+    public long getMax(Phase phase) {
+        return max[phase.ordinal()];
+    }
+
+    /**
+     * Muestras de la fase en el último segundo
+     */
+    public long getWindowCount(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    /**
+     * Histograma de toda la sesión de una fase
+     */
+    public LatencyHistogram getSessionHistogram(Phase phase) {
+        return enabled ? session[phase.ordinal()] : null;
+    }
+
+    public long getFrameCount() {
+        return frames;
+    }
+
+    // ========== EXPORTACIÓN ==========
+
+    /**
+     * Escribe los histogramas de la sesión: una fila por balde con muestras
+     * (fase, rango en ns, cantidad y fracción acumulada), así los
+     * percentiles se pueden recalcular y comparar entre máquinas
+     */
+    public void writeCsv(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("fase,desde_ns,hasta_ns,cantidad,acumulado");
+            writer.newLine();
+            if (!enabled) {
+                return;
+            }
+            for (Phase phase : PHASES) {
+                LatencyHistogram histogram = session[phase.ordinal()];
+                long total = histogram.getCount();
+                long seen = 0;
+                for (int bucket = 0; bucket < LatencyHistogram.BUCKET_COUNT; bucket++) {
+                    long count = histogram.getBucketCount(bucket);
+                    if (count == 0) {
+                        continue;
+                    }
+                    seen += count;
+                    writer.write(String.format(Locale.ROOT, "%s,%d,%d,%d,%.6f", phase.name(),
+                            LatencyHistogram.lowerBound(bucket), LatencyHistogram.upperBound(bucket), count,
+                            (double) seen / total));
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    /**
+     * Vuelca los histogramas a CSV_FILE al terminar la JVM (si se configuró
+     * el archivo y se midió algún frame)
+     */
+    public void exportOnExit() {
+        if (!enabled || CSV_FILE.isBlank()) {
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (frames == 0) {
+                return;
+            }
+            try {
+                writeCsv(Paths.get(CSV_FILE));
+            } catch (IOException e) {
+                // Los ganchos de cierre corren en paralelo: se espera a que
+                // el hilo de registro escriba el aviso antes de salir
+                GameLog.warn("No se pudo exportar el perfil de frames: " + e.getMessage());
+                GameLog.flush(1000);
+            }
+        }, "perfil-frames-exportar"));
+    }
+}
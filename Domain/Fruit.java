@@ -33,7 +33,7 @@ public abstract class Fruit implements Serializable {
 
         // NUEVO: Iniciar animación de aparición
         this.appearing = true;
-        this.appearStartTime = System.currentTimeMillis();
+        this.appearStartTime = GameClock.currentTimeMillis();
     }
 
     /**
@@ -65,7 +65,7 @@ public abstract class Fruit implements Serializable {
      * NUEVO: Verifica si terminó la animación de aparición
      */
     private void checkAppearanceFinished() {
-        long elapsed = System.currentTimeMillis() - appearStartTime;
+        long elapsed = GameClock.currentTimeMillis() - appearStartTime;
         if (elapsed >= APPEAR_DURATION) {
             appearing = false;
         }
@@ -97,6 +97,15 @@ public abstract class Fruit implements Serializable {
         return "normal";
     }
 
+    /**
+     * Restaura el estado de una partida guardada (ver SaveCodec)
+     * Una fruta cargada ya estaba en el tablero: no repite la aparición
+     */
+    void restoreState(boolean collected) {
+        this.collected = collected;
+        this.appearing = false;
+    }
+
     /**
      * Marca la fruta como recolectada
      */
@@ -3,15 +3,14 @@ package Domain;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntConsumer;
 
 /**
  * Clase principal que gestiona la lógica del juego
@@ -38,7 +37,22 @@ public class Game implements Serializable {
     private String iceCreamAIStrategyName; // Nombre de la estrategia
 
     // Control de tiempo
-    private transient long lastUpdateTime;
+    private transient long lastUpdateTime; // Tiempo simulado del último segundo descontado
+    private GameClock clock; // Reloj de simulación con paso fijo
+
+    // Animaciones con expiración por frames (reemplaza java.util.Timer)
+    private transient AnimationScheduler animationScheduler;
+
+    // Instantáneas para retroceder (se crean al tomar la primera)
+    private transient SnapshotJournal snapshots;
+
+    // Grabación de entradas para reproducir el nivel (ver ReplayLog)
+    private transient boolean recording;
+    private transient ReplayLog replayLog;
+    private transient Long nextSeed; // Semilla del próximo nivel (null: cualquiera)
+
+    // Tiempos por fase del tick (null: no se mide)
+    private transient FrameProfiler profiler;
     private static final int FPS = 60;
     // FRAME_TIME no se usa actualmente pero se mantiene para futura optimización
 
@@ -69,7 +83,9 @@ public class Game implements Serializable {
         this.score = 0;
         // Sin sistema de vidas (como el juego original)
         this.enemyAIs = new ArrayList<>();
-        this.lastUpdateTime = System.currentTimeMillis();
+        this.clock = new GameClock();
+        GameClock.bind(clock);
+        this.lastUpdateTime = clock.now();
     }
 
     /**
@@ -77,22 +93,30 @@ public class Game implements Serializable {
      */
     public void startLevel(int levelNumber) {
         // Crear el nivel
-        switch (levelNumber) {
-            case 1:
-                currentLevel = Level.createLevel1();
-                break;
-            case 2:
-                currentLevel = Level.createLevel2();
-                break;
-            case 3:
-                currentLevel = Level.createLevel3();
-                break;
-            default:
-                currentLevel = Level.createLevel1();
-        }
+        startLevel(Level.createLevel(levelNumber));
+    }
+
+    /**
+     * Inicia un nivel a partir de una definición ya construida
+     * (ej. niveles cargados desde archivo o simulaciones sin interfaz)
+     */
+    public void startLevel(Level level) {
+        currentLevel = level;
+
+        // Las entidades del nivel toman sus tiempos iniciales de este reloj
+        GameClock.bind(getClock());
+        lastUpdateTime = clock.now();
+
+        // Todo el azar del nivel sale de esta semilla
+        long seed = nextSeed != null ? nextSeed : System.nanoTime();
+        nextSeed = null;
+        clock.getRandom().setSeed(seed);
+        replayLog = recording ? new ReplayLog(this, level, seed) : null;
 
         // Crear el tablero
         board = new Board(currentLevel.getBoardWidth(), currentLevel.getBoardHeight());
+        getAnimationScheduler().cancelAll();
+        board.setAnimationScheduler(getAnimationScheduler());
 
         // Configurar el tablero con el nivel
         setupBoard();
@@ -120,6 +144,9 @@ public class Game implements Serializable {
             IceBlock iceBlock = new IceBlock(icePos, true);
             board.addIceBlock(iceBlock);
         }
+        // Los sorteos no deben depender del orden de las listas del nivel (el
+        // de una grabación se decodifica con otro orden)
+        board.sortFreeCells();
 
         // Crear el helado
         IceCream iceCream = createIceCream(currentLevel.getIceCreamStartPosition());
@@ -129,7 +156,7 @@ public class Game implements Serializable {
             IceCreamAIStrategy aiStrategy = IceCreamAIStrategyManager.getStrategy(iceCreamAIStrategyName);
             if (aiStrategy != null) {
                 iceCream.setAIStrategy(aiStrategy);
-                System.out.println("OK - IA aplicada al helado: " + iceCreamAIStrategyName);
+                GameLog.info("OK - IA aplicada al helado: " + iceCreamAIStrategyName);
             }
         }
 
@@ -149,7 +176,7 @@ public class Game implements Serializable {
             }
 
             if (!emptyPositions.isEmpty()) {
-                Random random = new Random();
+                GameRandom random = getClock().getRandom();
                 Position secondIceCreamPos = emptyPositions.get(random.nextInt(emptyPositions.size()));
                 IceCream secondIceCream = createSecondIceCream(secondIceCreamPos);
                 board.setSecondIceCream(secondIceCream);
@@ -173,7 +200,7 @@ public class Game implements Serializable {
             }
 
             if (!emptyPositions.isEmpty()) {
-                Random random = new Random();
+                GameRandom random = getClock().getRandom();
                 Position enemyPos = emptyPositions.get(random.nextInt(emptyPositions.size()));
                 Level.EnemyConfig config = new Level.EnemyConfig(monsterType, enemyPos, null, 0);
                 Enemy enemy = createEnemy(config);
@@ -202,10 +229,10 @@ public class Game implements Serializable {
         // Crear frutas
         // Siempre crear frutas del nivel predeterminado
         // Además: si hay configuración personalizada, agregar esas también
-        System.out.println("[INFO] setupBoard() - Creando frutas...");
-        System.out.println("   fruitConfig: " + (fruitConfig != null ? "no nulo" : "nulo"));
+        GameLog.info("[INFO] setupBoard() - Creando frutas...");
+        GameLog.debug(() -> "   fruitConfig: " + (fruitConfig != null ? "no nulo" : "nulo"));
         if (fruitConfig != null) {
-            System.out.println("   tamaño: " + fruitConfig.size());
+            GameLog.debug(() -> "   tamaño: " + fruitConfig.size());
         }
 
         // Si hay configuración personalizada, usar SOLO esa (reemplaza la del nivel)
@@ -217,10 +244,10 @@ public class Game implements Serializable {
         }
 
         // Crear obstáculos (Fogatas y Baldosas Calientes)
-        System.out.println("[INFO] setupBoard() - Creando obstáculos...");
-        System.out.println("   obstacleConfig: " + (obstacleConfig != null ? "no nulo" : "nulo"));
+        GameLog.info("[INFO] setupBoard() - Creando obstáculos...");
+        GameLog.debug(() -> "   obstacleConfig: " + (obstacleConfig != null ? "no nulo" : "nulo"));
         if (obstacleConfig != null) {
-            System.out.println("   tamaño: " + obstacleConfig.size());
+            GameLog.debug(() -> "   tamaño: " + obstacleConfig.size());
         }
 
         if (obstacleConfig != null && !obstacleConfig.isEmpty()) {
@@ -233,15 +260,15 @@ public class Game implements Serializable {
      */
     private void createFruitsFromCustomConfig() {
         if (fruitConfig == null || fruitConfig.isEmpty()) {
-            System.out.println("[WARNING] Configuración de frutas vacía o nula, usando predeterminada");
+            GameLog.warn("[WARNING] Configuración de frutas vacía o nula, usando predeterminada");
             createFruitsFromLevelConfig();
             return;
         }
 
-        System.out.println("[INFO] Creando frutas desde configuración personalizada:");
+        GameLog.info("[INFO] Creando frutas desde configuración personalizada:");
         for (String fruitType : fruitConfig.keySet()) {
             int quantity = fruitConfig.get(fruitType);
-            System.out.println("  - " + fruitType + ": " + quantity);
+            GameLog.debug(() -> "  - " + fruitType + ": " + quantity);
 
             // Crear la cantidad especificada de cada tipo de fruta
             for (int i = 0; i < quantity; i++) {
@@ -258,11 +285,10 @@ public class Game implements Serializable {
      * Crea frutas desde la configuración predeterminada del nivel
      */
     private void createFruitsFromLevelConfig() {
-        System.out.println("[INFO] Usando frutas predeterminadas del nivel");
+        GameLog.info("[INFO] Usando frutas predeterminadas del nivel");
         int totalFruits = 0;
-        Random random = new Random();
         for (Level.FruitConfig config : currentLevel.getFruitConfigs()) {
-            System.out.println("   Tipo: " + config.fruitType + ", Cantidad: " + config.quantity);
+            GameLog.debug(() -> "   Tipo: " + config.fruitType + ", Cantidad: " + config.quantity);
             for (int i = 0; i < config.quantity; i++) {
                 Position fruitPos;
                 if (config.startPosition != null) {
@@ -279,7 +305,7 @@ public class Game implements Serializable {
                 }
             }
         }
-        System.out.println("[OK] Total frutas agregadas: " + totalFruits);
+        GameLog.info("[OK] Total frutas agregadas: " + totalFruits);
     }
 
     /**
@@ -288,39 +314,39 @@ public class Game implements Serializable {
      */
     private void createObstaclesFromCustomConfig() {
         if (obstacleConfig == null || obstacleConfig.isEmpty()) {
-            System.out.println("[WARNING] Configuración de obstáculos vacía o nula");
+            GameLog.warn("[WARNING] Configuración de obstáculos vacía o nula");
             return;
         }
 
-        System.out.println("[INFO] Creando obstáculos desde configuración personalizada:");
+        GameLog.info("[INFO] Creando obstáculos desde configuración personalizada:");
         for (String obstacleType : obstacleConfig.keySet()) {
             int quantity = obstacleConfig.get(obstacleType);
-            System.out.println("  - " + obstacleType + ": " + quantity);
+            GameLog.debug(() -> "  - " + obstacleType + ": " + quantity);
 
             // Crear la cantidad especificada de cada tipo de obstáculo
             for (int i = 0; i < quantity; i++) {
                 Position obstaclePos = getRandomEmptyPosition();
                 if (obstaclePos == null) {
-                    System.out.println("[WARNING] No hay más posiciones disponibles para obstáculos");
+                    GameLog.warn("[WARNING] No hay más posiciones disponibles para obstáculos");
                     break;
                 }
 
                 if (obstacleType.equalsIgnoreCase("Fogata")) {
                     Fogata fogata = new Fogata(obstaclePos);
                     board.addFogata(fogata);
-                    System.out.println("  [OK] Fogata agregada en " + obstaclePos);
+                    GameLog.debug(() -> "  [OK] Fogata agregada en " + obstaclePos);
                 } else if (obstacleType.equalsIgnoreCase("Baldosa Caliente")) {
                     BaldosaCaliente baldosa = new BaldosaCaliente(obstaclePos);
                     board.addBaldosaCaliente(baldosa);
-                    System.out.println("  [OK] Baldosa Caliente agregada en " + obstaclePos);
+                    GameLog.debug(() -> "  [OK] Baldosa Caliente agregada en " + obstaclePos);
                 } else if (obstacleType.equalsIgnoreCase("Bloque de Hielo")) {
                     IceBlockObstacle iceBlock = new IceBlockObstacle(obstaclePos);
                     board.addIceBlockObstacle(iceBlock);
-                    System.out.println("  [OK] Bloque de Hielo agregado en " + obstaclePos);
+                    GameLog.debug(() -> "  [OK] Bloque de Hielo agregado en " + obstaclePos);
                 }
             }
         }
-        System.out.println("[OK] Obstáculos agregados correctamente");
+        GameLog.info("[OK] Obstáculos agregados correctamente");
     }
 
     /**
@@ -331,7 +357,7 @@ public class Game implements Serializable {
             return IceCreamFactory.create(iceCreamFlavor, position);
         } catch (IllegalArgumentException e) {
             // Fallback a vainilla si hay error
-            System.err.println("Error al crear helado: " + e.getMessage());
+            GameLog.error("Error al crear helado: " + e.getMessage());
             return new VanillaIceCream(position);
         }
     }
@@ -344,7 +370,7 @@ public class Game implements Serializable {
             return IceCreamFactory.create(secondIceCreamFlavor, position);
         } catch (IllegalArgumentException e) {
             // Fallback a vainilla si hay error
-            System.err.println("Error al crear segundo helado: " + e.getMessage());
+            GameLog.error("Error al crear segundo helado: " + e.getMessage());
             return new VanillaIceCream(position);
         }
     }
@@ -364,26 +390,26 @@ public class Game implements Serializable {
                 } else {
                     enemy = new Troll(config.startPosition);
                 }
-                enemy.setColor(new java.awt.Color(34, 177, 76)); // Verde
+                enemy.setColor("#22B14C"); // Verde
                 break;
 
             case "maceta":
             case "pot":
             case "olla":
                 enemy = new Pot(config.startPosition, board);
-                enemy.setColor(new java.awt.Color(255, 165, 0)); // Naranja
+                enemy.setColor("#FFA500"); // Naranja
                 break;
 
             case "calamar":
             case "yellowsquid":
             case "calamar naranja":
                 enemy = new YellowSquid(config.startPosition, board);
-                enemy.setColor(new java.awt.Color(255, 255, 0)); // Amarillo
+                enemy.setColor("#FFFF00"); // Amarillo
                 break;
 
             case "narval":
                 enemy = new Narval(config.startPosition, board);
-                enemy.setColor(new java.awt.Color(0, 112, 192)); // Azul
+                enemy.setColor("#0070C0"); // Azul
                 break;
         }
 
@@ -435,7 +461,7 @@ public class Game implements Serializable {
                 return new Cactus(position);
 
             default:
-                System.err.println("[WARNING] Tipo de fruta desconocido: " + fruitType);
+                GameLog.warn("[WARNING] Tipo de fruta desconocido: " + fruitType);
                 return null;
         }
     }
@@ -444,12 +470,8 @@ public class Game implements Serializable {
      * Obtiene una posición aleatoria vacía en el tablero
      */
     private Position getRandomEmptyPosition() {
-        List<Position> emptyPositions = board.getEmptyPositions();
-        if (emptyPositions.isEmpty()) {
-            return new Position(1, 1); // Fallback
-        }
-        Random random = new Random();
-        return emptyPositions.get(random.nextInt(emptyPositions.size()));
+        Position position = board.getRandomEmptyPosition(getClock().getRandom());
+        return position != null ? position : new Position(1, 1); // Fallback
     }
 
     /**
@@ -461,7 +483,6 @@ public class Game implements Serializable {
             return;
         }
 
-        Random random = new Random();
         for (String enemyType : enemyConfig.keySet()) {
             int quantity = enemyConfig.get(enemyType);
 
@@ -517,20 +538,35 @@ public class Game implements Serializable {
         if (gameState != GameState.PLAYING) {
             return;
         }
+        if (replayLog != null) {
+            replayLog.tick(this);
+        }
+
+        FrameProfiler profiler = this.profiler != null ? this.profiler : FrameProfiler.DISABLED;
+        long tickStart = profiler.start();
 
-        long currentTime = System.currentTimeMillis();
+        // Avanzar un tick fijo de simulación
+        GameClock.bind(getClock());
+        clock.tick();
+        long currentTime = clock.now();
         long deltaTime = currentTime - lastUpdateTime;
 
+        // Expirar acciones de animación ("break", "shoot" -> "stand")
+        getAnimationScheduler().tick();
+
         // Actualizar fogatas (estado de encendida/apagada)
         for (Fogata fogata : board.getFogatas()) {
             fogata.update();
         }
 
         // Actualizar enemigos
+        long mark = profiler.start();
         updateEnemies();
+        mark = profiler.lap(FrameProfiler.Phase.ENEMIES, mark);
 
         // Actualizar frutas (movimiento, teletransporte)
         updateFruits();
+        mark = profiler.lap(FrameProfiler.Phase.FRUITS, mark);
 
         // Actualizar IA del helado si aplica
         IceCream iceCream = board.getIceCream();
@@ -570,18 +606,22 @@ public class Game implements Serializable {
             }
         }
 
+        mark = profiler.lap(FrameProfiler.Phase.AI, mark);
+
         // Verificar condiciones de victoria/derrota
         checkGameConditions();
+        profiler.lap(FrameProfiler.Phase.CONDITIONS, mark);
 
         // Actualizar tiempo (cada segundo)
         if (deltaTime >= 1000) {
             remainingTime--;
-            lastUpdateTime = currentTime;
+            lastUpdateTime += 1000; // Sin deriva: cada segundo simulado cuenta
 
             if (remainingTime <= 0) {
                 gameState = GameState.LOST;
             }
         }
+        profiler.lap(FrameProfiler.Phase.TICK, tickStart);
     }
 
     /**
@@ -656,11 +696,8 @@ public class Game implements Serializable {
      * Actualiza las frutas
      */
     private void updateFruits() {
-        for (Fruit fruit : board.getFruits()) {
-            if (!fruit.isCollected()) {
-                fruit.update();
-            }
-        }
+        // El tablero actualiza las frutas para mantener su índice de celdas
+        board.updateFruits();
     }
 
     /**
@@ -680,7 +717,7 @@ public class Game implements Serializable {
                 if (iceCream != null && iceCream.getPosition().equals(fogata.getPosition())) {
                     iceCream.setAlive(false);
                     gameState = GameState.LOST;
-                    System.out.println("[INFO] El helado entró en contacto con una Fogata encendida!");
+                    GameLog.info("[INFO] El helado entró en contacto con una Fogata encendida!");
                     return;
                 }
 
@@ -689,7 +726,7 @@ public class Game implements Serializable {
                 if (secondIceCream != null && secondIceCream.getPosition().equals(fogata.getPosition())) {
                     secondIceCream.setAlive(false);
                     gameState = GameState.LOST;
-                    System.out.println("[INFO] El segundo helado entró en contacto con una Fogata encendida!");
+                    GameLog.info("[INFO] El segundo helado entró en contacto con una Fogata encendida!");
                     return;
                 }
             }
@@ -701,7 +738,7 @@ public class Game implements Serializable {
             if (iceCream != null && iceCream.getPosition().equals(baldosa.getPosition())) {
                 iceCream.setAlive(false);
                 gameState = GameState.LOST;
-                System.out.println("[INFO] El helado entró en contacto con una Baldosa Caliente!");
+                GameLog.info("[INFO] El helado entró en contacto con una Baldosa Caliente!");
                 return;
             }
 
@@ -710,7 +747,7 @@ public class Game implements Serializable {
             if (secondIceCream != null && secondIceCream.getPosition().equals(baldosa.getPosition())) {
                 secondIceCream.setAlive(false);
                 gameState = GameState.LOST;
-                System.out.println("[INFO] El segundo helado entró en contacto con una Baldosa Caliente!");
+                GameLog.info("[INFO] El segundo helado entró en contacto con una Baldosa Caliente!");
                 return;
             }
         }
@@ -743,7 +780,7 @@ public class Game implements Serializable {
                         // El helado muere al intentar recolectar Cactus con púas
                         board.getIceCream().setAlive(false);
                         gameState = GameState.LOST;
-                        System.out.println("🌵 ¡El helado fue pinchado por el Cactus espinudo!");
+                        GameLog.info("🌵 ¡El helado fue pinchado por el Cactus espinudo!");
                         return false;
                     }
                 }
@@ -774,7 +811,7 @@ public class Game implements Serializable {
                         // El segundo helado muere al intentar recolectar Cactus con púas
                         board.getSecondIceCream().setAlive(false);
                         gameState = GameState.LOST;
-                        System.out.println("🌵 ¡El segundo helado fue pinchado por el Cactus espinudo!");
+                        GameLog.info("🌵 ¡El segundo helado fue pinchado por el Cactus espinudo!");
                         return false;
                     }
                 }
@@ -815,6 +852,195 @@ public class Game implements Serializable {
         return board.toggleIceBlocksSecond();
     }
 
+    /**
+     * Aplica la entrada de un jugador en este frame (ver PlayerInput)
+     * Jugador 0: primer helado. Jugador 1: segundo helado en modo cooperativo
+     * o el monstruo en PVP. Si el nivel se está grabando, la entrada queda
+     * en la grabación.
+     */
+    public void applyInput(int player, int input) {
+        if (gameState != GameState.PLAYING || board == null) {
+            return;
+        }
+        if (replayLog != null) {
+            replayLog.input(player, input);
+        }
+
+        if (player == 0) {
+            applyIceCreamInput(board.getIceCream(), input, true);
+        } else if (board.getSecondIceCream() != null) {
+            applyIceCreamInput(board.getSecondIceCream(), input, false);
+        } else if (gameMode == GameMode.PVP && !board.getEnemies().isEmpty()) {
+            applyMonsterInput(board.getEnemies().get(0), input);
+        }
+    }
+
+    /**
+     * Hielo con ACTION y, si el helado no es de la IA, orientar o caminar
+     */
+    private void applyIceCreamInput(IceCream iceCream, int input, boolean first) {
+        if (iceCream == null) {
+            return;
+        }
+        Direction direction = PlayerInput.direction(input);
+
+        if ((input & PlayerInput.ACTION) != 0) {
+            if (direction != null) {
+                iceCream.setCurrentDirection(direction);
+            }
+            int result = first ? toggleIceBlocks() : toggleIceBlocksSecond();
+            String player = board.getSecondIceCream() != null ? (first ? "(P1) " : "(P2) ") : "";
+            if (result > 0) {
+                iceCream.setCurrentAction(EntityAction.SHOOT);
+                GameLog.debug(() -> "✓ " + player + "Hilera de " + result + " bloque(s) de hielo creada");
+            } else if (result < 0) {
+                iceCream.setCurrentAction(EntityAction.BREAK);
+                GameLog.debug(() -> "✓ " + player + "Hilera de " + (-result) + " bloque(s) roto(s) en efecto dominó");
+            }
+            if (result != 0) {
+                // Volver a "stand" después de un delay
+                getAnimationScheduler().scheduleActionReset(iceCream, EntityAction.STAND, 200, false);
+            }
+        }
+
+        if (iceCream.isAIControlled()) {
+            return;
+        }
+        if (direction != null) {
+            // Siempre se orienta; solo camina si la tecla se mantuvo
+            iceCream.setCurrentDirection(direction);
+            if ((input & PlayerInput.MOVE) != 0) {
+                iceCream.setCurrentAction(EntityAction.WALK);
+                if (first) {
+                    moveIceCream(direction);
+                } else {
+                    moveSecondIceCream(direction);
+                }
+                return;
+            }
+        }
+        if (iceCream.getCurrentAction() != EntityAction.SHOOT && iceCream.getCurrentAction() != EntityAction.BREAK) {
+            iceCream.setCurrentAction(EntityAction.STAND);
+        }
+    }
+
+    /**
+     * Habilidad con ACTION y movimiento del monstruo en PVP (no se mueve
+     * mientras un Narval carga)
+     */
+    private void applyMonsterInput(Enemy enemy, int input) {
+        if ((input & PlayerInput.ACTION) != 0) {
+            useMonsterAbility(enemy);
+        }
+
+        for (Enemy other : board.getEnemies()) {
+            if (other instanceof Narval && ((Narval) other).isCharging()) {
+                return;
+            }
+        }
+
+        Direction direction = PlayerInput.direction(input);
+        if (direction == null) {
+            enemy.setCurrentAction(EntityAction.STAND);
+            return;
+        }
+        enemy.setCurrentDirection(direction);
+        if ((input & PlayerInput.MOVE) != 0) {
+            enemy.setCurrentAction(EntityAction.WALK);
+            moveEnemy(0, direction);
+        } else {
+            enemy.setCurrentAction(EntityAction.STAND);
+        }
+    }
+
+    /**
+     * Habilidad del monstruo controlado: turbo (Maceta), carga (Narval) o
+     * romper hielo (Calamar amarillo)
+     */
+    private void useMonsterAbility(Enemy enemy) {
+        if (enemy instanceof Pot) {
+            Pot pot = (Pot) enemy;
+            if (pot.isTurboActive()) {
+                GameLog.debug(() -> "⚡ Turbo activo: " + (pot.getTurboTimeRemaining() / 1000) + "s restantes");
+            } else if (pot.getTurboRechargeTimeRemaining() <= 0) {
+                pot.executeAbility();
+                GameLog.debug("⚡ ¡Turbo ACTIVADO!");
+            } else {
+                GameLog.debug(() -> "⏳ Turbo en recarga: " + (pot.getTurboRechargeTimeRemaining() / 1000) + "s");
+            }
+        } else if (enemy instanceof Narval) {
+            Narval narval = (Narval) enemy;
+            if (narval.canCharge()) {
+                narval.activateCharge(enemy.getCurrentDirection());
+                GameLog.debug("🔱 ¡Carga de Narval ACTIVADA!");
+            } else {
+                GameLog.debug(() -> "⏳ Carga en recarga: " + (narval.getChargeRechargeTimeRemaining() / 1000) + "s");
+            }
+        } else if (enemy instanceof YellowSquid) {
+            YellowSquid squid = (YellowSquid) enemy;
+            if (board.yellowSquidBreakIce(squid)) {
+                GameLog.debug("🟡 ¡Bloque roto!");
+            } else if (board.hasIceBlock(squid.getPosition().move(squid.getCurrentDirection()))) {
+                GameLog.debug(() -> "🟡 Golpe " + squid.getIceBreakCounter() + "/3");
+            } else {
+                GameLog.debug("⚠️ No hay bloque en esa dirección");
+                squid.resetIceBreakCounter();
+            }
+        }
+    }
+
+    /**
+     * Fija la semilla del azar para el próximo startLevel (simulaciones y
+     * reproducciones); sin ella cada nivel usa una semilla cualquiera
+     */
+    public void setSeed(long seed) {
+        this.nextSeed = seed;
+    }
+
+    /**
+     * Activa la grabación de entradas: cada startLevel empieza una grabación
+     * nueva (ver getReplayLog)
+     */
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+        if (!recording) {
+            replayLog = null;
+        }
+    }
+
+    /**
+     * Perfilador que mide las fases de cada tick (ver FrameProfiler)
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Grabación del nivel actual
+     *
+     * @return La grabación, o null si no se graba o se cargó/retrocedió la
+     *         partida a mitad del nivel
+     */
+    public ReplayLog getReplayLog() {
+        return replayLog;
+    }
+
+    /**
+     * Hash del estado de la partida en O(1): el hash Zobrist del tablero
+     * combinado con puntaje, tiempo, estado, tick y azar
+     * Se puede pedir en cada tick para comparar dos simulaciones o una
+     * reproducción con su grabación (ver ReplayLog).
+     */
+    public long getStateHash() {
+        GameClock clock = getClock();
+        long hash = board != null ? board.getStateHash() : 0;
+        hash = GameRandom.mix(hash ^ score);
+        hash = GameRandom.mix(hash ^ remainingTime);
+        hash = GameRandom.mix(hash ^ (gameState != null ? gameState.ordinal() : -1));
+        hash = GameRandom.mix(hash ^ clock.getTickCount());
+        return GameRandom.mix(hash ^ clock.getRandom().getState());
+    }
+
     /**
      * Rompe UN SOLO bloque de hielo en la dirección actual del helado
      */
@@ -829,11 +1055,14 @@ public class Game implements Serializable {
      * Pausa/reanuda el juego
      */
     public void togglePause() {
+        if (replayLog != null) {
+            replayLog.pause();
+        }
         if (gameState == GameState.PLAYING) {
             gameState = GameState.PAUSED;
         } else if (gameState == GameState.PAUSED) {
             gameState = GameState.PLAYING;
-            lastUpdateTime = System.currentTimeMillis();
+            lastUpdateTime = getClock().now();
         }
     }
 
@@ -881,6 +1110,9 @@ public class Game implements Serializable {
     }
 
     public void setGameState(GameState state) {
+        if (replayLog != null) {
+            replayLog.state(state);
+        }
         this.gameState = state;
     }
 
@@ -898,6 +1130,151 @@ public class Game implements Serializable {
         return iceCreamAIStrategyName;
     }
 
+    Map<String, Integer> getEnemyConfig() {
+        return enemyConfig;
+    }
+
+    Map<String, Integer> getFruitConfig() {
+        return fruitConfig;
+    }
+
+    Map<String, Integer> getObstacleConfig() {
+        return obstacleConfig;
+    }
+
+    long getLastUpdateTime() {
+        return lastUpdateTime;
+    }
+
+    /**
+     * Obtiene las instantáneas de la partida (ver SnapshotJournal)
+     */
+    public SnapshotJournal getSnapshots() {
+        if (snapshots == null) {
+            snapshots = new SnapshotJournal();
+        }
+        return snapshots;
+    }
+
+    /**
+     * Toma una instantánea (un delta contra el último keyframe)
+     *
+     * @return true si se tomó
+     */
+    public boolean captureSnapshot() {
+        try {
+            return getSnapshots().capture(this) != null;
+        } catch (IOException e) {
+            GameLog.error("Error al tomar la instantánea: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Retrocede la partida unos segundos de juego
+     * Reemplaza el tablero y el reloj por los de la instantánea elegida; el
+     * objeto Game sigue siendo el mismo.
+     *
+     * @return true si se retrocedió
+     */
+    public boolean rewind(int seconds) {
+        try {
+            return getSnapshots().rewind(this, seconds * 1000L);
+        } catch (IOException e) {
+            GameLog.error("Error al retroceder la partida: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Restaura el estado de una partida leída por SaveCodec
+     * El tablero ya viene con sus entidades enlazadas; aquí se vuelve a crear
+     * la IA de los enemigos según el modo y se asocian reloj y animaciones.
+     */
+    void restoreState(Level level, Board board, GameState state, int score, int remainingTime, GameClock clock,
+            long lastUpdateTime) {
+        // La grabación del nivel ya no se puede reproducir desde su inicio
+        this.replayLog = null;
+        this.currentLevel = level;
+        this.board = board;
+        this.gameState = state;
+        this.score = score;
+        this.remainingTime = remainingTime;
+        if (clock != null) {
+            this.clock = clock;
+        }
+        // Configurar la IA no debe mover la secuencia de azar restaurada
+        long randomState = getClock().getRandom().getState();
+        if (board != null) {
+            setupAI();
+        }
+        updateBoardReferences();
+        getClock().getRandom().setSeed(randomState);
+        this.lastUpdateTime = clock != null ? lastUpdateTime : getClock().now();
+    }
+
+    /**
+     * Avanza la simulación según el tiempo real transcurrido
+     * Ejecuta los ticks fijos acumulados (puede ser 0 o varios por frame)
+     * 
+     * @param elapsedMs Milisegundos reales desde el último frame
+     * @return Cantidad de ticks ejecutados
+     */
+    public int advance(long elapsedMs) {
+        return advance(elapsedMs, null);
+    }
+
+    /**
+     * Igual que advance(long), llamando a beforeTick antes de cada tick: ahí
+     * el Controller aplica la entrada de ese tick (una vez por tick, no por
+     * frame), así queda grabada en el tick que le corresponde
+     *
+     * @param beforeTick Recibe cuántos ticks quedan después del actual en
+     *                   este frame (0 en el último), o null
+     * @return Cantidad de ticks ejecutados
+     */
+    public int advance(long elapsedMs, IntConsumer beforeTick) {
+        int ticks = getClock().accumulate(elapsedMs);
+        for (int i = 0; i < ticks; i++) {
+            if (beforeTick != null) {
+                beforeTick.accept(ticks - 1 - i);
+            }
+            update();
+        }
+        return ticks;
+    }
+
+    /**
+     * Obtiene el reloj de simulación de la partida
+     */
+    public GameClock getClock() {
+        if (clock == null) {
+            // Partidas guardadas antes del reloj de simulación
+            clock = new GameClock();
+        }
+        return clock;
+    }
+
+    /**
+     * Reemplaza el reloj de simulación (ej. GameClock(0) para simulaciones
+     * reproducibles). Debe llamarse antes de startLevel.
+     */
+    public void setClock(GameClock clock) {
+        this.clock = clock;
+        GameClock.bind(clock);
+        this.lastUpdateTime = clock.now();
+    }
+
+    /**
+     * Obtiene el planificador de animaciones de la partida
+     */
+    public AnimationScheduler getAnimationScheduler() {
+        if (animationScheduler == null) {
+            animationScheduler = new AnimationScheduler();
+        }
+        return animationScheduler;
+    }
+
     /**
      * Actualiza referencias después de desserialización
      * Necesario porque los comportamientos tienen referencias transient a Board
@@ -908,6 +1285,9 @@ public class Game implements Serializable {
             return;
         }
 
+        // 0. El planificador de animaciones no se serializa
+        board.setAnimationScheduler(getAnimationScheduler());
+
         // 1. Actualizar referencias en enemigos que usan ChaseMovement
         if (board.getEnemies() != null) {
             for (Enemy enemy : board.getEnemies()) {
@@ -951,7 +1331,8 @@ public class Game implements Serializable {
         }
 
         // 4. Reinicializar tiempo si es necesario
-        this.lastUpdateTime = System.currentTimeMillis();
+        GameClock.bind(getClock());
+        this.lastUpdateTime = clock.now();
     }
 
     /**
@@ -988,12 +1369,54 @@ public class Game implements Serializable {
 
     /**
      * Guarda la partida actual en un archivo .dat
-     * La partida se guarda en la carpeta "saves/" del proyecto
+     * La partida se guarda en la carpeta "saves/" del proyecto, en el formato
+     * binario de SaveCodec. Escribe en el hilo que llama; desde el game loop
+     * conviene saveGameAsync.
      * 
      * @param filename Nombre del archivo donde guardar (ej: "partida1.dat")
      * @return true si se guardó exitosamente, false en caso de error
      */
     public boolean saveGame(String filename) {
+        String fullPath = savePath(filename);
+
+        try {
+            SaveCodec.write(this, new File(fullPath).toPath());
+            GameLog.info("Partida guardada exitosamente en: " + fullPath);
+            return true;
+        } catch (IOException e) {
+            GameLog.error("Error al guardar la partida: " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Guarda la partida sin bloquear el hilo del juego
+     * La instantánea se toma ahora (el estado no cambia a mitad de guardado);
+     * la escritura a disco se hace en segundo plano (ver SaveWriter).
+     * 
+     * @param filename Nombre del archivo donde guardar (ej: "partida1.dat")
+     * @return Futuro que se completa con true si se guardó
+     */
+    public CompletableFuture<Boolean> saveGameAsync(String filename) {
+        String fullPath = savePath(filename);
+        try {
+            byte[] snapshot = SaveCodec.encode(this);
+            return SaveWriter.write(snapshot, new File(fullPath).toPath()).thenApply(saved -> {
+                if (saved) {
+                    GameLog.info("Partida guardada exitosamente en: " + fullPath);
+                }
+                return saved;
+            });
+        } catch (IOException e) {
+            GameLog.error("Error al guardar la partida: " + e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    /**
+     * Ruta de una partida en saves/ (agrega la extensión .dat si falta)
+     */
+    private static String savePath(String filename) {
         // Crear directorio "saves" si no existe
         File savesDir = new File("saves");
         if (!savesDir.exists()) {
@@ -1006,23 +1429,13 @@ public class Game implements Serializable {
         }
 
         // Ruta completa: saves/filename.dat
-        String fullPath = "saves" + File.separator + filename;
-
-        try (ObjectOutputStream out = new ObjectOutputStream(
-                new FileOutputStream(fullPath))) {
-            out.writeObject(this);
-            System.out.println("Partida guardada exitosamente en: " + fullPath);
-            return true;
-        } catch (IOException e) {
-            System.err.println("Error al guardar la partida: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        return "saves" + File.separator + filename;
     }
 
     /**
      * Carga una partida desde un archivo .dat
-     * Busca el archivo en la carpeta "saves/"
+     * Busca el archivo en la carpeta "saves/". Lee el formato de SaveCodec y,
+     * si el archivo es de una versión anterior, la serialización Java.
      * 
      * @param filename Nombre del archivo a cargar (ej: "partida1.dat")
      * @return Objeto Game cargado, o null si hubo un error
@@ -1036,26 +1449,34 @@ public class Game implements Serializable {
         // Ruta completa: saves/filename.dat
         String fullPath = "saves" + File.separator + filename;
 
+        if (SaveCodec.isSaveFile(new File(fullPath).toPath())) {
+            try {
+                Game game = SaveCodec.read(new File(fullPath).toPath());
+                GameLog.info("Partida cargada exitosamente desde: " + fullPath);
+                return game;
+            } catch (IOException e) {
+                GameLog.error("Error al leer el archivo: " + e.getMessage(), e);
+                return null;
+            }
+        }
+
         try (ObjectInputStream in = new ObjectInputStream(
                 new FileInputStream(fullPath))) {
             Game game = (Game) in.readObject();
 
             // Restaurar referencias transient después de la deserialización
-            game.lastUpdateTime = System.currentTimeMillis();
             game.updateBoardReferences();
 
-            System.out.println("Partida cargada exitosamente desde: " + fullPath);
+            GameLog.info("Partida cargada exitosamente desde: " + fullPath);
             return game;
         } catch (FileNotFoundException e) {
-            System.err.println("Archivo no encontrado: " + fullPath);
+            GameLog.error("Archivo no encontrado: " + fullPath);
             return null;
         } catch (IOException e) {
-            System.err.println("Error al leer el archivo: " + e.getMessage());
-            e.printStackTrace();
+            GameLog.error("Error al leer el archivo: " + e.getMessage(), e);
             return null;
         } catch (ClassNotFoundException e) {
-            System.err.println("Error al deserializar: " + e.getMessage());
-            e.printStackTrace();
+            GameLog.error("Error al deserializar: " + e.getMessage(), e);
             return null;
         }
     }
@@ -1092,7 +1513,7 @@ public class Game implements Serializable {
         if (file.exists()) {
             boolean deleted = file.delete();
             if (deleted) {
-                System.out.println("Archivo eliminado: " + file.getPath());
+                GameLog.info("Archivo eliminado: " + file.getPath());
             }
             return deleted;
         }
@@ -1128,17 +1549,23 @@ public class Game implements Serializable {
     /**
      * Guarda automáticamente la partida con un nombre basado en la fecha/hora
      * Se guarda en saves/ con formato: autosave_YYYYMMDD_HHMMSS.dat
+     * La escritura es en segundo plano y después se borran los autoguardados
+     * más viejos (se conservan SaveWriter.AUTOSAVE_KEEP)
      * 
      * @return Nombre del archivo generado, o null si hubo error
      */
     public String autoSave() {
         String timestamp = new java.text.SimpleDateFormat("yyyyMMdd_HHmmss")
                 .format(new java.util.Date());
-        String filename = "autosave_" + timestamp + ".dat";
+        String filename = SaveWriter.AUTOSAVE_PREFIX + timestamp + ".dat";
 
-        if (saveGame(filename)) {
+        try {
+            byte[] snapshot = SaveCodec.encode(this);
+            SaveWriter.writeAutosave(snapshot, new File(savePath(filename)).toPath(), SaveWriter.AUTOSAVE_KEEP);
             return filename;
+        } catch (IOException e) {
+            GameLog.error("Error al guardar la partida: " + e.getMessage());
+            return null;
         }
-        return null;
     }
 }
@@ -0,0 +1,139 @@
+package Domain;
+
+import java.io.Serializable;
+
+/**
+ * Reloj de simulación con paso fijo
+ * El dominio avanza en ticks discretos de TICK_MS milisegundos en lugar de
+ * leer System.currentTimeMillis(), lo que hace la simulación reproducible y
+ * permite correrla más rápido que el tiempo real (bots, pruebas).
+ *
+ * Las entidades consultan el tiempo con GameClock.currentTimeMillis(), que
+ * devuelve el reloj de la partida asociada al hilo actual (Game lo asocia al
+ * crear el nivel y en cada update). Sin reloj asociado se usa el tiempo real.
+ *
+ * El reloj también lleva el generador aleatorio de la partida: las entidades
+ * lo obtienen con GameClock.random(), igual que el tiempo.
+ */
+public class GameClock implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Duración de un tick de lógica (~60 actualizaciones por segundo)
+    public static final int TICK_MS = 16;
+    // Máximo de ticks por frame para no entrar en espiral si un frame se atrasa
+    public static final int MAX_TICKS_PER_FRAME = 10;
+
+    private static final ThreadLocal<GameClock> CURRENT = new ThreadLocal<>();
+    // Azar de respaldo para código que corre sin una partida asociada
+    private static final ThreadLocal<GameRandom> UNBOUND_RANDOM = ThreadLocal
+            .withInitial(() -> new GameRandom(System.nanoTime()));
+
+    private long currentTime; // Tiempo simulado en milisegundos
+    private long tickCount;
+    private transient long accumulator; // Tiempo real pendiente de simular
+    private GameRandom random; // Azar de la simulación
+
+    /**
+     * Crea un reloj que empieza en el tiempo real actual
+     * (compatible con los tiempos guardados en partidas anteriores)
+     */
+    public GameClock() {
+        this(System.currentTimeMillis());
+    }
+
+    /**
+     * Crea un reloj que empieza en un tiempo dado (ej. 0 para simulaciones
+     * reproducibles)
+     */
+    public GameClock(long startTime) {
+        this.currentTime = startTime;
+        this.tickCount = 0;
+        this.accumulator = 0;
+    }
+
+    /**
+     * Restaura un reloj de una partida guardada (ver SaveCodec)
+     */
+    GameClock(long currentTime, long tickCount) {
+        this.currentTime = currentTime;
+        this.tickCount = tickCount;
+        this.accumulator = 0;
+    }
+
+    /**
+     * Avanza el reloj un tick
+     */
+    public void tick() {
+        currentTime += TICK_MS;
+        tickCount++;
+    }
+
+    /**
+     * Acumula tiempo real transcurrido y devuelve cuántos ticks de lógica
+     * corresponde ejecutar (el sobrante queda para el próximo frame)
+     *
+     * @param elapsedMs Milisegundos reales desde el último frame
+     * @return Ticks a ejecutar (entre 0 y MAX_TICKS_PER_FRAME)
+     */
+    public int accumulate(long elapsedMs) {
+        if (elapsedMs > 0) {
+            accumulator += elapsedMs;
+        }
+        int ticks = (int) (accumulator / TICK_MS);
+        if (ticks > MAX_TICKS_PER_FRAME) {
+            // Descartar el atraso acumulado (ej. después de una pausa larga)
+            accumulator = 0;
+            return MAX_TICKS_PER_FRAME;
+        }
+        accumulator -= (long) ticks * TICK_MS;
+        return ticks;
+    }
+
+    /**
+     * Obtiene el tiempo simulado actual en milisegundos
+     */
+    public long now() {
+        return currentTime;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Obtiene el generador aleatorio de la partida
+     * (sin semilla fija empieza en una semilla cualquiera)
+     */
+    public GameRandom getRandom() {
+        if (random == null) {
+            // Relojes creados o guardados antes del generador propio
+            random = new GameRandom(System.nanoTime());
+        }
+        return random;
+    }
+
+    /**
+     * Asocia un reloj al hilo actual
+     */
+    public static void bind(GameClock clock) {
+        CURRENT.set(clock);
+    }
+
+    /**
+     * Tiempo actual para las entidades del dominio
+     * Reemplaza System.currentTimeMillis() en la lógica del juego
+     */
+    public static long currentTimeMillis() {
+        GameClock clock = CURRENT.get();
+        return clock != null ? clock.now() : System.currentTimeMillis();
+    }
+
+    /**
+     * Azar para las entidades del dominio
+     * Reemplaza Math.random() y new Random() en la lógica del juego
+     */
+    public static GameRandom random() {
+        GameClock clock = CURRENT.get();
+        return clock != null ? clock.getRandom() : UNBOUND_RANDOM.get();
+    }
+}
@@ -0,0 +1,382 @@
+package Domain;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Registro de mensajes del juego con niveles y escritura en segundo plano
+ * Reemplaza System.out/System.err en Domain y Controller: el hilo que
+ * registra solo deja el mensaje en un buffer circular y un único hilo
+ * "registro-juego" lo escribe a la consola o a un archivo rotativo, así la
+ * E/S nunca frena un frame.
+ *
+ * - Un mensaje debajo del nivel activo no hace nada: con un texto fijo o
+ * un Supplier no se arma ningún String
+ * - El buffer es sin locks (varios productores: game loop, EDT, hilos de
+ * guardado); si se llena, el mensaje se descarta y se cuenta
+ * (getDroppedCount) en lugar de bloquear
+ * - En consola se escribe el mensaje tal cual (WARN y ERROR a System.err);
+ * en archivo, con hora, nivel e hilo
+ *
+ * Configuración (propiedades del sistema):
+ * - badicecream.log: nivel mínimo (DEBUG, INFO, WARN, ERROR, OFF; INFO por
+ * defecto)
+ * - badicecream.logFile: archivo de registro (ej. logs/juego.log); sin ella
+ * se usa la consola
+ * - badicecream.logMaxKb: tamaño de cada archivo antes de rotar (1024 por
+ * defecto)
+ * - badicecream.logKeep: archivos rotados que se conservan (3 por defecto)
+ */
+public final class GameLog {
+
+    /**
+     * Nivel de un mensaje (de menor a mayor importancia)
+     */
+    public enum LogLevel {
+        DEBUG, INFO, WARN, ERROR, OFF
+    }
+
+    private static final LogLevel[] LEVELS = LogLevel.values();
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    // Buffer circular con una secuencia por lugar: el productor reserva un
+    // lugar avanzando tail con CAS, escribe y publica la secuencia
+    static final int CAPACITY = 8192; // Potencia de 2
+    private static final int MASK = CAPACITY - 1;
+    private static final AtomicLong TAIL = new AtomicLong();
+    private static final AtomicLongArray SEQUENCE = new AtomicLongArray(CAPACITY);
+    private static final String[] MESSAGES = new String[CAPACITY];
+    private static final Throwable[] ERRORS = new Throwable[CAPACITY];
+    private static final String[] THREADS = new String[CAPACITY];
+    private static final long[] TIMES = new long[CAPACITY];
+    private static final byte[] SEVERITIES = new byte[CAPACITY];
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static volatile long head; // Lo escribe solo el hilo de registro
+    private static volatile long written; // Mensajes ya volcados a la salida
+
+    private static volatile LogLevel threshold = parseLevel(System.getProperty("badicecream.log"));
+
+    // Salida (la cambia setOutput; la aplica el hilo de registro)
+    private static volatile Path outputFile = toPath(System.getProperty("badicecream.logFile"));
+    private static volatile long maxFileBytes = Math.max(1, Long.getLong("badicecream.logMaxKb", 1024)) * 1024;
+    private static volatile int keepFiles = Math.max(1, Integer.getInteger("badicecream.logKeep", 3));
+    private static volatile int outputVersion;
+
+    private static final Thread WRITER;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            SEQUENCE.set(i, i);
+        }
+        WRITER = new Thread(GameLog::runWriter, "registro-juego");
+        WRITER.setDaemon(true);
+        WRITER.start();
+        // Lo que quede en el buffer se escribe antes de salir (si la primera
+        // vez que se usa ya es durante el cierre, vacía quien registra)
+        try {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(1000), "registro-juego-cierre"));
+        } catch (IllegalStateException shuttingDown) {
+            // La JVM ya está cerrando
+        }
+    }
+
+    private GameLog() {
+    }
+
+    // ========== REGISTRO ==========
+
+    public static boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= threshold.ordinal() && level != LogLevel.OFF;
+    }
+
+    public static boolean isDebugEnabled() {
+        return isEnabled(LogLevel.DEBUG);
+    }
+
+    public static void debug(String message) {
+        log(LogLevel.DEBUG, message, null);
+    }
+
+    public static void debug(Supplier<String> message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, message.get(), null);
+        }
+    }
+
+    public static void info(String message) {
+        log(LogLevel.INFO, message, null);
+    }
+
+    public static void info(Supplier<String> message) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, message.get(), null);
+        }
+    }
+
+    public static void warn(String message) {
+        log(LogLevel.WARN, message, null);
+    }
+
+    public static void warn(Supplier<String> message) {
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, message.get(), null);
+        }
+    }
+
+    public static void error(String message) {
+        log(LogLevel.ERROR, message, null);
+    }
+
+    public static void error(String message, Throwable error) {
+        log(LogLevel.ERROR, message, error);
+    }
+
+    /**
+     * Deja un mensaje en el buffer sin esperar
+     */
+    public static void log(LogLevel level, String message, Throwable error) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        long t;
+        int slot;
+        while (true) {
+            t = TAIL.get();
+            slot = (int) t & MASK;
+            long sequence = SEQUENCE.get(slot);
+            if (sequence == t) {
+                if (TAIL.compareAndSet(t, t + 1)) {
+                    break;
+                }
+            } else if (sequence < t) {
+                // Lleno: el hilo de registro no da abasto
+                DROPPED.incrementAndGet();
+                return;
+            }
+            // Otro productor tomó el lugar: reintentar con el tail nuevo
+        }
+        MESSAGES[slot] = message;
+        ERRORS[slot] = error;
+        THREADS[slot] = Thread.currentThread().getName();
+        TIMES[slot] = System.currentTimeMillis();
+        SEVERITIES[slot] = (byte) level.ordinal();
+        SEQUENCE.set(slot, t + 1); // Publica el mensaje (el hilo de registro lo toma en su próxima vuelta)
+    }
+
+    // ========== CONFIGURACIÓN ==========
+
+    public static LogLevel getLevel() {
+        return threshold;
+    }
+
+    public static void setLevel(LogLevel level) {
+        threshold = level != null ? level : LogLevel.INFO;
+    }
+
+    /**
+     * Cambia la salida (lo registrado antes se escribe en la salida anterior)
+     *
+     * @param file     Archivo de registro, o null para la consola
+     * @param maxBytes Tamaño de cada archivo antes de rotar
+     * @param keep     Archivos rotados que se conservan (file.1, file.2...)
+     */
+    public static void setOutput(Path file, long maxBytes, int keep) {
+        flush(1000);
+        outputFile = file;
+        maxFileBytes = Math.max(1, maxBytes);
+        keepFiles = Math.max(1, keep);
+        outputVersion++;
+        LockSupport.unpark(WRITER);
+    }
+
+    /**
+     * Espera a que se escriba todo lo registrado hasta ahora
+     *
+     * @return true si se escribió todo antes del tiempo límite
+     */
+    public static boolean flush(long timeoutMillis) {
+        long target = TAIL.get();
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        while (written < target) {
+            if (System.nanoTime() > deadline || !WRITER.isAlive()) {
+                return false;
+            }
+            LockSupport.unpark(WRITER);
+            LockSupport.parkNanos(100_000L);
+        }
+        return true;
+    }
+
+    /**
+     * Mensajes descartados porque el buffer estaba lleno
+     */
+    public static long getDroppedCount() {
+        return DROPPED.get();
+    }
+
+    // ========== HILO DE REGISTRO ==========
+
+    private static void runWriter() {
+        Output output = new Output();
+        while (true) {
+            output.configure();
+            long h = head;
+            int slot = (int) h & MASK;
+            if (SEQUENCE.get(slot) != h + 1) {
+                output.flush();
+                written = h;
+                LockSupport.parkNanos(5_000_000L);
+                continue;
+            }
+            String message = MESSAGES[slot];
+            Throwable error = ERRORS[slot];
+            String thread = THREADS[slot];
+            long time = TIMES[slot];
+            LogLevel level = LEVELS[SEVERITIES[slot]];
+            MESSAGES[slot] = null;
+            ERRORS[slot] = null;
+            SEQUENCE.set(slot, h + CAPACITY); // Libera el lugar para la próxima vuelta
+            head = h + 1;
+            output.write(level, message, error, thread, time);
+        }
+    }
+
+    /**
+     * Salida actual (solo la usa el hilo de registro)
+     */
+    private static final class Output {
+        private int version = -1;
+        private Path file;
+        private BufferedWriter writer;
+        private long fileBytes;
+
+        void configure() {
+            if (version == outputVersion) {
+                return;
+            }
+            version = outputVersion;
+            close();
+            file = outputFile;
+            if (file != null) {
+                open();
+            }
+        }
+
+        void write(LogLevel level, String message, Throwable error, String thread, long time) {
+            if (writer == null) {
+                PrintStream stream = level.ordinal() >= LogLevel.WARN.ordinal() ? System.err : System.out;
+                stream.println(message);
+                if (error != null) {
+                    error.printStackTrace(stream);
+                }
+                return;
+            }
+            StringBuilder line = new StringBuilder(64 + (message != null ? message.length() : 4));
+            line.append(TIME.format(LocalTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault())))
+                    .append(' ').append(level).append(level.name().length() == 4 ? "  [" : " [")
+                    .append(thread).append("] ").append(message).append(System.lineSeparator());
+            if (error != null) {
+                StringWriter trace = new StringWriter();
+                error.printStackTrace(new PrintWriter(trace));
+                line.append(trace);
+            }
+            try {
+                writer.write(line.toString());
+                fileBytes += line.length();
+                if (fileBytes >= maxFileBytes) {
+                    rotate();
+                }
+            } catch (IOException e) {
+                GameLog.error("Error al escribir el registro, se usa la consola: " + e.getMessage());
+                close();
+            }
+        }
+
+        void flush() {
+            if (writer != null) {
+                try {
+                    writer.flush();
+                } catch (IOException e) {
+                    close();
+                }
+            }
+        }
+
+        private void open() {
+            try {
+                Path parent = file.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                writer = Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                fileBytes = Files.size(file);
+            } catch (IOException e) {
+                GameLog.error("No se pudo abrir el registro " + file + ": " + e.getMessage());
+                writer = null;
+            }
+        }
+
+        /**
+         * juego.log pasa a juego.log.1, juego.log.1 a juego.log.2... y se
+         * descarta el que pasa de keepFiles
+         */
+        private void rotate() throws IOException {
+            close();
+            int keep = keepFiles;
+            Files.deleteIfExists(rotated(keep));
+            for (int i = keep - 1; i >= 1; i--) {
+                if (Files.exists(rotated(i))) {
+                    Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+            open();
+        }
+
+        private Path rotated(int index) {
+            return file.resolveSibling(file.getFileName() + "." + index);
+        }
+
+        private void close() {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    // Ya no se puede escribir; se sigue por consola
+                }
+                writer = null;
+            }
+        }
+    }
+
+    private static LogLevel parseLevel(String name) {
+        if (name != null) {
+            for (LogLevel level : LEVELS) {
+                if (level.name().equalsIgnoreCase(name.trim())) {
+                    return level;
+                }
+            }
+        }
+        return LogLevel.INFO;
+    }
+
+    private static Path toPath(String name) {
+        return name != null && !name.isBlank() ? Paths.get(name) : null;
+    }
+}
@@ -1,5 +1,9 @@
 package Domain;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 
 /**
@@ -12,7 +16,7 @@ public abstract class GameObject implements Serializable {
     protected Position position;
     protected Direction currentDirection;
     protected Direction lastDirection;
-    protected String currentAction;
+    protected EntityAction currentAction;
     protected int speed;
     protected boolean alive;
     protected long lastMovementTime;
@@ -20,8 +24,24 @@ public abstract class GameObject implements Serializable {
     // NUEVO: Variables para movimiento suave
     protected transient float visualX;
     protected transient float visualY;
+    // Si la posición visual todavía se acerca a la lógica: solo decide la
+    // animación (getDisplayAction), no entra en currentAction ni en el hash
+    // de la grabación, que la reproducción calcula sin dibujar
+    protected transient boolean visuallyMoving;
     protected static final float INTERPOLATION_SPEED = 0.35F;
 
+    // Formato serializado: la acción se guarda como String, igual que antes de
+    // EntityAction, para seguir leyendo las partidas guardadas
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("position", Position.class),
+            new ObjectStreamField("currentDirection", Direction.class),
+            new ObjectStreamField("lastDirection", Direction.class),
+            new ObjectStreamField("currentAction", String.class),
+            new ObjectStreamField("speed", Integer.TYPE),
+            new ObjectStreamField("alive", Boolean.TYPE),
+            new ObjectStreamField("lastMovementTime", Long.TYPE)
+    };
+
     /**
      * Constructor de GameObject
      */
@@ -29,10 +49,10 @@ public abstract class GameObject implements Serializable {
         this.position = new Position(position);
         this.currentDirection = Direction.DOWN;
         this.lastDirection = Direction.DOWN;
-        this.currentAction = "stand";
+        this.currentAction = EntityAction.STAND;
         this.speed = speed;
         this.alive = true;
-        this.lastMovementTime = System.currentTimeMillis();
+        this.lastMovementTime = GameClock.currentTimeMillis();
 
         // Inicializar posición visual
         this.visualX = (float) position.getX();
@@ -61,11 +81,11 @@ public abstract class GameObject implements Serializable {
         return lastDirection;
     }
 
-    public String getCurrentAction() {
+    public EntityAction getCurrentAction() {
         return currentAction;
     }
 
-    public void setCurrentAction(String action) {
+    public void setCurrentAction(EntityAction action) {
         this.currentAction = action;
     }
 
@@ -89,13 +109,24 @@ public abstract class GameObject implements Serializable {
         return visualY;
     }
 
+    /**
+     * Acción a dibujar: caminar mientras la posición visual se desliza y
+     * quieto al llegar, salvo las acciones que no dependen del movimiento
+     */
+    public EntityAction getDisplayAction() {
+        if (currentAction != EntityAction.WALK && currentAction != EntityAction.STAND) {
+            return currentAction;
+        }
+        return visuallyMoving ? EntityAction.WALK : EntityAction.STAND;
+    }
+
     /**
      * Mueve el objeto en una dirección específica
      */
     public Position move(Direction direction) {
         this.currentDirection = direction;
         this.lastDirection = direction;
-        this.currentAction = "walk";
+        this.currentAction = EntityAction.WALK;
         Position newPosition = position.move(direction);
         return newPosition;
     }
@@ -116,6 +147,8 @@ public abstract class GameObject implements Serializable {
 
     /**
      * Actualiza la posición visual con interpolación rápida y fluida
+     * Solo toca el estado visual (transient): el modelo avanza igual aunque
+     * nadie dibuje.
      */
     public void updateVisualPosition() {
         float targetPosX = (float) position.getX();
@@ -130,10 +163,7 @@ public abstract class GameObject implements Serializable {
             // Snap directo a la posición final
             visualX = targetPosX;
             visualY = targetPosY;
-
-            if (currentAction.equals("walk")) {
-                currentAction = "stand";
-            }
+            visuallyMoving = false;
         } else {
             // ✅ MOVIMIENTO RÁPIDO Y FLUIDO
             // Velocidad adaptativa: más rápido cuando está lejos, más lento cerca
@@ -141,10 +171,7 @@ public abstract class GameObject implements Serializable {
 
             visualX += deltaX * speed;
             visualY += deltaY * speed;
-
-            if (!currentAction.equals("shoot") && !currentAction.equals("break")) {
-                currentAction = "walk";
-            }
+            visuallyMoving = true;
         }
     }
 
@@ -154,13 +181,14 @@ public abstract class GameObject implements Serializable {
     public void syncVisualPosition() {
         this.visualX = (float) position.getX();
         this.visualY = (float) position.getY();
+        this.visuallyMoving = false;
     }
 
     /**
      * Verifica si es tiempo de moverse basado en la velocidad
      */
     public boolean canMoveNow() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.currentTimeMillis();
         if (currentTime - lastMovementTime >= speed) {
             this.lastMovementTime = currentTime;
             return true;
@@ -172,7 +200,25 @@ public abstract class GameObject implements Serializable {
      * Resetea el tiempo de movimiento
      */
     public void resetMovementTimer() {
-        this.lastMovementTime = System.currentTimeMillis();
+        this.lastMovementTime = GameClock.currentTimeMillis();
+    }
+
+    long getLastMovementTime() {
+        return lastMovementTime;
+    }
+
+    /**
+     * Restaura el estado guardado de una partida (ver SaveCodec)
+     */
+    void restoreState(Direction currentDirection, Direction lastDirection, EntityAction action, int speed,
+            boolean alive, long lastMovementTime) {
+        this.currentDirection = currentDirection != null ? currentDirection : Direction.DOWN;
+        this.lastDirection = lastDirection != null ? lastDirection : Direction.DOWN;
+        this.currentAction = action;
+        this.speed = speed;
+        this.alive = alive;
+        this.lastMovementTime = lastMovementTime;
+        syncVisualPosition();
     }
 
     public abstract boolean canMoveTo(Position position);
@@ -181,6 +227,29 @@ public abstract class GameObject implements Serializable {
 
     public abstract String getType();
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("position", position);
+        fields.put("currentDirection", currentDirection);
+        fields.put("lastDirection", lastDirection);
+        fields.put("currentAction", currentAction.getName());
+        fields.put("speed", speed);
+        fields.put("alive", alive);
+        fields.put("lastMovementTime", lastMovementTime);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        position = (Position) fields.get("position", null);
+        currentDirection = (Direction) fields.get("currentDirection", Direction.DOWN);
+        lastDirection = (Direction) fields.get("lastDirection", Direction.DOWN);
+        currentAction = EntityAction.fromName((String) fields.get("currentAction", null));
+        speed = fields.get("speed", 0);
+        alive = fields.get("alive", true);
+        lastMovementTime = fields.get("lastMovementTime", 0L);
+    }
+
     @Override
     public String toString() {
         return getType() + " at " + position;
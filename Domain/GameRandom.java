@@ -0,0 +1,68 @@
+package Domain;
+
+import java.io.Serializable;
+
+/**
+ * Generador de números aleatorios de la simulación
+ * Todo el azar del dominio (posiciones de frutas, direcciones de enemigos,
+ * teletransportes) sale de aquí en lugar de Math.random() o new Random(),
+ * así una partida con la misma semilla y las mismas entradas se repite
+ * exactamente (ver ReplayLog).
+ *
+ * Usa SplitMix64: el estado completo es un long, fácil de guardar con la
+ * partida (ver SaveCodec) y de restaurar.
+ */
+public class GameRandom implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long state;
+
+    public GameRandom(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Reinicia la secuencia con una semilla
+     */
+    public void setSeed(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Estado actual (una semilla que continúa la secuencia desde aquí)
+     */
+    public long getState() {
+        return state;
+    }
+
+    public long nextLong() {
+        return mix(state += 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Mezcla los bits de un valor (paso final de SplitMix64)
+     * También genera las claves del hash Zobrist del tablero (ver Board)
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Entero entre 0 (incluido) y bound (excluido)
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("El límite debe ser positivo: " + bound);
+        }
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Número entre 0.0 (incluido) y 1.0 (excluido)
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+}
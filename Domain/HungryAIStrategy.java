@@ -18,19 +18,27 @@ public class HungryAIStrategy implements IceCreamAIStrategy {
     public Direction getNextMove(Board board, IceCream iceCream) {
         Position currentPos = iceCream.getPosition();
         List<Fruit> allFruits = board.getFruits();
+        PathfindingService paths = board.getPathfinding();
+
+        // Distancias reales (rompiendo hielo) desde el helado a todo el tablero
+        int[] fromIceCream = paths.getField(currentPos, true);
 
         // Filtrar solo las frutas NO recolectadas
         Fruit closest = null;
         double minDist = Double.MAX_VALUE;
+        boolean reachable = false;
 
         if (allFruits != null) {
             for (Fruit f : allFruits) {
                 // IMPORTANTE: Solo considerar frutas no recolectadas
                 if (f != null && !f.isCollected()) {
-                    double dist = distance(currentPos, f.getPosition());
+                    int pathDist = paths.distanceInField(fromIceCream, f.getPosition());
+                    double dist = pathDist != PathfindingService.UNREACHABLE ? pathDist
+                            : PathfindingService.UNREACHABLE + distance(currentPos, f.getPosition());
                     if (dist < minDist) {
                         minDist = dist;
                         closest = f;
+                        reachable = pathDist != PathfindingService.UNREACHABLE;
                     }
                 }
             }
@@ -39,6 +47,15 @@ public class HungryAIStrategy implements IceCreamAIStrategy {
         // Si encontramos una fruta NO recolectada, muévete hacia ella
         if (closest != null) {
             Position target = closest.getPosition();
+
+            // Camino más corto (rodea muros, atraviesa hielo rompiéndolo)
+            if (reachable) {
+                Direction step = paths.nextStepToward(currentPos, target, true);
+                if (step != null) {
+                    return step;
+                }
+            }
+
             int targetX = target.getX();
             int targetY = target.getY();
             int currentX = currentPos.getX();
@@ -100,6 +100,13 @@ public class IceCreamAI implements AI, Serializable {
      */
     private Direction getDirectionToTarget(Position target) {
         Position currentPos = iceCream.getPosition();
+
+        // Camino más corto (el hielo del camino se rompe en Game)
+        Direction step = board.getNextStepToward(currentPos, target, true);
+        if (step != null) {
+            return step;
+        }
+
         int deltaX = target.getX() - currentPos.getX();
         int deltaY = target.getY() - currentPos.getY();
 
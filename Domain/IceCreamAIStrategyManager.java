@@ -42,7 +42,7 @@ public class IceCreamAIStrategyManager {
         try {
             return strategyClass.getDeclaredConstructor().newInstance();
         } catch (Exception e) {
-            e.printStackTrace();
+            GameLog.error("No se pudo crear la estrategia " + name, e);
             return null;
         }
     }
@@ -0,0 +1,148 @@
+package Domain;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de duraciones en nanosegundos (estilo HDR)
+ * Los baldes son log-lineales: cada potencia de 2 se parte en 16 baldes
+ * iguales, así el error relativo de cualquier percentil queda debajo del
+ * ~6% sin importar si la duración es de 200 ns o de 200 ms.
+ *
+ * - record no reserva memoria: solo incrementa un contador de un long[]
+ * fijo, se puede llamar en cada tick
+ * - El mínimo, el máximo y la suma son exactos
+ * - No es seguro entre hilos (cada FrameProfiler lo usa desde un solo hilo)
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // Valores exactos debajo de 32 ns
+    private static final int HALF = SUB_BUCKETS / 2;
+
+    // Lo que pasa de ~18 minutos cuenta en el último balde
+    static final long MAX_VALUE = (1L << 40) - 1;
+    static final int BUCKET_COUNT = bucketOf(MAX_VALUE) + 1;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Registra una duración (las negativas cuentan como 0)
+     */
+    public void record(long nanos) {
+        long value = nanos < 0 ? 0 : Math.min(nanos, MAX_VALUE);
+        counts[bucketOf(value)]++;
+        totalCount++;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Duración debajo de la cual cae la fracción indicada de las muestras
+     *
+     * @param fraction Entre 0 y 1 (0.5 = mediana, 0.99 = p99)
+     * @return Límite superior del balde (sin pasar el máximo real), o 0 si
+     *         no hay muestras
+     */
+    public long getPercentile(double fraction) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(fraction * totalCount));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts[bucket];
+            if (seen >= target) {
+                return Math.min(upperBound(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Muestras de un balde (para exportar el histograma completo)
+     */
+    public long getBucketCount(int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * Suma las muestras de otro histograma a este
+     */
+    public void add(LatencyHistogram other) {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts[bucket] += other.counts[bucket];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    /**
+     * Balde de un valor: los 32 primeros son exactos; después, el bit más
+     * alto elige la potencia de 2 y los 4 bits siguientes el balde dentro de
+     * ella
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * Menor valor que cae en un balde
+     */
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / HALF - 1;
+        return (long) (bucket - shift * HALF) << shift;
+    }
+
+    /**
+     * Mayor valor que cae en un balde
+     */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / HALF - 1;
+        return ((long) (bucket - shift * HALF + 1) << shift) - 1;
+    }
+}
@@ -1,8 +1,12 @@
 package Domain;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Representa un nivel del juego con su configuración específica
@@ -24,6 +28,19 @@ public class Level implements Serializable {
     private List<Position> iceBlockPositions; // Bloques rompibles interiores
     private Position iceCreamStartPosition;
 
+    // Índices para descartar repetidos sin recorrer las listas (en niveles
+    // grandes hay miles de muros y bloques); se arman al primer uso
+    private transient Set<Position> wallSet;
+    private transient Set<Position> iceBlockSet;
+
+    // Modo estrés (pruebas de capacidad): con badicecream.stressSize > 0 todos
+    // los niveles se generan de ese lado (ver createStressLevel)
+    public static final int STRESS_SIZE = Integer.getInteger("badicecream.stressSize", 0);
+    public static final int STRESS_ENEMIES = Math.max(0, Integer.getInteger("badicecream.stressEnemies", 200));
+    public static final int STRESS_FRUITS = Math.max(1, Integer.getInteger("badicecream.stressFruits", 400));
+    private static final String[] STRESS_ENEMY_TYPES = { "Troll", "Maceta", "YellowSquid", "Narval" };
+    private static final String[] STRESS_FRUIT_TYPES = { "Uvas", "Plátano", "Piña", "Cereza" };
+
     /**
      * Constructor de Level
      */
@@ -39,6 +56,26 @@ public class Level implements Serializable {
         this.iceBlockPositions = new ArrayList<>();
     }
 
+    /**
+     * Los .dat antiguos pueden no traer todas las listas (se guardaron con una
+     * versión anterior de Level); se dejan vacías en vez de null
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (enemyConfigs == null) {
+            enemyConfigs = new ArrayList<>();
+        }
+        if (fruitConfigs == null) {
+            fruitConfigs = new ArrayList<>();
+        }
+        if (wallPositions == null) {
+            wallPositions = new ArrayList<>();
+        }
+        if (iceBlockPositions == null) {
+            iceBlockPositions = new ArrayList<>();
+        }
+    }
+
     /**
      * Clase interna para configuración de enemigos
      */
@@ -86,6 +123,24 @@ public class Level implements Serializable {
         }
     }
 
+    /**
+     * Crea un nivel predefinido por número (1, 2 o 3; cualquier otro es el 1)
+     * En modo estrés se genera uno de STRESS_SIZE x STRESS_SIZE
+     */
+    public static Level createLevel(int levelNumber) {
+        if (STRESS_SIZE > 0) {
+            return createStressLevel(levelNumber, STRESS_SIZE, STRESS_SIZE, STRESS_ENEMIES, STRESS_FRUITS);
+        }
+        switch (levelNumber) {
+            case 2:
+                return createLevel2();
+            case 3:
+                return createLevel3();
+            default:
+                return createLevel1();
+        }
+    }
+
     /**
      * Crea los niveles predefinidos del juego
      */
@@ -152,6 +207,72 @@ public class Level implements Serializable {
         return level;
     }
 
+    /**
+     * Genera un nivel grande para pruebas de capacidad
+     * Bordes de muro, columnas de bloques de hielo cada 6x4 celdas (dejan
+     * pasillos en las dos direcciones), el helado en el centro y los enemigos
+     * (de los cuatro tipos, por turnos) repartidos lejos de él. Las frutas se
+     * sortean al iniciar el nivel. La misma combinación de parámetros genera
+     * siempre el mismo nivel.
+     *
+     * @param enemies Cantidad de enemigos (se limita al espacio disponible)
+     * @param fruits  Cantidad de frutas (de los cuatro tipos, por partes)
+     */
+    public static Level createStressLevel(int levelNumber, int width, int height, int enemies, int fruits) {
+        width = Math.max(8, width);
+        height = Math.max(8, height);
+        Level level = new Level(levelNumber, "Estrés " + width + "x" + height, width, height);
+        level.setTimeLimit(600);
+
+        for (int x = 0; x < width; x++) {
+            level.addWallPosition(new Position(x, 0));
+            level.addWallPosition(new Position(x, height - 1));
+        }
+        for (int y = 1; y < height - 1; y++) {
+            level.addWallPosition(new Position(0, y));
+            level.addWallPosition(new Position(width - 1, y));
+        }
+
+        boolean[] taken = new boolean[width * height];
+        for (int y = 3; y < height - 3; y += 4) {
+            for (int x = 3; x < width - 4; x += 6) {
+                level.addIceBlockPosition(new Position(x, y));
+                level.addIceBlockPosition(new Position(x + 1, y));
+                taken[y * width + x] = true;
+                taken[y * width + x + 1] = true;
+            }
+        }
+
+        int centerX = width / 2;
+        int centerY = height / 2;
+        level.setIceCreamStartPosition(new Position(centerX, centerY));
+
+        // Enemigos a más de 5 celdas del helado, en celdas libres distintas
+        GameRandom random = new GameRandom(((long) width << 32 | height) * 31 + levelNumber);
+        int room = (width - 2) * (height - 2) / 4;
+        int count = Math.min(enemies, room);
+        for (int placed = 0, attempts = 0; placed < count && attempts < count * 50; attempts++) {
+            int x = 1 + random.nextInt(width - 2);
+            int y = 1 + random.nextInt(height - 2);
+            if (taken[y * width + x] || Math.abs(x - centerX) + Math.abs(y - centerY) <= 5) {
+                continue;
+            }
+            taken[y * width + x] = true;
+            String type = STRESS_ENEMY_TYPES[placed % STRESS_ENEMY_TYPES.length];
+            level.addEnemyConfig(new EnemyConfig(type, new Position(x, y)));
+            placed++;
+        }
+
+        int fruitRoom = Math.min(fruits, (width - 2) * (height - 2) / 2);
+        for (int i = 0; i < STRESS_FRUIT_TYPES.length; i++) {
+            int quantity = fruitRoom / STRESS_FRUIT_TYPES.length + (i < fruitRoom % STRESS_FRUIT_TYPES.length ? 1 : 0);
+            if (quantity > 0) {
+                level.addFruitConfig(new FruitConfig(STRESS_FRUIT_TYPES[i], quantity));
+            }
+        }
+        return level;
+    }
+
     /**
      * Crea las paredes del nivel 1
      */
@@ -252,13 +373,19 @@ public class Level implements Serializable {
                 pos.getY() <= 0 || pos.getY() >= boardHeight - 1) {
             return; // Ignorar posiciones de borde
         }
-        if (!iceBlockPositions.contains(pos)) {
+        if (iceBlockSet == null) {
+            iceBlockSet = new HashSet<>(iceBlockPositions);
+        }
+        if (iceBlockSet.add(pos)) {
             iceBlockPositions.add(pos);
         }
     }
 
     public void addWallPosition(Position pos) {
-        if (!wallPositions.contains(pos)) {
+        if (wallSet == null) {
+            wallSet = new HashSet<>(wallPositions);
+        }
+        if (wallSet.add(pos)) {
             wallPositions.add(pos);
         }
     }
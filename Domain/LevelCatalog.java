@@ -0,0 +1,402 @@
+package Domain;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catálogo de niveles de una carpeta
+ * Al crearse solo lee un índice con el resumen de cada nivel (nombre, tamaño,
+ * frutas, enemigos y miniatura); un nivel se carga completo recién cuando se
+ * pide, y los últimos usados quedan en una caché LRU.
+ *
+ * El índice (catalogo.idx) guarda tamaño y fecha de cada archivo: al abrir el
+ * catálogo solo se vuelven a leer los archivos nuevos o modificados. Acepta
+ * cualquier cantidad de niveles .lvl (ver LevelCodec) y .dat antiguos; si
+ * existen ambos para el mismo nombre se usa el .lvl.
+ */
+public class LevelCatalog {
+
+    public static final String INDEX_FILE = "catalogo.idx";
+
+    private static final int INDEX_MAGIC = 0x42494349; // "BICI"
+    private static final int INDEX_VERSION = 1;
+    private static final int DEFAULT_CACHE_SIZE = 8;
+
+    private final File directory;
+    private final int cacheSize;
+    private final List<Entry> entries;
+    private final Map<Integer, Entry> byNumber;
+    private final LinkedHashMap<String, Level> loaded; // Orden de acceso (LRU)
+    private int fullLoads; // Niveles cargados completos (estadística)
+
+    public LevelCatalog(String directory) {
+        this(directory, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param directory Carpeta de niveles
+     * @param cacheSize Niveles completos que se mantienen en memoria
+     */
+    public LevelCatalog(String directory, int cacheSize) {
+        this.directory = new File(directory);
+        this.cacheSize = Math.max(1, cacheSize);
+        this.entries = new ArrayList<>();
+        this.byNumber = new HashMap<>();
+        this.loaded = new LinkedHashMap<>(16, 0.75f, true);
+        refresh();
+    }
+
+    /**
+     * Vuelve a recorrer la carpeta, leyendo solo los archivos que cambiaron
+     * desde el último índice, y reescribe el índice si hizo falta
+     */
+    public synchronized void refresh() {
+        Map<String, Entry> previous = readIndex();
+        entries.clear();
+        byNumber.clear();
+        boolean changed = false;
+
+        for (File file : listLevelFiles()) {
+            Entry entry = previous.remove(file.getName());
+            if (entry == null || entry.fileSize != file.length() || entry.lastModified != file.lastModified()) {
+                try {
+                    entry = summarize(file);
+                    changed = true;
+                } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                    GameLog.error("[ERROR] Nivel ilegible, se omite: " + file + " (" + e.getMessage() + ")");
+                    continue;
+                }
+            }
+            entries.add(entry);
+        }
+        changed |= !previous.isEmpty();
+
+        Collections.sort(entries, (a, b) -> a.levelNumber != b.levelNumber
+                ? Integer.compare(a.levelNumber, b.levelNumber)
+                : a.fileName.compareTo(b.fileName));
+        for (Entry entry : entries) {
+            byNumber.putIfAbsent(entry.levelNumber, entry);
+        }
+        loaded.keySet().retainAll(fileNames());
+
+        if (changed) {
+            writeIndex();
+        }
+    }
+
+    /**
+     * Resumen de todos los niveles, ordenados por número
+     */
+    public synchronized List<Entry> getEntries() {
+        return new ArrayList<>(entries);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Resumen del nivel con ese número, o null si no hay
+     */
+    public synchronized Entry getEntry(int levelNumber) {
+        return byNumber.get(levelNumber);
+    }
+
+    /**
+     * Mayor número de nivel del catálogo (0 si está vacío)
+     */
+    public synchronized int getMaxLevelNumber() {
+        return entries.isEmpty() ? 0 : entries.get(entries.size() - 1).levelNumber;
+    }
+
+    /**
+     * Carga completa de un nivel por número (de la caché si se usó hace poco)
+     *
+     * @return El nivel, o null si no existe o no se puede leer
+     */
+    public synchronized Level load(int levelNumber) {
+        Entry entry = byNumber.get(levelNumber);
+        return entry != null ? load(entry) : null;
+    }
+
+    /**
+     * Carga completa de un nivel del catálogo
+     *
+     * @return El nivel, o null si no se puede leer
+     */
+    public synchronized Level load(Entry entry) {
+        Level level = loaded.get(entry.fileName);
+        if (level != null) {
+            return level;
+        }
+        try {
+            level = readLevel(new File(directory, entry.fileName));
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            GameLog.error("[ERROR] Error cargando nivel " + entry.fileName + ": " + e.getMessage());
+            return null;
+        }
+        fullLoads++;
+        loaded.put(entry.fileName, level);
+        if (loaded.size() > cacheSize) {
+            loaded.remove(loaded.keySet().iterator().next());
+        }
+        return level;
+    }
+
+    /**
+     * Niveles completos en memoria (para pruebas y métricas)
+     */
+    public synchronized int getLoadedCount() {
+        return loaded.size();
+    }
+
+    /**
+     * Cantidad de cargas completas desde la creación (para pruebas y métricas)
+     */
+    public synchronized int getFullLoadCount() {
+        return fullLoads;
+    }
+
+    // ========== ARCHIVOS ==========
+
+    private List<File> listLevelFiles() {
+        List<File> result = new ArrayList<>();
+        File[] files = directory.listFiles(
+                (dir, name) -> name.endsWith(LevelCodec.EXTENSION) || name.endsWith(".dat"));
+        if (files == null) {
+            return result;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            // Un .dat con su .lvl ya convertido se ignora
+            if (name.endsWith(".dat")) {
+                String base = name.substring(0, name.length() - ".dat".length());
+                if (new File(directory, base + LevelCodec.EXTENSION).exists()) {
+                    continue;
+                }
+            }
+            result.add(file);
+        }
+        return result;
+    }
+
+    private List<String> fileNames() {
+        List<String> names = new ArrayList<>();
+        for (Entry entry : entries) {
+            names.add(entry.fileName);
+        }
+        return names;
+    }
+
+    private static Level readLevel(File file) throws IOException, ClassNotFoundException {
+        if (file.getName().endsWith(LevelCodec.EXTENSION)) {
+            return LevelCodec.read(file.toPath());
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+            return (Level) in.readObject();
+        }
+    }
+
+    /**
+     * Resumen de un archivo: los .lvl se leen solo hasta las tablas (sin crear
+     * el nivel); los .dat antiguos no tienen cabecera y se deserializan
+     */
+    private static Entry summarize(File file) throws IOException, ClassNotFoundException {
+        Entry entry;
+        if (file.getName().endsWith(LevelCodec.EXTENSION)) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                entry = LevelCodec.summarize(buffer, file.toString());
+            }
+        } else {
+            entry = Entry.of(readLevel(file));
+        }
+        entry.fileName = file.getName();
+        entry.fileSize = file.length();
+        entry.lastModified = file.lastModified();
+        return entry;
+    }
+
+    // ========== ÍNDICE ==========
+
+    private Map<String, Entry> readIndex() {
+        Map<String, Entry> index = new HashMap<>();
+        File file = new File(directory, INDEX_FILE);
+        if (!file.exists()) {
+            return index;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+                return index;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Entry entry = new Entry();
+                entry.fileName = in.readUTF();
+                entry.fileSize = in.readLong();
+                entry.lastModified = in.readLong();
+                entry.levelNumber = in.readInt();
+                entry.name = in.readUTF();
+                entry.width = in.readShort();
+                entry.height = in.readShort();
+                entry.timeLimit = in.readInt();
+                entry.totalFruits = in.readInt();
+                entry.enemyCount = in.readShort();
+                entry.thumbnail = new long[in.readShort()];
+                for (int w = 0; w < entry.thumbnail.length; w++) {
+                    entry.thumbnail[w] = in.readLong();
+                }
+                index.put(entry.fileName, entry);
+            }
+        } catch (IOException e) {
+            // Índice dañado: se reconstruye leyendo todos los archivos
+            index.clear();
+        }
+        return index;
+    }
+
+    private void writeIndex() {
+        if (!directory.isDirectory()) {
+            return;
+        }
+        Path target = new File(directory, INDEX_FILE).toPath();
+        Path temp = new File(directory, INDEX_FILE + ".tmp").toPath();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(INDEX_VERSION);
+            out.writeInt(entries.size());
+            for (Entry entry : entries) {
+                out.writeUTF(entry.fileName);
+                out.writeLong(entry.fileSize);
+                out.writeLong(entry.lastModified);
+                out.writeInt(entry.levelNumber);
+                out.writeUTF(entry.name);
+                out.writeShort(entry.width);
+                out.writeShort(entry.height);
+                out.writeInt(entry.timeLimit);
+                out.writeInt(entry.totalFruits);
+                out.writeShort(entry.enemyCount);
+                out.writeShort(entry.thumbnail.length);
+                for (long word : entry.thumbnail) {
+                    out.writeLong(word);
+                }
+            }
+        } catch (IOException e) {
+            GameLog.error("[ERROR] No se pudo escribir el índice de niveles: " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            GameLog.error("[ERROR] No se pudo escribir el índice de niveles: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Resumen de un nivel (lo que se muestra antes de cargarlo)
+     */
+    public static class Entry {
+        String fileName;
+        long fileSize;
+        long lastModified;
+        int levelNumber;
+        String name;
+        int width;
+        int height;
+        int timeLimit;
+        int totalFruits;
+        int enemyCount;
+        long[] thumbnail; // Celdas con muro o hielo (índice = y * ancho + x)
+
+        /**
+         * Resumen a partir de un nivel ya cargado
+         */
+        static Entry of(Level level) {
+            Entry entry = new Entry();
+            entry.levelNumber = level.getLevelNumber();
+            entry.name = level.getLevelName();
+            entry.width = level.getBoardWidth();
+            entry.height = level.getBoardHeight();
+            entry.timeLimit = level.getTimeLimit();
+            entry.totalFruits = level.getTotalFruits();
+            entry.enemyCount = level.getEnemyConfigs().size();
+            entry.thumbnail = new long[(entry.width * entry.height + 63) >>> 6];
+            List<Position> blocked = level.getWallPositions();
+            blocked.addAll(level.getIceBlockPositions());
+            for (Position pos : blocked) {
+                if (pos.getX() >= 0 && pos.getX() < entry.width && pos.getY() >= 0 && pos.getY() < entry.height) {
+                    int index = pos.getY() * entry.width + pos.getX();
+                    entry.thumbnail[index >>> 6] |= 1L << index;
+                }
+            }
+            return entry;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public int getLevelNumber() {
+            return levelNumber;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public int getTimeLimit() {
+            return timeLimit;
+        }
+
+        public int getTotalFruits() {
+            return totalFruits;
+        }
+
+        public int getEnemyCount() {
+            return enemyCount;
+        }
+
+        /**
+         * Miniatura: indica si la celda tiene muro o hielo
+         */
+        public boolean isBlocked(int x, int y) {
+            if (x < 0 || x >= width || y < 0 || y >= height) {
+                return false;
+            }
+            int index = y * width + x;
+            return (thumbnail[index >>> 6] & (1L << index)) != 0;
+        }
+
+        @Override
+        public String toString() {
+            return levelNumber + " - " + name + " (" + width + "x" + height + ", " + totalFruits + " frutas, "
+                    + enemyCount + " enemigos) [" + fileName + "]";
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package Domain;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Formato binario compacto de niveles (.lvl)
+ * Reemplaza a la serialización Java de Level: no depende de serialVersionUID,
+ * pesa unos cientos de bytes y se lee con un MappedByteBuffer sin crear un
+ * objeto por celda.
+ *
+ * Estructura (big-endian):
+ * - Cabecera: "BICL", versión (short), ancho y alto (short), número de
+ * nivel (int), tiempo límite (int), nombre (short + UTF-8), posición
+ * inicial del helado (short x, short y; -1 si no hay)
+ * - Capas de celdas: muros y bloques de hielo, cada una como bitset de
+ * ancho × alto bits (long[], índice = y * ancho + x)
+ * - Enemigos: cantidad (short) y por cada uno tipo, x, y, pasos por
+ * dirección y patrón (ordinales de Direction)
+ * - Frutas: cantidad (short) y por cada una tipo, cantidad, x, y (-1 si se
+ * ubica al azar)
+ * - CRC32 de todo lo anterior (int)
+ *
+ * Uso desde consola (convierte levels/nivel_*.dat a .lvl):
+ * java Domain.LevelCodec [carpeta]
+ */
+public class LevelCodec {
+
+    public static final String EXTENSION = ".lvl";
+
+    private static final byte[] MAGIC = { 'B', 'I', 'C', 'L' };
+    private static final short VERSION = 1;
+    private static final int LAYERS = 2; // Muros, hielo
+    private static final int MAX_STRING_BYTES = Short.MAX_VALUE; // El largo se guarda en un short
+
+    private LevelCodec() {
+    }
+
+    // ========== ESCRITURA ==========
+
+    /**
+     * Escribe un nivel en formato binario
+     * Se escribe en un archivo temporal y se reemplaza el destino al final,
+     * así un error a mitad de escritura no deja un nivel corrupto.
+     */
+    public static void write(Level level, Path file) throws IOException {
+        byte[] data;
+        try {
+            data = encode(level);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("No se puede guardar el nivel: " + e.getMessage(), e);
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, data);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Codifica un nivel en bytes
+     *
+     * @throws IllegalArgumentException Si un texto (nombre del nivel, tipo de
+     *                                  enemigo o fruta) supera los 32767 bytes
+     */
+    public static byte[] encode(Level level) {
+        int width = level.getBoardWidth();
+        int height = level.getBoardHeight();
+        byte[] name = utf8(level.getLevelName());
+
+        List<Level.EnemyConfig> enemies = level.getEnemyConfigs();
+        List<Level.FruitConfig> fruits = level.getFruitConfigs();
+
+        // Tamaño exacto del archivo
+        int size = MAGIC.length + 2 + 4 + 4 + 4 + 2 + name.length + 4;
+        size += LAYERS * layerWords(width, height) * 8;
+        size += 2;
+        for (Level.EnemyConfig enemy : enemies) {
+            size += 2 + utf8(enemy.enemyType).length + 4 + 2 + 1
+                    + (enemy.pattern != null ? enemy.pattern.length : 0);
+        }
+        size += 2;
+        for (Level.FruitConfig fruit : fruits) {
+            size += 2 + utf8(fruit.fruitType).length + 2 + 4;
+        }
+        size += 4; // CRC
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) width);
+        buffer.putShort((short) height);
+        buffer.putInt(level.getLevelNumber());
+        buffer.putInt(level.getTimeLimit());
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+        putPosition(buffer, level.getIceCreamStartPosition());
+
+        putLayer(buffer, level.getWallPositions(), width, height);
+        putLayer(buffer, level.getIceBlockPositions(), width, height);
+
+        buffer.putShort((short) enemies.size());
+        for (Level.EnemyConfig enemy : enemies) {
+            putString(buffer, enemy.enemyType);
+            putPosition(buffer, enemy.startPosition);
+            buffer.putShort((short) enemy.stepsPerDirection);
+            int patternLength = enemy.pattern != null ? enemy.pattern.length : 0;
+            buffer.put((byte) patternLength);
+            for (int i = 0; i < patternLength; i++) {
+                buffer.put((byte) enemy.pattern[i].ordinal());
+            }
+        }
+
+        buffer.putShort((short) fruits.size());
+        for (Level.FruitConfig fruit : fruits) {
+            putString(buffer, fruit.fruitType);
+            buffer.putShort((short) fruit.quantity);
+            putPosition(buffer, fruit.startPosition);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        return buffer.array();
+    }
+
+    private static void putLayer(ByteBuffer buffer, List<Position> positions, int width, int height) {
+        long[] words = new long[layerWords(width, height)];
+        for (Position pos : positions) {
+            if (pos.getX() >= 0 && pos.getX() < width && pos.getY() >= 0 && pos.getY() < height) {
+                int index = pos.getY() * width + pos.getX();
+                words[index >>> 6] |= 1L << index;
+            }
+        }
+        for (long word : words) {
+            buffer.putLong(word);
+        }
+    }
+
+    private static void putPosition(ByteBuffer buffer, Position pos) {
+        buffer.putShort((short) (pos != null ? pos.getX() : -1));
+        buffer.putShort((short) (pos != null ? pos.getY() : -1));
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = utf8(value);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Texto demasiado largo para un nivel (" + bytes.length
+                    + " bytes, máximo " + MAX_STRING_BYTES + ")");
+        }
+        return bytes;
+    }
+
+    private static int layerWords(int width, int height) {
+        return (width * height + 63) >>> 6;
+    }
+
+    // ========== LECTURA ==========
+
+    /**
+     * Lee un nivel mapeando el archivo en memoria
+     *
+     * @throws IOException Si el archivo no existe, no es un nivel, es de una
+     *                     versión desconocida o está corrupto
+     */
+    public static Level read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer, file.toString());
+        }
+    }
+
+    /**
+     * Decodifica un nivel desde un buffer (posición 0 hasta su límite)
+     */
+    public static Level decode(ByteBuffer buffer, String source) throws IOException {
+        try {
+            int length = buffer.limit();
+            if (length < MAGIC.length + 4) {
+                throw new IOException("Archivo de nivel truncado: " + source);
+            }
+            verifyChecksum(buffer, length, source);
+
+            for (byte b : MAGIC) {
+                if (buffer.get() != b) {
+                    throw new IOException("No es un archivo de nivel: " + source);
+                }
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Versión de nivel no soportada (" + version + "): " + source);
+            }
+
+            int width = getDimension(buffer, source);
+            int height = getDimension(buffer, source);
+            int levelNumber = buffer.getInt();
+            int timeLimit = buffer.getInt();
+            String name = getString(buffer, source);
+
+            Level level = new Level(levelNumber, name, width, height);
+            level.setTimeLimit(timeLimit);
+            level.setIceCreamStartPosition(getPosition(buffer));
+
+            // Capas: se recorren solo los bits encendidos
+            int words = layerWords(width, height);
+            checkLayers(buffer, words, source);
+            readLayer(buffer, words, width, true, level);
+            readLayer(buffer, words, width, false, level);
+
+            int enemyCount = buffer.getShort();
+            for (int i = 0; i < enemyCount; i++) {
+                String type = getString(buffer, source);
+                Position start = getPosition(buffer);
+                int steps = buffer.getShort();
+                int patternLength = buffer.get() & 0xFF;
+                Direction[] pattern = null;
+                if (patternLength > 0) {
+                    pattern = new Direction[patternLength];
+                    for (int d = 0; d < patternLength; d++) {
+                        pattern[d] = Direction.values()[buffer.get()];
+                    }
+                }
+                level.addEnemyConfig(new Level.EnemyConfig(type, start, pattern, steps));
+            }
+
+            int fruitCount = buffer.getShort();
+            for (int i = 0; i < fruitCount; i++) {
+                String type = getString(buffer, source);
+                int quantity = buffer.getShort();
+                Position start = getPosition(buffer);
+                Level.FruitConfig fruit = start != null ? new Level.FruitConfig(type, start)
+                        : new Level.FruitConfig(type, quantity);
+                fruit.quantity = quantity;
+                level.addFruitConfig(fruit);
+            }
+            return level;
+        } catch (java.nio.BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Archivo de nivel corrupto: " + source, e);
+        }
+    }
+
+    /**
+     * Lee solo el resumen de un nivel para el catálogo (cabecera, capas como
+     * miniatura, cantidad de enemigos y total de frutas) sin crear el Level
+     * ni verificar el CRC; la verificación se hace al cargarlo completo
+     * Sin CRC los tamaños de la cabecera pueden ser cualquier cosa: se validan
+     * antes de reservar memoria, así un archivo dañado es una IOException y
+     * el catálogo lo omite.
+     */
+    static LevelCatalog.Entry summarize(ByteBuffer buffer, String source) throws IOException {
+        try {
+            for (byte b : MAGIC) {
+                if (buffer.get() != b) {
+                    throw new IOException("No es un archivo de nivel: " + source);
+                }
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Versión de nivel no soportada (" + version + "): " + source);
+            }
+
+            LevelCatalog.Entry entry = new LevelCatalog.Entry();
+            entry.width = getDimension(buffer, source);
+            entry.height = getDimension(buffer, source);
+            entry.levelNumber = buffer.getInt();
+            entry.timeLimit = buffer.getInt();
+            entry.name = getString(buffer, source);
+            skip(buffer, 4); // Posición inicial del helado
+
+            // Miniatura: muros OR hielo
+            int words = layerWords(entry.width, entry.height);
+            checkLayers(buffer, words, source);
+            entry.thumbnail = new long[words];
+            for (int layer = 0; layer < LAYERS; layer++) {
+                for (int w = 0; w < words; w++) {
+                    entry.thumbnail[w] |= buffer.getLong();
+                }
+            }
+
+            entry.enemyCount = buffer.getShort();
+            if (entry.enemyCount < 0) {
+                throw new IOException("Cantidad de enemigos inválida (" + entry.enemyCount + ") en nivel: " + source);
+            }
+            for (int i = 0; i < entry.enemyCount; i++) {
+                skip(buffer, buffer.getShort() + 4 + 2); // Tipo, posición, pasos
+                skip(buffer, buffer.get() & 0xFF); // Patrón
+            }
+
+            int fruitCount = buffer.getShort();
+            for (int i = 0; i < fruitCount; i++) {
+                skip(buffer, buffer.getShort()); // Tipo
+                entry.totalFruits += buffer.getShort();
+                skip(buffer, 4); // Posición
+            }
+            return entry;
+        } catch (java.nio.BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Archivo de nivel corrupto: " + source, e);
+        }
+    }
+
+    private static void skip(ByteBuffer buffer, int bytes) {
+        buffer.position(buffer.position() + bytes);
+    }
+
+    private static void verifyChecksum(ByteBuffer buffer, int length, String source) throws IOException {
+        ByteBuffer content = buffer.duplicate();
+        content.position(0).limit(length - 4);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        if ((int) crc.getValue() != buffer.getInt(length - 4)) {
+            throw new IOException("Suma de verificación inválida en nivel: " + source);
+        }
+        buffer.position(0).limit(length - 4);
+    }
+
+    private static void readLayer(ByteBuffer buffer, int words, int width, boolean walls, Level level) {
+        for (int w = 0; w < words; w++) {
+            long word = buffer.getLong();
+            while (word != 0) {
+                int index = (w << 6) + Long.numberOfTrailingZeros(word);
+                Position pos = new Position(index % width, index / width);
+                if (walls) {
+                    level.addWallPosition(pos);
+                } else {
+                    level.addIceBlockPosition(pos);
+                }
+                word &= word - 1;
+            }
+        }
+    }
+
+    private static Position getPosition(ByteBuffer buffer) {
+        int x = buffer.getShort();
+        int y = buffer.getShort();
+        return x < 0 || y < 0 ? null : new Position(x, y);
+    }
+
+    private static String getString(ByteBuffer buffer, String source) throws IOException {
+        int length = buffer.getShort();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Texto de largo inválido (" + length + ") en nivel: " + source);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Ancho o alto del tablero (positivo)
+     */
+    private static int getDimension(ByteBuffer buffer, String source) throws IOException {
+        int value = buffer.getShort();
+        if (value <= 0) {
+            throw new IOException("Tamaño de tablero inválido (" + value + ") en nivel: " + source);
+        }
+        return value;
+    }
+
+    /**
+     * Verifica que las capas quepan en lo que queda del archivo antes de
+     * reservarlas
+     */
+    private static void checkLayers(ByteBuffer buffer, int words, String source) throws IOException {
+        if ((long) words * 8 * LAYERS > buffer.remaining()) {
+            throw new IOException("Archivo de nivel truncado: " + source);
+        }
+    }
+
+    // ========== CONVERSIÓN ==========
+
+    /**
+     * Convierte un nivel serializado con ObjectOutputStream (.dat) a .lvl
+     *
+     * @return Ruta del archivo .lvl escrito
+     */
+    public static Path convert(Path datFile) throws IOException {
+        Level level;
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(datFile.toFile()))) {
+            level = (Level) in.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("No es un nivel serializado: " + datFile, e);
+        }
+        String name = datFile.getFileName().toString();
+        Path target = datFile.resolveSibling(name.substring(0, name.length() - ".dat".length()) + EXTENSION);
+        write(level, target);
+        return target;
+    }
+
+    /**
+     * Convierte todos los niveles nivel_*.dat de una carpeta
+     *
+     * @return Archivos .lvl escritos
+     */
+    public static List<Path> convertAll(String directory) throws IOException {
+        List<Path> converted = new ArrayList<>();
+        File[] files = new File(directory).listFiles(
+                (dir, name) -> name.startsWith("nivel_") && name.endsWith(".dat"));
+        if (files == null) {
+            return converted;
+        }
+        for (File file : files) {
+            converted.add(convert(file.toPath()));
+        }
+        return converted;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String directory = args.length > 0 ? args[0] : LevelManager.getRutaNiveles();
+        for (Path path : convertAll(directory)) {
+            System.out.println("Nivel convertido: " + path + " (" + Files.size(path) + " bytes)");
+        }
+    }
+
+    /**
+     * Ruta del archivo .lvl de un nivel por nombre (ej. "nivel_1")
+     */
+    static Path levelPath(String directory, String name) {
+        return Paths.get(directory, name + EXTENSION);
+    }
+}
@@ -1,76 +1,54 @@
 package Domain;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.ObjectInputStream;
-import java.io.IOException;
+import java.util.List;
 
 /**
  * Clase LevelManager - Gestor de niveles del juego
  * Responsable de cargar, gestionar y cambiar entre niveles disponibles
+ *
+ * Los niveles se leen de la carpeta a través de un LevelCatalog: al crearse
+ * solo se lee el índice (nombre, tamaño, frutas) y cada nivel se carga
+ * completo la primera vez que se pide.
  */
 public class LevelManager {
-    private static final int TOTAL_NIVELES = 3;
+    private static final int TOTAL_NIVELES = 3; // Niveles predefinidos (Level.createLevel)
     private static final String RUTA_NIVELES = "levels/";
 
-    private Level nivelesDisponibles[];
+    private final LevelCatalog catalogo;
     private Level nivelActual;
     private int nivelActualIndex;
 
     /**
      * Constructor del LevelManager
-     * Carga los 3 niveles disponibles desde archivos serializados
+     * Lee el índice de niveles; ningún nivel se carga hasta que se pide
      */
     public LevelManager() {
-        nivelesDisponibles = new Level[TOTAL_NIVELES];
-        nivelActualIndex = 0;
-        cargarNiveles();
-    }
-
-    /**
-     * Carga los niveles desde archivos serializados
-     */
-    private void cargarNiveles() {
-        for (int i = 1; i <= TOTAL_NIVELES; i++) {
-            try {
-                nivelesDisponibles[i - 1] = cargarNivelDesdeArchivo(i);
-                System.out.println("[OK] Nivel " + i + " cargado correctamente");
-            } catch (IOException | ClassNotFoundException e) {
-                System.err.println("[ERROR] Error cargando Nivel " + i + ": " + e.getMessage());
-                nivelesDisponibles[i - 1] = crearNivelPorDefecto(i);
-            }
-        }
+        this(RUTA_NIVELES);
     }
 
     /**
-     * Carga un nivel específico desde archivo serializado
-     * 
-     * @param numeroNivel Número del nivel (1, 2 o 3)
-     * @return El objeto Level cargado
-     * @throws IOException            Si hay error de I/O
-     * @throws ClassNotFoundException Si no encuentra la clase Level
+     * Constructor con carpeta de niveles propia
+     *
+     * @param rutaNiveles Carpeta con los archivos .lvl/.dat
      */
-    private Level cargarNivelDesdeArchivo(int numeroNivel) throws IOException, ClassNotFoundException {
-        String rutaArchivo = RUTA_NIVELES + "nivel_" + numeroNivel + ".dat";
-        File archivo = new File(rutaArchivo);
-
-        if (!archivo.exists()) {
-            throw new IOException("Archivo de nivel no existe: " + rutaArchivo);
-        }
-
-        try (FileInputStream fis = new FileInputStream(rutaArchivo);
-                ObjectInputStream ois = new ObjectInputStream(fis)) {
-            return (Level) ois.readObject();
-        }
+    public LevelManager(String rutaNiveles) {
+        catalogo = new LevelCatalog(rutaNiveles);
+        nivelActualIndex = 0;
+        GameLog.info("[OK] Catálogo de niveles: " + catalogo.size() + " niveles en " + rutaNiveles);
     }
 
     /**
      * Crea un nivel por defecto en caso de no poder cargarlo desde archivo
+     * Los predefinidos se construyen con Level.createLevel; el resto queda
+     * como un tablero básico vacío
      * 
      * @param numeroNivel Número del nivel
      * @return Un nivel básico
      */
     private Level crearNivelPorDefecto(int numeroNivel) {
+        if (numeroNivel <= TOTAL_NIVELES) {
+            return Level.createLevel(numeroNivel);
+        }
         String nombreNivel = "Nivel " + numeroNivel;
         int anchoTablero = 13;
         int altoTablero = 11;
@@ -89,43 +67,71 @@ public class LevelManager {
     }
 
     /**
-     * Cambia al nivel especificado
+     * Cambia al nivel especificado (lo carga si no estaba en memoria)
      * 
-     * @param numeroNivel Número del nivel (1, 2 o 3)
+     * @param numeroNivel Número del nivel (1..getCantidadNiveles())
      * @return true si el cambio fue exitoso, false si el nivel no existe
      */
     public boolean cambiarNivel(int numeroNivel) {
-        if (numeroNivel < 1 || numeroNivel > TOTAL_NIVELES) {
-            System.err.println("[ERROR] Número de nivel inválido: " + numeroNivel);
+        if (numeroNivel < 1 || numeroNivel > getCantidadNiveles()) {
+            GameLog.error("[ERROR] Número de nivel inválido: " + numeroNivel);
             return false;
         }
 
-        nivelActual = nivelesDisponibles[numeroNivel - 1];
+        nivelActual = obtenerNivel(numeroNivel);
         nivelActualIndex = numeroNivel - 1;
-        System.out.println("[INFO] Cambio a Nivel " + numeroNivel);
+        GameLog.info("[INFO] Cambio a Nivel " + numeroNivel);
         return true;
     }
 
     /**
      * Obtiene un nivel específico por su número
+     * Se carga del archivo la primera vez; los usados hace poco quedan en
+     * memoria. Si no hay archivo para un nivel predefinido se construye con
+     * Level.createLevel.
      * 
-     * @param numeroNivel Número del nivel (1, 2 o 3)
+     * @param numeroNivel Número del nivel (1..getCantidadNiveles())
      * @return El Level solicitado, o null si no existe
      */
     public Level obtenerNivel(int numeroNivel) {
-        if (numeroNivel < 1 || numeroNivel > TOTAL_NIVELES) {
+        if (numeroNivel < 1 || numeroNivel > getCantidadNiveles()) {
             return null;
         }
-        return nivelesDisponibles[numeroNivel - 1];
+        Level nivel = catalogo.load(numeroNivel);
+        return nivel != null ? nivel : crearNivelPorDefecto(numeroNivel);
     }
 
     /**
      * Obtiene todos los niveles disponibles
+     * Carga todos los niveles; para listarlos basta con getCatalogo()
      * 
      * @return Array con todos los niveles
      */
     public Level[] getNivelesDisponibles() {
-        return nivelesDisponibles;
+        Level[] niveles = new Level[getCantidadNiveles()];
+        for (int i = 0; i < niveles.length; i++) {
+            niveles[i] = obtenerNivel(i + 1);
+        }
+        return niveles;
+    }
+
+    /**
+     * Resumen de los niveles de la carpeta (sin cargarlos)
+     * 
+     * @return Entradas del catálogo ordenadas por número de nivel
+     */
+    public List<LevelCatalog.Entry> getCatalogo() {
+        return catalogo.getEntries();
+    }
+
+    /**
+     * Cantidad de niveles jugables: los predefinidos más los de la carpeta
+     * con número mayor
+     * 
+     * @return Mayor número de nivel disponible
+     */
+    public int getCantidadNiveles() {
+        return Math.max(TOTAL_NIVELES, catalogo.getMaxLevelNumber());
     }
 
     /**
@@ -140,16 +146,16 @@ public class LevelManager {
     /**
      * Obtiene el número del nivel actual (1-indexado)
      * 
-     * @return Número del nivel actual (1, 2 o 3)
+     * @return Número del nivel actual
      */
     public int getNumerNivelActual() {
         return nivelActualIndex + 1;
     }
 
     /**
-     * Obtiene la cantidad total de niveles disponibles
+     * Obtiene la cantidad de niveles predefinidos (Level.createLevel)
      * 
-     * @return Total de niveles (3)
+     * @return Total de niveles predefinidos (3)
      */
     public static int getTotalNiveles() {
         return TOTAL_NIVELES;
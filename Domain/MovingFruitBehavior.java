@@ -39,6 +39,14 @@ public class MovingFruitBehavior implements FruitBehavior {
 
         moveCounter = 0;
 
+        // Si quedó encerrada no tiene dirección: buscar una salida
+        if (currentDirection == null) {
+            currentDirection = findValidDirection(currentPosition);
+            if (currentDirection == null) {
+                return null;
+            }
+        }
+
         // Intentar moverse en la dirección actual
         Position newPosition = currentPosition.move(currentDirection);
 
@@ -64,7 +72,7 @@ public class MovingFruitBehavior implements FruitBehavior {
 
         // Mezclar direcciones aleatoriamente
         for (int i = 0; i < directions.length; i++) {
-            int randomIndex = (int) (Math.random() * directions.length);
+            int randomIndex = GameClock.random().nextInt(directions.length);
             Direction temp = directions[i];
             directions[i] = directions[randomIndex];
             directions[randomIndex] = temp;
@@ -86,7 +94,7 @@ public class MovingFruitBehavior implements FruitBehavior {
      */
     private static Direction getRandomDirection() {
         Direction[] directions = Direction.values();
-        return directions[(int) (Math.random() * directions.length)];
+        return directions[GameClock.random().nextInt(directions.length)];
     }
 
     @Override
@@ -102,4 +110,20 @@ public class MovingFruitBehavior implements FruitBehavior {
     public void setCurrentDirection(Direction direction) {
         this.currentDirection = direction;
     }
+
+    int getMoveCounter() {
+        return moveCounter;
+    }
+
+    int getMovesPerUpdate() {
+        return movesPerUpdate;
+    }
+
+    /**
+     * Restaura los contadores de una partida guardada (ver SaveCodec)
+     */
+    void restoreCounters(int moveCounter, int movesPerUpdate) {
+        this.moveCounter = moveCounter;
+        this.movesPerUpdate = movesPerUpdate;
+    }
 }
@@ -50,7 +50,7 @@ public class Narval extends Enemy {
      * Verifica si el Narval puede activar su carga
      */
     public boolean canCharge() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.currentTimeMillis();
         return !chargeActive && currentTime >= chargeRechargeStartTime + CHARGE_RECHARGE;
     }
 
@@ -68,11 +68,11 @@ public class Narval extends Enemy {
         if (canCharge()) {
             chargeActive = true;
             chargeDirection = direction;
-            chargeStartTime = System.currentTimeMillis();
+            chargeStartTime = GameClock.currentTimeMillis();
             // Cambiar velocidad a la de carga
             this.speed = CHARGE_SPEED;
-            this.lastMovementTime = System.currentTimeMillis();
-            System.out.println("🔱 Narval: ¡CARGANDO hacia " + direction + " a 7 bloques/seg!");
+            this.lastMovementTime = GameClock.currentTimeMillis();
+            GameLog.debug(() -> "🔱 Narval: ¡CARGANDO hacia " + direction + " a 7 bloques/seg!");
         }
     }
 
@@ -82,11 +82,11 @@ public class Narval extends Enemy {
     public void deactivateCharge() {
         if (chargeActive) {
             chargeActive = false;
-            chargeRechargeStartTime = System.currentTimeMillis();
+            chargeRechargeStartTime = GameClock.currentTimeMillis();
             // Restaurar velocidad normal
             this.speed = NORMAL_SPEED;
-            this.lastMovementTime = System.currentTimeMillis();
-            System.out.println("🔱 Narval: Carga completada, en recarga (velocidad normal 2 bloques/seg)...");
+            this.lastMovementTime = GameClock.currentTimeMillis();
+            GameLog.debug("🔱 Narval: Carga completada, en recarga (velocidad normal 2 bloques/seg)...");
         }
     }
 
@@ -104,10 +104,28 @@ public class Narval extends Enemy {
         if (chargeActive) {
             return 0;
         }
-        long remaining = (chargeRechargeStartTime + CHARGE_RECHARGE) - System.currentTimeMillis();
+        long remaining = (chargeRechargeStartTime + CHARGE_RECHARGE) - GameClock.currentTimeMillis();
         return Math.max(0, remaining);
     }
 
+    long getChargeStartTime() {
+        return chargeStartTime;
+    }
+
+    long getChargeRechargeStartTime() {
+        return chargeRechargeStartTime;
+    }
+
+    /**
+     * Restaura el estado de la carga de una partida guardada (ver SaveCodec)
+     */
+    void restoreCharge(boolean active, long startTime, Direction direction, long rechargeStartTime) {
+        this.chargeActive = active;
+        this.chargeStartTime = startTime;
+        this.chargeDirection = direction != null ? direction : Direction.DOWN;
+        this.chargeRechargeStartTime = rechargeStartTime;
+    }
+
     /**
      * Indica que el Narval puede romper hielo
      */
@@ -9,17 +9,18 @@ import java.io.Serializable;
  * en la misma fila o columna
  */
 public class NarvalAI implements AI, Serializable {
+    // Fijo para seguir leyendo partidas guardadas antes de GameRandom
+    private static final long serialVersionUID = 5694980625716734246L;
+
     private Enemy narval;
     private Board board;
     private Direction currentDirection;
-    private Random random;
     private int stepsInDirection;
     private static final int MAX_STEPS_SAME_DIRECTION = 4;
 
     public NarvalAI(Enemy narval, Board board) {
         this.narval = narval;
         this.board = board;
-        this.random = new Random();
         this.currentDirection = getRandomDirection();
         this.stepsInDirection = 0;
     }
@@ -129,7 +130,7 @@ public class NarvalAI implements AI, Serializable {
 
     private Direction getRandomDirection() {
         Direction[] directions = Direction.values();
-        return directions[random.nextInt(directions.length)];
+        return directions[GameClock.random().nextInt(directions.length)];
     }
 
     private Position calculateNextPosition(Position current, Direction direction) {
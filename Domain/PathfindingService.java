@@ -0,0 +1,375 @@
+package Domain;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Servicio de búsqueda de caminos compartido por las IAs
+ * Calcula campos de distancia BFS sobre la rejilla de ocupación del tablero y
+ * los guarda en caché hasta que la ocupación cambia (se crea o rompe hielo,
+ * se agrega un muro u obstáculo; los campos que atraviesan hielo solo con
+ * muros u obstáculos).
+ *
+ * Un campo con raíz en una celda guarda la distancia de cada celda hasta esa
+ * raíz, así que "siguiente paso hacia X" se responde mirando solo los 4
+ * vecinos en el campo de X.
+ *
+ * Modos de paso:
+ * - Solo celdas vacías (throughIce = false)
+ * - Celdas vacías y bloques de hielo, para quien puede romperlos
+ *   (throughIce = true)
+ *
+ * Los campos se expanden a demanda: cada uno guarda su propia cola BFS y
+ * solo avanza hasta que la consulta tiene su respuesta (las capas BFS salen
+ * en orden de distancia, así que el resultado es el mismo que con el campo
+ * completo). En tableros grandes, un enemigo a 10 pasos del helado recorre
+ * ~200 celdas en vez de todo el tablero cada vez que cambia el terreno.
+ */
+public class PathfindingService {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    // Campos en caché (helado, frutas objetivo, enemigos). Cada campo ocupa
+    // dos int[] del tamaño del tablero (distancias y cola BFS): 8 bytes por
+    // celda, 512 KB a 256x256. El máximo sale del presupuesto en bytes y
+    // queda entre MIN_FIELDS y MAX_FIELDS (32 en los niveles normales, 16 a
+    // 256x256 = 8 MB; por encima de 512x512 manda MIN_FIELDS)
+    private static final int MAX_FIELDS = 32;
+    private static final int MIN_FIELDS = 8;
+    private static final long FIELD_CACHE_BYTES = 8L * 1024 * 1024;
+
+    private static final Direction[] DIRECTIONS = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
+    private static final int[] DX = { 0, 0, -1, 1 };
+    private static final int[] DY = { -1, 1, 0, 0 };
+
+    private final Board board;
+    private final int width;
+    private final int height;
+    private final Map<Integer, DistanceField> fields; // Orden de acceso (LRU)
+    private final int maxFields;
+    private int computedFields; // Campos calculados (estadística)
+
+    public PathfindingService(Board board) {
+        this.board = board;
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+        this.maxFields = maxFields(width, height);
+        this.fields = new LinkedHashMap<>(maxFields * 2, 0.75f, true);
+    }
+
+    /**
+     * Distancia en pasos de una posición a otra, o UNREACHABLE
+     */
+    public int distance(Position from, Position to, boolean throughIce) {
+        if (!inBounds(from) || !inBounds(to)) {
+            return UNREACHABLE;
+        }
+        if (from.equals(to)) {
+            return 0;
+        }
+        // La celda de origen puede estar ocupada (ej. fruta bajo hielo)
+        DistanceField field = getDistanceField(to, throughIce);
+        int index = from.getY() * width + from.getX();
+        int neighbor = expandUntilReached(field, from.getX(), from.getY(), true);
+        if (field.dist[index] != UNREACHABLE) {
+            return field.dist[index];
+        }
+        return neighbor == UNREACHABLE ? UNREACHABLE : neighbor + 1;
+    }
+
+    /**
+     * Siguiente paso del camino más corto de "from" hacia "to"
+     *
+     * @return Dirección a tomar, o null si no hay camino (o ya está en destino)
+     */
+    public Direction nextStepToward(Position from, Position to, boolean throughIce) {
+        if (!inBounds(from) || !inBounds(to) || from.equals(to)) {
+            return null;
+        }
+        DistanceField field = getDistanceField(to, throughIce);
+        // Con el primer vecino alcanzado se conoce la distancia mínima; se
+        // completa esa capa para desempatar igual que con el campo entero
+        int nearest = expandUntilReached(field, from.getX(), from.getY(), false);
+        if (nearest != UNREACHABLE) {
+            expandLayers(field, nearest);
+        }
+        int best = bestNeighbor(field.dist, from.getX(), from.getY());
+        return best < 0 ? null : DIRECTIONS[best];
+    }
+
+    /**
+     * Distancia de una posición a la raíz de un campo ya calculado
+     * (ej. con el campo del helado se consulta la distancia a cada fruta)
+     */
+    public int distanceInField(int[] field, Position pos) {
+        if (!inBounds(pos)) {
+            return UNREACHABLE;
+        }
+        int index = pos.getY() * width + pos.getX();
+        if (field[index] != UNREACHABLE) {
+            return field[index];
+        }
+        int best = bestNeighbor(field, pos.getX(), pos.getY());
+        return best < 0 ? UNREACHABLE : field[neighborIndex(pos, best)] + 1;
+    }
+
+    /**
+     * Paso que más aleja de "threat" entre las celdas vecinas vacías
+     * (throughIce indica si la amenaza puede atravesar hielo)
+     *
+     * @return Dirección a tomar, o null si no hay vecinos vacíos
+     */
+    public Direction nextStepAwayFrom(Position from, Position threat, boolean throughIce) {
+        if (!inBounds(from) || !inBounds(threat)) {
+            return null;
+        }
+        DistanceField field = getDistanceField(threat, throughIce);
+        // Alcanzada una celda vacía a distancia d, sus vecinos a d-1 ya están
+        // alcanzados y los que faltan están a d+1: compiten igual que en el
+        // campo completo. Si no se alcanza (ocupada o encerrada) hace falta
+        // el campo completo.
+        int index = from.getY() * width + from.getX();
+        if (isPassable(from.getX(), from.getY(), throughIce)) {
+            while (field.dist[index] == UNREACHABLE && field.head < field.tail) {
+                expandLayers(field, field.dist[field.queue[field.head]] + 1);
+            }
+        }
+        if (field.dist[index] == UNREACHABLE || !isPassable(from.getX(), from.getY(), throughIce)) {
+            expandLayers(field, UNREACHABLE);
+        }
+        int[] dist = field.dist;
+        int best = -1;
+        int bestDist = -1;
+        for (int d = 0; d < 4; d++) {
+            int nx = from.getX() + DX[d];
+            int ny = from.getY() + DY[d];
+            if (nx < 0 || nx >= width || ny < 0 || ny >= height || !isPassable(nx, ny, false)) {
+                continue;
+            }
+            int value = dist[ny * width + nx];
+            if (value > bestDist) {
+                bestDist = value;
+                best = d;
+            }
+        }
+        return best < 0 ? null : DIRECTIONS[best];
+    }
+
+    /**
+     * Campo de distancias con raíz en una posición (calculado o de caché)
+     * El arreglo devuelto es de solo lectura y está completo (se expande
+     * todo el BFS); índice = y * width + x
+     */
+    public int[] getField(Position root, boolean throughIce) {
+        DistanceField field = getDistanceField(root, throughIce);
+        expandLayers(field, UNREACHABLE);
+        return field.dist;
+    }
+
+    /**
+     * Campo con raíz en una posición, al día con la ocupación del tablero
+     * (puede estar expandido solo en parte)
+     */
+    private DistanceField getDistanceField(Position root, boolean throughIce) {
+        if (!inBounds(root)) {
+            throw new IllegalArgumentException("Posición fuera del tablero: " + root);
+        }
+        int rootIndex = root.getY() * width + root.getX();
+        int key = rootIndex * 2 + (throughIce ? 1 : 0);
+        // Crear o romper hielo no cambia los caminos que lo atraviesan
+        int version = throughIce ? board.getSolidVersion() : board.getOccupancyVersion();
+
+        DistanceField field = fields.get(key);
+        if (field != null && field.version == version) {
+            return field;
+        }
+
+        if (field == null) {
+            field = recycleOrAllocate();
+            fields.put(key, field);
+        }
+        field.restart(rootIndex, throughIce);
+        field.version = version;
+        computedFields++;
+        return field;
+    }
+
+    /**
+     * Cantidad de campos calculados desde la creación (para pruebas y métricas)
+     */
+    public int getComputedFieldCount() {
+        return computedFields;
+    }
+
+    /**
+     * Máximo de campos que guarda la caché para este tablero
+     */
+    public int getMaxFields() {
+        return maxFields;
+    }
+
+    /**
+     * Descarta todos los campos en caché
+     */
+    public void invalidate() {
+        fields.clear();
+    }
+
+    // ========== BFS ==========
+
+    /**
+     * Expande el campo hasta alcanzar la celda (x, y) o alguno de sus
+     * vecinos (o hasta agotar el BFS)
+     *
+     * @param self Si alcanzar la celda misma también detiene la expansión
+     * @return Menor distancia entre los vecinos ya alcanzados, o UNREACHABLE
+     */
+    private int expandUntilReached(DistanceField field, int x, int y, boolean self) {
+        int[] dist = field.dist;
+        int index = y * width + x;
+        while (true) {
+            int nearest = UNREACHABLE;
+            for (int d = 0; d < 4; d++) {
+                int nx = x + DX[d];
+                int ny = y + DY[d];
+                if (nx >= 0 && nx < width && ny >= 0 && ny < height) {
+                    nearest = Math.min(nearest, dist[ny * width + nx]);
+                }
+            }
+            if (nearest != UNREACHABLE || (self && dist[index] != UNREACHABLE) || field.head == field.tail) {
+                return nearest;
+            }
+            // Una capa entera por vuelta: alcanza la siguiente sin revisar
+            // los vecinos en cada celda
+            expandLayers(field, dist[field.queue[field.head]] + 1);
+        }
+    }
+
+    /**
+     * Expande el campo hasta que todas las celdas a distancia <= layer estén
+     * alcanzadas (UNREACHABLE expande el BFS completo)
+     */
+    private void expandLayers(DistanceField field, int layer) {
+        while (field.head < field.tail && field.dist[field.queue[field.head]] < layer) {
+            expandNext(field);
+        }
+    }
+
+    /**
+     * Saca una celda de la cola BFS del campo y alcanza sus vecinos
+     */
+    private void expandNext(DistanceField field) {
+        int[] dist = field.dist;
+        int[] queue = field.queue;
+        int current = queue[field.head++];
+        int cx = current % width;
+        int cy = current / width;
+        int next = dist[current] + 1;
+        int tail = field.tail;
+        for (int d = 0; d < 4; d++) {
+            int nx = cx + DX[d];
+            int ny = cy + DY[d];
+            if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                continue;
+            }
+            int index = ny * width + nx;
+            if (dist[index] == UNREACHABLE && isPassable(nx, ny, field.throughIce)) {
+                dist[index] = next;
+                queue[tail++] = index;
+            }
+        }
+        field.tail = tail;
+    }
+
+    private boolean isPassable(int x, int y, boolean throughIce) {
+        Board.CellType type = board.getCellType(x, y);
+        return type == Board.CellType.EMPTY || (throughIce && type == Board.CellType.ICE_BLOCK);
+    }
+
+    /**
+     * Vecino con menor distancia en el campo (índice en DIRECTIONS), o -1
+     */
+    private int bestNeighbor(int[] dist, int x, int y) {
+        int best = -1;
+        int bestDist = UNREACHABLE;
+        for (int d = 0; d < 4; d++) {
+            int nx = x + DX[d];
+            int ny = y + DY[d];
+            if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                continue;
+            }
+            int value = dist[ny * width + nx];
+            if (value < bestDist) {
+                bestDist = value;
+                best = d;
+            }
+        }
+        return best;
+    }
+
+    private int neighborIndex(Position from, int direction) {
+        return (from.getY() + DY[direction]) * width + from.getX() + DX[direction];
+    }
+
+    private boolean inBounds(Position pos) {
+        return pos != null && pos.getX() >= 0 && pos.getX() < width && pos.getY() >= 0 && pos.getY() < height;
+    }
+
+    /**
+     * Máximo de campos en caché para un tablero (ver FIELD_CACHE_BYTES)
+     */
+    static int maxFields(int width, int height) {
+        long fieldBytes = 8L * Math.max(1, width * height);
+        return (int) Math.max(MIN_FIELDS, Math.min(MAX_FIELDS, FIELD_CACHE_BYTES / fieldBytes));
+    }
+
+    /**
+     * Reutiliza el campo menos usado si la caché está llena
+     */
+    private DistanceField recycleOrAllocate() {
+        if (fields.size() >= maxFields) {
+            Iterator<DistanceField> it = fields.values().iterator();
+            DistanceField eldest = it.next();
+            it.remove();
+            return eldest;
+        }
+        return new DistanceField(width * height);
+    }
+
+    /**
+     * Campo de distancias en caché con su cola BFS (para seguir
+     * expandiéndolo) y la versión de ocupación usada
+     */
+    private static class DistanceField {
+        private final int[] dist;
+        private final int[] queue; // Celdas alcanzadas, en orden BFS
+        private int head; // Próxima celda a expandir
+        private int tail; // Fin de la cola
+        private boolean throughIce;
+        private int version;
+
+        DistanceField(int cells) {
+            this.dist = new int[cells];
+            this.queue = new int[cells];
+            this.version = -1;
+            Arrays.fill(dist, UNREACHABLE);
+        }
+
+        /**
+         * Vuelve a empezar el BFS desde una raíz; solo se limpian las celdas
+         * que alcanzó el cálculo anterior
+         */
+        void restart(int rootIndex, boolean throughIce) {
+            for (int i = 0; i < tail; i++) {
+                dist[queue[i]] = UNREACHABLE;
+            }
+            this.throughIce = throughIce;
+            dist[rootIndex] = 0;
+            queue[0] = rootIndex;
+            head = 0;
+            tail = 1;
+        }
+    }
+}
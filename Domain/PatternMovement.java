@@ -65,4 +65,12 @@ public class PatternMovement implements MovementBehavior {
     public void setStepsPerDirection(int stepsPerDirection) {
         this.stepsPerDirection = stepsPerDirection;
     }
+
+    public int getCurrentStep() {
+        return currentStep;
+    }
+
+    public void setCurrentStep(int currentStep) {
+        this.currentStep = currentStep;
+    }
 }
@@ -0,0 +1,42 @@
+package Domain;
+
+/**
+ * Entrada de un jugador en un frame, como máscara de bits
+ * GameController traduce las teclas a esta máscara (incluida la regla de
+ * orientar o caminar según cuánto se mantuvo la tecla) y Game.applyInput la
+ * aplica. Así la entrada es un solo byte por jugador y se puede grabar y
+ * volver a reproducir (ver ReplayLog).
+ */
+public final class PlayerInput {
+
+    public static final int UP = 1;
+    public static final int DOWN = 1 << 1;
+    public static final int LEFT = 1 << 2;
+    public static final int RIGHT = 1 << 3;
+    public static final int MOVE = 1 << 4; // La dirección se mantuvo: caminar, no solo orientar
+    public static final int ACTION = 1 << 5; // Hielo (Q / ESPACIO) o habilidad del monstruo
+
+    public static final int MASK = (1 << 6) - 1;
+
+    private PlayerInput() {
+    }
+
+    /**
+     * Dirección de la máscara (si hay varias, la de mayor prioridad: arriba,
+     * abajo, izquierda, derecha)
+     *
+     * @return Dirección, o null si no hay ninguna
+     */
+    public static Direction direction(int input) {
+        if ((input & UP) != 0) {
+            return Direction.UP;
+        } else if ((input & DOWN) != 0) {
+            return Direction.DOWN;
+        } else if ((input & LEFT) != 0) {
+            return Direction.LEFT;
+        } else if ((input & RIGHT) != 0) {
+            return Direction.RIGHT;
+        }
+        return null;
+    }
+}
@@ -35,7 +35,7 @@ public class Pot extends Enemy {
 
     @Override
     public void executeAbility() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.currentTimeMillis();
 
         // Verificar si el turbo está activo
         if (turboActive && currentTime >= turboStartTime + TURBO_DURATION) {
@@ -43,7 +43,7 @@ public class Pot extends Enemy {
             turboActive = false;
             turboRechargeStartTime = currentTime;
             this.speed = NORMAL_SPEED; // Volver a velocidad normal
-            System.out.println("⏳ Pot: Turbo finalizado, en recarga...");
+            GameLog.debug("⏳ Pot: Turbo finalizado, en recarga...");
         }
 
         // Verificar si la recarga terminó y puede activar turbo
@@ -51,7 +51,7 @@ public class Pot extends Enemy {
             turboActive = true;
             turboStartTime = currentTime;
             this.speed = TURBO_SPEED; // Cambiar a velocidad turbo
-            System.out.println("[INFO] Pot: TURBO ACTIVADO!");
+            GameLog.debug("[INFO] Pot: TURBO ACTIVADO!");
         }
     }
 
@@ -69,7 +69,7 @@ public class Pot extends Enemy {
         if (!turboActive) {
             return 0;
         }
-        long remaining = turboStartTime + TURBO_DURATION - System.currentTimeMillis();
+        long remaining = turboStartTime + TURBO_DURATION - GameClock.currentTimeMillis();
         return Math.max(0, remaining);
     }
 
@@ -80,10 +80,27 @@ public class Pot extends Enemy {
         if (turboActive) {
             return 0;
         }
-        long remaining = (turboRechargeStartTime + TURBO_RECHARGE) - System.currentTimeMillis();
+        long remaining = (turboRechargeStartTime + TURBO_RECHARGE) - GameClock.currentTimeMillis();
         return Math.max(0, remaining);
     }
 
+    long getTurboStartTime() {
+        return turboStartTime;
+    }
+
+    long getTurboRechargeStartTime() {
+        return turboRechargeStartTime;
+    }
+
+    /**
+     * Restaura el estado del turbo de una partida guardada (ver SaveCodec)
+     */
+    void restoreTurbo(boolean active, long startTime, long rechargeStartTime) {
+        this.turboActive = active;
+        this.turboStartTime = startTime;
+        this.turboRechargeStartTime = rechargeStartTime;
+    }
+
     /**
      * Actualiza el proveedor de estado (necesario para persistencia)
      */
@@ -9,17 +9,18 @@ import java.io.Serializable;
  * Con habilidad activa: persigue al helado más cercano
  */
 public class PotAI implements AI, Serializable {
+    // Fijo para seguir leyendo partidas guardadas antes de GameRandom
+    private static final long serialVersionUID = 8139661981171227427L;
+
     private Enemy pot;
     private Board board;
     private Direction currentDirection;
-    private Random random;
     private int stepsInDirection;
     private static final int MAX_STEPS_SAME_DIRECTION = 5;
 
     public PotAI(Enemy pot, Board board) {
         this.pot = pot;
         this.board = board;
-        this.random = new Random();
         this.currentDirection = getRandomDirection();
         this.stepsInDirection = 0;
     }
@@ -33,6 +34,14 @@ public class PotAI implements AI, Serializable {
         if (iceCream != null) {
             Position targetPos = iceCream.getPosition();
 
+            // Seguir el camino más corto si el siguiente paso está libre
+            Direction step = board.getNextStepToward(currentPos, targetPos, false);
+            if (step != null && canMove(calculateNextPosition(currentPos, step))) {
+                currentDirection = step;
+                stepsInDirection = 0;
+                return step;
+            }
+
             // Obtener todas las direcciones ordenadas por proximidad al objetivo
             Direction[] directionsByProximity = getDirectionsByProximity(currentPos, targetPos);
 
@@ -149,7 +158,7 @@ public class PotAI implements AI, Serializable {
 
     private Direction getRandomDirection() {
         Direction[] directions = Direction.values();
-        return directions[random.nextInt(directions.length)];
+        return directions[GameClock.random().nextInt(directions.length)];
     }
 
     private Position calculateNextPosition(Position current, Direction direction) {
@@ -1,32 +1,30 @@
 package Domain;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Clase para gestionar recursos de niveles desde archivos binarios
- * Permite cargar configuraciones de niveles guardadas en archivos .dat
+ * Permite cargar configuraciones de niveles guardadas en archivos .lvl (ver
+ * LevelCodec) o en los .dat serializados antiguos
  */
 public class RecursosNivel implements Serializable {
     private static final long serialVersionUID = 1L;
     private static final String LEVELS_DIRECTORY = "levels/";
 
     /**
-     * Guarda un nivel en un archivo binario (PRIVADO - solo para inicialización)
+     * Guarda un nivel en un archivo binario .lvl (PRIVADO - solo para
+     * inicialización)
      */
     private static void guardarNivel(Level level, String filename) throws GameException {
-        File directory = new File(LEVELS_DIRECTORY);
-        if (!directory.exists()) {
-            directory.mkdirs();
-        }
+        Path filepath = LevelCodec.levelPath(LEVELS_DIRECTORY, filename);
 
-        String filepath = LEVELS_DIRECTORY + filename + ".dat";
-
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(filepath))) {
-            oos.writeObject(level);
-            System.out.println("Nivel guardado exitosamente en: " + filepath);
+        try {
+            LevelCodec.write(level, filepath);
+            GameLog.info("Nivel guardado exitosamente en: " + filepath);
         } catch (IOException e) {
             throw new GameException("Error al guardar nivel: " + filename,
                     GameException.ErrorCode.SAVE_ERROR, e);
@@ -36,8 +34,21 @@ public class RecursosNivel implements Serializable {
     /**
      * Carga un nivel desde un archivo binario (PRIVADO - solo para
      * cargarNivelPorNumero)
+     * Prefiere el formato .lvl; los .dat serializados se siguen leyendo
      */
     private static Level cargarNivel(String filename) throws GameException {
+        Path binario = LevelCodec.levelPath(LEVELS_DIRECTORY, filename);
+        if (Files.exists(binario)) {
+            try {
+                Level level = LevelCodec.read(binario);
+                GameLog.info("Nivel cargado exitosamente desde: " + binario);
+                return level;
+            } catch (IOException e) {
+                throw new GameException("Error al cargar nivel: " + filename,
+                        GameException.ErrorCode.LOAD_ERROR, e);
+            }
+        }
+
         String filepath = LEVELS_DIRECTORY + filename + ".dat";
         File file = new File(filepath);
 
@@ -49,7 +60,7 @@ public class RecursosNivel implements Serializable {
         try (ObjectInputStream ois = new ObjectInputStream(
                 new FileInputStream(filepath))) {
             Level level = (Level) ois.readObject();
-            System.out.println("Nivel cargado exitosamente desde: " + filepath);
+            GameLog.info("Nivel cargado exitosamente desde: " + filepath);
             return level;
         } catch (IOException | ClassNotFoundException e) {
             throw new GameException("Error al cargar nivel: " + filename,
@@ -70,12 +81,15 @@ public class RecursosNivel implements Serializable {
             return niveles;
         }
 
-        File[] files = directory.listFiles((dir, name) -> name.endsWith(".dat"));
+        File[] files = directory.listFiles(
+                (dir, name) -> name.endsWith(".dat") || name.endsWith(LevelCodec.EXTENSION));
 
         if (files != null) {
             for (File file : files) {
-                String nombre = file.getName().replace(".dat", "");
-                niveles.add(nombre);
+                String nombre = file.getName().replace(".dat", "").replace(LevelCodec.EXTENSION, "");
+                if (!niveles.contains(nombre)) {
+                    niveles.add(nombre);
+                }
             }
         }
 
@@ -90,7 +104,7 @@ public class RecursosNivel implements Serializable {
      */
     public static boolean existeNivel(String filename) {
         String filepath = LEVELS_DIRECTORY + filename + ".dat";
-        return new File(filepath).exists();
+        return new File(filepath).exists() || Files.exists(LevelCodec.levelPath(LEVELS_DIRECTORY, filename));
     }
 
     /**
@@ -109,7 +123,7 @@ public class RecursosNivel implements Serializable {
             try {
                 return cargarNivel(filename);
             } catch (GameException e) {
-                System.err.println("Error al cargar nivel desde archivo, usando predefinido: " + e.getMessage());
+                GameLog.error("Error al cargar nivel desde archivo, usando predefinido: " + e.getMessage());
             }
         }
 
@@ -142,9 +156,9 @@ public class RecursosNivel implements Serializable {
             guardarNivel(Level.createLevel1(), "nivel_1");
             guardarNivel(Level.createLevel2(), "nivel_2");
             guardarNivel(Level.createLevel3(), "nivel_3");
-            System.out.println("Niveles predefinidos creados exitosamente");
+            GameLog.info("Niveles predefinidos creados exitosamente");
         } catch (GameException e) {
-            System.err.println("Error al crear niveles predefinidos: " + e.getMessage());
+            GameLog.error("Error al crear niveles predefinidos: " + e.getMessage());
         }
     }
 }
@@ -0,0 +1,336 @@
+package Domain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Grabación de las entradas de un nivel para reproducirlo exactamente
+ * La simulación es determinista dado el reloj (GameClock), la semilla del
+ * azar (GameRandom) y las entradas de los jugadores, así que basta guardar:
+ * - Cabecera: configuración de la partida, puntaje y reloj al empezar el
+ * nivel, semilla y el nivel en formato .lvl (ver LevelCodec)
+ * - Eventos, un byte cada uno: entrada de un jugador (PlayerInput), ticks
+ * simulados (de 1 a 64 por byte), pausa, cambio de estado y cada
+ * CHECKPOINT_TICKS ticks el hash Zobrist del estado (Game.getStateHash)
+ * para ubicar una divergencia
+ * - Hash completo del estado al terminar la grabación (CRC de SaveCodec)
+ *
+ * Los eventos se comprimen con Deflater: mientras un jugador mantiene una
+ * tecla cada frame es el mismo par de bytes, así que un minuto de juego
+ * ocupa unos cientos de bytes. ReplayPlayer la vuelve a ejecutar sin
+ * interfaz y compara los hashes.
+ *
+ * Se activa con la propiedad badicecream.replay (true por defecto);
+ * GameController guarda la última en saves/ultima_partida.rpl.
+ */
+public class ReplayLog {
+
+    public static final boolean ENABLED = !"false".equals(System.getProperty("badicecream.replay"));
+    public static final String LAST_REPLAY_FILE = "ultima_partida.rpl";
+    public static final int CHECKPOINT_TICKS = 60;
+
+    private static final byte[] MAGIC = { 'B', 'I', 'C', 'R' };
+    private static final short VERSION = 2;
+
+    // Eventos: los dos bits altos indican el tipo
+    static final int OP_INPUT_FIRST = 0x00; // 00bbbbbb: entrada del jugador 0
+    static final int OP_INPUT_SECOND = 0x40; // 01bbbbbb: entrada del jugador 1
+    static final int OP_TICKS = 0x80; // 10nnnnnn: n + 1 ticks
+    static final int OP_PAUSE = 0xC0; // togglePause
+    static final int OP_STATE = 0xC1; // setGameState, seguido del ordinal
+    static final int OP_CHECKPOINT = 0xC2; // Seguido del hash del estado (int)
+    private static final int MAX_TICKS_PER_OP = 64;
+
+    // Cabecera
+    private final String gameMode;
+    private final String iceCreamFlavor;
+    private final String secondIceCreamFlavor;
+    private final String monsterType;
+    private final String iceCreamAIStrategy;
+    private final Map<String, Integer> enemyConfig;
+    private final Map<String, Integer> fruitConfig;
+    private final Map<String, Integer> obstacleConfig;
+    private final int startScore;
+    private final long startTime;
+    private final long startTick;
+    private final long seed;
+    private final byte[] level;
+
+    private final ByteArrayOutputStream events;
+    private int pendingTicks;
+    private long ticks;
+    private int finalHash;
+
+    /**
+     * Empieza la grabación de un nivel (lo llama Game.startLevel antes de
+     * armar el tablero)
+     */
+    ReplayLog(Game game, Level level, long seed) {
+        this.gameMode = game.getGameMode() != null ? game.getGameMode().name() : null;
+        this.iceCreamFlavor = game.getIceCreamFlavor();
+        this.secondIceCreamFlavor = game.getSecondIceCreamFlavor();
+        this.monsterType = game.getMonsterType();
+        this.iceCreamAIStrategy = game.getIceCreamAIStrategyName();
+        this.enemyConfig = game.getEnemyConfig();
+        this.fruitConfig = game.getFruitConfig();
+        this.obstacleConfig = game.getObstacleConfig();
+        this.startScore = game.getScore();
+        this.startTime = game.getClock().now();
+        this.startTick = game.getClock().getTickCount();
+        this.seed = seed;
+        this.level = LevelCodec.encode(level);
+        this.events = new ByteArrayOutputStream(4096);
+    }
+
+    private ReplayLog(DataInputStream in) throws IOException {
+        this.gameMode = readString(in);
+        this.iceCreamFlavor = readString(in);
+        this.secondIceCreamFlavor = readString(in);
+        this.monsterType = readString(in);
+        this.iceCreamAIStrategy = readString(in);
+        this.enemyConfig = readMap(in);
+        this.fruitConfig = readMap(in);
+        this.obstacleConfig = readMap(in);
+        this.startScore = in.readInt();
+        this.startTime = in.readLong();
+        this.startTick = in.readLong();
+        this.seed = in.readLong();
+        this.level = new byte[in.readInt()];
+        in.readFully(level);
+        this.ticks = in.readLong();
+        this.finalHash = in.readInt();
+        this.events = new ByteArrayOutputStream();
+    }
+
+    // ========== GRABACIÓN ==========
+
+    void input(int player, int input) {
+        flushTicks();
+        events.write((player == 0 ? OP_INPUT_FIRST : OP_INPUT_SECOND) | (input & PlayerInput.MASK));
+    }
+
+    /**
+     * Registra un tick de Game.update (antes de simularlo)
+     */
+    void tick(Game game) {
+        if (ticks % CHECKPOINT_TICKS == 0) {
+            flushTicks();
+            events.write(OP_CHECKPOINT);
+            writeInt(checkpointHash(game));
+        }
+        ticks++;
+        if (++pendingTicks == MAX_TICKS_PER_OP) {
+            flushTicks();
+        }
+    }
+
+    void pause() {
+        flushTicks();
+        events.write(OP_PAUSE);
+    }
+
+    void state(GameState state) {
+        flushTicks();
+        events.write(OP_STATE);
+        events.write(state.ordinal());
+    }
+
+    private void flushTicks() {
+        if (pendingTicks > 0) {
+            events.write(OP_TICKS | (pendingTicks - 1));
+            pendingTicks = 0;
+        }
+    }
+
+    private void writeInt(int value) {
+        events.write(value >>> 24);
+        events.write(value >>> 16);
+        events.write(value >>> 8);
+        events.write(value);
+    }
+
+    /**
+     * Hash de un checkpoint: Game.getStateHash reducido a 32 bits
+     */
+    static int checkpointHash(Game game) {
+        return Long.hashCode(game.getStateHash());
+    }
+
+    /**
+     * Hash del estado completo de la partida (CRC32 de SaveCodec.encode)
+     * Más caro que checkpointHash pero cubre también direcciones, IA y
+     * animaciones; se usa una vez al final.
+     */
+    public static int stateHash(Game game) {
+        try {
+            byte[] data = SaveCodec.encode(game);
+            return ByteBuffer.wrap(data).getInt(data.length - 4);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Codifica la grabación hasta ahora con el hash del estado actual
+     */
+    public byte[] toBytes(Game game) {
+        flushTicks();
+        finalHash = stateHash(game);
+        byte[] raw = events.toByteArray();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(MAGIC);
+            out.writeShort(VERSION);
+            writeString(out, gameMode);
+            writeString(out, iceCreamFlavor);
+            writeString(out, secondIceCreamFlavor);
+            writeString(out, monsterType);
+            writeString(out, iceCreamAIStrategy);
+            writeMap(out, enemyConfig);
+            writeMap(out, fruitConfig);
+            writeMap(out, obstacleConfig);
+            out.writeInt(startScore);
+            out.writeLong(startTime);
+            out.writeLong(startTick);
+            out.writeLong(seed);
+            out.writeInt(level.length);
+            out.write(level);
+            out.writeLong(ticks);
+            out.writeInt(finalHash);
+
+            out.writeInt(raw.length);
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            deflater.end();
+        } catch (IOException e) {
+            // ByteArrayOutputStream no falla
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // ========== LECTURA ==========
+
+    /**
+     * Lee una grabación de toBytes
+     *
+     * @throws IOException Si no es una grabación o está corrupta
+     */
+    public static ReplayLog read(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            for (byte b : MAGIC) {
+                if (in.readByte() != b) {
+                    throw new IOException("No es una grabación de partida");
+                }
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new IOException("Versión de grabación no soportada (" + version + ")");
+            }
+            ReplayLog log = new ReplayLog(in);
+
+            byte[] raw = new byte[in.readInt()];
+            Inflater inflater = new Inflater();
+            inflater.setInput(in.readAllBytes());
+            try {
+                int length = 0;
+                while (length < raw.length && !inflater.finished()) {
+                    int read = inflater.inflate(raw, length, raw.length - length);
+                    if (read == 0 && inflater.needsInput()) {
+                        throw new IOException("Grabación truncada");
+                    }
+                    length += read;
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Grabación corrupta", e);
+            } finally {
+                inflater.end();
+            }
+            log.events.write(raw);
+            return log;
+        } catch (java.io.EOFException | IllegalArgumentException e) {
+            throw new IOException("Grabación corrupta", e);
+        }
+    }
+
+    /**
+     * Crea la partida tal como estaba al empezar la grabación (sin interfaz)
+     */
+    Game createGame() throws IOException {
+        Game game = new Game(gameMode != null ? GameMode.valueOf(gameMode) : null, iceCreamFlavor,
+                secondIceCreamFlavor, monsterType, enemyConfig, fruitConfig, obstacleConfig);
+        game.setIceCreamAIStrategy(iceCreamAIStrategy);
+        game.setClock(new GameClock(startTime, startTick));
+        game.addScore(startScore);
+        game.setSeed(seed);
+        game.startLevel(LevelCodec.decode(ByteBuffer.wrap(level), "grabación"));
+        return game;
+    }
+
+    byte[] getEvents() {
+        return events.toByteArray();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Ticks simulados en la grabación
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    public int getFinalHash() {
+        return finalHash;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, Integer> map) throws IOException {
+        out.writeInt(map != null ? map.size() : -1);
+        if (map != null) {
+            for (Map.Entry<String, Integer> entry : map.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue() != null ? entry.getValue() : 0);
+            }
+        }
+    }
+
+    private static Map<String, Integer> readMap(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        Map<String, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(in.readUTF(), in.readInt());
+        }
+        return map;
+    }
+}
@@ -0,0 +1,125 @@
+package Domain;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Reproduce una grabación (ReplayLog) sin interfaz y a máxima velocidad
+ * Arma la partida como estaba al empezar el nivel, le vuelve a aplicar las
+ * entradas y los ticks en el mismo orden y compara el hash del estado en
+ * cada checkpoint y al final. El primer checkpoint distinto indica en qué
+ * segundo de juego la simulación se separó de la grabada.
+ *
+ * Uso:
+ * java Domain.ReplayPlayer saves/ultima_partida.rpl
+ */
+public class ReplayPlayer {
+
+    private static final GameState[] STATES = GameState.values();
+
+    private ReplayPlayer() {
+    }
+
+    public static Result play(Path file) throws IOException {
+        return play(ReplayLog.read(Files.readAllBytes(file)));
+    }
+
+    /**
+     * Reproduce una grabación completa
+     *
+     * @throws IOException Si la grabación está corrupta
+     */
+    public static Result play(ReplayLog log) throws IOException {
+        long start = System.nanoTime();
+        Game game = log.createGame();
+        byte[] events = log.getEvents();
+
+        long ticks = 0;
+        int checkpoints = 0;
+        long firstMismatchTick = -1;
+        try {
+            for (int i = 0; i < events.length; i++) {
+                int op = events[i] & 0xFF;
+                if (op < ReplayLog.OP_TICKS) {
+                    game.applyInput(op < ReplayLog.OP_INPUT_SECOND ? 0 : 1, op & PlayerInput.MASK);
+                } else if (op < ReplayLog.OP_PAUSE) {
+                    int count = (op & 0x3F) + 1;
+                    for (int t = 0; t < count; t++) {
+                        game.update();
+                    }
+                    ticks += count;
+                } else if (op == ReplayLog.OP_PAUSE) {
+                    game.togglePause();
+                } else if (op == ReplayLog.OP_STATE) {
+                    game.setGameState(STATES[events[++i]]);
+                } else if (op == ReplayLog.OP_CHECKPOINT) {
+                    int expected = (events[i + 1] & 0xFF) << 24 | (events[i + 2] & 0xFF) << 16
+                            | (events[i + 3] & 0xFF) << 8 | (events[i + 4] & 0xFF);
+                    i += 4;
+                    checkpoints++;
+                    if (firstMismatchTick < 0 && ReplayLog.checkpointHash(game) != expected) {
+                        firstMismatchTick = ticks;
+                    }
+                } else {
+                    throw new IOException("Evento desconocido en la grabación: " + op);
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Grabación corrupta", e);
+        }
+
+        int finalHash = ReplayLog.stateHash(game);
+        return new Result(game, ticks, checkpoints, firstMismatchTick, log.getFinalHash(), finalHash,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Resultado de una reproducción
+     */
+    public static class Result {
+        public final Game game; // Partida al terminar la reproducción
+        public final long ticks;
+        public final int checkpoints;
+        public final long firstMismatchTick; // -1 si todos los checkpoints coinciden
+        public final int expectedHash;
+        public final int actualHash;
+        public final long elapsedNanos;
+
+        public Result(Game game, long ticks, int checkpoints, long firstMismatchTick, int expectedHash,
+                int actualHash, long elapsedNanos) {
+            this.game = game;
+            this.ticks = ticks;
+            this.checkpoints = checkpoints;
+            this.firstMismatchTick = firstMismatchTick;
+            this.expectedHash = expectedHash;
+            this.actualHash = actualHash;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * true si la reproducción terminó en el mismo estado que la partida
+         */
+        public boolean matches() {
+            return firstMismatchTick < 0 && expectedHash == actualHash;
+        }
+
+        @Override
+        public String toString() {
+            String verdict = matches() ? "COINCIDE"
+                    : firstMismatchTick >= 0
+                            ? "DIVERGE en el tick " + firstMismatchTick + " (~"
+                                    + firstMismatchTick * GameClock.TICK_MS / 1000 + " s)"
+                            : "DIVERGE al final";
+            return verdict + " | ticks=" + ticks + " | checkpoints=" + checkpoints
+                    + String.format(" | hash=%08x/%08x", expectedHash, actualHash)
+                    + " | " + elapsedNanos / 1_000_000 + " ms";
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = args.length > 0 ? Paths.get(args[0]) : Paths.get("saves", ReplayLog.LAST_REPLAY_FILE);
+        System.out.println(file + ": " + play(file));
+    }
+}
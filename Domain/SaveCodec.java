@@ -0,0 +1,1109 @@
+package Domain;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Formato binario de partidas guardadas
+ * Reemplaza a la serialización Java de Game: guarda solo el estado (tablas de
+ * primitivos), no el grafo de objetos, así que no depende de serialVersionUID
+ * ni de los campos de cada clase. Al cargar se vuelven a crear las entidades
+ * con el tablero como BoardStateProvider, sin referencias que reparar.
+ *
+ * Estructura (big-endian):
+ * - Cabecera: "BICS", versión (short)
+ * - Secciones etiquetadas: etiqueta (byte), largo (int) y contenido. Una
+ * etiqueta desconocida se salta, así versiones futuras pueden agregar
+ * secciones sin romper la lectura
+ * - GAME: modo, estado, puntaje, tiempo, sabores, configuraciones, reloj y
+ * estado del generador aleatorio (agregado al final: las partidas anteriores
+ * no lo tienen y toman una semilla nueva)
+ * - LEVEL: nivel actual en formato .lvl (ver LevelCodec)
+ * - GRID: ancho, alto, tipo de cada celda (byte[] con ordinales de
+ * Board.CellType) y por cada bloque de hielo sus banderas
+ * - ICE_CREAMS, ENEMIES, FRUITS, FOGATAS: tablas de entidades
+ * - END y CRC32 de todo lo anterior (int)
+ *
+ * Las partidas antiguas (ObjectOutputStream) se siguen leyendo en
+ * Game.loadGame; se distinguen por la cabecera (ver isSaveFile).
+ *
+ * Instantáneas delta (ver SnapshotJournal): "BICD", versión, CRC del
+ * keyframe al que se aplican, GAME, CELLS (celdas cambiadas con su tipo y
+ * banderas de hielo) y solo las tablas de entidades que difieren del
+ * keyframe, END y CRC32. applyDelta las convierte otra vez en una partida
+ * completa.
+ */
+public class SaveCodec {
+
+    private static final byte[] MAGIC = { 'B', 'I', 'C', 'S' };
+    private static final byte[] DELTA_MAGIC = { 'B', 'I', 'C', 'D' };
+    private static final short VERSION = 1;
+
+    // Etiquetas de sección
+    private static final byte TAG_END = 0;
+    private static final byte TAG_GAME = 1;
+    private static final byte TAG_LEVEL = 2;
+    private static final byte TAG_GRID = 3;
+    private static final byte TAG_ICE_CREAMS = 4;
+    private static final byte TAG_ENEMIES = 5;
+    private static final byte TAG_FRUITS = 6;
+    private static final byte TAG_FOGATAS = 7;
+    private static final byte TAG_CELLS = 8; // Solo en instantáneas delta
+
+    // Orden de las secciones en una partida completa
+    private static final byte[] SECTION_ORDER = { TAG_GAME, TAG_LEVEL, TAG_GRID, TAG_ICE_CREAMS, TAG_ENEMIES,
+            TAG_FRUITS, TAG_FOGATAS };
+
+    // Tipos de enemigo
+    private static final byte ENEMY_TROLL = 0;
+    private static final byte ENEMY_POT = 1;
+    private static final byte ENEMY_YELLOW_SQUID = 2;
+    private static final byte ENEMY_NARVAL = 3;
+    private static final byte ENEMY_ORANGE_SQUID = 4;
+
+    // Tipos de fruta
+    private static final byte FRUIT_GRAPE = 0;
+    private static final byte FRUIT_BANANA = 1;
+    private static final byte FRUIT_PINEAPPLE = 2;
+    private static final byte FRUIT_CHERRY = 3;
+    private static final byte FRUIT_CACTUS = 4;
+
+    // Banderas de bloque de hielo (creador en los bits 1-2)
+    private static final int ICE_BREAKABLE = 1;
+    private static final int CREATOR_NONE = 0;
+    private static final int CREATOR_FIRST = 1;
+    private static final int CREATOR_SECOND = 2;
+    private static final int CREATOR_OTHER = 3;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final EntityAction[] ACTIONS = EntityAction.values();
+    private static final Board.CellType[] CELL_TYPES = Board.CellType.values();
+
+    private SaveCodec() {
+    }
+
+    // ========== ESCRITURA ==========
+
+    /**
+     * Escribe una partida con un FileChannel
+     * Se escribe en un archivo temporal y se reemplaza el destino al final,
+     * así un error a mitad de escritura no deja la partida anterior corrupta.
+     */
+    public static void write(Game game, Path file) throws IOException {
+        writeAtomically(encode(game), file);
+    }
+
+    /**
+     * Escribe bytes ya codificados en un temporal de la misma carpeta y lo
+     * mueve sobre el destino con ATOMIC_MOVE (si el sistema de archivos no lo
+     * permite, con un reemplazo normal)
+     * El temporal se baja a disco (force) antes de moverlo: si no, tras un
+     * corte de luz el cambio de nombre puede quedar guardado antes que los
+     * datos y el destino quedaría vacío o a medias.
+     */
+    static void writeAtomically(byte[] data, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null && !Files.isDirectory(parent)) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Codifica una partida en bytes
+     *
+     * @throws IOException Si la partida tiene una entidad que el formato no
+     *                     conoce
+     */
+    public static byte[] encode(Game game) throws IOException {
+        Out out = new Out(4096);
+        out.buffer.put(MAGIC);
+        out.buffer.putShort(VERSION);
+
+        int start = out.beginSection(TAG_GAME);
+        writeGame(out, game);
+        out.endSection(start);
+
+        if (game.getCurrentLevel() != null) {
+            byte[] level = LevelCodec.encode(game.getCurrentLevel());
+            start = out.beginSection(TAG_LEVEL);
+            out.ensure(level.length);
+            out.buffer.put(level);
+            out.endSection(start);
+        }
+
+        Board board = game.getBoard();
+        if (board != null) {
+            start = out.beginSection(TAG_GRID);
+            writeGrid(out, board);
+            out.endSection(start);
+
+            start = out.beginSection(TAG_ICE_CREAMS);
+            writeIceCreams(out, board);
+            out.endSection(start);
+
+            start = out.beginSection(TAG_ENEMIES);
+            writeEnemies(out, board.getEnemiesView());
+            out.endSection(start);
+
+            start = out.beginSection(TAG_FRUITS);
+            writeFruits(out, board.getFruitsView());
+            out.endSection(start);
+
+            start = out.beginSection(TAG_FOGATAS);
+            writeFogatas(out, board.getFogatasView());
+            out.endSection(start);
+        }
+
+        return finish(out);
+    }
+
+    /**
+     * Cierra el contenido con END y el CRC32 de todo lo anterior
+     */
+    private static byte[] finish(Out out) {
+        out.ensure(1 + 4);
+        out.buffer.put(TAG_END);
+        CRC32 crc = new CRC32();
+        crc.update(out.buffer.array(), 0, out.buffer.position());
+        out.buffer.putInt((int) crc.getValue());
+        return Arrays.copyOf(out.buffer.array(), out.buffer.position());
+    }
+
+    private static void writeGame(Out out, Game game) {
+        out.putString(game.getGameMode() != null ? game.getGameMode().name() : null);
+        out.putString(game.getGameState() != null ? game.getGameState().name() : null);
+        out.ensure(8);
+        out.buffer.putInt(game.getScore());
+        out.buffer.putInt(game.getRemainingTime());
+        out.putString(game.getIceCreamFlavor());
+        out.putString(game.getSecondIceCreamFlavor());
+        out.putString(game.getMonsterType());
+        out.putString(game.getIceCreamAIStrategyName());
+        out.putMap(game.getEnemyConfig());
+        out.putMap(game.getFruitConfig());
+        out.putMap(game.getObstacleConfig());
+
+        GameClock clock = game.getClock();
+        out.ensure(32);
+        out.buffer.putLong(clock.now());
+        out.buffer.putLong(clock.getTickCount());
+        out.buffer.putLong(game.getLastUpdateTime());
+        out.buffer.putLong(clock.getRandom().getState());
+    }
+
+    private static void writeGrid(Out out, Board board) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        out.ensure(4 + width * height);
+        out.buffer.putShort((short) width);
+        out.buffer.putShort((short) height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                out.buffer.put((byte) board.getCellType(x, y).ordinal());
+            }
+        }
+
+        // Banderas de los bloques de hielo, en el mismo orden que las celdas
+        IceCream first = board.getIceCream();
+        IceCream second = board.getSecondIceCream();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (board.getCellType(x, y) != Board.CellType.ICE_BLOCK) {
+                    continue;
+                }
+                out.ensure(1);
+                out.buffer.put(iceFlags(board, x, y, first, second));
+            }
+        }
+    }
+
+    /**
+     * Banderas del bloque de hielo de una celda (0 si no tiene)
+     */
+    private static byte iceFlags(Board board, int x, int y, IceCream first, IceCream second) {
+        IceBlock block = board.getIceBlockAt(new Position(x, y));
+        if (block == null) {
+            return 0;
+        }
+        int flags = block.isBreakable() ? ICE_BREAKABLE : 0;
+        int creator = CREATOR_NONE;
+        GameObject owner = block.getCreator();
+        if (owner != null) {
+            creator = owner == first ? CREATOR_FIRST : owner == second ? CREATOR_SECOND : CREATOR_OTHER;
+        }
+        return (byte) (flags | creator << 1);
+    }
+
+    private static void writeIceCreams(Out out, Board board) {
+        IceCream[] iceCreams = { board.getIceCream(), board.getSecondIceCream() };
+        out.ensure(1);
+        out.buffer.put((byte) ((iceCreams[0] != null ? 1 : 0) | (iceCreams[1] != null ? 2 : 0)));
+        for (IceCream iceCream : iceCreams) {
+            if (iceCream == null) {
+                continue;
+            }
+            out.putString(iceCream.getFlavor());
+            writeObjectState(out, iceCream);
+            out.ensure(6);
+            out.buffer.putInt(iceCream.getFruitsCollected());
+            out.buffer.put((byte) (iceCream.canCreateIce() ? 1 : 0));
+            out.buffer.put((byte) (iceCream.canBreakIce() ? 1 : 0));
+            IceCreamAIStrategy strategy = iceCream.getAIStrategy();
+            out.putString(strategy != null ? strategy.getName() : null);
+        }
+    }
+
+    private static void writeEnemies(Out out, List<Enemy> enemies) throws IOException {
+        out.ensure(2);
+        out.buffer.putShort((short) enemies.size());
+        for (Enemy enemy : enemies) {
+            byte kind = enemyKind(enemy);
+            out.ensure(1);
+            out.buffer.put(kind);
+            writeObjectState(out, enemy);
+            out.putString(enemy.getColor());
+
+            switch (kind) {
+                case ENEMY_TROLL:
+                    PatternMovement pattern = (PatternMovement) enemy.getMovementBehavior();
+                    Direction[] directions = pattern.getPattern();
+                    out.ensure(1 + directions.length + 2 + 4);
+                    out.buffer.put((byte) directions.length);
+                    for (Direction direction : directions) {
+                        out.buffer.put((byte) direction.ordinal());
+                    }
+                    out.buffer.putShort((short) pattern.getStepsPerDirection());
+                    out.buffer.putInt(pattern.getCurrentStep());
+                    break;
+                case ENEMY_POT:
+                    Pot pot = (Pot) enemy;
+                    out.ensure(17);
+                    out.buffer.put((byte) (pot.isTurboActive() ? 1 : 0));
+                    out.buffer.putLong(pot.getTurboStartTime());
+                    out.buffer.putLong(pot.getTurboRechargeStartTime());
+                    break;
+                case ENEMY_YELLOW_SQUID:
+                    out.ensure(4);
+                    out.buffer.putInt(((YellowSquid) enemy).getIceBreakCounter());
+                    break;
+                case ENEMY_NARVAL:
+                    Narval narval = (Narval) enemy;
+                    out.ensure(18);
+                    out.buffer.put((byte) (narval.isCharging() ? 1 : 0));
+                    out.buffer.putLong(narval.getChargeStartTime());
+                    out.buffer.put(directionCode(narval.getChargeDirection()));
+                    out.buffer.putLong(narval.getChargeRechargeStartTime());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static byte enemyKind(Enemy enemy) throws IOException {
+        if (enemy instanceof Troll && enemy.getMovementBehavior() instanceof PatternMovement) {
+            return ENEMY_TROLL;
+        } else if (enemy instanceof Pot) {
+            return ENEMY_POT;
+        } else if (enemy instanceof YellowSquid) {
+            return ENEMY_YELLOW_SQUID;
+        } else if (enemy instanceof Narval) {
+            return ENEMY_NARVAL;
+        } else if (enemy instanceof OrangeSquid) {
+            return ENEMY_ORANGE_SQUID;
+        }
+        throw new IOException("Enemigo no soportado por el formato de partida: " + enemy.getType());
+    }
+
+    private static void writeFruits(Out out, List<Fruit> fruits) throws IOException {
+        out.ensure(2);
+        out.buffer.putShort((short) fruits.size());
+        for (Fruit fruit : fruits) {
+            byte kind = fruitKind(fruit);
+            Position pos = fruit.getPosition();
+            out.ensure(6);
+            out.buffer.put(kind);
+            out.buffer.putShort((short) pos.getX());
+            out.buffer.putShort((short) pos.getY());
+            out.buffer.put((byte) (fruit.isCollected() ? 1 : 0));
+
+            switch (kind) {
+                case FRUIT_PINEAPPLE:
+                    MovingFruitBehavior moving = (MovingFruitBehavior) fruit.getBehavior();
+                    out.ensure(9);
+                    out.buffer.put(directionCode(moving.getCurrentDirection()));
+                    out.buffer.putInt(moving.getMoveCounter());
+                    out.buffer.putInt(moving.getMovesPerUpdate());
+                    break;
+                case FRUIT_CHERRY:
+                    TeleportFruitBehavior teleport = (TeleportFruitBehavior) fruit.getBehavior();
+                    out.ensure(8);
+                    out.buffer.putInt(teleport.getTeleportCounter());
+                    out.buffer.putInt(teleport.getTeleportInterval());
+                    break;
+                case FRUIT_CACTUS:
+                    Cactus cactus = (Cactus) fruit;
+                    out.ensure(9);
+                    out.buffer.put((byte) (cactus.isSpiky() ? 1 : 0));
+                    out.buffer.putLong(cactus.getLastStateChange());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static byte fruitKind(Fruit fruit) throws IOException {
+        if (fruit instanceof Grape) {
+            return FRUIT_GRAPE;
+        } else if (fruit instanceof Banana) {
+            return FRUIT_BANANA;
+        } else if (fruit instanceof Pineapple && fruit.getBehavior() instanceof MovingFruitBehavior) {
+            return FRUIT_PINEAPPLE;
+        } else if (fruit instanceof Cherry && fruit.getBehavior() instanceof TeleportFruitBehavior) {
+            return FRUIT_CHERRY;
+        } else if (fruit instanceof Cactus) {
+            return FRUIT_CACTUS;
+        }
+        throw new IOException("Fruta no soportada por el formato de partida: " + fruit.getFruitType());
+    }
+
+    private static void writeFogatas(Out out, List<Fogata> fogatas) {
+        out.ensure(2 + fogatas.size() * 13);
+        out.buffer.putShort((short) fogatas.size());
+        for (Fogata fogata : fogatas) {
+            Position pos = fogata.getPosition();
+            out.buffer.putShort((short) pos.getX());
+            out.buffer.putShort((short) pos.getY());
+            out.buffer.put((byte) (fogata.isEncendida() ? 1 : 0));
+            out.buffer.putLong(fogata.getTiempoUltimaApagada());
+        }
+    }
+
+    /**
+     * Estado común de GameObject: posición, direcciones, acción, velocidad,
+     * vida y último movimiento
+     */
+    private static void writeObjectState(Out out, GameObject object) {
+        Position pos = object.getPosition();
+        out.ensure(21);
+        out.buffer.putShort((short) pos.getX());
+        out.buffer.putShort((short) pos.getY());
+        out.buffer.put(directionCode(object.getCurrentDirection()));
+        out.buffer.put(directionCode(object.getLastDirection()));
+        out.buffer.put((byte) object.getCurrentAction().ordinal());
+        out.buffer.putInt(object.getSpeed());
+        out.buffer.put((byte) (object.isAlive() ? 1 : 0));
+        out.buffer.putLong(object.getLastMovementTime());
+    }
+
+    private static byte directionCode(Direction direction) {
+        return (byte) (direction != null ? direction.ordinal() : -1);
+    }
+
+    // ========== INSTANTÁNEAS DELTA ==========
+
+    /**
+     * Codifica los cambios de una partida respecto de un keyframe (una
+     * partida completa de encode)
+     * El terreno no se recorre: solo se escriben las celdas de changedCells.
+     * Las tablas de entidades se escriben y se descartan si quedaron iguales
+     * a las del keyframe.
+     *
+     * @param changedCells Celdas (y * ancho + x) cambiadas desde el keyframe
+     */
+    static byte[] encodeDelta(Game game, byte[] keyframe, BitSet changedCells) throws IOException {
+        Sections base = Sections.of(keyframe, MAGIC.length + 2);
+        Out out = new Out(1024);
+        out.buffer.put(DELTA_MAGIC);
+        out.buffer.putShort(VERSION);
+        out.buffer.putInt(checksum(keyframe));
+
+        int start = out.beginSection(TAG_GAME);
+        writeGame(out, game);
+        out.endSection(start);
+
+        Board board = game.getBoard();
+        if (board != null) {
+            start = out.beginSection(TAG_CELLS);
+            writeChangedCells(out, board, changedCells);
+            out.endSection(start);
+
+            start = out.beginSection(TAG_ICE_CREAMS);
+            writeIceCreams(out, board);
+            endChangedSection(out, start, keyframe, base, TAG_ICE_CREAMS);
+
+            start = out.beginSection(TAG_ENEMIES);
+            writeEnemies(out, board.getEnemiesView());
+            endChangedSection(out, start, keyframe, base, TAG_ENEMIES);
+
+            start = out.beginSection(TAG_FRUITS);
+            writeFruits(out, board.getFruitsView());
+            endChangedSection(out, start, keyframe, base, TAG_FRUITS);
+
+            start = out.beginSection(TAG_FOGATAS);
+            writeFogatas(out, board.getFogatasView());
+            endChangedSection(out, start, keyframe, base, TAG_FOGATAS);
+        }
+        return finish(out);
+    }
+
+    private static void writeChangedCells(Out out, Board board, BitSet changedCells) {
+        int width = board.getWidth();
+        IceCream first = board.getIceCream();
+        IceCream second = board.getSecondIceCream();
+        out.ensure(4 + changedCells.cardinality() * 6);
+        out.buffer.putInt(changedCells.cardinality());
+        for (int index = changedCells.nextSetBit(0); index >= 0; index = changedCells.nextSetBit(index + 1)) {
+            int x = index % width;
+            int y = index / width;
+            out.buffer.putInt(index);
+            out.buffer.put((byte) board.getCellType(x, y).ordinal());
+            out.buffer.put(iceFlags(board, x, y, first, second));
+        }
+    }
+
+    /**
+     * Cierra una sección del delta y la quita si es igual a la del keyframe
+     */
+    private static void endChangedSection(Out out, int start, byte[] keyframe, Sections base, byte tag) {
+        out.endSection(start);
+        int from = start + 4;
+        int to = out.buffer.position();
+        if (base.has(tag) && Arrays.equals(out.buffer.array(), from, to,
+                keyframe, base.offset[tag], base.offset[tag] + base.length[tag])) {
+            out.buffer.position(start - 1);
+        }
+    }
+
+    /**
+     * Reconstruye la partida completa de una instantánea delta
+     *
+     * @return Bytes en el formato de encode, listos para decode
+     * @throws IOException Si el delta está corrupto o es de otro keyframe
+     */
+    static byte[] applyDelta(byte[] keyframe, byte[] delta) throws IOException {
+        try {
+            ByteBuffer buffer = verifyChecksum(ByteBuffer.wrap(delta), "instantánea");
+            for (byte b : DELTA_MAGIC) {
+                if (buffer.get() != b) {
+                    throw new IOException("No es una instantánea delta");
+                }
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Versión de instantánea no soportada (" + version + ")");
+            }
+            if (buffer.getInt() != checksum(keyframe)) {
+                throw new IOException("La instantánea no corresponde al keyframe");
+            }
+            Sections changes = Sections.of(delta, buffer.position());
+            Sections base = Sections.of(keyframe, MAGIC.length + 2);
+
+            Out out = new Out(keyframe.length + 256);
+            out.buffer.put(MAGIC);
+            out.buffer.putShort(VERSION);
+            for (byte tag : SECTION_ORDER) {
+                if (tag == TAG_GRID && base.has(TAG_GRID)) {
+                    int start = out.beginSection(TAG_GRID);
+                    patchGrid(out, ByteBuffer.wrap(keyframe, base.offset[tag], base.length[tag]),
+                            changes.has(TAG_CELLS)
+                                    ? ByteBuffer.wrap(delta, changes.offset[TAG_CELLS], changes.length[TAG_CELLS])
+                                    : null);
+                    out.endSection(start);
+                } else if (changes.has(tag)) {
+                    copySection(out, tag, delta, changes);
+                } else if (base.has(tag)) {
+                    copySection(out, tag, keyframe, base);
+                }
+            }
+            return finish(out);
+        } catch (java.nio.BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Instantánea corrupta", e);
+        }
+    }
+
+    /**
+     * Escribe el GRID del keyframe con las celdas del delta aplicadas
+     */
+    private static void patchGrid(Out out, ByteBuffer grid, ByteBuffer changed) {
+        int width = grid.getShort();
+        int height = grid.getShort();
+        byte[] cells = new byte[width * height];
+        grid.get(cells);
+        byte[] flags = new byte[cells.length];
+        for (int index = 0; index < cells.length; index++) {
+            if (CELL_TYPES[cells[index]] == Board.CellType.ICE_BLOCK) {
+                flags[index] = grid.get();
+            }
+        }
+
+        if (changed != null) {
+            int count = changed.getInt();
+            for (int i = 0; i < count; i++) {
+                int index = changed.getInt();
+                cells[index] = changed.get();
+                flags[index] = changed.get();
+            }
+        }
+
+        out.ensure(4 + cells.length * 2);
+        out.buffer.putShort((short) width);
+        out.buffer.putShort((short) height);
+        out.buffer.put(cells);
+        for (int index = 0; index < cells.length; index++) {
+            if (CELL_TYPES[cells[index]] == Board.CellType.ICE_BLOCK) {
+                out.buffer.put(flags[index]);
+            }
+        }
+    }
+
+    private static void copySection(Out out, byte tag, byte[] data, Sections sections) {
+        int start = out.beginSection(tag);
+        out.ensure(sections.length[tag]);
+        out.buffer.put(data, sections.offset[tag], sections.length[tag]);
+        out.endSection(start);
+    }
+
+    /**
+     * CRC32 con que termina un archivo (identifica al keyframe)
+     */
+    private static int checksum(byte[] data) {
+        return ByteBuffer.wrap(data).getInt(data.length - 4);
+    }
+
+    // ========== LECTURA ==========
+
+    /**
+     * Indica si un archivo está en este formato (por su cabecera)
+     */
+    public static boolean isSaveFile(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(MAGIC.length);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Leer hasta completar la cabecera o llegar al final
+            }
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (header.position() <= i || header.get(i) != MAGIC[i]) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Lee una partida
+     *
+     * @throws IOException Si el archivo no existe, no es una partida, es de
+     *                     una versión desconocida o está corrupto
+     */
+    public static Game read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Leer el archivo completo
+            }
+            buffer.flip();
+            return decode(buffer, file.toString());
+        }
+    }
+
+    /**
+     * Decodifica una partida desde un buffer (posición 0 hasta su límite)
+     * Las entidades se crean con el tablero nuevo como BoardStateProvider y
+     * la IA se vuelve a configurar según el modo de juego.
+     */
+    public static Game decode(ByteBuffer buffer, String source) throws IOException {
+        try {
+            verifyChecksum(buffer, source);
+            for (byte b : MAGIC) {
+                if (buffer.get() != b) {
+                    throw new IOException("No es una partida guardada: " + source);
+                }
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Versión de partida no soportada (" + version + "): " + source);
+            }
+
+            Game game = null;
+            Level level = null;
+            Board board = null;
+            GameState state = GameState.MENU;
+            int score = 0;
+            int remainingTime = 0;
+            GameClock clock = null;
+            long lastUpdateTime = 0;
+            Long randomState = null;
+            byte[] iceCreators = null;
+
+            byte tag;
+            while ((tag = buffer.get()) != TAG_END) {
+                int sectionLength = buffer.getInt();
+                int end = buffer.position() + sectionLength;
+                switch (tag) {
+                    case TAG_GAME: {
+                        String mode = getString(buffer);
+                        String stateName = getString(buffer);
+                        score = buffer.getInt();
+                        remainingTime = buffer.getInt();
+                        String flavor = getString(buffer);
+                        String secondFlavor = getString(buffer);
+                        String monster = getString(buffer);
+                        String strategy = getString(buffer);
+                        Map<String, Integer> enemyConfig = getMap(buffer);
+                        Map<String, Integer> fruitConfig = getMap(buffer);
+                        Map<String, Integer> obstacleConfig = getMap(buffer);
+                        clock = new GameClock(buffer.getLong(), buffer.getLong());
+                        lastUpdateTime = buffer.getLong();
+                        if (buffer.position() < end) {
+                            randomState = buffer.getLong();
+                        }
+
+                        game = new Game(mode != null ? GameMode.valueOf(mode) : null, flavor, secondFlavor, monster,
+                                enemyConfig, fruitConfig, obstacleConfig);
+                        game.setIceCreamAIStrategy(strategy);
+                        state = stateName != null ? GameState.valueOf(stateName) : GameState.MENU;
+                        // Las entidades toman su tiempo de este reloj al crearse
+                        GameClock.bind(clock);
+                        break;
+                    }
+                    case TAG_LEVEL: {
+                        ByteBuffer levelData = buffer.slice();
+                        levelData.limit(sectionLength);
+                        level = LevelCodec.decode(levelData, source);
+                        break;
+                    }
+                    case TAG_GRID:
+                        board = new Board(buffer.getShort(), buffer.getShort());
+                        iceCreators = readGrid(buffer, board);
+                        break;
+                    case TAG_ICE_CREAMS:
+                        readIceCreams(buffer, requireBoard(board, source));
+                        break;
+                    case TAG_ENEMIES:
+                        readEnemies(buffer, requireBoard(board, source));
+                        break;
+                    case TAG_FRUITS:
+                        readFruits(buffer, requireBoard(board, source));
+                        break;
+                    case TAG_FOGATAS:
+                        readFogatas(buffer, requireBoard(board, source));
+                        break;
+                    default:
+                        // Sección de una versión posterior: se salta
+                        break;
+                }
+                buffer.position(end);
+            }
+
+            if (game == null) {
+                throw new IOException("Partida sin datos de juego: " + source);
+            }
+            if (board != null && iceCreators != null) {
+                restoreIceCreators(board, iceCreators);
+            }
+            // Las entidades consumen azar al crearse: el estado guardado va después
+            if (randomState != null) {
+                clock.getRandom().setSeed(randomState);
+            }
+            game.restoreState(level, board, state, score, remainingTime, clock, lastUpdateTime);
+            return game;
+        } catch (java.nio.BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                | ClassCastException e) {
+            throw new IOException("Partida corrupta: " + source, e);
+        }
+    }
+
+    /**
+     * Comprueba el CRC32 final y deja el buffer listo para leer el contenido
+     * (de la posición 0 hasta antes del CRC)
+     */
+    private static ByteBuffer verifyChecksum(ByteBuffer buffer, String source) throws IOException {
+        int length = buffer.limit();
+        if (length < MAGIC.length + 2 + 1 + 4) {
+            throw new IOException("Partida truncada: " + source);
+        }
+        ByteBuffer content = buffer.duplicate();
+        content.position(0).limit(length - 4);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        if ((int) crc.getValue() != buffer.getInt(length - 4)) {
+            throw new IOException("Suma de verificación inválida en partida: " + source);
+        }
+        buffer.position(0).limit(length - 4);
+        return buffer;
+    }
+
+    private static Board requireBoard(Board board, String source) throws IOException {
+        if (board == null) {
+            throw new IOException("Partida sin tablero: " + source);
+        }
+        return board;
+    }
+
+    /**
+     * Vuelve a colocar el terreno celda por celda
+     *
+     * @return Creador de cada bloque de hielo, en el orden de las celdas
+     */
+    private static byte[] readGrid(ByteBuffer buffer, Board board) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        byte[] cells = new byte[width * height];
+        buffer.get(cells);
+
+        int iceCount = 0;
+        for (byte cell : cells) {
+            if (CELL_TYPES[cell] == Board.CellType.ICE_BLOCK) {
+                iceCount++;
+            }
+        }
+        byte[] flags = new byte[iceCount];
+        buffer.get(flags);
+
+        int ice = 0;
+        for (int index = 0; index < cells.length; index++) {
+            Position pos = new Position(index % width, index / width);
+            switch (CELL_TYPES[cells[index]]) {
+                case WALL:
+                    board.addWall(pos);
+                    break;
+                case ICE_BLOCK:
+                    board.addIceBlock(new IceBlock(pos, (flags[ice++] & ICE_BREAKABLE) != 0));
+                    break;
+                case HOT_TILE:
+                    board.addBaldosaCaliente(new BaldosaCaliente(pos));
+                    break;
+                case ICE_OBSTACLE:
+                    board.addIceBlockObstacle(new IceBlockObstacle(pos));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return flags;
+    }
+
+    /**
+     * Asigna el creador de cada bloque una vez que existen los helados
+     */
+    private static void restoreIceCreators(Board board, byte[] flags) {
+        int ice = 0;
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                if (board.getCellType(x, y) != Board.CellType.ICE_BLOCK || ice >= flags.length) {
+                    continue;
+                }
+                int creator = (flags[ice++] >> 1) & 3;
+                IceBlock block = board.getIceBlockAt(new Position(x, y));
+                if (block == null) {
+                    continue;
+                }
+                if (creator == CREATOR_FIRST) {
+                    block.setCreator(board.getIceCream());
+                } else if (creator == CREATOR_SECOND) {
+                    block.setCreator(board.getSecondIceCream());
+                }
+            }
+        }
+    }
+
+    private static void readIceCreams(ByteBuffer buffer, Board board) {
+        int present = buffer.get();
+        for (int slot = 0; slot < 2; slot++) {
+            if ((present & (1 << slot)) == 0) {
+                continue;
+            }
+            String flavor = getString(buffer);
+            Position pos = getPosition(buffer);
+            IceCream iceCream;
+            try {
+                iceCream = IceCreamFactory.create(flavor, pos);
+            } catch (IllegalArgumentException e) {
+                iceCream = new VanillaIceCream(pos);
+            }
+            readObjectState(buffer, iceCream);
+            iceCream.setFruitsCollected(buffer.getInt());
+            iceCream.setCanCreateIce(buffer.get() != 0);
+            iceCream.setCanBreakIce(buffer.get() != 0);
+            String strategy = getString(buffer);
+            if (strategy != null) {
+                iceCream.setAIStrategy(IceCreamAIStrategyManager.getStrategy(strategy));
+            }
+            if (slot == 0) {
+                board.setIceCream(iceCream);
+            } else {
+                board.setSecondIceCream(iceCream);
+            }
+        }
+    }
+
+    private static void readEnemies(ByteBuffer buffer, Board board) throws IOException {
+        int count = buffer.getShort();
+        for (int i = 0; i < count; i++) {
+            byte kind = buffer.get();
+            Position pos = getPosition(buffer);
+            Enemy enemy;
+            switch (kind) {
+                case ENEMY_TROLL:
+                    enemy = new Troll(pos);
+                    break;
+                case ENEMY_POT:
+                    enemy = new Pot(pos, board);
+                    break;
+                case ENEMY_YELLOW_SQUID:
+                    enemy = new YellowSquid(pos, board);
+                    break;
+                case ENEMY_NARVAL:
+                    enemy = new Narval(pos, board);
+                    break;
+                case ENEMY_ORANGE_SQUID:
+                    enemy = new OrangeSquid(pos, board);
+                    break;
+                default:
+                    throw new IOException("Tipo de enemigo desconocido en partida: " + kind);
+            }
+            readObjectState(buffer, enemy);
+            enemy.setColor(getString(buffer));
+
+            switch (kind) {
+                case ENEMY_TROLL:
+                    Direction[] pattern = new Direction[buffer.get() & 0xFF];
+                    for (int d = 0; d < pattern.length; d++) {
+                        pattern[d] = DIRECTIONS[buffer.get()];
+                    }
+                    PatternMovement movement = new PatternMovement(pattern, buffer.getShort());
+                    movement.setCurrentStep(buffer.getInt());
+                    enemy.setMovementBehavior(movement);
+                    break;
+                case ENEMY_POT:
+                    ((Pot) enemy).restoreTurbo(buffer.get() != 0, buffer.getLong(), buffer.getLong());
+                    break;
+                case ENEMY_YELLOW_SQUID:
+                    ((YellowSquid) enemy).setIceBreakCounter(buffer.getInt());
+                    break;
+                case ENEMY_NARVAL:
+                    ((Narval) enemy).restoreCharge(buffer.get() != 0, buffer.getLong(), getDirection(buffer),
+                            buffer.getLong());
+                    break;
+                default:
+                    break;
+            }
+            board.addEnemy(enemy);
+        }
+    }
+
+    private static void readFruits(ByteBuffer buffer, Board board) throws IOException {
+        int count = buffer.getShort();
+        for (int i = 0; i < count; i++) {
+            byte kind = buffer.get();
+            Position pos = getPosition(buffer);
+            boolean collected = buffer.get() != 0;
+            Fruit fruit;
+            switch (kind) {
+                case FRUIT_GRAPE:
+                    fruit = new Grape(pos);
+                    break;
+                case FRUIT_BANANA:
+                    fruit = new Banana(pos);
+                    break;
+                case FRUIT_PINEAPPLE: {
+                    fruit = new Pineapple(pos, board);
+                    MovingFruitBehavior moving = (MovingFruitBehavior) fruit.getBehavior();
+                    moving.setCurrentDirection(getDirection(buffer));
+                    moving.restoreCounters(buffer.getInt(), buffer.getInt());
+                    break;
+                }
+                case FRUIT_CHERRY: {
+                    fruit = new Cherry(pos, board);
+                    TeleportFruitBehavior teleport = (TeleportFruitBehavior) fruit.getBehavior();
+                    teleport.setTeleportCounter(buffer.getInt());
+                    teleport.setTeleportInterval(buffer.getInt());
+                    break;
+                }
+                case FRUIT_CACTUS:
+                    fruit = new Cactus(pos);
+                    ((Cactus) fruit).restoreSpikes(buffer.get() != 0, buffer.getLong());
+                    break;
+                default:
+                    throw new IOException("Tipo de fruta desconocido en partida: " + kind);
+            }
+            fruit.restoreState(collected);
+            board.addFruit(fruit);
+        }
+    }
+
+    private static void readFogatas(ByteBuffer buffer, Board board) {
+        int count = buffer.getShort();
+        for (int i = 0; i < count; i++) {
+            Fogata fogata = new Fogata(getPosition(buffer));
+            fogata.restaurar(buffer.get() != 0, buffer.getLong());
+            board.addFogata(fogata);
+        }
+    }
+
+    private static void readObjectState(ByteBuffer buffer, GameObject object) {
+        object.restoreState(getDirection(buffer), getDirection(buffer), ACTIONS[buffer.get()], buffer.getInt(),
+                buffer.get() != 0, buffer.getLong());
+    }
+
+    private static Position getPosition(ByteBuffer buffer) {
+        return new Position(buffer.getShort(), buffer.getShort());
+    }
+
+    private static Direction getDirection(ByteBuffer buffer) {
+        byte code = buffer.get();
+        return code < 0 ? null : DIRECTIONS[code];
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Integer> getMap(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        if (size < 0) {
+            return null;
+        }
+        Map<String, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String key = getString(buffer);
+            map.put(key, buffer.getInt());
+        }
+        return map;
+    }
+
+    /**
+     * Posición y largo del contenido de cada sección de un archivo
+     */
+    private static class Sections {
+        private final int[] offset = new int[TAG_CELLS + 1];
+        private final int[] length = new int[TAG_CELLS + 1];
+
+        /**
+         * Recorre las secciones desde una posición hasta END
+         */
+        static Sections of(byte[] data, int position) {
+            Sections sections = new Sections();
+            Arrays.fill(sections.length, -1);
+            ByteBuffer buffer = ByteBuffer.wrap(data, position, data.length - 4 - position);
+            byte tag;
+            while ((tag = buffer.get()) != TAG_END) {
+                int sectionLength = buffer.getInt();
+                if (tag > 0 && tag <= TAG_CELLS) {
+                    sections.offset[tag] = buffer.position();
+                    sections.length[tag] = sectionLength;
+                }
+                buffer.position(buffer.position() + sectionLength);
+            }
+            return sections;
+        }
+
+        boolean has(byte tag) {
+            return length[tag] >= 0;
+        }
+    }
+
+    /**
+     * Buffer de escritura que crece según se necesita
+     */
+    private static class Out {
+        private ByteBuffer buffer;
+
+        Out(int capacity) {
+            buffer = ByteBuffer.allocate(capacity);
+        }
+
+        void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+
+        /**
+         * Escribe la etiqueta y reserva el largo de una sección
+         *
+         * @return Posición del largo, para endSection
+         */
+        int beginSection(byte tag) {
+            ensure(5);
+            buffer.put(tag);
+            int start = buffer.position();
+            buffer.putInt(0);
+            return start;
+        }
+
+        void endSection(int start) {
+            buffer.putInt(start, buffer.position() - start - 4);
+        }
+
+        void putString(String value) {
+            if (value == null) {
+                ensure(2);
+                buffer.putShort((short) -1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(2 + bytes.length);
+            buffer.putShort((short) bytes.length);
+            buffer.put(bytes);
+        }
+
+        void putMap(Map<String, Integer> map) {
+            ensure(4);
+            if (map == null) {
+                buffer.putInt(-1);
+                return;
+            }
+            buffer.putInt(map.size());
+            for (Map.Entry<String, Integer> entry : map.entrySet()) {
+                putString(entry.getKey());
+                ensure(4);
+                buffer.putInt(entry.getValue() != null ? entry.getValue() : 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package Domain;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Escritor de partidas en segundo plano
+ * El hilo del juego solo toma la instantánea (SaveCodec.encode, unos
+ * microsegundos); la escritura a disco y la limpieza de autoguardados se
+ * hacen en un único hilo "guardado-partidas", en orden de llegada, para que
+ * el game loop no se detenga esperando la E/S.
+ *
+ * Cada archivo se escribe en un temporal y se mueve con ATOMIC_MOVE (ver
+ * SaveCodec.writeAtomically): si el programa se cierra a mitad de escritura
+ * queda la partida anterior intacta. El hilo es daemon, así que al salir
+ * (System.exit o cierre de la ventana) un gancho de cierre espera hasta
+ * SHUTDOWN_WAIT_MS a que se escriba lo que quedó en cola.
+ *
+ * Configuración (propiedades del sistema):
+ * - badicecream.autosaveSeconds: segundos de juego entre autoguardados
+ * (60 por defecto; 0 los desactiva)
+ * - badicecream.autosaveKeep: autoguardados que se conservan (3 por defecto)
+ */
+public class SaveWriter {
+
+    public static final String AUTOSAVE_PREFIX = "autosave_";
+    public static final int AUTOSAVE_INTERVAL_SECONDS = Integer.getInteger("badicecream.autosaveSeconds", 60);
+    public static final int AUTOSAVE_KEEP = Math.max(1, Integer.getInteger("badicecream.autosaveKeep", 3));
+    private static final long SHUTDOWN_WAIT_MS = 3000;
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "guardado-partidas");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        try {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                if (!flush(SHUTDOWN_WAIT_MS)) {
+                    GameLog.warn("Guardados pendientes sin terminar al salir");
+                }
+            }, "guardado-partidas-cierre"));
+        } catch (IllegalStateException shuttingDown) {
+            // La JVM ya está cerrando
+        }
+    }
+
+    private SaveWriter() {
+    }
+
+    /**
+     * Encola la escritura de una partida ya codificada
+     *
+     * @return Futuro que se completa con true si se escribió
+     */
+    public static CompletableFuture<Boolean> write(byte[] data, Path file) {
+        return CompletableFuture.supplyAsync(() -> writeNow(data, file), WRITER);
+    }
+
+    /**
+     * Encola bytes para agregar al final de un archivo (se crea si no existe)
+     * Lo usa el diario de instantáneas (ver SnapshotJournal)
+     *
+     * @return Futuro que se completa con true si se escribió
+     */
+    public static CompletableFuture<Boolean> append(byte[] data, Path file) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Files.write(file, data, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                return true;
+            } catch (IOException e) {
+                GameLog.error("Error al escribir el diario: " + e.getMessage());
+                return false;
+            }
+        }, WRITER);
+    }
+
+    /**
+     * Encola un autoguardado y, después de escribirlo, borra los
+     * autoguardados más viejos de la carpeta dejando los últimos "keep"
+     *
+     * @return Futuro que se completa con true si se escribió
+     */
+    public static CompletableFuture<Boolean> writeAutosave(byte[] data, Path file, int keep) {
+        return CompletableFuture.supplyAsync(() -> {
+            boolean written = writeNow(data, file);
+            Path parent = file.toAbsolutePath().getParent();
+            if (written && parent != null) {
+                pruneAutosaves(parent.toFile(), keep);
+            }
+            return written;
+        }, WRITER);
+    }
+
+    /**
+     * Espera a que terminen las escrituras encoladas hasta ahora
+     */
+    public static void flush() {
+        CompletableFuture.runAsync(() -> {
+        }, WRITER).join();
+    }
+
+    /**
+     * Espera como mucho timeoutMillis a que terminen las escrituras encoladas
+     *
+     * @return true si terminaron a tiempo
+     */
+    public static boolean flush(long timeoutMillis) {
+        try {
+            CompletableFuture.runAsync(() -> {
+            }, WRITER).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Borra los autoguardados más viejos de una carpeta
+     * Los nombres llevan la fecha (autosave_AAAAMMDD_HHMMSS.dat), así que el
+     * orden alfabético es el cronológico.
+     *
+     * @return Cantidad de archivos borrados
+     */
+    public static int pruneAutosaves(File directory, int keep) {
+        File[] files = directory.listFiles(
+                (dir, name) -> name.startsWith(AUTOSAVE_PREFIX) && name.endsWith(".dat"));
+        if (files == null || files.length <= keep) {
+            return 0;
+        }
+        Arrays.sort(files, (a, b) -> b.getName().compareTo(a.getName()));
+        int deleted = 0;
+        for (int i = Math.max(0, keep); i < files.length; i++) {
+            if (files[i].delete()) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private static boolean writeNow(byte[] data, Path file) {
+        try {
+            SaveCodec.writeAtomically(data, file);
+            return true;
+        } catch (IOException e) {
+            GameLog.error("Error al guardar la partida: " + e.getMessage());
+            return false;
+        }
+    }
+}
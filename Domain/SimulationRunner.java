@@ -0,0 +1,137 @@
+package Domain;
+
+import java.util.Map;
+
+/**
+ * Ejecutor de partidas Machine vs Machine sin interfaz gráfica
+ * Construye un Game en modo MVM a partir de un Level y una estrategia de IA
+ * para el helado, y avanza Game.update() tan rápido como permita la CPU
+ * (sin GameController, GamePanel ni Swing Timer).
+ *
+ * Uso:
+ * SimulationRunner.Result r = new SimulationRunner(Level.createLevel1(), "Expert").run();
+ */
+public class SimulationRunner {
+
+    // Margen de seguridad sobre el límite de tiempo del nivel
+    private static final int EXTRA_SECONDS = 5;
+
+    private final Level level;
+    private final String strategyName;
+    private String iceCreamFlavor;
+    private Map<String, Integer> enemyConfig;
+    private Map<String, Integer> fruitConfig;
+    private long maxTicks;
+    private Long seed;
+
+    /**
+     * @param level        Nivel a simular
+     * @param strategyName Nombre de la estrategia del helado (ver
+     *                     IceCreamAIStrategyManager)
+     */
+    public SimulationRunner(Level level, String strategyName) {
+        if (level == null) {
+            throw new IllegalArgumentException("El nivel no puede ser nulo");
+        }
+        if (IceCreamAIStrategyManager.getStrategy(strategyName) == null) {
+            throw new IllegalArgumentException("Estrategia de IA desconocida: " + strategyName);
+        }
+        this.level = level;
+        this.strategyName = strategyName;
+        this.iceCreamFlavor = "CHOCOLATE";
+        this.maxTicks = (long) (level.getTimeLimit() + EXTRA_SECONDS) * 1000 / GameClock.TICK_MS;
+    }
+
+    public SimulationRunner setIceCreamFlavor(String iceCreamFlavor) {
+        this.iceCreamFlavor = iceCreamFlavor;
+        return this;
+    }
+
+    /**
+     * Enemigos personalizados (reemplazan los del nivel), ej. {"Narval": 2}
+     */
+    public SimulationRunner setEnemyConfig(Map<String, Integer> enemyConfig) {
+        this.enemyConfig = enemyConfig;
+        return this;
+    }
+
+    /**
+     * Frutas personalizadas (reemplazan las del nivel)
+     */
+    public SimulationRunner setFruitConfig(Map<String, Integer> fruitConfig) {
+        this.fruitConfig = fruitConfig;
+        return this;
+    }
+
+    /**
+     * Límite de ticks por partida (por defecto el tiempo del nivel más un margen)
+     */
+    public SimulationRunner setMaxTicks(long maxTicks) {
+        this.maxTicks = maxTicks;
+        return this;
+    }
+
+    /**
+     * Semilla del azar (posiciones de frutas, enemigos): con la misma semilla
+     * la partida se repite exactamente
+     */
+    public SimulationRunner setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Ejecuta una partida completa
+     */
+    public Result run() {
+        Game game = new Game(GameMode.MVM, iceCreamFlavor, null, null, enemyConfig, fruitConfig, null);
+        game.setIceCreamAIStrategy(strategyName);
+        game.setClock(new GameClock(0));
+        if (seed != null) {
+            game.setSeed(seed);
+        }
+        game.startLevel(level);
+
+        long ticks = 0;
+        while (game.getGameState() == GameState.PLAYING && ticks < maxTicks) {
+            game.update();
+            ticks++;
+        }
+
+        Board board = game.getBoard();
+        int totalFruits = board.getFruits().size();
+        int collected = totalFruits - board.getRemainingFruits();
+        return new Result(strategyName, game.getGameState() == GameState.WON, game.getGameState(),
+                game.getScore(), ticks, collected, totalFruits);
+    }
+
+    /**
+     * Resultado de una partida simulada
+     */
+    public static class Result {
+        public final String strategyName;
+        public final boolean won;
+        public final GameState finalState; // WON, LOST o PLAYING si se agotaron los ticks
+        public final int score;
+        public final long ticks;
+        public final int fruitsCollected;
+        public final int totalFruits;
+
+        public Result(String strategyName, boolean won, GameState finalState, int score, long ticks,
+                int fruitsCollected, int totalFruits) {
+            this.strategyName = strategyName;
+            this.won = won;
+            this.finalState = finalState;
+            this.score = score;
+            this.ticks = ticks;
+            this.fruitsCollected = fruitsCollected;
+            this.totalFruits = totalFruits;
+        }
+
+        @Override
+        public String toString() {
+            return strategyName + ": " + (won ? "GANÓ" : "PERDIÓ") + " | puntaje=" + score + " | ticks=" + ticks
+                    + " | frutas=" + fruitsCollected + "/" + totalFruits;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package Domain;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Instantáneas de la partida para autoguardar y retroceder
+ * Cada cierto tiempo de juego se guarda una instantánea en un buffer
+ * circular en memoria. La primera de cada tramo es un keyframe (la partida
+ * completa de SaveCodec.encode) y las siguientes son deltas contra ese
+ * keyframe: puntaje, tiempo y reloj, las celdas cuyo terreno cambió (Board
+ * las va marcando) y las tablas de entidades que difieren. Un delta ocupa
+ * pocos cientos de bytes y se toma sin volver a recorrer el tablero.
+ *
+ * Opcionalmente las instantáneas se escriben en un diario en saves/ (en
+ * segundo plano, con SaveWriter): cada keyframe reemplaza el diario y cada
+ * delta se agrega al final, así el archivo no crece sin límite y con el
+ * último keyframe y el último delta se recupera la partida (ver recover).
+ *
+ * Configuración (propiedades del sistema):
+ * - badicecream.snapshotMillis: milisegundos de juego entre instantáneas
+ * (1000 por defecto)
+ * - badicecream.rewindSeconds: segundos que se pueden retroceder (10)
+ * - badicecream.keyframeEvery: deltas entre keyframes (30)
+ * - badicecream.journal: true para escribir saves/journal.bin
+ */
+public class SnapshotJournal {
+
+    public static final int SNAPSHOT_MILLIS = Math.max(1, Integer.getInteger("badicecream.snapshotMillis", 1000));
+    public static final int REWIND_SECONDS = Math.max(1, Integer.getInteger("badicecream.rewindSeconds", 10));
+    public static final int KEYFRAME_EVERY = Math.max(1, Integer.getInteger("badicecream.keyframeEvery", 30));
+    public static final boolean JOURNAL_ENABLED = Boolean.getBoolean("badicecream.journal");
+    public static final String JOURNAL_FILE = "journal.bin";
+
+    // Registros del diario: tipo (byte), tiempo de juego (long), largo (int)
+    private static final byte RECORD_KEYFRAME = 0;
+    private static final byte RECORD_DELTA = 1;
+    private static final int RECORD_HEADER = 1 + 8 + 4;
+
+    /**
+     * Una instantánea del buffer
+     */
+    public static class Snapshot {
+        private final long time;
+        private final byte[] keyframe;
+        private final byte[] delta; // null si es un keyframe
+
+        Snapshot(long time, byte[] keyframe, byte[] delta) {
+            this.time = time;
+            this.keyframe = keyframe;
+            this.delta = delta;
+        }
+
+        /**
+         * Tiempo de juego (GameClock) en que se tomó
+         */
+        public long getTime() {
+            return time;
+        }
+
+        public boolean isKeyframe() {
+            return delta == null;
+        }
+
+        /**
+         * Bytes propios de la instantánea (el keyframe se comparte)
+         */
+        public int getSize() {
+            return delta != null ? delta.length : keyframe.length;
+        }
+
+        /**
+         * Partida completa en el formato de SaveCodec
+         */
+        byte[] toSave() throws IOException {
+            return delta == null ? keyframe : SaveCodec.applyDelta(keyframe, delta);
+        }
+    }
+
+    private final Snapshot[] ring;
+    private int head; // Próxima posición a escribir
+    private int count;
+    private final Path journal;
+
+    private Board trackedBoard; // Tablero de las instantáneas actuales
+    private byte[] keyframe;
+    private int deltasSinceKeyframe;
+
+    /**
+     * Instantáneas con la configuración por defecto
+     */
+    public SnapshotJournal() {
+        this(REWIND_SECONDS * 1000 / SNAPSHOT_MILLIS + 1,
+                JOURNAL_ENABLED ? Paths.get("saves", JOURNAL_FILE) : null);
+    }
+
+    /**
+     * @param capacity Instantáneas que se conservan en memoria
+     * @param journal  Diario en disco, o null para no escribirlo
+     */
+    public SnapshotJournal(int capacity, Path journal) {
+        this.ring = new Snapshot[Math.max(1, capacity)];
+        this.journal = journal;
+    }
+
+    /**
+     * Toma una instantánea de la partida
+     * Un tablero nuevo (otro nivel o reinicio) descarta las anteriores.
+     *
+     * @return La instantánea, o null si la partida no tiene tablero
+     */
+    public Snapshot capture(Game game) throws IOException {
+        Board board = game.getBoard();
+        if (board == null) {
+            return null;
+        }
+        if (board != trackedBoard) {
+            clear();
+            trackedBoard = board;
+        }
+
+        long time = game.getClock().now();
+        Snapshot snapshot = null;
+        if (keyframe != null && deltasSinceKeyframe < KEYFRAME_EVERY) {
+            byte[] delta = SaveCodec.encodeDelta(game, keyframe, board.getChangedCells());
+            // Un delta que no ahorra nada empieza un tramo nuevo
+            if (delta.length < keyframe.length) {
+                deltasSinceKeyframe++;
+                snapshot = new Snapshot(time, keyframe, delta);
+                writeRecord(RECORD_DELTA, time, delta);
+            }
+        }
+        if (snapshot == null) {
+            keyframe = SaveCodec.encode(game);
+            board.clearChangedCells();
+            deltasSinceKeyframe = 0;
+            snapshot = new Snapshot(time, keyframe, null);
+            writeRecord(RECORD_KEYFRAME, time, keyframe);
+        }
+
+        ring[head] = snapshot;
+        head = (head + 1) % ring.length;
+        count = Math.min(count + 1, ring.length);
+        return snapshot;
+    }
+
+    /**
+     * Vuelve la partida a como estaba hace unos milisegundos de juego
+     * Se usa la instantánea más reciente tomada hasta ese momento (o la más
+     * vieja que quede) y se descartan las posteriores.
+     *
+     * @return true si se retrocedió
+     */
+    public boolean rewind(Game game, long millis) throws IOException {
+        if (count == 0) {
+            return false;
+        }
+        long target = game.getClock().now() - millis;
+        int chosen = 0; // Orden desde la más vieja
+        for (int i = count - 1; i >= 0; i--) {
+            if (get(i).getTime() <= target) {
+                chosen = i;
+                break;
+            }
+        }
+
+        Snapshot snapshot = get(chosen);
+        Game past = SaveCodec.decode(ByteBuffer.wrap(snapshot.toSave()), "instantánea");
+        game.restoreState(past.getCurrentLevel(), past.getBoard(), past.getGameState(), past.getScore(),
+                past.getRemainingTime(), past.getClock(), past.getLastUpdateTime());
+
+        // El estado restaurado pasa a ser el keyframe de un tramo nuevo
+        for (int i = chosen; i < count; i++) {
+            ring[(head - count + i + ring.length) % ring.length] = null;
+        }
+        head = (head - (count - chosen) + ring.length) % ring.length;
+        count = chosen;
+        trackedBoard = game.getBoard();
+        keyframe = null;
+        capture(game);
+        return true;
+    }
+
+    /**
+     * Instantánea por antigüedad (0 es la más vieja)
+     */
+    public Snapshot get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Instantánea inexistente: " + index);
+        }
+        return ring[(head - count + index + ring.length) % ring.length];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Descarta todas las instantáneas (la próxima será un keyframe)
+     */
+    public void clear() {
+        Arrays.fill(ring, null);
+        head = 0;
+        count = 0;
+        keyframe = null;
+        deltasSinceKeyframe = 0;
+    }
+
+    private void writeRecord(byte type, long time, byte[] data) {
+        if (journal == null) {
+            return;
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + data.length);
+        record.put(type).putLong(time).putInt(data.length).put(data);
+        if (type == RECORD_KEYFRAME) {
+            SaveWriter.write(record.array(), journal);
+        } else {
+            SaveWriter.append(record.array(), journal);
+        }
+    }
+
+    /**
+     * Recupera la última instantánea de un diario
+     * Un registro incompleto al final (cierre a mitad de escritura) se
+     * ignora; si el último delta está corrupto se usa solo el keyframe.
+     *
+     * @return Partida, o null si el diario no tiene un keyframe
+     * @throws IOException Si no se puede leer el diario o el keyframe
+     */
+    public static Game recover(Path journal) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(journal));
+        byte[] keyframe = null;
+        byte[] delta = null;
+        while (data.remaining() >= RECORD_HEADER) {
+            byte type = data.get();
+            data.getLong();
+            int length = data.getInt();
+            if (length < 0 || length > data.remaining()) {
+                break;
+            }
+            byte[] bytes = new byte[length];
+            data.get(bytes);
+            if (type == RECORD_KEYFRAME) {
+                keyframe = bytes;
+                delta = null;
+            } else if (keyframe != null) {
+                delta = bytes;
+            }
+        }
+        if (keyframe == null) {
+            return null;
+        }
+
+        byte[] save = keyframe;
+        if (delta != null) {
+            try {
+                save = SaveCodec.applyDelta(keyframe, delta);
+            } catch (IOException e) {
+                GameLog.error("Delta del diario descartado: " + e.getMessage());
+            }
+        }
+        return SaveCodec.decode(ByteBuffer.wrap(save), journal.toString());
+    }
+}
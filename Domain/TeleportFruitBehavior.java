@@ -1,7 +1,5 @@
 package Domain;
 
-import java.util.List;
-
 /**
  * Comportamiento para frutas que se teletransportan aleatoriamente
  * Usado por Cereza
@@ -40,15 +38,8 @@ public class TeleportFruitBehavior implements FruitBehavior {
         teleportCounter = 0;
 
         // Obtener una posición aleatoria válida del tablero
-        if (board != null) {
-            List<Position> validPositions = board.getEmptyPositions();
-            if (!validPositions.isEmpty()) {
-                int randomIndex = (int) (Math.random() * validPositions.size());
-                return validPositions.get(randomIndex);
-            }
-        }
-
-        return null; // No hay posiciones disponibles
+        // (null si no hay posiciones disponibles)
+        return board != null ? board.getRandomEmptyPosition(GameClock.random()) : null;
     }
 
     @Override
@@ -56,6 +47,14 @@ public class TeleportFruitBehavior implements FruitBehavior {
         teleportCounter = 0;
     }
 
+    int getTeleportCounter() {
+        return teleportCounter;
+    }
+
+    void setTeleportCounter(int teleportCounter) {
+        this.teleportCounter = teleportCounter;
+    }
+
     public int getTeleportInterval() {
         return teleportInterval;
     }
@@ -0,0 +1,258 @@
+package Domain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Torneo de estrategias de IA del helado
+ * Enfrenta cada estrategia registrada en IceCreamAIStrategyManager contra cada
+ * nivel de LevelManager y cada tipo de enemigo, repartiendo las partidas
+ * (SimulationRunner) en un ForkJoinPool con todos los núcleos. Cada partida
+ * usa su propia copia del nivel y su propio Board.
+ *
+ * Uso desde consola: java Domain.Tournament [partidas por combinación] [archivo.csv]
+ */
+public class Tournament {
+
+    public static final String[] ENEMY_TYPES = { "Troll", "Pot", "YellowSquid", "Narval" };
+
+    private final List<String> strategies;
+    private final List<Level> levels;
+    private final List<String> enemyTypes;
+    private int gamesPerMatchup;
+    private int parallelism;
+
+    /**
+     * Torneo con todas las estrategias, niveles y tipos de enemigo
+     */
+    public Tournament() {
+        this(Arrays.asList(IceCreamAIStrategyManager.getAvailableStrategies()), allLevels(),
+                Arrays.asList(ENEMY_TYPES));
+    }
+
+    public Tournament(List<String> strategies, List<Level> levels, List<String> enemyTypes) {
+        this.strategies = new ArrayList<>(strategies);
+        this.levels = new ArrayList<>(levels);
+        this.enemyTypes = new ArrayList<>(enemyTypes);
+        this.gamesPerMatchup = 1;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Niveles 1..LevelManager.getTotalNiveles() tal como los juega Game
+     */
+    private static List<Level> allLevels() {
+        List<Level> levels = new ArrayList<>();
+        for (int i = 1; i <= LevelManager.getTotalNiveles(); i++) {
+            levels.add(Level.createLevel(i));
+        }
+        return levels;
+    }
+
+    /**
+     * Partidas por cada combinación estrategia × nivel × enemigo
+     */
+    public Tournament setGamesPerMatchup(int gamesPerMatchup) {
+        this.gamesPerMatchup = Math.max(1, gamesPerMatchup);
+        return this;
+    }
+
+    /**
+     * Cantidad de hilos del pool (por defecto todos los núcleos)
+     */
+    public Tournament setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        return this;
+    }
+
+    /**
+     * Ejecuta todas las partidas y devuelve la tabla de posiciones ordenada
+     */
+    public List<Standing> run() throws GameException {
+        // Cada partida recibe una copia profunda del nivel (partidas aisladas)
+        List<byte[]> levelData = new ArrayList<>();
+        for (Level level : levels) {
+            levelData.add(serialize(level));
+        }
+
+        List<Callable<SimulationRunner.Result>> matches = new ArrayList<>();
+        for (String strategy : strategies) {
+            for (int l = 0; l < levels.size(); l++) {
+                final byte[] data = levelData.get(l);
+                for (String enemyType : enemyTypes) {
+                    final int enemies = Math.max(1, levels.get(l).getEnemyConfigs().size());
+                    for (int g = 0; g < gamesPerMatchup; g++) {
+                        matches.add(() -> {
+                            Map<String, Integer> enemyConfig = new HashMap<>();
+                            enemyConfig.put(enemyType, enemies);
+                            return new SimulationRunner(deserialize(data), strategy)
+                                    .setEnemyConfig(enemyConfig)
+                                    .run();
+                        });
+                    }
+                }
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Map<String, Standing> table = new LinkedHashMap<>();
+            for (String strategy : strategies) {
+                table.put(strategy, new Standing(strategy));
+            }
+            for (Future<SimulationRunner.Result> future : pool.invokeAll(matches)) {
+                SimulationRunner.Result result = future.get();
+                table.get(result.strategyName).add(result);
+            }
+
+            List<Standing> leaderboard = new ArrayList<>(table.values());
+            Collections.sort(leaderboard, (a, b) -> {
+                int cmp = Double.compare(b.getWinRate(), a.getWinRate());
+                return cmp != 0 ? cmp : Double.compare(b.getMeanScore(), a.getMeanScore());
+            });
+            return leaderboard;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GameException("Torneo interrumpido", GameException.ErrorCode.GAMEPLAY_ERROR, e);
+        } catch (ExecutionException e) {
+            throw new GameException("Error en una partida del torneo: " + e.getCause(),
+                    GameException.ErrorCode.GAMEPLAY_ERROR, e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Escribe la tabla de posiciones en formato CSV
+     */
+    public static void writeCsv(List<Standing> leaderboard, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("posicion,estrategia,partidas,victorias,tasa_victoria,puntaje_medio,ticks_medios_victoria,frutas_medias");
+            int position = 1;
+            for (Standing s : leaderboard) {
+                out.println(String.format(Locale.ROOT, "%d,%s,%d,%d,%.4f,%.2f,%.1f,%.2f",
+                        position++, s.getStrategyName(), s.getGames(), s.getWins(), s.getWinRate(),
+                        s.getMeanScore(), s.getMeanTicksToClear(), s.getMeanFruitsCollected()));
+            }
+        }
+    }
+
+    private static byte[] serialize(Level level) throws GameException {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(level);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new GameException("No se pudo copiar el nivel", GameException.ErrorCode.LEVEL_LOAD_ERROR, e);
+        }
+    }
+
+    private static Level deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return (Level) in.readObject();
+        }
+    }
+
+    /**
+     * Fila de la tabla de posiciones (acumulado de una estrategia)
+     */
+    public static class Standing {
+        private final String strategyName;
+        private int games;
+        private int wins;
+        private long totalScore;
+        private long totalTicksToClear; // Solo partidas ganadas
+        private long totalFruits;
+
+        public Standing(String strategyName) {
+            this.strategyName = strategyName;
+        }
+
+        void add(SimulationRunner.Result result) {
+            games++;
+            totalScore += result.score;
+            totalFruits += result.fruitsCollected;
+            if (result.won) {
+                wins++;
+                totalTicksToClear += result.ticks;
+            }
+        }
+
+        public String getStrategyName() {
+            return strategyName;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        public double getWinRate() {
+            return games == 0 ? 0 : (double) wins / games;
+        }
+
+        public double getMeanScore() {
+            return games == 0 ? 0 : (double) totalScore / games;
+        }
+
+        /**
+         * Promedio de ticks para limpiar el nivel (0 si nunca ganó)
+         */
+        public double getMeanTicksToClear() {
+            return wins == 0 ? 0 : (double) totalTicksToClear / wins;
+        }
+
+        public double getMeanFruitsCollected() {
+            return games == 0 ? 0 : (double) totalFruits / games;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-10s partidas=%d victorias=%.1f%% puntaje=%.1f ticks=%.0f",
+                    strategyName, games, getWinRate() * 100, getMeanScore(), getMeanTicksToClear());
+        }
+    }
+
+    public static void main(String[] args) throws IOException, GameException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Path file = Paths.get(args.length > 1 ? args[1] : "tournament.csv");
+
+        long start = System.currentTimeMillis();
+        List<Standing> leaderboard = new Tournament().setGamesPerMatchup(games).run();
+        writeCsv(leaderboard, file);
+
+        System.out.println("\n===== TABLA DE POSICIONES =====");
+        for (Standing s : leaderboard) {
+            System.out.println(s);
+        }
+        System.out.println("Torneo completado en " + (System.currentTimeMillis() - start) + " ms -> " + file);
+    }
+}
@@ -37,11 +37,11 @@ public class YellowSquid extends Enemy {
         if (breakInteractionCounter >= BREAK_INTERACTIONS_NEEDED) {
             // Romper un bloque
             breakIceBlock();
-            System.out.println("🟡 Calamar: Bloque de hielo roto!");
+            GameLog.debug("🟡 Calamar: Bloque de hielo roto!");
             // Resetear el contador
             breakInteractionCounter = 0;
         } else {
-            System.out.println("🟡 Calamar: " + breakInteractionCounter + "/" + BREAK_INTERACTIONS_NEEDED);
+            GameLog.debug(() -> "🟡 Calamar: " + breakInteractionCounter + "/" + BREAK_INTERACTIONS_NEEDED);
         }
     }
 
@@ -53,6 +53,10 @@ public class YellowSquid extends Enemy {
         breakInteractionCounter = 0;
     }
 
+    void setIceBreakCounter(int counter) {
+        breakInteractionCounter = counter;
+    }
+
     /**
      * Actualiza el proveedor de estado (necesario para persistencia)
      */
@@ -32,7 +32,12 @@ public class YellowSquidAI implements AI, Serializable {
         Position targetPos = iceCream.getPosition();
 
         // Obtener todas las direcciones ordenadas por proximidad al objetivo
+        // (primero el paso del camino más corto, que puede atravesar hielo)
         Direction[] directionsByProximity = getDirectionsByProximity(squidPos, targetPos);
+        Direction step = board.getNextStepToward(squidPos, targetPos, true);
+        if (step != null) {
+            directionsByProximity = prepend(step, directionsByProximity);
+        }
 
         // Intentar moverse en cada dirección, priorizando las más cercanas al objetivo
         for (Direction dir : directionsByProximity) {
@@ -56,6 +61,21 @@ public class YellowSquidAI implements AI, Serializable {
         return currentDirection;
     }
 
+    /**
+     * Pone una dirección al inicio de la lista de prioridades
+     */
+    private Direction[] prepend(Direction first, Direction[] directions) {
+        Direction[] result = new Direction[directions.length];
+        result[0] = first;
+        int index = 1;
+        for (Direction d : directions) {
+            if (d != first && d != null && index < result.length) {
+                result[index++] = d;
+            }
+        }
+        return result;
+    }
+
     /**
      * Destruir bloque de hielo activando la habilidad
      */
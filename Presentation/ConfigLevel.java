@@ -46,7 +46,7 @@ public class ConfigLevel extends JFrame {
             {
                 File archivoFondo = new File(rutaFondo);
                 if (archivoFondo.exists()) {
-                    ImageIcon icon = new ImageIcon(archivoFondo.getAbsolutePath());
+                    ImageIcon icon = ImageLoader.getMenuIcon(archivoFondo.getAbsolutePath());
                     imagenFondo = icon.getImage();
                 }
             }
@@ -193,7 +193,7 @@ public class ConfigLevel extends JFrame {
         boton.setFocusPainted(false);
 
         if (archivoBack.exists()) {
-            ImageIcon iconoNormal = new ImageIcon(rutaBack);
+            ImageIcon iconoNormal = ImageLoader.getMenuIcon(rutaBack);
             double escala = 0.15;
             int nuevoAncho = Math.max(1, (int) (iconoNormal.getIconWidth() * escala));
             int nuevoAlto = Math.max(1, (int) (iconoNormal.getIconHeight() * escala));
@@ -203,7 +203,7 @@ public class ConfigLevel extends JFrame {
             boton.setPreferredSize(new Dimension(anchoInteraccion, altoInteraccion));
             boton.setBounds(300, 460, anchoInteraccion, altoInteraccion);
 
-            Image imagenNormal = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto,
+            Image imagenNormal = ImageLoader.getScaledMenuImage(iconoNormal.getImage(), nuevoAncho, nuevoAlto,
                     Image.SCALE_SMOOTH);
             ImageIcon iconoEscalado = new ImageIcon(imagenNormal);
             boton.setIcon(iconoEscalado);
@@ -214,8 +214,8 @@ public class ConfigLevel extends JFrame {
                 @Override
                 public void mouseEntered(MouseEvent e) {
                     if (iconoHover == null) {
-                        Image imagenHover = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto,
-                                Image.SCALE_SMOOTH);
+                        Image imagenHover = ImageLoader.getScaledMenuImage(iconoNormal.getImage(),
+                                nuevoAncho, nuevoAlto, Image.SCALE_SMOOTH);
                         iconoHover = new ImageIcon(imagenHover);
                     }
                     boton.setIcon(iconoHover);
@@ -56,7 +56,7 @@ public class FruitConfigurationMenu extends JFrame {
             {
                 File archivoFondo = new File(rutaFondo);
                 if (archivoFondo.exists()) {
-                    ImageIcon icon = new ImageIcon(archivoFondo.getAbsolutePath());
+                    ImageIcon icon = ImageLoader.getMenuIcon(archivoFondo.getAbsolutePath());
                     imagenFondo = icon.getImage();
                 }
             }
@@ -5,6 +5,11 @@ import Controller.ViewData;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -45,8 +50,55 @@ public class GamePanel extends JPanel {
     private Rectangle pauseSaveBtnHitbox;
     private Rectangle pauseMenuBtnHitbox;
 
+    // Capa estática (fondo + muros + bloques de hielo fijos) pre-renderizada
+    // en bloques de CHUNK_CELLS x CHUNK_CELLS celdas, armados a medida que
+    // entran en la vista. Se descartan todos cuando cambia su versión
+    // (ViewData.staticVersion). Clave: fila de bloque * bloques por fila + columna.
+    private final Map<Integer, BufferedImage> staticChunks = new HashMap<>();
+    private int staticLayerVersion;
+
+    // Vista del tablero: la cámara (esquina superior izquierda, en píxeles
+    // del tablero) sigue al helado cuando el tablero no entra en la vista
+    private int cameraX;
+    private int cameraY;
+    private int viewWidth;
+    private int viewHeight;
+    private int firstVisibleCol;
+    private int lastVisibleCol;
+    private int firstVisibleRow;
+    private int lastVisibleRow;
+    private int lastCameraX = -1;
+    private int lastCameraY = -1;
+
+    // Elementos de la última lista consultada que caen en los bloques
+    // visibles (índices de la lista, ver collectVisible)
+    private int[] visibleItems = new int[64];
+
+    // Estado del frame anterior para calcular las regiones sucias
+    // (rectángulos y conjuntos reutilizados: se intercambian en cada tick).
+    // Los conjuntos de hielo son de celdas de la vista (con su margen), no
+    // del tablero: solo se comparan mientras la cámara no se mueve.
+    private List<Rectangle> dynamicBounds = new ArrayList<>();
+    private List<Rectangle> lastDynamicBounds = new ArrayList<>();
+    private int dynamicCount;
+    private int lastDynamicCount;
+    private BitSet iceBlockCells = new BitSet();
+    private BitSet lastIceBlocks = new BitSet();
+    private final BitSet changedCells = new BitSet();
+    private String lastState;
+    private int lastScore = -1;
+    private int lastRemainingTime = -1;
+    private int lastRemainingFruits = -1;
+    private boolean fullRepaintPending = true;
+
+    // Instante de animación del frame que se está pintando (frames de los GIF)
+    private long animationTime;
+
+    // Atlas de sprites del tamaño de celda actual
+    private SpriteAtlas atlas;
+
     // Configuración visual
-    private static final int CELL_SIZE = 40;
+    static final int CELL_SIZE = 40;
     private static final int UI_HEIGHT = 100;
     private static final int BUTTON_WIDTH = 120;
     private static final int BUTTON_HEIGHT = 40;
@@ -55,6 +107,13 @@ public class GamePanel extends JPanel {
     private static final int PAUSE_BUTTON_HEIGHT = 50;
     private static final int PAUSE_BUTTON_MARGIN = 20;
 
+    // Tamaño máximo de la vista (en celdas) y de los bloques de la capa
+    // estática; los niveles normales entran enteros y la cámara no se mueve
+    private static final int MAX_VIEW_COLS = 24;
+    private static final int MAX_VIEW_ROWS = 16;
+    private static final int CHUNK_CELLS = ViewData.ChunkIndex.CHUNK_CELLS;
+    private static final int MAX_CACHED_CHUNKS = 24;
+
     // Panel de frutas
     private static final int FRUIT_PANEL_HEIGHT = 80;
     private static final int FRUIT_ICON_SIZE = 28;
@@ -62,6 +121,16 @@ public class GamePanel extends JPanel {
     private static final Color FRUIT_PANEL_BG = new Color(255, 248, 220);
     private static final Color FRUIT_PANEL_BORDER = new Color(139, 69, 19);
 
+    // Overlay del perfil de frames (F3)
+    private static final int PROFILE_WIDTH = 330;
+    private static final int PROFILE_LINE_HEIGHT = 15;
+    private static final int PROFILE_MARGIN = 10;
+    private static final long FRAME_BUDGET_NANOS = 16_000_000L;
+    private static final Font PROFILE_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color PROFILE_BG = new Color(0, 0, 0, 190);
+    private static final Color PROFILE_OVER_BUDGET = new Color(255, 120, 120);
+    private final Rectangle profileBounds = new Rectangle();
+
     // Colores
     private static final Color COLOR_BACKGROUND = new Color(230, 230, 250);
     private static final Color COLOR_WALL = new Color(128, 128, 128); // Gris para muros
@@ -129,7 +198,7 @@ public class GamePanel extends JPanel {
      * Maneja los clics del mouse para detectar botones
      */
     private void handleMouseClick(java.awt.event.MouseEvent e) {
-        ViewData viewData = controller.getViewData();
+        ViewData viewData = controller.getPublishedViewData();
 
         if (viewData != null && "PLAYING".equals(viewData.gameState)) {
             int buttonX = getWidth() - BUTTON_WIDTH - BUTTON_MARGIN;
@@ -199,13 +268,14 @@ public class GamePanel extends JPanel {
     }
 
     /**
-     * Actualiza el tamaño del panel según el tamaño del tablero
+     * Actualiza el tamaño del panel según el tamaño de la vista del tablero
      */
     private void updatePanelSize() {
-        ViewData viewData = controller.getViewData();
+        ViewData viewData = controller.getPublishedViewData();
         if (viewData != null && viewData.boardWidth > 0 && viewData.boardHeight > 0) {
-            int width = viewData.boardWidth * CELL_SIZE;
-            int height = viewData.boardHeight * CELL_SIZE + UI_HEIGHT + FRUIT_PANEL_HEIGHT;
+            updateViewport(viewData);
+            int width = viewWidth;
+            int height = viewHeight + UI_HEIGHT + FRUIT_PANEL_HEIGHT;
             setPreferredSize(new Dimension(width, height));
         } else {
             setPreferredSize(new Dimension(600, 620));
@@ -217,14 +287,19 @@ public class GamePanel extends JPanel {
         super.paintComponent(g);
 
         // Obtener ViewData del controller (no Domain directamente)
-        ViewData viewData = controller.getViewData();
+        // Se usa el último publicado por el game loop: volver a capturarlo
+        // avanzaría la interpolación visual dos veces en el mismo tick
+        ViewData viewData = controller.getPublishedViewData();
         if (viewData == null || viewData.boardWidth == 0) {
             drawMessage(g, "Cargando.. .");
             return;
         }
 
+        long paintStart = System.nanoTime();
         Graphics2D g2d = (Graphics2D) g;
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        animationTime = System.currentTimeMillis();
+        atlas = ImageLoader.getAtlas(CELL_SIZE);
 
         String state = viewData.gameState;
 
@@ -247,23 +322,389 @@ public class GamePanel extends JPanel {
             drawFruitPanel(g2d, viewData);
             drawGameOverOverlay(g2d, viewData);
         }
+
+        if (viewData.profileVisible) {
+            drawProfileOverlay(g2d, viewData);
+        }
+        controller.recordPaintTime(System.nanoTime() - paintStart);
+    }
+
+    /**
+     * Dibuja el perfil de frames (F3): p50/p99/máximo del último segundo por
+     * fase, en milisegundos; en rojo lo que pasa el presupuesto de un frame
+     */
+    private void drawProfileOverlay(Graphics2D g, ViewData viewData) {
+        Rectangle bounds = profileOverlayBounds(viewData);
+        g.setColor(PROFILE_BG);
+        g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        g.setFont(PROFILE_FONT);
+
+        int x = bounds.x + 8;
+        int y = bounds.y + PROFILE_LINE_HEIGHT;
+        g.setColor(Color.WHITE);
+        g.drawString("Perfil (F3)  " + viewData.profileFrames + " frames/s", x, y);
+        y += PROFILE_LINE_HEIGHT;
+        g.setColor(Color.LIGHT_GRAY);
+        g.drawString(String.format("%-12s %7s %7s %7s", "fase (ms)", "p50", "p99", "max"), x, y);
+
+        for (int i = 0; i < viewData.profilePhases.length; i++) {
+            y += PROFILE_LINE_HEIGHT;
+            g.setColor(viewData.profileP99[i] > FRAME_BUDGET_NANOS ? PROFILE_OVER_BUDGET : Color.WHITE);
+            g.drawString(String.format("%-12s %7.3f %7.3f %7.3f", viewData.profilePhases[i],
+                    viewData.profileP50[i] / 1e6, viewData.profileP99[i] / 1e6, viewData.profileMax[i] / 1e6), x, y);
+        }
+    }
+
+    /**
+     * Rectángulo del overlay del perfil (esquina superior derecha del tablero)
+     */
+    private Rectangle profileOverlayBounds(ViewData viewData) {
+        int lines = viewData.profilePhases.length + 2;
+        profileBounds.setBounds(getWidth() - PROFILE_WIDTH - PROFILE_MARGIN, UI_HEIGHT + PROFILE_MARGIN,
+                PROFILE_WIDTH, lines * PROFILE_LINE_HEIGHT + 8);
+        return profileBounds;
     }
 
     /**
-     * Dibuja el juego completo (tablero y entidades)
+     * Dibuja el juego completo (tablero y entidades) dentro de la vista
+     * Los métodos de dibujo usan coordenadas del tablero (con la barra
+     * superior); el desplazamiento de la cámara se aplica con translate.
      */
     private void drawGame(Graphics2D g, ViewData viewData) {
-        drawGrid(g, viewData);
-        drawWalls(g, viewData);
-        drawBaldosasCalientes(g, viewData);
-        drawIceBlockObstacles(g, viewData);
-        drawFogatas(g, viewData);
-        drawIceBlocks(g, viewData);
-        drawFruits(g, viewData);
-        drawCactuses(g, viewData);
-        drawEnemies(g, viewData);
-        drawIceCream(g, viewData);
-        drawSecondIceCream(g, viewData);
+        updateViewport(viewData);
+        Graphics2D board = (Graphics2D) g.create();
+        board.clipRect(0, UI_HEIGHT, viewWidth, viewHeight);
+        board.translate(-cameraX, -cameraY);
+
+        drawStaticLayer(board, viewData);
+        drawBaldosasCalientes(board, viewData);
+        drawFogatas(board, viewData);
+        drawIceBlocks(board, viewData);
+        drawFruits(board, viewData);
+        drawCactuses(board, viewData);
+        drawEnemies(board, viewData);
+        drawIceCream(board, viewData);
+        drawSecondIceCream(board, viewData);
+        board.dispose();
+    }
+
+    /**
+     * Calcula la vista del tablero: tamaño (el tablero entero si entra en
+     * MAX_VIEW_COLS x MAX_VIEW_ROWS), cámara centrada en el helado (o entre
+     * los dos helados) sin salirse del tablero, y celdas visibles
+     */
+    private void updateViewport(ViewData viewData) {
+        viewWidth = Math.min(viewData.boardWidth, MAX_VIEW_COLS) * CELL_SIZE;
+        viewHeight = Math.min(viewData.boardHeight, MAX_VIEW_ROWS) * CELL_SIZE;
+
+        float focusX = viewData.iceCreamX;
+        float focusY = viewData.iceCreamY;
+        if (viewData.secondIceCreamFlavor != null && viewData.secondIceCreamAlive) {
+            focusX = (focusX + viewData.secondIceCreamX) / 2;
+            focusY = (focusY + viewData.secondIceCreamY) / 2;
+        }
+        int maxX = viewData.boardWidth * CELL_SIZE - viewWidth;
+        int maxY = viewData.boardHeight * CELL_SIZE - viewHeight;
+        cameraX = Math.max(0, Math.min(maxX, (int) ((focusX + 0.5f) * CELL_SIZE) - viewWidth / 2));
+        cameraY = Math.max(0, Math.min(maxY, (int) ((focusY + 0.5f) * CELL_SIZE) - viewHeight / 2));
+
+        firstVisibleCol = cameraX / CELL_SIZE;
+        lastVisibleCol = (cameraX + viewWidth - 1) / CELL_SIZE;
+        firstVisibleRow = cameraY / CELL_SIZE;
+        lastVisibleRow = (cameraY + viewHeight - 1) / CELL_SIZE;
+    }
+
+    /**
+     * Indica si una celda se ve (con una celda de margen por las posiciones
+     * interpoladas y los sprites que se salen de su celda)
+     */
+    private boolean isCellVisible(int cellX, int cellY) {
+        return cellX >= firstVisibleCol - 1 && cellX <= lastVisibleCol + 1
+                && cellY >= firstVisibleRow - 1 && cellY <= lastVisibleRow + 1;
+    }
+
+    /**
+     * Elementos de una lista de ViewData en los bloques que tocan las celdas
+     * visibles (con su margen): deja sus índices en visibleItems sin recorrer
+     * el resto del tablero. Los que queden fuera de la vista dentro de esos
+     * bloques se descartan con isCellVisible.
+     *
+     * @return Cantidad de índices en visibleItems
+     */
+    private int collectVisible(ViewData.ChunkIndex index) {
+        int firstCol = Math.max(0, (firstVisibleCol - 1) / CHUNK_CELLS);
+        int lastCol = Math.min(index.getChunkCols() - 1, (lastVisibleCol + 1) / CHUNK_CELLS);
+        int firstRow = Math.max(0, (firstVisibleRow - 1) / CHUNK_CELLS);
+        int lastRow = Math.min(index.getChunkRows() - 1, (lastVisibleRow + 1) / CHUNK_CELLS);
+        int count = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int end = index.end(col, row);
+                for (int k = index.start(col, row); k < end; k++) {
+                    if (count == visibleItems.length) {
+                        visibleItems = Arrays.copyOf(visibleItems, count * 2);
+                    }
+                    visibleItems[count++] = index.get(k);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Ancho (en celdas) de la vista con su margen: fila de los conjuntos de
+     * hielo de repaintDirtyRegions
+     */
+    private int viewStride() {
+        return lastVisibleCol - firstVisibleCol + 3;
+    }
+
+    /**
+     * Dibuja la capa estática pre-renderizada (fondo, muros y bloques de hielo
+     * fijos): solo los bloques que se ven, armando los que falten
+     * Las baldosas calientes se dibujan aparte porque su sprite es un GIF animado.
+     */
+    private void drawStaticLayer(Graphics2D g, ViewData viewData) {
+        if (viewData.staticVersion != staticLayerVersion) {
+            staticChunks.clear();
+            staticLayerVersion = viewData.staticVersion;
+        }
+
+        int chunkPixels = CHUNK_CELLS * CELL_SIZE;
+        int chunkCols = (viewData.boardWidth + CHUNK_CELLS - 1) / CHUNK_CELLS;
+        int firstChunkCol = firstVisibleCol / CHUNK_CELLS;
+        int lastChunkCol = lastVisibleCol / CHUNK_CELLS;
+        int firstChunkRow = firstVisibleRow / CHUNK_CELLS;
+        int lastChunkRow = lastVisibleRow / CHUNK_CELLS;
+
+        // Al recorrer un tablero grande se sueltan los bloques que ya no se ven
+        if (staticChunks.size() > MAX_CACHED_CHUNKS) {
+            staticChunks.keySet().removeIf(key -> {
+                int col = key % chunkCols;
+                int row = key / chunkCols;
+                return col < firstChunkCol || col > lastChunkCol || row < firstChunkRow || row > lastChunkRow;
+            });
+        }
+
+        for (int row = firstChunkRow; row <= lastChunkRow; row++) {
+            for (int col = firstChunkCol; col <= lastChunkCol; col++) {
+                int key = row * chunkCols + col;
+                BufferedImage chunk = staticChunks.get(key);
+                if (chunk == null) {
+                    chunk = buildStaticChunk(viewData, col, row);
+                    staticChunks.put(key, chunk);
+                }
+                g.drawImage(chunk, col * chunkPixels, row * chunkPixels + UI_HEIGHT, null);
+            }
+        }
+    }
+
+    /**
+     * Pre-renderiza un bloque de la capa estática en una imagen compatible con
+     * la pantalla (los del borde derecho e inferior pueden ser más chicos)
+     */
+    private BufferedImage buildStaticChunk(ViewData viewData, int chunkCol, int chunkRow) {
+        int originX = chunkCol * CHUNK_CELLS * CELL_SIZE;
+        int originY = chunkRow * CHUNK_CELLS * CELL_SIZE;
+        int width = Math.min(CHUNK_CELLS, viewData.boardWidth - chunkCol * CHUNK_CELLS) * CELL_SIZE;
+        int height = Math.min(CHUNK_CELLS, viewData.boardHeight - chunkRow * CHUNK_CELLS) * CELL_SIZE;
+
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        BufferedImage layer = gc != null ? gc.createCompatibleImage(width, height, Transparency.OPAQUE)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D lg = layer.createGraphics();
+        lg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        lg.setColor(getBackground());
+        lg.fillRect(0, 0, width, height);
+        // Los métodos de dibujo usan coordenadas del tablero (con la barra superior)
+        lg.translate(-originX, -originY - UI_HEIGHT);
+        drawGrid(lg, viewData);
+        drawWalls(lg, viewData);
+        drawIceBlockObstacles(lg, viewData);
+        lg.dispose();
+        return layer;
+    }
+
+    /**
+     * Pide el redibujado de solo las zonas que cambiaron desde el tick anterior
+     * (el game loop lo llama en lugar de repaint())
+     *
+     * Zonas sucias:
+     * - Sprites en movimiento (posición anterior y actual)
+     * - Celdas con sprites animados (frutas, fogatas, baldosas calientes)
+     * - Bloques de hielo creados o rotos
+     * - Barra superior si cambió el puntaje, el tiempo o las frutas
+     * - Panel de frutas (iconos animados)
+     *
+     * Un cambio de estado, de tamaño del tablero o de la capa estática
+     * redibuja todo el panel; si la cámara se movió se redibuja toda la vista.
+     */
+    public void repaintDirtyRegions() {
+        ViewData viewData = controller.getViewData();
+        if (viewData == null || viewData.boardWidth == 0) {
+            repaint();
+            return;
+        }
+
+        updateViewport(viewData);
+        boolean cameraMoved = cameraX != lastCameraX || cameraY != lastCameraY;
+        collectDynamicBounds(viewData);
+        int stride = viewStride();
+        iceBlockCells.clear();
+        int visible = collectVisible(viewData.iceBlockIndex);
+        for (int i = 0; i < visible; i++) {
+            ViewData.PositionView block = viewData.iceBlocks.get(visibleItems[i]);
+            if (isCellVisible(block.x, block.y)) {
+                iceBlockCells.set((block.y - firstVisibleRow + 1) * stride + block.x - firstVisibleCol + 1);
+            }
+        }
+
+        boolean full = fullRepaintPending
+                || !"PLAYING".equals(viewData.gameState)
+                || !viewData.gameState.equals(lastState)
+                || staticChunks.isEmpty()
+                || viewData.staticVersion != staticLayerVersion;
+
+        if (full) {
+            repaint();
+        } else if (cameraMoved) {
+            repaint(0, UI_HEIGHT, viewWidth, viewHeight);
+        } else {
+            // RepaintManager une las regiones del mismo componente en un solo clip
+            for (int i = 0; i < lastDynamicCount; i++) {
+                repaint(lastDynamicBounds.get(i));
+            }
+            for (int i = 0; i < dynamicCount; i++) {
+                repaint(dynamicBounds.get(i));
+            }
+
+            changedCells.clear();
+            changedCells.or(iceBlockCells);
+            changedCells.xor(lastIceBlocks);
+            for (int i = changedCells.nextSetBit(0); i >= 0; i = changedCells.nextSetBit(i + 1)) {
+                int cellX = firstVisibleCol - 1 + i % stride;
+                int cellY = firstVisibleRow - 1 + i / stride;
+                repaint(cellX * CELL_SIZE - cameraX - 1, cellY * CELL_SIZE - cameraY + UI_HEIGHT - 1,
+                        CELL_SIZE + 2, CELL_SIZE + 2);
+            }
+        }
+        if (!full) {
+            if (viewData.score != lastScore || viewData.remainingTime != lastRemainingTime
+                    || viewData.remainingFruits != lastRemainingFruits) {
+                repaint(0, 0, getWidth(), UI_HEIGHT);
+            }
+            repaint(0, viewHeight + UI_HEIGHT, getWidth(), FRUIT_PANEL_HEIGHT);
+            if (viewData.profileVisible) {
+                repaint(profileOverlayBounds(viewData));
+            }
+        }
+
+        // El frame actual pasa a ser el anterior (se reutilizan los objetos)
+        List<Rectangle> bounds = lastDynamicBounds;
+        lastDynamicBounds = dynamicBounds;
+        dynamicBounds = bounds;
+        lastDynamicCount = dynamicCount;
+        BitSet cells = lastIceBlocks;
+        lastIceBlocks = iceBlockCells;
+        iceBlockCells = cells;
+
+        lastCameraX = cameraX;
+        lastCameraY = cameraY;
+        lastState = viewData.gameState;
+        lastScore = viewData.score;
+        lastRemainingTime = viewData.remainingTime;
+        lastRemainingFruits = viewData.remainingFruits;
+        fullRepaintPending = false;
+    }
+
+    /**
+     * Fuerza el redibujado completo en el próximo tick (ej. al cambiar de
+     * partida o de nivel)
+     */
+    public void invalidateLayers() {
+        staticChunks.clear();
+        fullRepaintPending = true;
+        lastDynamicCount = 0;
+        lastIceBlocks.clear();
+    }
+
+    /**
+     * Calcula los rectángulos en pantalla de todo lo que se mueve o se anima en
+     * el frame y se ve (en dynamicBounds, reutilizando los objetos Rectangle)
+     */
+    private void collectDynamicBounds(ViewData viewData) {
+        dynamicCount = 0;
+
+        // Los helados se dibujan a 3x el tamaño de la celda, centrados
+        int iceCreamSize = CELL_SIZE * 3;
+        int offset = (CELL_SIZE - iceCreamSize) / 2;
+        if (viewData.iceCreamFlavor != null) {
+            addBounds((int) (viewData.iceCreamX * CELL_SIZE) + offset,
+                    (int) (viewData.iceCreamY * CELL_SIZE) + UI_HEIGHT + offset, iceCreamSize);
+        }
+        if (viewData.secondIceCreamFlavor != null) {
+            addBounds((int) (viewData.secondIceCreamX * CELL_SIZE) + offset,
+                    (int) (viewData.secondIceCreamY * CELL_SIZE) + UI_HEIGHT + offset, iceCreamSize);
+        }
+
+        // Solo los bloques visibles de cada lista (ver collectVisible)
+        int visible = collectVisible(viewData.enemyIndex);
+        for (int i = 0; i < visible; i++) {
+            ViewData.EnemyView enemy = viewData.enemies.get(visibleItems[i]);
+            if (!isCellVisible((int) enemy.x, (int) enemy.y)) {
+                continue;
+            }
+            // Margen de 1 px por el redondeo de la posición visual interpolada
+            addBounds((int) (enemy.x * CELL_SIZE) - 1, (int) (enemy.y * CELL_SIZE) + UI_HEIGHT - 1, CELL_SIZE + 2);
+        }
+        visible = collectVisible(viewData.fruitIndex);
+        for (int i = 0; i < visible; i++) {
+            ViewData.FruitView fruit = viewData.fruits.get(visibleItems[i]);
+            addCellBounds(fruit.x, fruit.y);
+        }
+        visible = collectVisible(viewData.cactusIndex);
+        for (int i = 0; i < visible; i++) {
+            ViewData.FrutaEspecialView cactus = viewData.cactuses.get(visibleItems[i]);
+            addCellBounds(cactus.x, cactus.y);
+        }
+        visible = collectVisible(viewData.fogataIndex);
+        for (int i = 0; i < visible; i++) {
+            ViewData.ObstaculoView fogata = viewData.fogatas.get(visibleItems[i]);
+            addCellBounds(fogata.x, fogata.y);
+        }
+        visible = collectVisible(viewData.baldosaIndex);
+        for (int i = 0; i < visible; i++) {
+            ViewData.ObstaculoView baldosa = viewData.baldosasCalientes.get(visibleItems[i]);
+            addCellBounds(baldosa.x, baldosa.y);
+        }
+    }
+
+    /**
+     * Rectángulo en pantalla de una celda del tablero (con margen para bordes)
+     */
+    private void addCellBounds(int cellX, int cellY) {
+        if (isCellVisible(cellX, cellY)) {
+            addBounds(cellX * CELL_SIZE - 1, cellY * CELL_SIZE + UI_HEIGHT - 1, CELL_SIZE + 2);
+        }
+    }
+
+    /**
+     * Agrega un rectángulo en coordenadas del tablero (se pasa a pantalla
+     * restando la cámara)
+     */
+    private void addBounds(int x, int y, int size) {
+        if (dynamicCount == dynamicBounds.size()) {
+            dynamicBounds.add(new Rectangle());
+        }
+        dynamicBounds.get(dynamicCount++).setBounds(x - cameraX, y - cameraY, size, size);
+    }
+
+    /**
+     * Dibuja un tile del atlas: blit 1:1 del frame actual de su animación
+     */
+    private void drawTile(Graphics2D g, SpriteAtlas.Tile tile, int x, int y) {
+        g.drawImage(tile.getFrameAt(animationTime), x, y, null);
     }
 
     /**
@@ -285,14 +726,19 @@ public class GamePanel extends JPanel {
     private void drawIceBlocks(Graphics2D g, ViewData viewData) {
         List<ViewData.PositionView> iceBlocks = viewData.iceBlocks;
 
-        for (ViewData.PositionView block : iceBlocks) {
+        int visible = collectVisible(viewData.iceBlockIndex);
+        for (int i = 0; i < visible; i++) {
+            ViewData.PositionView block = iceBlocks.get(visibleItems[i]);
+            if (!isCellVisible(block.x, block.y)) {
+                continue;
+            }
             int x = block.x * CELL_SIZE;
             int y = block.y * CELL_SIZE + UI_HEIGHT;
 
-            Image iceSprite = ImageLoader.getIceBlockSprite("static");
+            SpriteAtlas.Tile iceSprite = ImageLoader.getIceBlockTile("static", CELL_SIZE);
 
             if (iceSprite != null) {
-                g.drawImage(iceSprite, x, y, CELL_SIZE, CELL_SIZE, null);
+                drawTile(g, iceSprite, x, y);
             } else {
                 g.setColor(COLOR_ICE_BLOCK);
                 g.fillRect(x + 2, y + 2, CELL_SIZE - 4, CELL_SIZE - 4);
@@ -329,8 +775,10 @@ public class GamePanel extends JPanel {
     private void drawFruits(Graphics2D g, ViewData viewData) {
         List<ViewData.FruitView> fruits = viewData.fruits;
 
-        for (ViewData.FruitView fruit : fruits) {
-            if (!fruit.collected) {
+        int visible = collectVisible(viewData.fruitIndex);
+        for (int i = 0; i < visible; i++) {
+            ViewData.FruitView fruit = fruits.get(visibleItems[i]);
+            if (!fruit.collected && isCellVisible(fruit.x, fruit.y)) {
                 int x = fruit.x * CELL_SIZE;
                 int y = fruit.y * CELL_SIZE + UI_HEIGHT;
 
@@ -360,10 +808,10 @@ public class GamePanel extends JPanel {
                 }
 
                 String visualState = fruit.visualState;
-                Image fruitSprite = ImageLoader.getFruitSprite(spriteType, visualState);
+                SpriteAtlas.Tile fruitSprite = ImageLoader.getFruitTile(spriteType, visualState, CELL_SIZE);
 
                 if (fruitSprite != null) {
-                    g.drawImage(fruitSprite, x, y, CELL_SIZE, CELL_SIZE, null);
+                    drawTile(g, fruitSprite, x, y);
                 } else {
                     int centerX = x + CELL_SIZE / 2;
                     int centerY = y + CELL_SIZE / 2;
@@ -401,43 +849,20 @@ public class GamePanel extends JPanel {
     private void drawEnemies(Graphics2D g, ViewData viewData) {
         List<ViewData.EnemyView> enemies = viewData.enemies;
 
-        for (int i = 0; i < enemies.size(); i++) {
-            ViewData.EnemyView enemy = enemies.get(i);
-            if (enemy.alive) {
+        int visible = collectVisible(viewData.enemyIndex);
+        for (int i = 0; i < visible; i++) {
+            ViewData.EnemyView enemy = enemies.get(visibleItems[i]);
+            if (enemy.alive && isCellVisible((int) enemy.x, (int) enemy.y)) {
                 float visualX = enemy.x;
                 float visualY = enemy.y;
 
                 int x = (int) (visualX * CELL_SIZE);
                 int y = (int) (visualY * CELL_SIZE) + UI_HEIGHT;
 
-                String enemyType = enemy.type.toLowerCase();
-                String spriteType;
-                switch (enemyType) {
-                    case "troll":
-                        spriteType = "troll";
-                        break;
-                    case "maceta":
-                    case "pot":
-                        spriteType = "pot";
-                        break;
-                    case "calamar":
-                    case "yellowsquid":
-                        spriteType = "yellowsquid";
-                        break;
-                    case "narval":
-                        spriteType = "narval";
-                        break;
-                    default:
-                        spriteType = "troll";
-                }
-
-                String action = enemy.action;
-                String dirStr = enemy.direction;
-
-                Image enemySprite = ImageLoader.getMonsterSprite(spriteType, action, dirStr);
+                SpriteAtlas.Tile enemySprite = atlas.getMonsterSprite(enemy.typeId, enemy.actionId, enemy.directionId);
 
                 if (enemySprite != null) {
-                    g.drawImage(enemySprite, x, y, CELL_SIZE, CELL_SIZE, null);
+                    drawTile(g, enemySprite, x, y);
                 } else {
                     int rectX = x + 5;
                     int rectY = y + 5;
@@ -464,31 +889,16 @@ public class GamePanel extends JPanel {
             int x = (int) (visualX * CELL_SIZE);
             int y = (int) (visualY * CELL_SIZE) + UI_HEIGHT;
 
-            String flavor = viewData.iceCreamFlavor.toLowerCase();
-            String spriteFlavor;
-            switch (flavor) {
-                case "vainilla":
-                    spriteFlavor = "vainillia";
-                    break;
-                case "fresa":
-                    spriteFlavor = "strawberry";
-                    break;
-                case "chocolate":
-                    spriteFlavor = "chocolate";
-                    break;
-                default:
-                    spriteFlavor = "vainillia";
-            }
-
-            String action = viewData.iceCreamAction;
-            String dirStr = viewData.iceCreamDirection;
+            // Nombre del sabor solo para el color de respaldo (ya viene en minúsculas)
+            String flavor = viewData.iceCreamFlavor;
 
-            Image iceCreamSprite = ImageLoader.getIceCreamSprite(spriteFlavor, action, dirStr);
+            SpriteAtlas.Tile iceCreamSprite = atlas.getSprite(viewData.iceCreamFlavorId, viewData.iceCreamActionId,
+                    viewData.iceCreamDirectionId);
 
             if (iceCreamSprite != null) {
-                int iceCreamSize = (int) (CELL_SIZE * 3.0);
-                int offset = (CELL_SIZE - iceCreamSize) / 2;
-                g.drawImage(iceCreamSprite, x + offset, y + offset, iceCreamSize, iceCreamSize, null);
+                // El tile mide 3 celdas; se centra sobre la celda del helado
+                int offset = (CELL_SIZE - iceCreamSprite.getWidth()) / 2;
+                drawTile(g, iceCreamSprite, x + offset, y + offset);
             } else {
                 int centerX = x + CELL_SIZE / 2;
                 int centerY = y + CELL_SIZE / 2;
@@ -528,31 +938,16 @@ public class GamePanel extends JPanel {
             int x = (int) (visualX * CELL_SIZE);
             int y = (int) (visualY * CELL_SIZE) + UI_HEIGHT;
 
-            String flavor = viewData.secondIceCreamFlavor.toLowerCase();
-            String spriteFlavor;
-            switch (flavor) {
-                case "vainilla":
-                    spriteFlavor = "vainillia";
-                    break;
-                case "fresa":
-                    spriteFlavor = "strawberry";
-                    break;
-                case "chocolate":
-                    spriteFlavor = "chocolate";
-                    break;
-                default:
-                    spriteFlavor = "vainillia";
-            }
-
-            String action = viewData.secondIceCreamAction;
-            String dirStr = viewData.secondIceCreamDirection;
+            // Nombre del sabor solo para el color de respaldo (ya viene en minúsculas)
+            String flavor = viewData.secondIceCreamFlavor;
 
-            Image iceCreamSprite = ImageLoader.getIceCreamSprite(spriteFlavor, action, dirStr);
+            SpriteAtlas.Tile iceCreamSprite = atlas.getSprite(viewData.secondIceCreamFlavorId, viewData.secondIceCreamActionId,
+                    viewData.secondIceCreamDirectionId);
 
             if (iceCreamSprite != null) {
-                int iceCreamSize = (int) (CELL_SIZE * 3.0);
-                int offset = (CELL_SIZE - iceCreamSize) / 2;
-                g.drawImage(iceCreamSprite, x + offset, y + offset, iceCreamSize, iceCreamSize, null);
+                // El tile mide 3 celdas; se centra sobre la celda del helado
+                int offset = (CELL_SIZE - iceCreamSprite.getWidth()) / 2;
+                drawTile(g, iceCreamSprite, x + offset, y + offset);
             } else {
                 int centerX = x + CELL_SIZE / 2;
                 int centerY = y + CELL_SIZE / 2;
@@ -618,8 +1013,8 @@ public class GamePanel extends JPanel {
      * Dibuja el panel inferior de frutas
      */
     private void drawFruitPanel(Graphics2D g, ViewData viewData) {
-        int panelY = viewData.boardHeight * CELL_SIZE + UI_HEIGHT;
-        int panelWidth = viewData.boardWidth * CELL_SIZE;
+        int panelY = viewHeight + UI_HEIGHT;
+        int panelWidth = viewWidth;
 
         // Fondo
         g.setColor(FRUIT_PANEL_BG);
@@ -1104,13 +1499,18 @@ public class GamePanel extends JPanel {
             return;
         }
 
-        for (ViewData.ObstaculoView baldosa : viewData.baldosasCalientes) {
+        int visible = collectVisible(viewData.baldosaIndex);
+        for (int i = 0; i < visible; i++) {
+            ViewData.ObstaculoView baldosa = viewData.baldosasCalientes.get(visibleItems[i]);
+            if (!isCellVisible(baldosa.x, baldosa.y)) {
+                continue;
+            }
             int x = baldosa.x * CELL_SIZE;
             int y = baldosa.y * CELL_SIZE + UI_HEIGHT;
 
-            Image img = ImageLoader.getImage("baldosa_caliente");
+            SpriteAtlas.Tile img = ImageLoader.getTile("baldosa_caliente", CELL_SIZE, 1);
             if (img != null) {
-                g.drawImage(img, x, y, CELL_SIZE, CELL_SIZE, null);
+                drawTile(g, img, x, y);
             } else {
                 // Fallback: dibujar rectángulo rojo
                 g.setColor(new Color(255, 100, 100));
@@ -1127,14 +1527,19 @@ public class GamePanel extends JPanel {
             return;
         }
 
-        for (ViewData.ObstaculoView fogata : viewData.fogatas) {
+        int visible = collectVisible(viewData.fogataIndex);
+        for (int i = 0; i < visible; i++) {
+            ViewData.ObstaculoView fogata = viewData.fogatas.get(visibleItems[i]);
+            if (!isCellVisible(fogata.x, fogata.y)) {
+                continue;
+            }
             int x = fogata.x * CELL_SIZE;
             int y = fogata.y * CELL_SIZE + UI_HEIGHT;
 
             // Siempre dibujar la base (CampFire - las piedras)
-            Image base = ImageLoader.getFogataBase();
+            SpriteAtlas.Tile base = ImageLoader.getTile("fogata_base", CELL_SIZE, 1);
             if (base != null) {
-                g.drawImage(base, x, y, CELL_SIZE, CELL_SIZE, null);
+                drawTile(g, base, x, y);
             } else {
                 // Fallback: rectángulo gris oscuro
                 g.setColor(new Color(80, 80, 80));
@@ -1143,9 +1548,9 @@ public class GamePanel extends JPanel {
 
             // Si está encendida, dibujar la llama encima (animada)
             if (fogata.encendida) {
-                Image llama = ImageLoader.getFogataLlama();
+                SpriteAtlas.Tile llama = ImageLoader.getTile("fogata_llama", CELL_SIZE, 1);
                 if (llama != null) {
-                    g.drawImage(llama, x, y, CELL_SIZE, CELL_SIZE, null);
+                    drawTile(g, llama, x, y);
                 } else {
                     // Fallback: círculo rojo/naranja para la llama
                     g.setColor(new Color(255, 150, 0));
@@ -1163,16 +1568,21 @@ public class GamePanel extends JPanel {
             return;
         }
 
-        for (ViewData.FrutaEspecialView cactus : viewData.cactuses) {
+        int visible = collectVisible(viewData.cactusIndex);
+        for (int i = 0; i < visible; i++) {
+            ViewData.FrutaEspecialView cactus = viewData.cactuses.get(visibleItems[i]);
+            if (!isCellVisible(cactus.x, cactus.y)) {
+                continue;
+            }
             int x = cactus.x * CELL_SIZE;
             int y = cactus.y * CELL_SIZE + UI_HEIGHT;
 
             String imageName = cactus.visualState != null ? ("cactus_" + cactus.visualState)
                     : (cactus.spiky ? "cactus_spiky" : "cactus_normal");
 
-            Image img = ImageLoader.getImage(imageName);
+            SpriteAtlas.Tile img = ImageLoader.getTile(imageName, CELL_SIZE, 1);
             if (img != null) {
-                g.drawImage(img, x, y, CELL_SIZE, CELL_SIZE, null);
+                drawTile(g, img, x, y);
             } else {
                 // Fallback: dibujar rectángulo verde (normal) o con púas
                 if (cactus.spiky) {
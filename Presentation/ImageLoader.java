@@ -1,10 +1,31 @@
 package Presentation;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 /**
  * ImageLoader - Utility class to load and cache game sprites
@@ -15,58 +36,228 @@ import java.util.Map;
  * - Proporcionar métodos estáticos para acceder a las imágenes
  * - Manejar errores de carga de archivos con fallback
  * - Soporte para GIFs animados
+ * - Atlas de sprites pre-escalados al tamaño de celda (ver SpriteAtlas)
+ * - Precarga en paralelo con progreso (ver preloadAsync) y cache compartido
+ * de las imágenes de los menús
+ * - Memoria acotada: el arte de los menús se desaloja por LRU dentro de un
+ * presupuesto en bytes (ver SpriteCache)
  */
 public class ImageLoader {
 
-    // Cache de imágenes
-    private static Map<String, Image> imageCache = new HashMap<>();
+    // Presupuesto para el arte de los menús (MB), configurable con
+    // -Dbadicecream.menuCacheMB=N (ej. 24 en equipos con 256 MB de heap)
+    private static final long MENU_CACHE_BYTES = Long.getLong("badicecream.menuCacheMB", 48) * 1024 * 1024;
+
+    // Cache de imágenes: sprites del juego fijos, arte de menús desalojable (LRU)
+    private static final SpriteCache<Object, Image> imageCache = new SpriteCache<>(MENU_CACHE_BYTES);
+
+    // Ruta de cada imagen del juego (manifiesto de la precarga)
+    private static Map<String, String> imagePaths = new ConcurrentHashMap<>();
+
+    // Imágenes que no se pudieron cargar o decodificar (no se reintentan)
+    private static Set<String> undecodable = ConcurrentHashMap.newKeySet();
+    private static Set<String> missingImages = ConcurrentHashMap.newKeySet();
+
+    // Carpetas con las imágenes de los menús (se precargan junto a los sprites)
+    private static final String[] MENU_RESOURCE_DIRS = { "Resources/Opciones_Menu", "Resources/Botones",
+            "Resources/Letreros", "Resources/HELADOVSHELADO", "Resources/HELADO VS MOUNSTRUO" };
+
+    // Hilos del precargador: acotados para no competir con la interfaz
+    private static final int PRELOAD_THREADS = Math.max(1,
+            Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    // Atlas del tamaño de celda actual
+    private static volatile SpriteAtlas atlas;
+
+    // Precarga en curso o terminada, y su progreso
+    private static CompletableFuture<Void> preload;
+    private static final List<BiConsumer<Integer, Integer>> progressListeners = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger loadedCount = new AtomicInteger();
+    private static volatile int totalCount;
 
     // Flag para saber si las imágenes ya fueron cargadas
-    private static boolean imagesLoaded = false;
+    private static volatile boolean imagesLoaded = false;
 
     /**
      * Carga todas las imágenes al iniciar
+     * Si la precarga ya empezó (ver preloadAsync) solo espera a que termine.
      */
     public static void loadAllImages() {
         if (imagesLoaded) {
             return; // Ya se cargaron
         }
+        preloadAsync(null).join();
+    }
+
+    /**
+     * Inicia la precarga de todos los recursos gráficos en segundo plano
+     * Cada imagen se carga y decodifica por completo en un pool acotado de
+     * hilos; los sprites del tablero quedan además escalados en el atlas del
+     * tamaño de celda del juego, así el primer cuadro no decodifica nada.
+     * Llamadas posteriores devuelven la misma precarga.
+     *
+     * @param onProgress Recibe (cargadas, total) desde los hilos de carga; puede
+     *                   ser null
+     * @return Futuro que se completa cuando todo está cargado
+     */
+    public static synchronized CompletableFuture<Void> preloadAsync(BiConsumer<Integer, Integer> onProgress) {
+        if (onProgress != null) {
+            progressListeners.add(onProgress);
+            if (preload != null) {
+                onProgress.accept(loadedCount.get(), totalCount);
+            }
+        }
+        if (preload != null) {
+            return preload;
+        }
 
         System.out.println("🎨 Cargando recursos gráficos...");
+        long start = System.currentTimeMillis();
 
-        // Cargar mapa de fondo
+        // Manifiesto: sprites del juego y luego imágenes de menús
         loadMapBackground();
-
-        // Cargar sprites de helados
         loadIceCreamSprites();
-
-        // Cargar sprites de monstruos
         loadMonsterSprites();
-
-        // Cargar sprites de frutas
         loadFruitSprites();
-
-        // Cargar sprites de bloques de hielo
         loadIceBlockSprites();
-
-        // Cargar sprites de obstáculos dinámicos
         loadObstacleSprites();
-
-        // Cargar imágenes del menú de pausa
         loadPauseMenuImages();
-
-        // ✅ NUEVO: Cargar imágenes del menú PVP
         loadPVPMenuImages();
+        List<String> menuPaths = listMenuImages();
+
+        totalCount = imagePaths.size() + menuPaths.size();
+        SpriteAtlas gameAtlas = getAtlas(GamePanel.CELL_SIZE);
+
+        ExecutorService executor = Executors.newFixedThreadPool(PRELOAD_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "precarga-recursos");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (Map.Entry<String, String> entry : imagePaths.entrySet()) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                preloadImage(entry.getKey(), entry.getValue(), gameAtlas);
+                reportProgress();
+            }, executor));
+        }
+        for (String path : menuPaths) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                // Solo si cabe en el presupuesto: precargar más desalojaría
+                // lo recién cargado
+                if (imageCache.hasRoom(estimateBytes(path))) {
+                    getMenuIcon(path);
+                }
+                reportProgress();
+            }, executor));
+        }
 
-        imagesLoaded = true;
-        System.out.println("✅ Recursos gráficos cargados: " + imageCache.size() + " imágenes");
+        preload = CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).whenComplete((ok, error) -> {
+            executor.shutdown();
+            imagesLoaded = true;
+            System.out.println("✅ Recursos gráficos cargados en " + (System.currentTimeMillis() - start)
+                    + " ms: " + gameAtlas.getTileCount() + " tiles, " + getCacheStats());
+        });
+        return preload;
+    }
+
+    /**
+     * Indica si la precarga terminó
+     */
+    public static boolean isLoaded() {
+        return imagesLoaded;
+    }
+
+    private static void reportProgress() {
+        int loaded = loadedCount.incrementAndGet();
+        for (BiConsumer<Integer, Integer> listener : progressListeners) {
+            listener.accept(loaded, totalCount);
+        }
+    }
+
+    /**
+     * Precarga una imagen del manifiesto
+     * Los sprites del tablero solo se decodifican a su tile del atlas (todos
+     * los frames, descartados ya escalados); la imagen original se carga
+     * recién si alguien la pide (ver getGameImage).
+     */
+    private static void preloadImage(String key, String path, SpriteAtlas gameAtlas) {
+        int cells = tileCells(key);
+        if (cells > 0) {
+            gameAtlas.getTile(key, cells);
+        } else {
+            getGameImage(key);
+        }
+    }
+
+    /**
+     * Imagen original de un recurso del juego, cargada la primera vez
+     * Las que el tablero dibuja desde el atlas quedan desalojables (solo se
+     * usan en el panel de frutas); el resto queda fija en la cache.
+     *
+     * @param key Clave de la imagen
+     * @return Imagen cargada, o null si no existe
+     */
+    private static Image getGameImage(String key) {
+        Image image = imageCache.get(key);
+        if (image != null || missingImages.contains(key)) {
+            return image;
+        }
+        String path = imagePaths.get(key);
+        if (path == null) {
+            return null;
+        }
+        if (!new File(path).exists()) {
+            System.err.println("⚠️  No se pudo cargar: " + path);
+            missingImages.add(key);
+            return null;
+        }
+        try {
+            image = loadResource(path);
+        } catch (Exception e) {
+            System.err.println("❌ Error cargando " + path + ": " + e.getMessage());
+        }
+        if (image == null) {
+            System.err.println("⚠️  Error al cargar imagen: " + path);
+            missingImages.add(key);
+            return null;
+        }
+        if (tileCells(key) > 0) {
+            imageCache.put(key, image, weigh(image, path));
+        } else {
+            imageCache.putPinned(key, image, weigh(image, path));
+        }
+        return image;
+    }
+
+    /**
+     * Peso en la cache de una imagen leída de un archivo: un GIF animado
+     * cuenta todos sus frames, no solo el primero
+     */
+    private static long weigh(Image image, String path) {
+        return SpriteCache.weigh(image, SpriteAtlas.countFrames(path));
+    }
+
+    /**
+     * Lado en celdas con que el tablero dibuja una imagen, o 0 si no es un
+     * sprite del tablero (fondo, menú de pausa, PVP)
+     */
+    private static int tileCells(String key) {
+        if (key.startsWith("icecream_")) {
+            return 3;
+        }
+        if (key.startsWith("monster_") || key.startsWith("fruit_") || key.startsWith("ice_")
+                || key.startsWith("fogata_") || key.startsWith("baldosa_") || key.startsWith("cactus_")) {
+            return 1;
+        }
+        return 0;
     }
 
     /**
      * Carga el fondo del mapa
      */
     private static void loadMapBackground() {
-        loadImage("map_background", "Resources/MapasNiveles/Mapa1.jpeg");
+        registerImage("map_background", "Resources/MapasNiveles/Mapa1.jpeg");
     }
 
     /**
@@ -84,7 +275,7 @@ public class ImageLoader {
             for (String action : actions) {
                 String key = "icecream_" + flavor.toLowerCase() + "_" + action.toLowerCase();
                 String path = "Resources/Helados/" + flavor + "/" + action + ".gif";
-                loadImage(key, path);
+                registerImage(key, path);
             }
         }
     }
@@ -99,7 +290,7 @@ public class ImageLoader {
         for (String action : narvalActions) {
             String key = "monster_narval_" + action.toLowerCase();
             String path = "Resources/Monstruos/Narval/" + action + ".gif";
-            loadImage(key, path);
+            registerImage(key, path);
         }
 
         // Troll
@@ -107,7 +298,7 @@ public class ImageLoader {
         for (String action : trollActions) {
             String key = "monster_troll_" + action.toLowerCase();
             String path = "Resources/Monstruos/Troll/" + action + ".gif";
-            loadImage(key, path);
+            registerImage(key, path);
         }
 
         // YellowSquid
@@ -116,7 +307,7 @@ public class ImageLoader {
         for (String action : squidActions) {
             String key = "monster_yellowsquid_" + action.toLowerCase();
             String path = "Resources/Monstruos/YellowSquid/" + action + ".gif";
-            loadImage(key, path);
+            registerImage(key, path);
         }
 
         // Pot - tiene muchas animaciones, cargamos las básicas
@@ -124,7 +315,7 @@ public class ImageLoader {
         for (String action : potActions) {
             String key = "monster_pot_" + action.toLowerCase();
             String path = "Resources/Monstruos/Pot/" + action + ".gif";
-            loadImage(key, path);
+            registerImage(key, path);
         }
     }
 
@@ -139,18 +330,18 @@ public class ImageLoader {
             for (String state : states) {
                 String key = "fruit_" + fruit.toLowerCase() + "_" + state.toLowerCase();
                 String path = "Resources/Frutas/" + fruit + "/" + state + ".gif";
-                loadImage(key, path);
+                registerImage(key, path);
             }
         }
 
         // Pineapple is special - it has Movement.gif instead of Normal.gif
-        loadImage("fruit_pineapple_movement", "Resources/Frutas/Pineapple/Movement.gif");
-        loadImage("fruit_pineapple_flying", "Resources/Frutas/Pineapple/Flying.gif");
-        loadImage("fruit_pineapple_appear", "Resources/Frutas/Pineapple/Appear.gif");
-        loadImage("fruit_pineapple_collected", "Resources/Frutas/Pineapple/Collected.gif");
-        loadImage("fruit_pineapple_shadow", "Resources/Frutas/Pineapple/Shadow.gif");
+        registerImage("fruit_pineapple_movement", "Resources/Frutas/Pineapple/Movement.gif");
+        registerImage("fruit_pineapple_flying", "Resources/Frutas/Pineapple/Flying.gif");
+        registerImage("fruit_pineapple_appear", "Resources/Frutas/Pineapple/Appear.gif");
+        registerImage("fruit_pineapple_collected", "Resources/Frutas/Pineapple/Collected.gif");
+        registerImage("fruit_pineapple_shadow", "Resources/Frutas/Pineapple/Shadow.gif");
         // Also create an alias for normal -> movement
-        loadImage("fruit_pineapple_normal", "Resources/Frutas/Pineapple/Movement.gif");
+        registerImage("fruit_pineapple_normal", "Resources/Frutas/Pineapple/Movement.gif");
     }
 
     /**
@@ -162,7 +353,7 @@ public class ImageLoader {
         for (String state : states) {
             String key = "ice_" + state.toLowerCase();
             String path = "Resources/Obstaculos/Hielo/" + state + ".gif";
-            loadImage(key, path);
+            registerImage(key, path);
         }
     }
 
@@ -171,20 +362,20 @@ public class ImageLoader {
      */
     private static void loadObstacleSprites() {
         // Fogatas - Se cargan por componentes (base + llama)
-        loadImage("fogata_base", "Resources/Obstaculos/Fogata/CampFire.gif"); // Solo las piedras
-        loadImage("fogata_llama", "Resources/Obstaculos/Fogata/Flame.gif"); // Solo la llama (animada)
+        registerImage("fogata_base", "Resources/Obstaculos/Fogata/CampFire.gif"); // Solo las piedras
+        registerImage("fogata_llama", "Resources/Obstaculos/Fogata/Flame.gif"); // Solo la llama (animada)
         // Fallback para renderizado simple
-        loadImage("fogata_encendida", "Resources/Obstaculos/Fogata/CampFire.gif");
-        loadImage("fogata_apagada", "Resources/Obstaculos/Fogata/CampFire.gif");
+        registerImage("fogata_encendida", "Resources/Obstaculos/Fogata/CampFire.gif");
+        registerImage("fogata_apagada", "Resources/Obstaculos/Fogata/CampFire.gif");
 
         // Baldosa Caliente
-        loadImage("baldosa_caliente", "Resources/Obstaculos/Baldosa_Caliente/frames.gif");
+        registerImage("baldosa_caliente", "Resources/Obstaculos/Baldosa_Caliente/frames.gif");
 
         // Cactus - Estados especiales para spiky
-        loadImage("cactus_spiky", "Resources/Frutas/Cactus/SpikesIdle.gif");
-        loadImage("cactus_normal", "Resources/Frutas/Cactus/Normal.gif");
-        loadImage("cactus_appear", "Resources/Frutas/Cactus/Appear.gif");
-        loadImage("cactus_collected", "Resources/Frutas/Cactus/Collected.gif");
+        registerImage("cactus_spiky", "Resources/Frutas/Cactus/SpikesIdle.gif");
+        registerImage("cactus_normal", "Resources/Frutas/Cactus/Normal.gif");
+        registerImage("cactus_appear", "Resources/Frutas/Cactus/Appear.gif");
+        registerImage("cactus_collected", "Resources/Frutas/Cactus/Collected.gif");
     }
 
     /**
@@ -192,22 +383,22 @@ public class ImageLoader {
      */
     private static void loadPauseMenuImages() {
         // Panel de fondo
-        loadImagePNG("pause_panel", "Resources/Pausa/Panel de madera.png");
+        registerImage("pause_panel", "Resources/Pausa/Panel de madera.png");
 
         // Botón Continuar
-        loadImagePNG("pause_continue_normal", "Resources/Pausa/CONTINUAR.png");
-        loadImagePNG("pause_continue_hover", "Resources/Pausa/continuar hover.png");
-        loadImagePNG("pause_continue_pressed", "Resources/Pausa/continuar pressed.png");
+        registerImage("pause_continue_normal", "Resources/Pausa/CONTINUAR.png");
+        registerImage("pause_continue_hover", "Resources/Pausa/continuar hover.png");
+        registerImage("pause_continue_pressed", "Resources/Pausa/continuar pressed.png");
 
         // Botón Guardar Juego
-        loadImagePNG("pause_save_normal", "Resources/Pausa/GUARDAR JUEGO.png");
-        loadImagePNG("pause_save_hover", "Resources/Pausa/Guardar juego hover.png");
-        loadImagePNG("pause_save_pressed", "Resources/Pausa/Guardar juego pressed.png");
+        registerImage("pause_save_normal", "Resources/Pausa/GUARDAR JUEGO.png");
+        registerImage("pause_save_hover", "Resources/Pausa/Guardar juego hover.png");
+        registerImage("pause_save_pressed", "Resources/Pausa/Guardar juego pressed.png");
 
         // Botón Menú Principal
-        loadImagePNG("pause_menu_normal", "Resources/Pausa/MENU PRINCIPAL.png");
-        loadImagePNG("pause_menu_hover", "Resources/Pausa/menu principal hover.png");
-        loadImagePNG("pause_menu_pressed", "Resources/Pausa/menu principal pressed.png");
+        registerImage("pause_menu_normal", "Resources/Pausa/MENU PRINCIPAL.png");
+        registerImage("pause_menu_hover", "Resources/Pausa/menu principal hover.png");
+        registerImage("pause_menu_pressed", "Resources/Pausa/menu principal pressed.png");
     }
 
     /**
@@ -215,94 +406,71 @@ public class ImageLoader {
      */
     private static void loadPVPMenuImages() {
         // Botón Helado vs Monstruo
-        loadImagePNG("pvp_icecream_vs_monster", "Resources/HELADO VS MOUNSTRUO/Helado vs mousntruo.png");
+        registerImage("pvp_icecream_vs_monster", "Resources/HELADO VS MOUNSTRUO/Helado vs mousntruo.png");
 
         // Botón Helado vs Helado (Cooperativo)
-        loadImagePNG("pvp_coop", "Resources/HELADOVSHELADO/Cooperativo.png");
+        registerImage("pvp_coop", "Resources/HELADOVSHELADO/Cooperativo.png");
     }
 
     /**
-     * Carga una imagen desde un archivo y la cachea
+     * Registra una imagen en el manifiesto de la precarga
      * 
      * @param key  Clave para identificar la imagen en el cache
      * @param path Ruta del archivo de imagen
      */
-    private static void loadImage(String key, String path) {
-        try {
-            // Try to load from file system
-            java.io.File file = new java.io.File(path);
-            if (!file.exists()) {
-                System.err.println("⚠️  No se pudo cargar: " + path);
-                return;
-            }
-
-            // Usar ImageIcon para soportar GIFs animados
-            ImageIcon icon = new ImageIcon(file.getAbsolutePath());
-
-            // En entorno headless, no podemos verificar con MediaTracker
-            // Simplemente verificamos que el archivo existe y la imagen no es null
-            Image image = icon.getImage();
-            if (image != null) {
-                imageCache.put(key, image);
-            } else {
-                System.err.println("⚠️  Error al cargar imagen: " + path);
-            }
-        } catch (Exception e) {
-            System.err.println("❌ Error cargando " + path + ": " + e.getMessage());
-        }
+    private static void registerImage(String key, String path) {
+        imagePaths.put(key, path);
     }
 
     /**
-     * Carga imágenes PNG con transparencia (solo para menú de pausa y PVP)
-     * 
-     * @param key  Clave para identificar la imagen en el cache
-     * @param path Ruta del archivo PNG
+     * Carga una imagen por completo (sin decodificación diferida)
+     * Los GIF se cargan con Toolkit para conservar la animación y se espera a
+     * que terminen con un MediaTracker propio (el de ImageIcon es compartido y
+     * serializa las cargas); el resto se lee con ImageIO.
+     *
+     * @param path Ruta del archivo
+     * @return Imagen cargada, o null si no se pudo leer
      */
-    private static void loadImagePNG(String key, String path) {
-        try {
-            java.io.File file = new java.io.File(path);
-            if (!file.exists()) {
-                System.err.println("⚠️  No se pudo cargar PNG: " + path);
-                return;
-            }
-
-            // Usar ImageIO para preservar transparencia
-            BufferedImage bufferedImage = javax.imageio.ImageIO.read(file);
-
-            if (bufferedImage != null) {
-                boolean hasAlpha = bufferedImage.getColorModel().hasAlpha();
-
-                if (hasAlpha) {
-                    // Crear imagen compatible con transparencia ARGB
-                    BufferedImage compatibleImage = new BufferedImage(
-                            bufferedImage.getWidth(),
-                            bufferedImage.getHeight(),
-                            BufferedImage.TYPE_INT_ARGB);
-
-                    Graphics2D g2d = compatibleImage.createGraphics();
-                    g2d.setComposite(AlphaComposite.Src);
-                    g2d.drawImage(bufferedImage, 0, 0, null);
-                    g2d.dispose();
+    private static Image loadResource(String path) throws Exception {
+        File file = new File(path);
+        if (path.toLowerCase().endsWith(".gif")) {
+            Image image = Toolkit.getDefaultToolkit().createImage(file.getAbsolutePath());
+            MediaTracker tracker = new MediaTracker(TRACKER_COMPONENT);
+            tracker.addImage(image, 0);
+            tracker.waitForID(0, 10000);
+            return tracker.isErrorID(0) ? null : image;
+        }
 
-                    imageCache.put(key, compatibleImage);
-                } else {
-                    imageCache.put(key, bufferedImage);
-                }
-            } else {
-                System.err.println("⚠️  Error al cargar PNG: " + path);
-            }
-        } catch (Exception e) {
-            System.err.println("❌ Error cargando PNG " + path + ": " + e.getMessage());
+        // Usar ImageIO para preservar transparencia
+        BufferedImage bufferedImage = ImageIO.read(file);
+        if (bufferedImage == null || !bufferedImage.getColorModel().hasAlpha()) {
+            return bufferedImage;
         }
+
+        // Crear imagen compatible con transparencia ARGB
+        BufferedImage compatibleImage = new BufferedImage(
+                bufferedImage.getWidth(),
+                bufferedImage.getHeight(),
+                BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g2d = compatibleImage.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(bufferedImage, 0, 0, null);
+        g2d.dispose();
+        return compatibleImage;
     }
 
+    // Componente para los MediaTracker del precargador (no se muestra)
+    private static final Component TRACKER_COMPONENT = new Component() {
+    };
+
     /**
      * Obtiene el fondo del mapa
      * 
      * @return Imagen del fondo del mapa, o null si no se pudo cargar
      */
     public static Image getMapBackground() {
-        return imageCache.get("map_background");
+        return getGameImage("map_background");
     }
 
     /**
@@ -315,6 +483,10 @@ public class ImageLoader {
      * @return Imagen del sprite, o null si no se pudo cargar
      */
     public static Image getIceCreamSprite(String flavor, String action, String direction) {
+        return getGameImage(iceCreamKey(flavor, action, direction));
+    }
+
+    static String iceCreamKey(String flavor, String action, String direction) {
         // Normalizar nombres
         flavor = flavor.toLowerCase();
         action = action.toLowerCase();
@@ -339,8 +511,7 @@ public class ImageLoader {
             }
         }
 
-        String key = "icecream_" + flavor + "_" + fileName.toLowerCase();
-        return imageCache.get(key);
+        return "icecream_" + flavor + "_" + fileName.toLowerCase();
     }
 
     /**
@@ -352,6 +523,10 @@ public class ImageLoader {
      * @return Imagen del sprite, o null si no se pudo cargar
      */
     public static Image getMonsterSprite(String type, String action, String direction) {
+        return getGameImage(monsterKey(type, action, direction));
+    }
+
+    static String monsterKey(String type, String action, String direction) {
         // Normalizar nombres
         type = type.toLowerCase();
         action = action.toLowerCase();
@@ -372,8 +547,7 @@ public class ImageLoader {
             fileName = directionCap + actionCap;
         }
 
-        String key = "monster_" + type + "_" + fileName.toLowerCase();
-        return imageCache.get(key);
+        return "monster_" + type + "_" + fileName.toLowerCase();
     }
 
     /**
@@ -390,7 +564,7 @@ public class ImageLoader {
         state = state.toLowerCase();
 
         String key = "fruit_" + type + "_" + state;
-        return imageCache.get(key);
+        return getGameImage(key);
     }
 
     /**
@@ -407,7 +581,7 @@ public class ImageLoader {
         state = state.toLowerCase();
 
         String key = "ice_" + state;
-        return imageCache.get(key);
+        return getGameImage(key);
     }
 
     /**
@@ -422,11 +596,11 @@ public class ImageLoader {
         state = state.toLowerCase();
 
         if (element.equals("panel")) {
-            return imageCache.get("pause_panel");
+            return getGameImage("pause_panel");
         }
 
         String key = "pause_" + element + "_" + state;
-        return imageCache.get(key);
+        return getGameImage(key);
     }
 
     /**
@@ -440,9 +614,9 @@ public class ImageLoader {
         buttonType = buttonType.toLowerCase();
 
         if (buttonType.equals("icecream_vs_monster") || buttonType.equals("vs_monster")) {
-            return imageCache.get("pvp_icecream_vs_monster");
+            return getGameImage("pvp_icecream_vs_monster");
         } else if (buttonType.equals("coop") || buttonType.equals("cooperativo")) {
-            return imageCache.get("pvp_coop");
+            return getGameImage("pvp_coop");
         }
 
         return null;
@@ -456,9 +630,9 @@ public class ImageLoader {
      */
     public static Image getFogataSprite(boolean encendida) {
         if (encendida) {
-            return imageCache.get("fogata_encendida");
+            return getGameImage("fogata_encendida");
         } else {
-            return imageCache.get("fogata_apagada");
+            return getGameImage("fogata_apagada");
         }
     }
 
@@ -468,7 +642,7 @@ public class ImageLoader {
      * @return Imagen de la base de Fogata, o null
      */
     public static Image getFogataBase() {
-        return imageCache.get("fogata_base");
+        return getGameImage("fogata_base");
     }
 
     /**
@@ -477,7 +651,7 @@ public class ImageLoader {
      * @return Imagen de la llama, o null
      */
     public static Image getFogataLlama() {
-        return imageCache.get("fogata_llama");
+        return getGameImage("fogata_llama");
     }
 
     /**
@@ -486,7 +660,7 @@ public class ImageLoader {
      * @return Imagen de la Baldosa, o null
      */
     public static Image getBaldosaCalienteSprite() {
-        return imageCache.get("baldosa_caliente");
+        return getGameImage("baldosa_caliente");
     }
 
     /**
@@ -497,9 +671,9 @@ public class ImageLoader {
      */
     public static Image getCactusSprite(boolean spiky) {
         if (spiky) {
-            return imageCache.get("cactus_spiky");
+            return getGameImage("cactus_spiky");
         } else {
-            return imageCache.get("cactus_normal");
+            return getGameImage("cactus_normal");
         }
     }
 
@@ -510,6 +684,243 @@ public class ImageLoader {
      * @return Imagen del cache, o null si no existe
      */
     public static Image getImage(String key) {
-        return imageCache.get(key);
+        return getGameImage(key);
+    }
+
+    // ========================================
+    // ATLAS DE SPRITES PRE-ESCALADOS
+    // ========================================
+
+    /**
+     * Obtiene el atlas para un tamaño de celda
+     * Si el tamaño cambió, se descarta el atlas anterior y se crea uno nuevo
+     * (sus tiles se vuelven a decodificar a demanda).
+     *
+     * @param cellSize Tamaño de la celda en píxeles
+     * @return Atlas de sprites de ese tamaño
+     */
+    public static synchronized SpriteAtlas getAtlas(int cellSize) {
+        if (atlas == null || atlas.getCellSize() != cellSize) {
+            atlas = new SpriteAtlas(cellSize);
+        }
+        return atlas;
+    }
+
+    /**
+     * Decodifica los frames de una imagen en tamaño original
+     * No se guardan: el atlas se queda solo con los tiles ya escalados (todos
+     * los frames originales juntos ocupan cientos de MB).
+     *
+     * @param key Clave de la imagen en el cache
+     * @return Frames en tamaño original, o null si la imagen no existe
+     */
+    static SpriteAtlas.Frames decodeFrames(String key) {
+        String path = imagePaths.get(key);
+        if (path == null || undecodable.contains(key)) {
+            return null;
+        }
+        SpriteAtlas.Frames frames = SpriteAtlas.decode(path, () -> getGameImage(key));
+        if (frames == null) {
+            undecodable.add(key);
+        }
+        return frames;
+    }
+
+    /**
+     * Obtiene un tile pre-escalado por la clave de la imagen
+     *
+     * @param key      Clave de la imagen en el cache
+     * @param cellSize Tamaño de la celda en píxeles
+     * @param cells    Lado del tile en celdas
+     * @return Tile del atlas, o null si la imagen no existe
+     */
+    public static SpriteAtlas.Tile getTile(String key, int cellSize, int cells) {
+        return getAtlas(cellSize).getTile(key, cells);
+    }
+
+    /**
+     * Sprite de helado del atlas actual por identificadores (ver
+     * SpriteAtlas.getSprite); requiere haber pedido el atlas con getAtlas
+     */
+    public static SpriteAtlas.Tile getSprite(int flavorId, int actionId, int dirId) {
+        return atlas != null ? atlas.getSprite(flavorId, actionId, dirId) : null;
+    }
+
+    /**
+     * Tile de fruta (1 celda)
+     */
+    public static SpriteAtlas.Tile getFruitTile(String type, String state, int cellSize) {
+        return getTile("fruit_" + type.toLowerCase() + "_" + state.toLowerCase(), cellSize, 1);
+    }
+
+    /**
+     * Tile de bloque de hielo (1 celda)
+     */
+    public static SpriteAtlas.Tile getIceBlockTile(String state, int cellSize) {
+        return getTile("ice_" + state.toLowerCase(), cellSize, 1);
+    }
+
+    // ========================================
+    // IMÁGENES DE LOS MENÚS
+    // ========================================
+
+    /**
+     * Obtiene la imagen de un menú por su ruta, cargada una sola vez
+     * Reemplaza a "new ImageIcon(ruta)": todas las ventanas comparten la misma
+     * imagen ya decodificada (la precarga las deja listas). Queda en la cache
+     * como desalojable; si se desaloja, se vuelve a leer al pedirla.
+     *
+     * @param path Ruta del archivo (relativa o absoluta)
+     * @return Icono con la imagen; si el archivo no se puede leer, un ImageIcon
+     *         igual al que daría new ImageIcon(path)
+     */
+    public static ImageIcon getMenuIcon(String path) {
+        String key = new File(path).getAbsoluteFile().toPath().normalize().toString();
+        Image image = imageCache.get(key);
+        if (image == null) {
+            try {
+                image = new File(key).isFile() ? loadResource(key) : null;
+            } catch (Exception e) {
+                System.err.println("❌ Error cargando " + path + ": " + e.getMessage());
+            }
+            if (image == null) {
+                return new ImageIcon(path);
+            }
+            imageCache.put(key, image, weigh(image, key));
+        }
+        return new ImageIcon(image);
+    }
+
+    /**
+     * Versión escalada de una imagen de menú, calculada una sola vez por tamaño
+     * Reemplaza a "imagen.getScaledInstance(...)": las imágenes fijas se
+     * rasterizan a un BufferedImage (dibujarlas ya no reescala) y los GIF
+     * conservan su animación con getScaledInstance.
+     *
+     * @param source Imagen original (de getMenuIcon)
+     * @param width  Ancho final
+     * @param height Alto final
+     * @param hints  Algoritmo de escalado (Image.SCALE_*)
+     * @return Imagen escalada compartida
+     */
+    public static Image getScaledMenuImage(Image source, int width, int height, int hints) {
+        ScaledKey key = new ScaledKey(source, width, height, hints);
+        Image scaled = imageCache.get(key);
+        if (scaled == null) {
+            scaled = source.getScaledInstance(width, height, hints);
+            if (source instanceof BufferedImage && width > 0 && height > 0) {
+                BufferedImage raster = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g = raster.createGraphics();
+                g.drawImage(new ImageIcon(scaled).getImage(), 0, 0, null);
+                g.dispose();
+                scaled = raster;
+            }
+            imageCache.put(key, scaled, (long) Math.max(0, width) * Math.max(0, height) * 4);
+        }
+        return scaled;
+    }
+
+    /**
+     * Clave de una versión escalada: la imagen original (por identidad) y el
+     * tamaño pedido
+     */
+    private static final class ScaledKey {
+        private final Image source;
+        private final int width;
+        private final int height;
+        private final int hints;
+
+        ScaledKey(Image source, int width, int height, int hints) {
+            this.source = source;
+            this.width = width;
+            this.height = height;
+            this.hints = hints;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ScaledKey)) {
+                return false;
+            }
+            ScaledKey other = (ScaledKey) o;
+            return source == other.source && width == other.width && height == other.height
+                    && hints == other.hints;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((System.identityHashCode(source) * 31 + width) * 31 + height) * 31 + hints;
+        }
+    }
+
+    // ========================================
+    // MÉTRICAS DE MEMORIA
+    // ========================================
+
+    /**
+     * Cache de imágenes (aciertos, fallos, desalojos y bytes residentes)
+     */
+    public static SpriteCache<Object, Image> getImageCache() {
+        return imageCache;
+    }
+
+    /**
+     * Bytes ocupados por los tiles del atlas actual (sprites fijos del juego)
+     */
+    public static long getAtlasBytes() {
+        SpriteAtlas current = atlas;
+        return current != null ? current.getResidentBytes() : 0;
+    }
+
+    /**
+     * Resumen de memoria de imágenes para registros y diagnóstico
+     */
+    public static String getCacheStats() {
+        return String.format(Locale.ROOT, "atlas=%.1f MB, %s", getAtlasBytes() / (1024.0 * 1024.0), imageCache);
+    }
+
+    /**
+     * Peso que tendrá una imagen decodificada, leyendo solo su cabecera
+     *
+     * @return Bytes estimados, o Long.MAX_VALUE si no se puede leer
+     */
+    private static long estimateBytes(String path) {
+        try (ImageInputStream in = new FileImageInputStream(new File(path))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (readers.hasNext()) {
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(in, true, true);
+                    return (long) reader.getWidth(0) * reader.getHeight(0) * 4;
+                } finally {
+                    reader.dispose();
+                }
+            }
+        } catch (IOException e) {
+            // Se trata como si no cupiera
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Rutas de las imágenes de los menús (para la precarga)
+     */
+    private static List<String> listMenuImages() {
+        List<String> paths = new ArrayList<>();
+        for (String dir : MENU_RESOURCE_DIRS) {
+            Path root = Paths.get(dir);
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(root)) {
+                files.filter(Files::isRegularFile)
+                        .map(Path::toString)
+                        .filter(name -> name.toLowerCase().matches(".*\\.(png|gif|jpe?g)$"))
+                        .forEach(paths::add);
+            } catch (IOException e) {
+                System.err.println("⚠️  No se pudo listar " + dir + ": " + e.getMessage());
+            }
+        }
+        return paths;
     }
-}
\ No newline at end of file
+}
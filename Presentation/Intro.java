@@ -17,6 +17,7 @@ import java.util.TimerTask;
 public class Intro extends JFrame implements KeyListener, MouseInputListener {
 
     private JLabel labelMedia;
+    private JProgressBar barraCarga;
     private volatile boolean continuarAnimacion = true;
     private volatile boolean menuAbierto = false;
     private String rutaRecursos = "Resources\\Marca\\";
@@ -51,7 +52,16 @@ public class Intro extends JFrame implements KeyListener, MouseInputListener {
         labelMedia.setForeground(Color.WHITE);
         labelMedia.setFont(new Font("Arial", Font.BOLD, 18));
 
+        // Barra de progreso de la precarga de recursos
+        barraCarga = new JProgressBar(0, 100);
+        barraCarga.setStringPainted(true);
+        barraCarga.setString("Cargando recursos...");
+        barraCarga.setForeground(new Color(120, 200, 255));
+        barraCarga.setBackground(Color.BLACK);
+        barraCarga.setBorderPainted(false);
+
         panelPrincipal.add(labelMedia, BorderLayout.CENTER);
+        panelPrincipal.add(barraCarga, BorderLayout.SOUTH);
         add(panelPrincipal);
 
         addKeyListener(this);
@@ -61,6 +71,7 @@ public class Intro extends JFrame implements KeyListener, MouseInputListener {
 
     public void mostrarSecuenciaIntro() {
         setVisible(true);
+        iniciarPrecarga();
 
         // Mostrar Marca1.gif una sola vez
         mostrarGif("Marca1.gif", 3000);
@@ -71,6 +82,17 @@ public class Intro extends JFrame implements KeyListener, MouseInputListener {
         }
     }
 
+    /**
+     * Precarga los recursos gráficos en segundo plano mientras corre la intro
+     * y muestra el avance en la barra inferior
+     */
+    private void iniciarPrecarga() {
+        ImageLoader.preloadAsync((cargadas, total) -> SwingUtilities.invokeLater(() -> {
+            barraCarga.setValue(total > 0 ? cargadas * 100 / total : 100);
+            barraCarga.setString("Cargando recursos... " + cargadas + "/" + total);
+        })).whenComplete((ok, error) -> SwingUtilities.invokeLater(() -> barraCarga.setVisible(false)));
+    }
+
     /**
      * Muestra un GIF
      */
@@ -39,7 +39,7 @@ public class LevelCompletionMenu extends JFrame {
             {
                 File archivoFondo = new File(rutaFondo);
                 if (archivoFondo.exists()) {
-                    ImageIcon icon = new ImageIcon(archivoFondo.getAbsolutePath());
+                    ImageIcon icon = ImageLoader.getMenuIcon(archivoFondo.getAbsolutePath());
                     imagenFondo = icon.getImage();
                 }
             }
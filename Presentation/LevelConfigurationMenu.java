@@ -47,7 +47,7 @@ public class LevelConfigurationMenu extends JFrame {
             {
                 File archivoFondo = new File(rutaFondo);
                 if (archivoFondo.exists()) {
-                    ImageIcon icon = new ImageIcon(archivoFondo.getAbsolutePath());
+                    ImageIcon icon = ImageLoader.getMenuIcon(archivoFondo.getAbsolutePath());
                     imagenFondo = icon.getImage();
                 }
             }
@@ -38,7 +38,7 @@ public class Modes extends JFrame {
             {
                 File archivoFondo = new File(rutaFondo);
                 if (archivoFondo.exists()) {
-                    ImageIcon icon = new ImageIcon(archivoFondo.getAbsolutePath());
+                    ImageIcon icon = ImageLoader.getMenuIcon(archivoFondo.getAbsolutePath());
                     imgWidth = icon.getIconWidth();
                     imgHeight = icon.getIconHeight();
                     imagenFondo = icon.getImage();
@@ -185,16 +185,17 @@ public class Modes extends JFrame {
             return panelError;
         }
 
-        ImageIcon iconoNormal = new ImageIcon(rutaNormal);
-        ImageIcon iconoSeleccionado = new ImageIcon(rutaSeleccionado);
+        ImageIcon iconoNormal = ImageLoader.getMenuIcon(rutaNormal);
+        ImageIcon iconoSeleccionado = ImageLoader.getMenuIcon(rutaSeleccionado);
 
         // Escalar botones al 18% de su tamaño original, o 23.8% si es PVP (+15%)
         double escala = aumentarTamaño ? 0.238 : 0.18; // 0.207 * 1.15 = 0.238
         int nuevoAncho = Math.max(1, (int) (iconoNormal.getIconWidth() * escala));
         int nuevoAlto = Math.max(1, (int) (iconoNormal.getIconHeight() * escala));
 
-        Image imagenNormal = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto, Image.SCALE_SMOOTH);
-        Image imagenSeleccionada = iconoSeleccionado.getImage().getScaledInstance(nuevoAncho, nuevoAlto,
+        Image imagenNormal = ImageLoader.getScaledMenuImage(iconoNormal.getImage(), nuevoAncho, nuevoAlto,
+                Image.SCALE_SMOOTH);
+        Image imagenSeleccionada = ImageLoader.getScaledMenuImage(iconoSeleccionado.getImage(), nuevoAncho, nuevoAlto,
                 Image.SCALE_SMOOTH);
 
         ImageIcon iconoNormalEscalado = new ImageIcon(imagenNormal);
@@ -260,12 +261,12 @@ public class Modes extends JFrame {
         String rutaLetrero = "Resources/Letreros/Modo/" + nombreBoton + "_Letrero.png";
         File archivoLetrero = new File(rutaLetrero);
         if (archivoLetrero.exists()) {
-            ImageIcon iconoLetrero = new ImageIcon(rutaLetrero);
+            ImageIcon iconoLetrero = ImageLoader.getMenuIcon(rutaLetrero);
             // Escalar letrero al 11% de su tamaño original (10% más)
             double escalaLetrero = 0.11;
             int anchoLetrero = Math.max(1, (int) (iconoLetrero.getIconWidth() * escalaLetrero));
             int altoLetrero = Math.max(1, (int) (iconoLetrero.getIconHeight() * escalaLetrero));
-            Image imagenLetrero = iconoLetrero.getImage().getScaledInstance(anchoLetrero, altoLetrero,
+            Image imagenLetrero = ImageLoader.getScaledMenuImage(iconoLetrero.getImage(), anchoLetrero, altoLetrero,
                     Image.SCALE_SMOOTH);
             ImageIcon iconoLetrerEscalado = new ImageIcon(imagenLetrero);
             JLabel labelLetrero = new JLabel(iconoLetrerEscalado);
@@ -282,7 +283,7 @@ public class Modes extends JFrame {
         boton.setFocusPainted(false);
 
         if (archivoBack.exists()) {
-            ImageIcon iconoNormal = new ImageIcon(rutaBack);
+            ImageIcon iconoNormal = ImageLoader.getMenuIcon(rutaBack);
             // Escalar botón back al 15%
             double escala = 0.15;
             int nuevoAncho = Math.max(1, (int) (iconoNormal.getIconWidth() * escala));
@@ -293,7 +294,7 @@ public class Modes extends JFrame {
             int altoInteraccion = (int) (nuevoAlto * 0.60);
             boton.setPreferredSize(new Dimension(anchoInteraccion, altoInteraccion));
 
-            Image imagenNormal = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto,
+            Image imagenNormal = ImageLoader.getScaledMenuImage(iconoNormal.getImage(), nuevoAncho, nuevoAlto,
                     Image.SCALE_SMOOTH);
             ImageIcon iconoEscalado = new ImageIcon(imagenNormal);
             boton.setIcon(iconoEscalado);
@@ -305,8 +306,8 @@ public class Modes extends JFrame {
                 @Override
                 public void mouseEntered(MouseEvent e) {
                     if (iconoHover == null) {
-                        Image imagenHover = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto,
-                                Image.SCALE_SMOOTH);
+                        Image imagenHover = ImageLoader.getScaledMenuImage(iconoNormal.getImage(),
+                                nuevoAncho, nuevoAlto, Image.SCALE_SMOOTH);
                         iconoHover = new ImageIcon(imagenHover);
                     }
                     boton.setIcon(iconoHover);
@@ -354,12 +355,12 @@ public class Modes extends JFrame {
         File archivoLetrero = new File(rutaLetrero);
 
         if (archivoLetrero.exists()) {
-            ImageIcon iconoLetrero = new ImageIcon(rutaLetrero);
+            ImageIcon iconoLetrero = ImageLoader.getMenuIcon(rutaLetrero);
             // Escalar letrero al 12% de su tamaño original
             double escalaLetrero = 0.12;
             int anchoLetrero = Math.max(1, (int) (iconoLetrero.getIconWidth() * escalaLetrero));
             int altoLetrero = Math.max(1, (int) (iconoLetrero.getIconHeight() * escalaLetrero));
-            Image imagenLetrero = iconoLetrero.getImage().getScaledInstance(anchoLetrero, altoLetrero,
+            Image imagenLetrero = ImageLoader.getScaledMenuImage(iconoLetrero.getImage(), anchoLetrero, altoLetrero,
                     Image.SCALE_SMOOTH);
             ImageIcon iconoLetrerEscalado = new ImageIcon(imagenLetrero);
             JLabel labelLetrero = new JLabel(iconoLetrerEscalado);
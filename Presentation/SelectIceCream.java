@@ -37,7 +37,7 @@ public class SelectIceCream extends JFrame {
             {
                 File archivoFondo = new File(rutaFondo);
                 if (archivoFondo.exists()) {
-                    ImageIcon icon = new ImageIcon(archivoFondo.getAbsolutePath());
+                    ImageIcon icon = ImageLoader.getMenuIcon(archivoFondo.getAbsolutePath());
                     imgWidth = icon.getIconWidth();
                     imgHeight = icon.getIconHeight();
                     imagenFondo = icon.getImage();
@@ -175,12 +175,12 @@ public class SelectIceCream extends JFrame {
         File archivoLetrero = new File(rutaLetrero);
 
         if (archivoLetrero.exists()) {
-            ImageIcon iconoLetrero = new ImageIcon(rutaLetrero);
+            ImageIcon iconoLetrero = ImageLoader.getMenuIcon(rutaLetrero);
             // Escalar letrero al 12% de su tamaño original
             double escalaLetrero = 0.12;
             int anchoLetrero = Math.max(1, (int) (iconoLetrero.getIconWidth() * escalaLetrero));
             int altoLetrero = Math.max(1, (int) (iconoLetrero.getIconHeight() * escalaLetrero));
-            Image imagenLetrero = iconoLetrero.getImage().getScaledInstance(anchoLetrero, altoLetrero,
+            Image imagenLetrero = ImageLoader.getScaledMenuImage(iconoLetrero.getImage(), anchoLetrero, altoLetrero,
                     Image.SCALE_SMOOTH);
             ImageIcon iconoLetrerEscalado = new ImageIcon(imagenLetrero);
             JLabel labelLetrero = new JLabel(iconoLetrerEscalado);
@@ -194,12 +194,12 @@ public class SelectIceCream extends JFrame {
         String rutaLetrero = "Resources/Letreros/PVP/" + nombreHelado + ".png";
         File archivoLetrero = new File(rutaLetrero);
         if (archivoLetrero.exists()) {
-            ImageIcon iconoLetrero = new ImageIcon(rutaLetrero);
+            ImageIcon iconoLetrero = ImageLoader.getMenuIcon(rutaLetrero);
             // Escalar letrero al 15% de su tamaño original (más grande)
             double escalaLetrero = 0.15;
             int anchoLetrero = Math.max(1, (int) (iconoLetrero.getIconWidth() * escalaLetrero));
             int altoLetrero = Math.max(1, (int) (iconoLetrero.getIconHeight() * escalaLetrero));
-            Image imagenLetrero = iconoLetrero.getImage().getScaledInstance(anchoLetrero, altoLetrero,
+            Image imagenLetrero = ImageLoader.getScaledMenuImage(iconoLetrero.getImage(), anchoLetrero, altoLetrero,
                     Image.SCALE_SMOOTH);
             ImageIcon iconoLetrerEscalado = new ImageIcon(imagenLetrero);
             JLabel labelLetrero = new JLabel(iconoLetrerEscalado);
@@ -221,8 +221,8 @@ public class SelectIceCream extends JFrame {
             return panelError;
         }
 
-        ImageIcon iconoNormal = new ImageIcon(rutaNormal);
-        ImageIcon iconoSeleccionado = new ImageIcon(rutaSeleccionado);
+        ImageIcon iconoNormal = ImageLoader.getMenuIcon(rutaNormal);
+        ImageIcon iconoSeleccionado = ImageLoader.getMenuIcon(rutaSeleccionado);
 
         // Escalar botones al 18% de su tamaño original, o 23.8% si es aumentarTamaño
         // (+15%)
@@ -250,8 +250,9 @@ public class SelectIceCream extends JFrame {
             altoSeleccionadoFinal = (int) (nuevoAlto * 1.15);
         }
 
-        Image imagenNormal = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto, Image.SCALE_SMOOTH);
-        Image imagenSeleccionada = iconoSeleccionado.getImage().getScaledInstance(anchoSeleccionadoFinal,
+        Image imagenNormal = ImageLoader.getScaledMenuImage(iconoNormal.getImage(), nuevoAncho, nuevoAlto,
+                Image.SCALE_SMOOTH);
+        Image imagenSeleccionada = ImageLoader.getScaledMenuImage(iconoSeleccionado.getImage(), anchoSeleccionadoFinal,
                 altoSeleccionadoFinal,
                 Image.SCALE_SMOOTH);
 
@@ -323,7 +324,7 @@ public class SelectIceCream extends JFrame {
         boton.setFocusPainted(false);
 
         if (archivoBack.exists()) {
-            ImageIcon iconoNormal = new ImageIcon(rutaBack);
+            ImageIcon iconoNormal = ImageLoader.getMenuIcon(rutaBack);
             // Escalar botón back al 15%
             double escala = 0.15;
             int nuevoAncho = Math.max(1, (int) (iconoNormal.getIconWidth() * escala));
@@ -334,7 +335,7 @@ public class SelectIceCream extends JFrame {
             int altoInteraccion = (int) (nuevoAlto * 0.60);
             boton.setPreferredSize(new Dimension(anchoInteraccion, altoInteraccion));
 
-            Image imagenNormal = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto,
+            Image imagenNormal = ImageLoader.getScaledMenuImage(iconoNormal.getImage(), nuevoAncho, nuevoAlto,
                     Image.SCALE_SMOOTH);
             ImageIcon iconoEscalado = new ImageIcon(imagenNormal);
             boton.setIcon(iconoEscalado);
@@ -346,8 +347,8 @@ public class SelectIceCream extends JFrame {
                 @Override
                 public void mouseEntered(MouseEvent e) {
                     if (iconoHover == null) {
-                        Image imagenHover = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto,
-                                Image.SCALE_SMOOTH);
+                        Image imagenHover = ImageLoader.getScaledMenuImage(iconoNormal.getImage(),
+                                nuevoAncho, nuevoAlto, Image.SCALE_SMOOTH);
                         iconoHover = new ImageIcon(imagenHover);
                     }
                     boton.setIcon(iconoHover);
@@ -36,7 +36,7 @@ public class SelectIceCreamAI extends JFrame {
                 String rutaFondo = "Resources/Opciones_Menu/Fondo.png";
                 File archivoFondo = new File(rutaFondo);
                 if (archivoFondo.exists()) {
-                    ImageIcon icon = new ImageIcon(archivoFondo.getAbsolutePath());
+                    ImageIcon icon = ImageLoader.getMenuIcon(archivoFondo.getAbsolutePath());
                     imagenFondo = icon.getImage();
                 }
             }
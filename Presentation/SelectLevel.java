@@ -36,7 +36,7 @@ public class SelectLevel extends JFrame {
             {
                 File archivoFondo = new File(rutaFondo);
                 if (archivoFondo.exists()) {
-                    ImageIcon icon = new ImageIcon(archivoFondo.getAbsolutePath());
+                    ImageIcon icon = ImageLoader.getMenuIcon(archivoFondo.getAbsolutePath());
                     imagenFondo = icon.getImage();
                 }
             }
@@ -167,7 +167,7 @@ public class SelectLevel extends JFrame {
         boton.setFocusPainted(false);
 
         if (archivoBack.exists()) {
-            ImageIcon iconoNormal = new ImageIcon(rutaBack);
+            ImageIcon iconoNormal = ImageLoader.getMenuIcon(rutaBack);
             // Escalar botón back al 15%
             double escala = 0.15;
             int nuevoAncho = Math.max(1, (int) (iconoNormal.getIconWidth() * escala));
@@ -180,7 +180,7 @@ public class SelectLevel extends JFrame {
             // Posicionar a la izquierda del centro (X=300) y más abajo (Y=460)
             boton.setBounds(300, 460, anchoInteraccion, altoInteraccion);
 
-            Image imagenNormal = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto,
+            Image imagenNormal = ImageLoader.getScaledMenuImage(iconoNormal.getImage(), nuevoAncho, nuevoAlto,
                     Image.SCALE_SMOOTH);
             ImageIcon iconoEscalado = new ImageIcon(imagenNormal);
             boton.setIcon(iconoEscalado);
@@ -192,8 +192,8 @@ public class SelectLevel extends JFrame {
                 @Override
                 public void mouseEntered(MouseEvent e) {
                     if (iconoHover == null) {
-                        Image imagenHover = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto,
-                                Image.SCALE_SMOOTH);
+                        Image imagenHover = ImageLoader.getScaledMenuImage(iconoNormal.getImage(),
+                                nuevoAncho, nuevoAlto, Image.SCALE_SMOOTH);
                         iconoHover = new ImageIcon(imagenHover);
                     }
                     boton.setIcon(iconoHover);
@@ -49,7 +49,7 @@ public class SelectMonster extends JFrame {
             {
                 File archivoFondo = new File(rutaFondo);
                 if (archivoFondo.exists()) {
-                    ImageIcon icon = new ImageIcon(archivoFondo.getAbsolutePath());
+                    ImageIcon icon = ImageLoader.getMenuIcon(archivoFondo.getAbsolutePath());
                     imgWidth = icon.getIconWidth();
                     imgHeight = icon.getIconHeight();
                     imagenFondo = icon.getImage();
@@ -251,12 +251,12 @@ public class SelectMonster extends JFrame {
         File archivoLetrero = new File(rutaLetrero);
 
         if (archivoLetrero.exists()) {
-            ImageIcon iconoLetrero = new ImageIcon(rutaLetrero);
+            ImageIcon iconoLetrero = ImageLoader.getMenuIcon(rutaLetrero);
             // Escalar letrero al 15% de su tamaño original
             double escalaLetrero = 0.15;
             int anchoLetrero = Math.max(1, (int) (iconoLetrero.getIconWidth() * escalaLetrero));
             int altoLetrero = Math.max(1, (int) (iconoLetrero.getIconHeight() * escalaLetrero));
-            Image imagenLetrero = iconoLetrero.getImage().getScaledInstance(anchoLetrero, altoLetrero,
+            Image imagenLetrero = ImageLoader.getScaledMenuImage(iconoLetrero.getImage(), anchoLetrero, altoLetrero,
                     Image.SCALE_SMOOTH);
             ImageIcon iconoLetrerEscalado = new ImageIcon(imagenLetrero);
             JLabel labelLetrero = new JLabel(iconoLetrerEscalado);
@@ -297,14 +297,14 @@ public class SelectMonster extends JFrame {
             return labelVacio;
         }
 
-        ImageIcon iconoLetrero = new ImageIcon(rutaLetrero);
+        ImageIcon iconoLetrero = ImageLoader.getMenuIcon(rutaLetrero);
 
         // Escalar letreros al 14% de su tamaño original (más pequeño para caber todos)
         double escalaLetrero = 0.14;
         int anchoLetrero = Math.max(1, (int) (iconoLetrero.getIconWidth() * escalaLetrero));
         int altoLetrero = Math.max(1, (int) (iconoLetrero.getIconHeight() * escalaLetrero));
 
-        Image imagenLetrero = iconoLetrero.getImage().getScaledInstance(anchoLetrero, altoLetrero,
+        Image imagenLetrero = ImageLoader.getScaledMenuImage(iconoLetrero.getImage(), anchoLetrero, altoLetrero,
                 Image.SCALE_SMOOTH);
         ImageIcon iconoLetrerEscalado = new ImageIcon(imagenLetrero);
 
@@ -330,8 +330,8 @@ public class SelectMonster extends JFrame {
             return panelVacio;
         }
 
-        ImageIcon iconoNormal = new ImageIcon(rutaNormal);
-        ImageIcon iconoSeleccionado = new ImageIcon(rutaSeleccionado);
+        ImageIcon iconoNormal = ImageLoader.getMenuIcon(rutaNormal);
+        ImageIcon iconoSeleccionado = ImageLoader.getMenuIcon(rutaSeleccionado);
 
         // Escalar botones al 131.25% (262.5% / 2 = 131.25%) - 50% más pequeño
         double escala = 1.3125;
@@ -344,13 +344,14 @@ public class SelectMonster extends JFrame {
         int nuevoAlto = Math.max(1, (int) (altoOriginal * escala));
 
         // Escalar PNG normal
-        Image imagenNormal = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto, Image.SCALE_SMOOTH);
+        Image imagenNormal = ImageLoader.getScaledMenuImage(iconoNormal.getImage(), nuevoAncho, nuevoAlto,
+                Image.SCALE_SMOOTH);
         ImageIcon iconoNormalEscalado = new ImageIcon(imagenNormal);
 
         // GIF/Seleccionado: NO escalar para preservar animación
         // Cargarlo sin escalar permite que Java Swing anime el GIF correctamente
         // Pero vamos a crear una versión escalada del GIF para hacerlo más grande
-        Image imagenGifEscalada = iconoSeleccionado.getImage().getScaledInstance(
+        Image imagenGifEscalada = ImageLoader.getScaledMenuImage(iconoSeleccionado.getImage(),
                 (int) (iconoSeleccionado.getIconWidth() * 1.2),
                 (int) (iconoSeleccionado.getIconHeight() * 1.2),
                 Image.SCALE_DEFAULT);
@@ -447,7 +448,7 @@ public class SelectMonster extends JFrame {
         boton.setFocusPainted(false);
 
         if (archivoBack.exists()) {
-            ImageIcon iconoNormal = new ImageIcon(rutaBack);
+            ImageIcon iconoNormal = ImageLoader.getMenuIcon(rutaBack);
             // Escalar botón back al 15%
             double escala = 0.15;
             int nuevoAncho = Math.max(1, (int) (iconoNormal.getIconWidth() * escala));
@@ -458,7 +459,7 @@ public class SelectMonster extends JFrame {
             int altoInteraccion = (int) (nuevoAlto * 0.60);
             boton.setPreferredSize(new Dimension(anchoInteraccion, altoInteraccion));
 
-            Image imagenNormal = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto,
+            Image imagenNormal = ImageLoader.getScaledMenuImage(iconoNormal.getImage(), nuevoAncho, nuevoAlto,
                     Image.SCALE_SMOOTH);
             ImageIcon iconoEscalado = new ImageIcon(imagenNormal);
             boton.setIcon(iconoEscalado);
@@ -470,8 +471,8 @@ public class SelectMonster extends JFrame {
                 @Override
                 public void mouseEntered(MouseEvent e) {
                     if (iconoHover == null) {
-                        Image imagenHover = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto,
-                                Image.SCALE_SMOOTH);
+                        Image imagenHover = ImageLoader.getScaledMenuImage(iconoNormal.getImage(),
+                                nuevoAncho, nuevoAlto, Image.SCALE_SMOOTH);
                         iconoHover = new ImageIcon(imagenHover);
                     }
                     boton.setIcon(iconoHover);
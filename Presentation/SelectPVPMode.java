@@ -42,7 +42,7 @@ public class SelectPVPMode extends JFrame {
             {
                 File archivoFondo = new File(rutaFondo);
                 if (archivoFondo.exists()) {
-                    ImageIcon icon = new ImageIcon(archivoFondo.getAbsolutePath());
+                    ImageIcon icon = ImageLoader.getMenuIcon(archivoFondo.getAbsolutePath());
                     imgWidth = icon.getIconWidth();
                     imgHeight = icon.getIconHeight();
                     imagenFondo = icon.getImage();
@@ -154,7 +154,7 @@ public class SelectPVPMode extends JFrame {
         File archivoImagen = new File(rutaImagen);
 
         if (archivoImagen.exists()) {
-            ImageIcon icono = new ImageIcon(archivoImagen.getAbsolutePath());
+            ImageIcon icono = ImageLoader.getMenuIcon(archivoImagen.getAbsolutePath());
 
             // Calcular escala manteniendo proporción
             int imgWidth = icono.getIconWidth();
@@ -172,7 +172,8 @@ public class SelectPVPMode extends JFrame {
             int anchoFinal = (int) (imgWidth * scale);
             int altoFinal = (int) (imgHeight * scale);
 
-            Image imagenEscalada = icono.getImage().getScaledInstance(anchoFinal, altoFinal, Image.SCALE_SMOOTH);
+            Image imagenEscalada = ImageLoader.getScaledMenuImage(icono.getImage(), anchoFinal, altoFinal,
+                    Image.SCALE_SMOOTH);
             ImageIcon iconoEscalado = new ImageIcon(imagenEscalada);
 
             JLabel labelImagen = new JLabel(iconoEscalado);
@@ -215,7 +216,7 @@ public class SelectPVPMode extends JFrame {
         boton.setFocusPainted(false);
 
         if (archivoBack.exists()) {
-            ImageIcon iconoNormal = new ImageIcon(rutaBack);
+            ImageIcon iconoNormal = ImageLoader.getMenuIcon(rutaBack);
             double escala = 0.15;
             int nuevoAncho = Math.max(1, (int) (iconoNormal.getIconWidth() * escala));
             int nuevoAlto = Math.max(1, (int) (iconoNormal.getIconHeight() * escala));
@@ -224,7 +225,8 @@ public class SelectPVPMode extends JFrame {
             int altoInteraccion = (int) (nuevoAlto * 0.60);
             boton.setPreferredSize(new Dimension(anchoInteraccion, altoInteraccion));
 
-            Image imagenNormal = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto, Image.SCALE_SMOOTH);
+            Image imagenNormal = ImageLoader.getScaledMenuImage(iconoNormal.getImage(), nuevoAncho, nuevoAlto,
+                    Image.SCALE_SMOOTH);
             ImageIcon iconoEscalado = new ImageIcon(imagenNormal);
             boton.setIcon(iconoEscalado);
 
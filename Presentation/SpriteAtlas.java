@@ -0,0 +1,470 @@
+package Presentation;
+
+import Controller.ViewData;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * SpriteAtlas - Atlas de sprites pre-escalados a un tamaño de celda
+ *
+ * RESPONSABILIDADES:
+ * - Decodificar cada GIF animado en un arreglo de frames
+ * - Escalar cada frame al tamaño de destino en imágenes compatibles con la
+ * pantalla (así dibujar un sprite es un blit 1:1, sin reescalar)
+ * - Resolver qué frame corresponde a un instante de la animación
+ *
+ * Un atlas corresponde a un único tamaño de celda; ImageLoader crea uno nuevo
+ * cuando el tamaño cambia (ver ImageLoader.getAtlas).
+ *
+ * Los helados y monstruos se resuelven con tablas indexadas por los
+ * identificadores de ViewData (sabor/tipo × acción × dirección): las claves de
+ * texto se arman una sola vez por atlas y el camino de dibujo no crea Strings.
+ */
+public class SpriteAtlas {
+
+    // Retraso por defecto de un frame sin retraso definido (como los navegadores)
+    private static final int DEFAULT_FRAME_DELAY_MS = 100;
+    private static final int MAX_CELLS = 3; // Los helados miden 3 celdas
+
+    // Nombre de cada sabor en los archivos de sprites (índice = ViewData.FLAVOR_*)
+    private static final String[] SPRITE_FLAVORS = { "chocolate", "vainillia", "strawberry" };
+
+    private static final int ACTIONS = ViewData.ACTION_NAMES.length;
+    private static final int DIRECTIONS = ViewData.DIRECTION_NAMES.length;
+
+    private final int cellSize;
+    private final Map<String, Tile[]> tiles; // clave -> tile por cantidad de celdas
+    private final AtomicLong residentBytes = new AtomicLong(); // Peso de todos los tiles
+
+    // Tablas [sabor|tipo][acción][dirección] aplanadas
+    private final String[] iceCreamKeys;
+    private final Tile[] iceCreamTiles;
+    private final String[] monsterKeys;
+    private final Tile[] monsterTiles;
+
+    SpriteAtlas(int cellSize) {
+        this.cellSize = cellSize;
+        this.tiles = new ConcurrentHashMap<>();
+
+        this.iceCreamKeys = new String[SPRITE_FLAVORS.length * ACTIONS * DIRECTIONS];
+        this.iceCreamTiles = new Tile[iceCreamKeys.length];
+        for (int f = 0; f < SPRITE_FLAVORS.length; f++) {
+            for (int a = 0; a < ACTIONS; a++) {
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    iceCreamKeys[tableIndex(f, a, d)] = ImageLoader.iceCreamKey(SPRITE_FLAVORS[f],
+                            ViewData.ACTION_NAMES[a], ViewData.DIRECTION_NAMES[d]);
+                }
+            }
+        }
+
+        this.monsterKeys = new String[ViewData.MONSTER_NAMES.length * ACTIONS * DIRECTIONS];
+        this.monsterTiles = new Tile[monsterKeys.length];
+        for (int t = 0; t < ViewData.MONSTER_NAMES.length; t++) {
+            for (int a = 0; a < ACTIONS; a++) {
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    monsterKeys[tableIndex(t, a, d)] = ImageLoader.monsterKey(ViewData.MONSTER_NAMES[t],
+                            ViewData.ACTION_NAMES[a], ViewData.DIRECTION_NAMES[d]);
+                }
+            }
+        }
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Obtiene el tile de una imagen escalado a "cells" celdas de lado
+     * Se construye la primera vez que se pide y queda en el atlas. Puede
+     * llamarse desde los hilos de la precarga (ver ImageLoader.preloadAsync).
+     *
+     * @param key   Clave de la imagen en ImageLoader
+     * @param cells Lado del tile en celdas (1 a 3)
+     * @return Tile pre-escalado, o null si la imagen no existe
+     */
+    Tile getTile(String key, int cells) {
+        Tile[] byCells = tiles.computeIfAbsent(key, k -> new Tile[MAX_CELLS + 1]);
+        Tile tile = byCells[cells];
+        if (tile == null) {
+            // Un solo hilo construye cada tile (precarga y dibujo pueden coincidir)
+            synchronized (byCells) {
+                tile = byCells[cells];
+                if (tile == null) {
+                    Frames frames = ImageLoader.decodeFrames(key);
+                    if (frames == null) {
+                        return null;
+                    }
+                    tile = new Tile(frames, cells * cellSize, cells * cellSize);
+                    byCells[cells] = tile;
+                    residentBytes.addAndGet(tile.getBytes());
+                }
+            }
+        }
+        return tile;
+    }
+
+    /**
+     * Sprite de helado (3 celdas de lado) sin armar claves de texto
+     *
+     * @param flavorId Sabor (ViewData.FLAVOR_*)
+     * @param actionId Acción (ViewData.ACTION_*)
+     * @param dirId    Dirección (ViewData.DIR_*)
+     * @return Tile pre-escalado, o null si no hay sprite para esa combinación
+     */
+    public Tile getSprite(int flavorId, int actionId, int dirId) {
+        int index = tableIndex(flavorId, actionId, dirId);
+        Tile tile = iceCreamTiles[index];
+        if (tile == null) {
+            tile = getTile(iceCreamKeys[index], MAX_CELLS);
+            iceCreamTiles[index] = tile;
+        }
+        return tile;
+    }
+
+    /**
+     * Sprite de monstruo (1 celda) sin armar claves de texto
+     *
+     * @param typeId   Tipo de monstruo (ViewData.MONSTER_*)
+     * @param actionId Acción (ViewData.ACTION_*)
+     * @param dirId    Dirección (ViewData.DIR_*)
+     * @return Tile pre-escalado, o null si no hay sprite para esa combinación
+     */
+    public Tile getMonsterSprite(int typeId, int actionId, int dirId) {
+        int index = tableIndex(typeId, actionId, dirId);
+        Tile tile = monsterTiles[index];
+        if (tile == null) {
+            tile = getTile(monsterKeys[index], 1);
+            monsterTiles[index] = tile;
+        }
+        return tile;
+    }
+
+    private static int tableIndex(int first, int actionId, int dirId) {
+        return (first * ACTIONS + actionId) * DIRECTIONS + dirId;
+    }
+
+    /**
+     * Cantidad de tiles construidos (para pruebas y métricas)
+     */
+    public int getTileCount() {
+        int count = 0;
+        for (Tile[] byCells : tiles.values()) {
+            for (Tile tile : byCells) {
+                if (tile != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Bytes ocupados por los frames de todos los tiles construidos
+     */
+    public long getResidentBytes() {
+        return residentBytes.get();
+    }
+
+    // ========== TILES ==========
+
+    /**
+     * Sprite pre-escalado: frames del tamaño final y sus tiempos de cambio
+     */
+    public static class Tile {
+        private final BufferedImage[] frames;
+        private final int[] frameEnds; // Fin acumulado de cada frame (ms)
+        private final int duration;
+        private final int width;
+        private final int height;
+
+        Tile(Frames source, int width, int height) {
+            this.width = width;
+            this.height = height;
+            this.frames = new BufferedImage[source.images.length];
+            this.frameEnds = new int[source.images.length];
+
+            int time = 0;
+            for (int i = 0; i < frames.length; i++) {
+                frames[i] = scale(source.images[i], width, height);
+                time += source.delays[i];
+                frameEnds[i] = time;
+            }
+            this.duration = time;
+        }
+
+        /**
+         * Índice del frame que se ve en un instante de la animación
+         */
+        public int getFrameIndex(long timeMs) {
+            if (frames.length == 1) {
+                return 0;
+            }
+            int t = (int) (timeMs % duration);
+            for (int i = 0; i < frameEnds.length; i++) {
+                if (t < frameEnds[i]) {
+                    return i;
+                }
+            }
+            return frames.length - 1;
+        }
+
+        public BufferedImage getFrame(int index) {
+            return frames[index];
+        }
+
+        /**
+         * Frame que se ve en un instante de la animación
+         */
+        public BufferedImage getFrameAt(long timeMs) {
+            return frames[getFrameIndex(timeMs)];
+        }
+
+        public int getFrameCount() {
+            return frames.length;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * Bytes que ocupan los frames (ARGB, 4 bytes por píxel)
+         */
+        public long getBytes() {
+            return (long) frames.length * width * height * 4;
+        }
+    }
+
+    /**
+     * Crea una imagen del tamaño dado compatible con la pantalla (con
+     * transparencia)
+     */
+    static BufferedImage createCompatibleImage(int width, int height) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage scaled = createCompatibleImage(width, height);
+        Graphics2D g = scaled.createGraphics();
+        // Vecino más cercano, igual que drawImage con escala por defecto
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        return scaled;
+    }
+
+    // ========== DECODIFICACIÓN ==========
+
+    /**
+     * Frames decodificados de una imagen en su tamaño original
+     */
+    static class Frames {
+        final BufferedImage[] images;
+        final int[] delays; // ms
+
+        Frames(BufferedImage[] images, int[] delays) {
+            this.images = images;
+            this.delays = delays;
+        }
+    }
+
+    /**
+     * Decodifica un archivo de imagen en frames
+     * Los GIF se componen frame a frame respetando posición y método de
+     * descarte; el resto de formatos da un único frame.
+     *
+     * @param path     Ruta del archivo
+     * @param fallback Imagen cargada con Toolkit a usar si la decodificación
+     *                 falla (solo se pide en ese caso)
+     * @return Frames decodificados, o null si no hay nada que usar
+     */
+    static Frames decode(String path, Supplier<Image> fallbackImage) {
+        File file = new File(path);
+        try {
+            if (path.toLowerCase().endsWith(".gif")) {
+                Frames frames = decodeGif(file);
+                if (frames != null) {
+                    return frames;
+                }
+            } else {
+                BufferedImage image = ImageIO.read(file);
+                if (image != null) {
+                    return new Frames(new BufferedImage[] { image }, new int[] { DEFAULT_FRAME_DELAY_MS });
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️  No se pudieron decodificar los frames de " + path + ": " + e.getMessage());
+        }
+
+        // Fallback: un solo frame con la imagen de Toolkit
+        Image fallback = fallbackImage.get();
+        if (fallback == null || fallback.getWidth(null) <= 0 || fallback.getHeight(null) <= 0) {
+            return null;
+        }
+        BufferedImage single = new BufferedImage(fallback.getWidth(null), fallback.getHeight(null),
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = single.createGraphics();
+        g.drawImage(fallback, 0, 0, null);
+        g.dispose();
+        return new Frames(new BufferedImage[] { single }, new int[] { DEFAULT_FRAME_DELAY_MS });
+    }
+
+    /**
+     * Cantidad de frames de un archivo de imagen sin decodificarlos (para
+     * pesar los GIF animados en la cache)
+     *
+     * @return Frames del GIF, o 1 si no es un GIF o no se pudo leer
+     */
+    static int countFrames(String path) {
+        if (!path.toLowerCase().endsWith(".gif")) {
+            return 1;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("gif");
+        if (!readers.hasNext()) {
+            return 1;
+        }
+        ImageReader reader = readers.next();
+        try (ImageInputStream in = new FileImageInputStream(new File(path))) {
+            reader.setInput(in, false);
+            return Math.max(1, reader.getNumImages(true));
+        } catch (Exception e) {
+            return 1;
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static Frames decodeGif(File file) throws Exception {
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("gif");
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        // Stream directo: createImageInputStream puede devolver null cuando
+        // varios hilos de la precarga consultan el registro de ImageIO a la vez
+        try (ImageInputStream in = new FileImageInputStream(file)) {
+            reader.setInput(in, false);
+            int count = reader.getNumImages(true);
+            if (count <= 0) {
+                return null;
+            }
+
+            // Tamaño del lienzo lógico del GIF
+            int canvasWidth = 0;
+            int canvasHeight = 0;
+            IIOMetadata streamMetadata = reader.getStreamMetadata();
+            if (streamMetadata != null) {
+                Node screen = findChild(streamMetadata.getAsTree(streamMetadata.getNativeMetadataFormatName()),
+                        "LogicalScreenDescriptor");
+                canvasWidth = intAttribute(screen, "logicalScreenWidth", 0);
+                canvasHeight = intAttribute(screen, "logicalScreenHeight", 0);
+            }
+
+            BufferedImage[] images = new BufferedImage[count];
+            int[] delays = new int[count];
+            BufferedImage canvas = null;
+
+            for (int i = 0; i < count; i++) {
+                BufferedImage raw = reader.read(i);
+                IIOMetadata metadata = reader.getImageMetadata(i);
+                Node root = metadata.getAsTree(metadata.getNativeMetadataFormatName());
+                Node descriptor = findChild(root, "ImageDescriptor");
+                Node control = findChild(root, "GraphicControlExtension");
+
+                if (canvas == null) {
+                    canvas = new BufferedImage(Math.max(canvasWidth, raw.getWidth()),
+                            Math.max(canvasHeight, raw.getHeight()), BufferedImage.TYPE_INT_ARGB);
+                }
+
+                int left = intAttribute(descriptor, "imageLeftPosition", 0);
+                int top = intAttribute(descriptor, "imageTopPosition", 0);
+                int delay = intAttribute(control, "delayTime", 0) * 10;
+                String disposal = control != null ? stringAttribute(control, "disposalMethod") : "none";
+
+                BufferedImage previous = "restoreToPrevious".equals(disposal) ? copy(canvas) : null;
+
+                Graphics2D g = canvas.createGraphics();
+                g.drawImage(raw, left, top, null);
+                g.dispose();
+
+                images[i] = copy(canvas);
+                delays[i] = delay > 10 ? delay : DEFAULT_FRAME_DELAY_MS;
+
+                // Descarte antes del siguiente frame
+                if ("restoreToBackgroundColor".equals(disposal)) {
+                    Graphics2D clear = canvas.createGraphics();
+                    clear.setComposite(AlphaComposite.Clear);
+                    clear.fillRect(left, top, raw.getWidth(), raw.getHeight());
+                    clear.dispose();
+                } else if (previous != null) {
+                    canvas = previous;
+                }
+            }
+            return new Frames(images, delays);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static BufferedImage copy(BufferedImage source) {
+        BufferedImage copy = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = copy.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(source, 0, 0, null);
+        g.dispose();
+        return copy;
+    }
+
+    private static Node findChild(Node parent, String name) {
+        if (parent == null) {
+            return null;
+        }
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (name.equals(child.getNodeName())) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static String stringAttribute(Node node, String name) {
+        NamedNodeMap attributes = node.getAttributes();
+        Node attribute = attributes != null ? attributes.getNamedItem(name) : null;
+        return attribute != null ? attribute.getNodeValue() : null;
+    }
+
+    private static int intAttribute(Node node, String name, int defaultValue) {
+        if (node == null) {
+            return defaultValue;
+        }
+        String value = stringAttribute(node, name);
+        try {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
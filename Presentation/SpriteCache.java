@@ -0,0 +1,214 @@
+package Presentation;
+
+import java.awt.Image;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * SpriteCache - Cache de imágenes con presupuesto en bytes
+ *
+ * Cada entrada pesa lo que ocupa decodificada (ancho × alto × 4 bytes por
+ * frame).
+ * Hay dos clases de entradas:
+ * - Fijas: sprites del juego; nunca se desalojan
+ * - Desalojables: arte de los menús y versiones escaladas; cuando su peso
+ * total supera el presupuesto se desalojan las usadas hace más tiempo (LRU)
+ *
+ * El presupuesto solo limita las desalojables; las fijas se informan aparte
+ * (getPinnedBytes). Es seguro usarla desde varios hilos.
+ *
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del valor
+ */
+public class SpriteCache<K, V> {
+
+    private final long budgetBytes;
+    private final LinkedHashMap<K, Entry<V>> entries; // Orden de acceso (LRU)
+
+    private long evictableBytes;
+    private long pinnedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param budgetBytes Máximo de bytes para las entradas desalojables
+     */
+    public SpriteCache(long budgetBytes) {
+        this.budgetBytes = Math.max(0, budgetBytes);
+        this.entries = new LinkedHashMap<>(256, 0.75f, true);
+    }
+
+    /**
+     * Obtiene un valor y lo marca como usado recientemente
+     *
+     * @return El valor, o null si no está (cuenta como fallo)
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Indica si hay un valor para la clave (no cuenta como acierto ni fallo)
+     */
+    public synchronized boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Guarda un valor fijo (no se desaloja)
+     */
+    public void putPinned(K key, V value, long bytes) {
+        put(key, value, bytes, true);
+    }
+
+    /**
+     * Guarda un valor desalojable y desaloja lo necesario para respetar el
+     * presupuesto (un valor más grande que todo el presupuesto no se guarda)
+     */
+    public void put(K key, V value, long bytes) {
+        put(key, value, bytes, false);
+    }
+
+    private synchronized void put(K key, V value, long bytes, boolean pinned) {
+        remove(key);
+        if (!pinned && bytes > budgetBytes) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, bytes, pinned));
+        if (pinned) {
+            pinnedBytes += bytes;
+        } else {
+            evictableBytes += bytes;
+            evict();
+        }
+    }
+
+    /**
+     * Quita un valor de la cache
+     */
+    public synchronized void remove(K key) {
+        Entry<V> old = entries.remove(key);
+        if (old != null) {
+            if (old.pinned) {
+                pinnedBytes -= old.bytes;
+            } else {
+                evictableBytes -= old.bytes;
+            }
+        }
+    }
+
+    /**
+     * Indica si caben "bytes" más sin desalojar nada
+     */
+    public synchronized boolean hasRoom(long bytes) {
+        return evictableBytes + bytes <= budgetBytes;
+    }
+
+    private void evict() {
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (evictableBytes > budgetBytes && it.hasNext()) {
+            Entry<V> entry = it.next();
+            if (!entry.pinned) {
+                it.remove();
+                evictableBytes -= entry.bytes;
+                evictions++;
+            }
+        }
+    }
+
+    // ========== MÉTRICAS ==========
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Bytes en memoria (fijos + desalojables)
+     */
+    public synchronized long getResidentBytes() {
+        return pinnedBytes + evictableBytes;
+    }
+
+    public synchronized long getPinnedBytes() {
+        return pinnedBytes;
+    }
+
+    public synchronized long getEvictableBytes() {
+        return evictableBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.ROOT,
+                "entradas=%d residente=%.1f MB (fijos %.1f MB, menús %.1f/%.1f MB) aciertos=%d fallos=%d desalojos=%d",
+                entries.size(), mb(getResidentBytes()), mb(pinnedBytes), mb(evictableBytes), mb(budgetBytes),
+                hits, misses, evictions);
+    }
+
+    private static double mb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+
+    /**
+     * Peso de una imagen decodificada de un solo frame (ARGB, 4 bytes por
+     * píxel)
+     *
+     * @return Bytes, o 0 si la imagen aún no tiene tamaño
+     */
+    public static long weigh(Image image) {
+        return weigh(image, 1);
+    }
+
+    /**
+     * Peso de una imagen con todos sus frames decodificados (un GIF animado
+     * ocupa un lienzo por frame)
+     *
+     * @param frames Cantidad de frames (al menos 1)
+     * @return Bytes, o 0 si la imagen aún no tiene tamaño
+     */
+    public static long weigh(Image image, int frames) {
+        if (image == null) {
+            return 0;
+        }
+        int width = image.getWidth(null);
+        int height = image.getHeight(null);
+        return width > 0 && height > 0 ? (long) width * height * 4 * Math.max(1, frames) : 0;
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long bytes;
+        private final boolean pinned;
+
+        Entry(V value, long bytes, boolean pinned) {
+            this.value = value;
+            this.bytes = bytes;
+            this.pinned = pinned;
+        }
+    }
+}
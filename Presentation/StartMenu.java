@@ -56,7 +56,7 @@ public class StartMenu extends JFrame {
             {
                 File archivoPanelMenu = new File(rutaPanel);
                 if (archivoPanelMenu.exists()) {
-                    ImageIcon icon = new ImageIcon(archivoPanelMenu.getAbsolutePath());
+                    ImageIcon icon = ImageLoader.getMenuIcon(archivoPanelMenu.getAbsolutePath());
                     imagenFondo = icon.getImage();
                 }
             }
@@ -69,7 +69,7 @@ public class StartMenu extends JFrame {
                     // Escalar imagen al tamaño exacto del panel
                     if (imagenEscalada == null || imagenEscalada.getWidth(null) != this.getWidth() ||
                             imagenEscalada.getHeight(null) != this.getHeight()) {
-                        imagenEscalada = imagenFondo.getScaledInstance(this.getWidth(), this.getHeight(),
+                        imagenEscalada = ImageLoader.getScaledMenuImage(imagenFondo, this.getWidth(), this.getHeight(),
                                 Image.SCALE_SMOOTH);
                     }
                     // Dibujar imagen ocupando todo el panel desde (0,0)
@@ -122,15 +122,16 @@ public class StartMenu extends JFrame {
             return new JButton("Error");
         }
 
-        ImageIcon iconoNormal = new ImageIcon(rutaNormal);
-        ImageIcon iconoPresionado = new ImageIcon(rutaPresionado);
+        ImageIcon iconoNormal = ImageLoader.getMenuIcon(rutaNormal);
+        ImageIcon iconoPresionado = ImageLoader.getMenuIcon(rutaPresionado);
 
         // Escalar botones al 15% de su tamaño original (25% más pequeño que 20%)
         int nuevoAncho = Math.max(1, (int) (iconoNormal.getIconWidth() * 0.15));
         int nuevoAlto = Math.max(1, (int) (iconoNormal.getIconHeight() * 0.15));
 
-        Image imagenNormal = iconoNormal.getImage().getScaledInstance(nuevoAncho, nuevoAlto, Image.SCALE_SMOOTH);
-        Image imagenPresionada = iconoPresionado.getImage().getScaledInstance(nuevoAncho, nuevoAlto,
+        Image imagenNormal = ImageLoader.getScaledMenuImage(iconoNormal.getImage(), nuevoAncho, nuevoAlto,
+                Image.SCALE_SMOOTH);
+        Image imagenPresionada = ImageLoader.getScaledMenuImage(iconoPresionado.getImage(), nuevoAncho, nuevoAlto,
                 Image.SCALE_SMOOTH);
 
         ImageIcon iconoNormalEscalado = new ImageIcon(imagenNormal);
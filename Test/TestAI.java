@@ -13,6 +13,8 @@ public class TestAI {
 
         testEnemyAIs();
         testIceCreamAIs();
+        testPathfinding();
+        testLazyFields();
 
         System.out.println("\n========== FIN TEST IAs ==========");
     }
@@ -77,4 +79,145 @@ public class TestAI {
 
         System.out.println("    Estrategias válidas: " + validStrategies + "/" + strategies.length);
     }
+
+    /**
+     * Prueba el servicio de caminos más cortos compartido por las IAs
+     */
+    private static void testPathfinding() {
+        System.out.println("\n[TEST 3] BUSQUEDA DE CAMINOS (BFS)");
+
+        // Tablero 7x5 con un muro vertical que obliga a rodear por abajo
+        Board board = new Board(7, 5);
+        for (int y = 0; y < 4; y++) {
+            board.addWall(new Position(3, y));
+        }
+        PathfindingService paths = board.getPathfinding();
+        Position from = new Position(1, 1);
+        Position to = new Position(5, 1);
+
+        int distance = paths.distance(from, to, false);
+        Direction step = paths.nextStepToward(from, to, false);
+        System.out.println("  Distancia rodeando el muro: " + distance + " (Manhattan: " + from.distanceTo(to) + ")");
+        System.out.println("  Primer paso: " + step);
+
+        // Consultas repetidas usan la caché; cambiar la ocupación la invalida
+        int computed = paths.getComputedFieldCount();
+        paths.nextStepToward(new Position(0, 0), to, false);
+        boolean cached = paths.getComputedFieldCount() == computed;
+
+        board.addIceBlock(new IceBlock(new Position(3, 4), true));
+        boolean blocked = paths.distance(from, to, false) == PathfindingService.UNREACHABLE;
+        boolean throughIce = paths.distance(from, to, true) == distance;
+        System.out.println("  Caché reutilizada: " + cached + " | Bloqueado por hielo: " + blocked
+                + " | Rompiendo hielo: " + throughIce);
+
+        if (distance == 10 && step == Direction.DOWN && cached && blocked && throughIce) {
+            System.out.println("  [OK] Caminos más cortos correctos");
+        } else {
+            System.out.println("  [ERROR] Resultado de búsqueda de caminos inesperado");
+        }
+    }
+
+    /**
+     * Los campos expandidos a demanda responden igual que el campo completo
+     * y los que atraviesan hielo sobreviven a crear/romper hielo
+     */
+    private static void testLazyFields() {
+        System.out.println("\n[TEST 4] CAMPOS BFS A DEMANDA");
+
+        // Tablero 40x30 con muros y hielo sorteados
+        int width = 40;
+        int height = 30;
+        Board board = new Board(width, height);
+        GameRandom random = new GameRandom(17);
+        for (int i = 0; i < 250; i++) {
+            board.addWall(new Position(random.nextInt(width), random.nextInt(height)));
+            board.addIceBlock(new IceBlock(new Position(random.nextInt(width), random.nextInt(height)), true));
+        }
+        Direction[] directions = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
+        int[] dx = { 0, 0, -1, 1 };
+        int[] dy = { -1, 1, 0, 0 };
+
+        int errors = 0;
+        for (int query = 0; query < 400; query++) {
+            Position from = new Position(random.nextInt(width), random.nextInt(height));
+            Position to = new Position(random.nextInt(width), random.nextInt(height));
+            boolean throughIce = query % 2 == 0;
+
+            // Referencia: campo completo de un servicio aparte
+            int[] full = new PathfindingService(board).getField(to, throughIce);
+            int expectedDistance = from.equals(to) ? 0 : fullDistance(full, from, width, height, dx, dy);
+            Direction expectedStep = null;
+            int best = PathfindingService.UNREACHABLE;
+            for (int d = 0; d < 4 && !from.equals(to); d++) {
+                int nx = from.getX() + dx[d];
+                int ny = from.getY() + dy[d];
+                if (nx >= 0 && nx < width && ny >= 0 && ny < height && full[ny * width + nx] < best) {
+                    best = full[ny * width + nx];
+                    expectedStep = directions[d];
+                }
+            }
+
+            Direction expectedAway = null;
+            int farthest = -1;
+            for (int d = 0; d < 4; d++) {
+                int nx = from.getX() + dx[d];
+                int ny = from.getY() + dy[d];
+                if (nx >= 0 && nx < width && ny >= 0 && ny < height
+                        && board.getCellType(nx, ny) == Board.CellType.EMPTY && full[ny * width + nx] > farthest) {
+                    farthest = full[ny * width + nx];
+                    expectedAway = directions[d];
+                }
+            }
+
+            // Servicio compartido: los campos quedan expandidos en parte entre consultas
+            PathfindingService paths = board.getPathfinding();
+            if (paths.nextStepToward(from, to, throughIce) != expectedStep
+                    || paths.distance(from, to, throughIce) != expectedDistance
+                    || paths.nextStepAwayFrom(from, to, throughIce) != expectedAway) {
+                errors++;
+            }
+        }
+        System.out.println("  400 consultas contra el campo completo, diferencias: " + errors);
+
+        // Romper y crear hielo no recalcula los campos que lo atraviesan
+        PathfindingService paths = board.getPathfinding();
+        Position target = new Position(width / 2, height / 2);
+        paths.distance(new Position(1, 1), target, true);
+        int computed = paths.getComputedFieldCount();
+        board.addIceBlock(new IceBlock(new Position(2, 2), true));
+        paths.distance(new Position(1, 1), target, true);
+        boolean kept = paths.getComputedFieldCount() == computed;
+        paths.distance(new Position(1, 1), target, false);
+        boolean recomputed = paths.getComputedFieldCount() > computed;
+        System.out.println("  Campo con hielo conservado: " + kept + " | Campo sin hielo recalculado: " + recomputed);
+
+        // La caché escala con el área: 8 bytes por celda y campo, hasta 8 MB
+        int smallCap = paths.getMaxFields();
+        int bigCap = new PathfindingService(new Board(256, 256)).getMaxFields();
+        boolean capped = smallCap == 32 && bigCap == 16;
+        System.out.println("  Campos en caché: " + smallCap + " (" + width + "x" + height + "), " + bigCap + " (256x256)");
+
+        if (errors == 0 && kept && recomputed && capped) {
+            System.out.println("  [OK] Campos a demanda equivalentes al BFS completo");
+        } else {
+            System.out.println("  [ERROR] Campos a demanda distintos al BFS completo");
+        }
+    }
+
+    private static int fullDistance(int[] field, Position pos, int width, int height, int[] dx, int[] dy) {
+        int index = pos.getY() * width + pos.getX();
+        if (field[index] != PathfindingService.UNREACHABLE) {
+            return field[index];
+        }
+        int best = PathfindingService.UNREACHABLE;
+        for (int d = 0; d < 4; d++) {
+            int nx = pos.getX() + dx[d];
+            int ny = pos.getY() + dy[d];
+            if (nx >= 0 && nx < width && ny >= 0 && ny < height) {
+                best = Math.min(best, field[ny * width + nx]);
+            }
+        }
+        return best == PathfindingService.UNREACHABLE ? best : best + 1;
+    }
 }
@@ -10,6 +10,8 @@ import java.util.*;
  * - Manejo de posiciones
  * - Sistema de colisiones
  * - Adición/eliminación de objetos
+ * - Índice de celdas libres para sortear posiciones
+ * - Niveles del modo estrés (tableros grandes)
  */
 public class TestBoard {
     public static void main(String[] args) {
@@ -20,6 +22,10 @@ public class TestBoard {
         testObjectPlacement();
         testCollisionDetection();
         testMovementValidation();
+        testOccupancyGrid();
+        testAnimationScheduler();
+        testFreeCells();
+        testStressLevel();
 
         System.out.println("\n========== FIN TEST BOARD ==========");
     }
@@ -166,4 +172,262 @@ public class TestBoard {
             }
         }
     }
+
+    private static void testOccupancyGrid() {
+        System.out.println("\n[TEST 6] REJILLA DE OCUPACION");
+
+        Game game = new Game(GameMode.PVM, "CHOCOLATE", null, "Troll", null, null, null);
+        game.startLevel(1);
+        Board board = game.getBoard();
+
+        if (board != null) {
+            int errores = 0;
+
+            // Las consultas por celda deben coincidir con las listas
+            for (Position wall : board.getWalls()) {
+                if (!board.isWall(wall) || board.isValidPosition(wall)) {
+                    errores++;
+                }
+            }
+            for (IceBlock block : board.getIceBlocks()) {
+                if (board.getIceBlockAt(block.getPosition()) != block) {
+                    errores++;
+                }
+            }
+            for (Enemy enemy : board.getEnemies()) {
+                if (board.getEnemyAt(enemy.getPosition()) == null) {
+                    errores++;
+                }
+            }
+            for (Fruit fruit : board.getFruits()) {
+                if (board.getFruitAtForRendering(fruit.getPosition()) == null) {
+                    errores++;
+                }
+            }
+            System.out.println("  Inconsistencias rejilla/listas: " + errores);
+
+            // Crear y romper hielo debe actualizar la rejilla
+            Position libre = null;
+            for (Position pos : board.getEmptyPositions()) {
+                if (board.getFruitAtForRendering(pos) == null && board.getEnemyAt(pos) == null) {
+                    libre = pos;
+                    break;
+                }
+            }
+            if (libre != null) {
+                board.addIceBlock(new IceBlock(libre, true));
+                boolean creado = board.hasIceBlock(libre) && !board.isValidPosition(libre);
+                board.removeIceBlock(libre);
+                boolean liberado = !board.hasIceBlock(libre) && board.isValidPosition(libre);
+                System.out.println("  Hielo creado/roto en " + libre + ": " + creado + "/" + liberado);
+                if (!creado || !liberado) {
+                    errores++;
+                }
+            }
+
+            // Romper una hilera en desorden: la lista y la rejilla siguen iguales
+            Board fila = new Board(10, 3);
+            for (int x = 0; x < 10; x++) {
+                fila.addIceBlock(new IceBlock(new Position(x, 1), true));
+            }
+            fila.addIceBlockObstacle(new IceBlockObstacle(new Position(4, 0)));
+            for (int x : new int[] { 3, 9, 0, 5, 4 }) {
+                fila.removeIceBlock(new Position(x, 1));
+            }
+            List<IceBlock> restantes = fila.getIceBlocks();
+            Set<Position> celdas = new HashSet<>();
+            for (IceBlock block : restantes) {
+                if (fila.getIceBlockAt(block.getPosition()) != block || !celdas.add(block.getPosition())) {
+                    errores++;
+                }
+            }
+            if (restantes.size() != 5 || fila.getIceBlockAt(new Position(5, 1)) != null
+                    || fila.getIceBlockObstacleAt(new Position(4, 0)) == null
+                    || fila.getIceBlockObstacleAt(new Position(4, 1)) != null) {
+                errores++;
+            }
+            System.out.println("  Hilera rota: quedan " + restantes.size() + " bloques");
+
+            // Consultas fuera del tablero
+            Position fuera = new Position(-1, board.getHeight());
+            if (board.isValidPosition(fuera) || board.getEnemyAt(fuera) != null
+                    || board.getIceBlockAt(fuera) != null || board.getFruitAt(fuera) != null
+                    || board.getIceBlockObstacleAt(fuera) != null) {
+                errores++;
+            }
+
+            if (errores == 0) {
+                System.out.println("    [OK] Rejilla de ocupacion consistente");
+            } else {
+                System.out.println("    [ERROR] Rejilla de ocupacion inconsistente");
+            }
+        }
+    }
+
+    private static void testAnimationScheduler() {
+        System.out.println("\n[TEST 7] PLANIFICADOR DE ANIMACIONES");
+
+        Game game = new Game(GameMode.PVM, "CHOCOLATE", null, "Troll", null, null, null);
+        game.startLevel(1);
+        IceCream iceCream = game.getBoard().getIceCream();
+        AnimationScheduler scheduler = game.getAnimationScheduler();
+
+        if (iceCream != null) {
+            iceCream.setCurrentAction(EntityAction.SHOOT);
+            scheduler.scheduleActionReset(iceCream, EntityAction.STAND, 200, false);
+            scheduler.scheduleActionReset(iceCream, EntityAction.STAND, 200, false);
+            System.out.println("  Tareas pendientes: " + scheduler.getPendingCount());
+
+            for (int i = 0; i < AnimationScheduler.toTicks(200); i++) {
+                scheduler.tick();
+            }
+            boolean expirada = iceCream.getCurrentAction() == EntityAction.STAND && scheduler.getPendingCount() == 0;
+
+            iceCream.setCurrentAction(EntityAction.BREAK);
+            scheduler.scheduleActionReset(iceCream, EntityAction.STAND, 200, false);
+            scheduler.cancelAll();
+            scheduler.tick();
+            boolean cancelada = iceCream.getCurrentAction() == EntityAction.BREAK && scheduler.getPendingCount() == 0;
+
+            if (expirada && cancelada) {
+                System.out.println("    [OK] Acciones expiran por frames y se cancelan");
+            } else {
+                System.out.println("    [ERROR] expirada=" + expirada + " cancelada=" + cancelada);
+            }
+        }
+    }
+
+    private static void testFreeCells() {
+        System.out.println("\n[TEST 8] CELDAS LIBRES");
+
+        Game game = new Game(GameMode.PVM, "CHOCOLATE", null, "Troll", null, null, null);
+        game.setSeed(3);
+        game.startLevel(1);
+        Board board = game.getBoard();
+
+        // El índice debe coincidir con recorrer el tablero, también después de jugar
+        int errores = 0;
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 60; i++) {
+                game.update();
+            }
+            game.toggleIceBlocks();
+            int libres = 0;
+            for (int y = 0; y < board.getHeight(); y++) {
+                for (int x = 0; x < board.getWidth(); x++) {
+                    Position pos = new Position(x, y);
+                    if (board.isValidPosition(pos) && board.getFruitAtForRendering(pos) == null
+                            && board.getEnemyAt(pos) == null) {
+                        libres++;
+                    }
+                }
+            }
+            if (libres != board.getFreeCellCount()) {
+                errores++;
+            }
+        }
+        System.out.println("  Celdas libres: " + board.getFreeCellCount() + ", diferencias con el recorrido: " + errores);
+
+        // Los sorteos caen solo en celdas libres y cubren todas
+        GameRandom random = new GameRandom(99);
+        Set<Position> vistas = new HashSet<>();
+        Position helado = board.getIceCream().getPosition();
+        for (int i = 0; i < 20000; i++) {
+            Position pos = board.getRandomEmptyPosition(random);
+            if (pos == null || !board.isValidPosition(pos) || board.getFruitAtForRendering(pos) != null
+                    || board.getEnemyAt(pos) != null || pos.equals(helado)) {
+                errores++;
+            }
+            vistas.add(pos);
+        }
+        if (!vistas.equals(new HashSet<>(board.getEmptyPositions()))) {
+            errores++;
+        }
+        System.out.println(errores == 0
+                ? "    [OK] Índice de celdas libres consistente (" + vistas.size() + " celdas sorteadas)"
+                : "    [ERROR] Índice de celdas libres inconsistente: " + errores);
+
+        // Tablero casi lleno: los sorteos salen del arreglo denso, sin recorrer
+        Board lleno = new Board(300, 300);
+        Set<Position> huecos = Set.of(new Position(7, 3), new Position(150, 150), new Position(299, 299));
+        for (int y = 0; y < lleno.getHeight(); y++) {
+            for (int x = 0; x < lleno.getWidth(); x++) {
+                if (!huecos.contains(new Position(x, y))) {
+                    lleno.addWall(new Position(x, y));
+                }
+            }
+        }
+        Set<Position> sorteadas = new HashSet<>();
+        long inicioSorteo = System.nanoTime();
+        for (int i = 0; i < 3000; i++) {
+            sorteadas.add(lleno.getRandomEmptyPosition(random));
+        }
+        long usSorteo = (System.nanoTime() - inicioSorteo) / 1000;
+        System.out.println(sorteadas.equals(huecos) && lleno.getFreeCellCount() == 3
+                ? "    [OK] 3 celdas libres de 90000: 3000 sorteos en " + usSorteo + " us"
+                : "    [ERROR] Sorteo en tablero casi lleno: " + sorteadas);
+
+        // Cientos de frutas en un tablero grande
+        Level grande = new Level(1, "Grande", 80, 60);
+        grande.setIceCreamStartPosition(new Position(1, 1));
+        Map<String, Integer> frutas = new LinkedHashMap<>();
+        frutas.put("Uvas", 1500);
+        frutas.put("Cereza", 500);
+        Game masivo = new Game(GameMode.PVM, "CHOCOLATE", null, null, new HashMap<>(), frutas, null);
+        long inicio = System.nanoTime();
+        masivo.startLevel(grande);
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+        Board tablero = masivo.getBoard();
+        boolean ok = tablero.getFruits().size() == 2000 && tablero.getFreeCellCount() == 80 * 60 - 2000;
+        for (int i = 0; i < 300; i++) {
+            masivo.update();
+        }
+        ok &= tablero.getFreeCellCount() == 80 * 60 - tablero.getRemainingFruits();
+        System.out.println(ok
+                ? "    [OK] 2000 frutas colocadas en " + ms + " ms sin repetir celda"
+                : "    [ERROR] Frutas mal colocadas: " + tablero.getFruits().size() + " frutas, "
+                        + tablero.getFreeCellCount() + " libres");
+    }
+
+    private static void testStressLevel() {
+        System.out.println("\n[TEST 9] NIVEL DE ESTRES (TABLERO GRANDE)");
+
+        // Mismos parámetros, mismo nivel
+        Level nivel = Level.createStressLevel(1, 256, 256, 300, 600);
+        Level otro = Level.createStressLevel(1, 256, 256, 300, 600);
+        boolean igual = nivel.getWallPositions().equals(otro.getWallPositions())
+                && nivel.getIceBlockPositions().equals(otro.getIceBlockPositions())
+                && nivel.getEnemyConfigs().size() == otro.getEnemyConfigs().size();
+        for (int i = 0; igual && i < nivel.getEnemyConfigs().size(); i++) {
+            igual = nivel.getEnemyConfigs().get(i).startPosition.equals(otro.getEnemyConfigs().get(i).startPosition);
+        }
+        System.out.println("  " + nivel.getWallPositions().size() + " muros, " + nivel.getIceBlockPositions().size()
+                + " bloques de hielo, " + nivel.getEnemyConfigs().size() + " enemigos");
+
+        // Se juega entero: el helado con IA, cientos de enemigos y frutas
+        Game game = new Game(GameMode.MVM, "Vainilla", null, null, null, null, null);
+        game.setIceCreamAIStrategy("Expert");
+        game.setClock(new GameClock(0));
+        game.setSeed(5);
+        game.startLevel(nivel);
+        Board board = game.getBoard();
+        int enemigos = board.getEnemies().size();
+        int frutas = board.getFruits().size();
+        long inicio = System.nanoTime();
+        int ticks = 0;
+        while (ticks < 300 && game.getGameState() == GameState.PLAYING) {
+            game.update();
+            ticks++;
+        }
+        double msPorTick = (System.nanoTime() - inicio) / 1e6 / Math.max(1, ticks);
+        System.out.println(String.format("  %d enemigos, %d frutas: %d ticks, %.3f ms/tick", enemigos, frutas, ticks,
+                msPorTick));
+
+        boolean ok = igual && board.getWidth() == 256 && enemigos == 300 && frutas == 600 && ticks > 0
+                && board.getFreeCellCount() > 0;
+        System.out.println(ok
+                ? "    [OK] Nivel de estrés determinista y jugable"
+                : "    [ERROR] Nivel de estrés inconsistente (iguales: " + igual + ", enemigos: " + enemigos
+                        + ", frutas: " + frutas + ")");
+    }
 }
@@ -1,7 +1,10 @@
 package Test;
 
 import Controller.GameController;
+import Controller.ViewData;
 import Domain.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -11,6 +14,8 @@ import java.util.Map;
  * 1. Creación de frutas personalizadas
  * 2. Renderizado de frutas
  * 3. Flujo PVP Vs Monstruo
+ * 4. Índice por bloques de las listas de ViewData (tablero grande)
+ * 5. Niveles jugados desde el catálogo de LevelManager
  */
 public class TestFlowIntegration {
     private static int testCount = 0;
@@ -34,6 +39,15 @@ public class TestFlowIntegration {
             // Test 4: Crear juego PVM con frutas personalizadas
             testPVMWithCustomFruits();
 
+            // Test 5: Reloj de simulación con paso fijo
+            testFixedTimestepClock();
+
+            // Test 6: Índice por bloques de ViewData
+            testViewDataChunkIndex();
+
+            // Test 7: Niveles del catálogo en el juego
+            testCatalogLevels();
+
             printSummary();
         } catch (Exception e) {
             System.err.println("\n❌ ERROR CRÍTICO: " + e.getMessage());
@@ -219,6 +233,190 @@ public class TestFlowIntegration {
         testCount++;
     }
 
+    private static void testFixedTimestepClock() {
+        System.out.println("\n>>> TEST 5: Reloj de Simulación con Paso Fijo <<<\n");
+
+        try {
+            Game game = new Game(GameMode.MVM, "CHOCOLATE", null, null, null, null, null);
+            game.setClock(new GameClock(0));
+            game.startLevel(1);
+
+            int tiempoInicial = game.getRemainingTime();
+            long inicioReal = System.currentTimeMillis();
+
+            // 5 segundos simulados sin esperar tiempo real
+            int ticks = 5000 / GameClock.TICK_MS + 1;
+            for (int i = 0; i < ticks && game.getGameState() == GameState.PLAYING; i++) {
+                game.update();
+            }
+            long duracionReal = System.currentTimeMillis() - inicioReal;
+
+            // El acumulador ejecuta los ticks completos y guarda el sobrante
+            int porFrame = game.getClock().accumulate(GameClock.TICK_MS * 2 + 5);
+            int siguiente = game.getClock().accumulate(GameClock.TICK_MS - 5);
+
+            System.out.println("  Tiempo simulado: " + game.getClock().now() + " ms en " + duracionReal + " ms reales");
+            System.out.println("  Segundos descontados: " + (tiempoInicial - game.getRemainingTime()));
+            System.out.println("  Ticks por frame: " + porFrame + " + " + siguiente);
+
+            if (game.getClock().getTickCount() > 0 && porFrame == 2 && siguiente == 1
+                    && (game.getGameState() != GameState.PLAYING || tiempoInicial - game.getRemainingTime() == 5)) {
+                System.out.println("✅ TEST PASADO: La simulación avanza en ticks fijos");
+                passCount++;
+            } else {
+                System.out.println("❌ TEST FALLIDO: El reloj no avanza en ticks fijos");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ TEST FALLIDO: " + e.getMessage());
+            e.printStackTrace();
+        }
+        testCount++;
+    }
+
+    private static void testViewDataChunkIndex() {
+        System.out.println("\n>>> TEST 6: Índice por Bloques de ViewData <<<\n");
+
+        try {
+            Game game = new Game(GameMode.MVM, "CHOCOLATE", null, null, null, null, null);
+            game.setIceCreamAIStrategy("Expert");
+            game.setSeed(5);
+            game.startLevel(Level.createStressLevel(1, 70, 50, 40, 80));
+            GameController controller = new GameController(game);
+            controller.stopGame();
+            for (int i = 0; i < 30; i++) {
+                game.update();
+            }
+            ViewData data = controller.getViewData();
+
+            int[][] ice = cells(data.iceBlocks.size(), i -> data.iceBlocks.get(i).x, i -> data.iceBlocks.get(i).y);
+            int[][] fruits = cells(data.fruits.size(), i -> data.fruits.get(i).x, i -> data.fruits.get(i).y);
+            int[][] enemies = cells(data.enemies.size(), i -> (int) data.enemies.get(i).x,
+                    i -> (int) data.enemies.get(i).y);
+            boolean ok = checkChunkIndex(data.iceBlockIndex, ice) && checkChunkIndex(data.fruitIndex, fruits)
+                    && checkChunkIndex(data.enemyIndex, enemies)
+                    && data.iceBlockIndex.getChunkCols() == 5 && data.iceBlockIndex.getChunkRows() == 4;
+            System.out.println("  Hielo: " + ice[0].length + ", frutas: " + fruits[0].length
+                    + ", enemigos: " + enemies[0].length + " en " + data.iceBlockIndex.getChunkCols() + "x"
+                    + data.iceBlockIndex.getChunkRows() + " bloques");
+
+            // La versión de la capa estática no cambia al romper o crear hielo,
+            // sí con un tablero nuevo (en los dos buffers)
+            int version = data.staticVersion;
+            int occupancy = game.getBoard().getOccupancyVersion();
+            for (int i = 0; i < 60; i++) {
+                game.update();
+                ok &= controller.getViewData().staticVersion == version;
+            }
+            ok &= game.getBoard().getOccupancyVersion() != occupancy;
+            game.startLevel(1);
+            int newVersion = controller.getViewData().staticVersion;
+            ok &= newVersion != version && controller.getViewData().staticVersion == newVersion;
+            System.out.println("  Versión de la capa estática: " + version + " -> " + newVersion);
+
+            if (ok && ice[0].length > 0 && fruits[0].length > 0 && enemies[0].length > 0) {
+                System.out.println("✅ TEST PASADO: Cada elemento está una vez, en el bloque de su celda; la capa estática cambia solo con el tablero");
+                passCount++;
+            } else {
+                System.out.println("❌ TEST FALLIDO: Índice por bloques o versión de la capa estática inconsistente");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ TEST FALLIDO: " + e.getMessage());
+            e.printStackTrace();
+        }
+        testCount++;
+    }
+
+    private static void testCatalogLevels() {
+        System.out.println("\n>>> TEST 7: Niveles del Catálogo en el Juego <<<\n");
+
+        try {
+            // Carpeta con un nivel 4 que solo existe como archivo
+            Path dir = Files.createTempDirectory("niveles");
+            LevelCodec.write(Level.createStressLevel(4, 21, 17, 2, 5), dir.resolve("nivel_4" + LevelCodec.EXTENSION));
+            LevelManager levels = new LevelManager(dir.toString());
+
+            Game game = new Game(GameMode.MVM, "CHOCOLATE", null, null, null, null, null);
+            GameController controller = new GameController(game);
+            controller.setLevelManager(levels);
+            controller.startLevel(4);
+            controller.stopGame();
+            Level level4 = game.getCurrentLevel();
+            boolean fromFile = level4.getLevelNumber() == 4 && game.getBoard().getWidth() == 21
+                    && game.getBoard().getHeight() == 17 && levels.getCantidadNiveles() == 4;
+
+            // Los predefinidos sin archivo se construyen con Level.createLevel
+            controller.startLevel(2);
+            controller.stopGame();
+            Level expected = Level.createLevel(2);
+            boolean predefined = game.getBoard().getWidth() == expected.getBoardWidth()
+                    && game.getCurrentLevel().getIceBlockPositions().equals(expected.getIceBlockPositions());
+
+            // Los archivos de levels/ son los mismos niveles predefinidos
+            LevelManager shipped = new LevelManager();
+            boolean shippedMatch = true;
+            for (int i = 1; i <= LevelManager.getTotalNiveles(); i++) {
+                shippedMatch &= java.util.Arrays.equals(LevelCodec.encode(shipped.obtenerNivel(i)),
+                        LevelCodec.encode(Level.createLevel(i)));
+            }
+
+            System.out.println("  Nivel 4 del archivo: " + fromFile + " | Nivel 2 predefinido: " + predefined
+                    + " | levels/ al día: " + shippedMatch);
+            try (java.util.stream.Stream<Path> files = Files.list(dir)) {
+                files.forEach(f -> f.toFile().delete());
+            }
+            Files.deleteIfExists(dir);
+
+            if (fromFile && predefined && shippedMatch) {
+                System.out.println("✅ TEST PASADO: El juego usa los niveles de LevelManager");
+                passCount++;
+            } else {
+                System.out.println("❌ TEST FALLIDO: El nivel jugado no sale del catálogo");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ TEST FALLIDO: " + e.getMessage());
+            e.printStackTrace();
+        }
+        testCount++;
+    }
+
+    private static int[][] cells(int size, java.util.function.IntUnaryOperator x,
+            java.util.function.IntUnaryOperator y) {
+        int[][] cells = new int[2][size];
+        for (int i = 0; i < size; i++) {
+            cells[0][i] = x.applyAsInt(i);
+            cells[1][i] = y.applyAsInt(i);
+        }
+        return cells;
+    }
+
+    /**
+     * Recorre todos los bloques: cada índice de la lista aparece una vez y
+     * en el bloque que contiene su celda
+     */
+    private static boolean checkChunkIndex(ViewData.ChunkIndex index, int[][] cells) {
+        int size = cells[0].length;
+        boolean[] seen = new boolean[size];
+        int chunk = ViewData.ChunkIndex.CHUNK_CELLS;
+        for (int row = 0; row < index.getChunkRows(); row++) {
+            for (int col = 0; col < index.getChunkCols(); col++) {
+                for (int k = index.start(col, row); k < index.end(col, row); k++) {
+                    int item = index.get(k);
+                    if (item < 0 || item >= size || seen[item]
+                            || cells[0][item] / chunk != col || cells[1][item] / chunk != row) {
+                        return false;
+                    }
+                    seen[item] = true;
+                }
+            }
+        }
+        for (boolean s : seen) {
+            if (!s) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static void printSummary() {
         System.out.println("\n╔════════════════════════════════════════════════════════════════╗");
         System.out.println("║                      RESUMEN DE PRUEBAS                        ║");
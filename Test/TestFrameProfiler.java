@@ -0,0 +1,185 @@
+package Test;
+
+import Domain.*;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Clase de prueba para el perfilador de frames
+ * Prueba:
+ * - Percentiles del histograma contra los exactos (error relativo acotado)
+ * - Registro sin reservar memoria
+ * - Fases del tick de Game medidas una vez por tick
+ * - Exportación a CSV
+ */
+public class TestFrameProfiler {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("========== TEST PERFIL DE FRAMES ==========\n");
+
+        testPercentiles();
+        testNoAllocation();
+        testGamePhases();
+        testCsv();
+
+        System.out.println("\n========== FIN TEST PERFIL DE FRAMES ==========");
+    }
+
+    private static void testPercentiles() {
+        System.out.println("[TEST 1] PERCENTILES DEL HISTOGRAMA");
+        Random random = new Random(7);
+        int samples = 200_000;
+        long[] values = new long[samples];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < samples; i++) {
+            // Mezcla de duraciones cortas (~50 us) y picos largos (~20 ms)
+            long value = i % 100 == 0
+                    ? 20_000_000L + random.nextInt(5_000_000)
+                    : 30_000L + (long) (Math.abs(random.nextGaussian()) * 20_000);
+            values[i] = value;
+            histogram.record(value);
+        }
+        Arrays.sort(values);
+
+        double worst = 0;
+        for (double fraction : new double[] { 0.5, 0.9, 0.99, 0.999 }) {
+            long exact = values[(int) Math.ceil(fraction * samples) - 1];
+            long measured = histogram.getPercentile(fraction);
+            worst = Math.max(worst, Math.abs(measured - exact) / (double) exact);
+        }
+        if (worst < 0.07 && histogram.getMax() == values[samples - 1] && histogram.getMin() == values[0]
+                && histogram.getCount() == samples) {
+            System.out.println(String.format("  [OK] Error relativo máximo %.2f%% (máximo y mínimo exactos)",
+                    worst * 100));
+        } else {
+            System.out.println(String.format("  [ERROR] Error relativo %.2f%% o extremos incorrectos", worst * 100));
+        }
+
+        LatencyHistogram empty = new LatencyHistogram();
+        System.out.println(empty.getPercentile(0.99) == 0 && empty.getMax() == 0
+                ? "  [OK] Histograma vacío devuelve 0"
+                : "  [ERROR] Histograma vacío con valores");
+    }
+
+    private static void testNoAllocation() {
+        System.out.println("\n[TEST 2] REGISTRO SIN RESERVAR MEMORIA");
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            System.out.println("  [OK] La JVM no mide memoria por hilo (se omite)");
+            return;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        FrameProfiler profiler = new FrameProfiler();
+        long id = Thread.currentThread().getId();
+
+        // Calentar para que el JIT compile record y lap
+        for (int i = 0; i < 200_000; i++) {
+            profiler.lap(FrameProfiler.Phase.ENEMIES, profiler.start());
+        }
+        long before = threads.getThreadAllocatedBytes(id);
+        long mark = profiler.start();
+        for (int i = 0; i < 1_000_000; i++) {
+            mark = profiler.lap(FrameProfiler.Phase.ENEMIES, mark);
+        }
+        long allocated = threads.getThreadAllocatedBytes(id) - before;
+
+        if (allocated < 1024) {
+            System.out.println("  [OK] 1.000.000 mediciones: " + allocated + " bytes reservados");
+        } else {
+            System.out.println("  [ERROR] Se reservaron " + allocated + " bytes al medir");
+        }
+    }
+
+    private static void testGamePhases() {
+        System.out.println("\n[TEST 3] FASES DEL TICK DE GAME");
+        Game game = new Game(GameMode.MVM, "Vainilla", null, null, null, null, null);
+        game.setIceCreamAIStrategy("Expert");
+        game.setClock(new GameClock(0));
+        game.setSeed(21);
+        game.startLevel(Level.createLevel2());
+        FrameProfiler profiler = new FrameProfiler();
+        game.setProfiler(profiler);
+
+        int ticks = 0;
+        while (ticks < 300 && game.getGameState() == GameState.PLAYING) {
+            game.update();
+            ticks++;
+        }
+
+        boolean ok = true;
+        for (FrameProfiler.Phase phase : new FrameProfiler.Phase[] { FrameProfiler.Phase.TICK,
+                FrameProfiler.Phase.ENEMIES, FrameProfiler.Phase.FRUITS, FrameProfiler.Phase.AI,
+                FrameProfiler.Phase.CONDITIONS }) {
+            LatencyHistogram histogram = profiler.getSessionHistogram(phase);
+            System.out.println(String.format("  %-12s p50 %6.1f us  p99 %6.1f us  max %7.1f us",
+                    phase.getLabel(), histogram.getPercentile(0.5) / 1e3, histogram.getPercentile(0.99) / 1e3,
+                    histogram.getMax() / 1e3));
+            if (histogram.getCount() != ticks) {
+                ok = false;
+            }
+        }
+        long parts = profiler.getSessionHistogram(FrameProfiler.Phase.ENEMIES).getMax();
+        ok = ok && parts <= profiler.getSessionHistogram(FrameProfiler.Phase.TICK).getMax();
+        System.out.println(ok
+                ? "  [OK] Cada fase tiene una muestra por tick (" + ticks + " ticks)"
+                : "  [ERROR] Cantidad de muestras distinta a los ticks");
+
+        FrameProfiler disabled = FrameProfiler.DISABLED;
+        disabled.record(FrameProfiler.Phase.TICK, 1000);
+        System.out.println(disabled.getSessionHistogram(FrameProfiler.Phase.TICK) == null && disabled.start() == 0
+                ? "  [OK] El perfilador deshabilitado no mide"
+                : "  [ERROR] El perfilador deshabilitado registró datos");
+    }
+
+    private static void testCsv() throws Exception {
+        System.out.println("\n[TEST 4] EXPORTACION A CSV");
+        FrameProfiler profiler = new FrameProfiler();
+        for (int i = 1; i <= 1000; i++) {
+            profiler.record(FrameProfiler.Phase.FRAME, i * 10_000L);
+            profiler.record(FrameProfiler.Phase.PAINT, 3_000_000L);
+        }
+        Path file = Files.createTempFile("perfil", ".csv");
+        try {
+            profiler.writeCsv(file);
+            List<String> lines = Files.readAllLines(file);
+
+            long frameCount = 0;
+            long paintCount = 0;
+            String lastFrame = null;
+            boolean ranges = true;
+            for (String line : lines.subList(1, lines.size())) {
+                String[] columns = line.split(",");
+                long from = Long.parseLong(columns[1]);
+                long to = Long.parseLong(columns[2]);
+                ranges &= from <= to;
+                if (columns[0].equals("FRAME")) {
+                    frameCount += Long.parseLong(columns[3]);
+                    lastFrame = line;
+                    ranges &= from <= 10_000_000L;
+                } else if (columns[0].equals("PAINT")) {
+                    paintCount += Long.parseLong(columns[3]);
+                    ranges &= from <= 3_000_000L && to >= 3_000_000L;
+                }
+            }
+            if (lines.get(0).equals("fase,desde_ns,hasta_ns,cantidad,acumulado") && frameCount == 1000
+                    && paintCount == 1000 && ranges && lastFrame != null && lastFrame.endsWith(",1.000000")) {
+                System.out.println("  [OK] " + (lines.size() - 1) + " baldes con todas las muestras");
+            } else {
+                System.out.println("  [ERROR] CSV inconsistente: " + lines.size() + " líneas");
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        // Sin badicecream.profileCsv no se exporta nada al salir
+        if (System.getProperty("badicecream.profileCsv") == null) {
+            System.out.println(FrameProfiler.CSV_FILE.isEmpty()
+                    ? "  [OK] Exportación al salir desactivada por defecto"
+                    : "  [ERROR] Se exporta sin configurar badicecream.profileCsv: " + FrameProfiler.CSV_FILE);
+        }
+    }
+}
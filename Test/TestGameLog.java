@@ -0,0 +1,178 @@
+package Test;
+
+import Domain.GameLog;
+import Domain.GameLog.LogLevel;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase de prueba para el registro del juego (GameLog)
+ * Prueba:
+ * - Filtrado por nivel (un mensaje deshabilitado no arma el texto)
+ * - Escritura a archivo con hora, nivel e hilo
+ * - Rotación del archivo al pasar el tamaño máximo
+ * - Varios hilos registrando a la vez sin perder mensajes
+ */
+public class TestGameLog {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("========== TEST GAME LOG ==========\n");
+
+        Path dir = Files.createTempDirectory("registro");
+        LogLevel previous = GameLog.getLevel();
+        try {
+            testLevels();
+            testFileOutput(dir);
+            testRotation(dir);
+            testThreads(dir);
+        } finally {
+            GameLog.setOutput(null, 1024 * 1024, 3);
+            GameLog.setLevel(previous);
+            deleteAll(dir);
+        }
+
+        System.out.println("\n========== FIN TEST GAME LOG ==========");
+    }
+
+    private static void testLevels() {
+        System.out.println("[TEST 1] FILTRADO POR NIVEL");
+        GameLog.setLevel(LogLevel.WARN);
+        AtomicInteger built = new AtomicInteger();
+        GameLog.debug(() -> "debug " + built.incrementAndGet());
+        GameLog.info(() -> "info " + built.incrementAndGet());
+        boolean gated = built.get() == 0 && !GameLog.isDebugEnabled()
+                && GameLog.isEnabled(LogLevel.WARN) && GameLog.isEnabled(LogLevel.ERROR);
+        System.out.println(gated
+                ? "  [OK] Debajo de WARN no se arma el mensaje"
+                : "  [ERROR] Se armó un mensaje deshabilitado (" + built.get() + ")");
+
+        GameLog.setLevel(LogLevel.OFF);
+        System.out.println(!GameLog.isEnabled(LogLevel.ERROR)
+                ? "  [OK] OFF deshabilita todos los niveles"
+                : "  [ERROR] OFF dejó niveles habilitados");
+
+        // Costo de un mensaje deshabilitado (lo que queda en el game loop)
+        GameLog.setLevel(LogLevel.INFO);
+        int calls = 1_000_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            int value = i;
+            GameLog.debug(() -> "valor " + value);
+        }
+        long nanos = (System.nanoTime() - start) / calls;
+        System.out.println("  [OK] Mensaje deshabilitado: ~" + nanos + " ns por llamada");
+    }
+
+    private static void testFileOutput(Path dir) throws IOException {
+        System.out.println("\n[TEST 2] ESCRITURA A ARCHIVO");
+        Path file = dir.resolve("juego.log");
+        GameLog.setLevel(LogLevel.DEBUG);
+        GameLog.setOutput(file, 1024 * 1024, 3);
+        GameLog.debug("primer mensaje");
+        GameLog.warn("segundo mensaje");
+        GameLog.error("tercer mensaje", new IllegalStateException("falla de prueba"));
+        boolean flushed = GameLog.flush(2000);
+
+        List<String> lines = Files.readAllLines(file);
+        boolean ok = flushed && lines.size() >= 4
+                && lines.get(0).matches("\\d\\d:\\d\\d:\\d\\d\\.\\d{3} DEBUG \\[main\\] primer mensaje")
+                && lines.get(1).contains(" WARN  [main] segundo mensaje")
+                && lines.get(2).contains(" ERROR [main] tercer mensaje")
+                && lines.get(3).contains("IllegalStateException: falla de prueba");
+        System.out.println(ok
+                ? "  [OK] Cada línea lleva hora, nivel e hilo (y la traza del error)"
+                : "  [ERROR] Formato inesperado: " + lines);
+    }
+
+    private static void testRotation(Path dir) throws IOException {
+        System.out.println("\n[TEST 3] ROTACION DEL ARCHIVO");
+        Path file = dir.resolve("rotado.log");
+        GameLog.setLevel(LogLevel.INFO);
+        GameLog.setOutput(file, 200, 2);
+        for (int i = 0; i < 40; i++) {
+            GameLog.info("mensaje de relleno numero " + i);
+        }
+        GameLog.flush(2000);
+
+        Path first = dir.resolve("rotado.log.1");
+        Path second = dir.resolve("rotado.log.2");
+        Path third = dir.resolve("rotado.log.3");
+        boolean rotated = Files.exists(first) && Files.exists(second) && !Files.exists(third)
+                && Files.size(first) >= 200 && Files.size(first) < 400;
+        System.out.println(rotated
+                ? "  [OK] Se conservan 2 archivos rotados de ~200 bytes"
+                : "  [ERROR] La rotación no respetó el tamaño o la cantidad de archivos");
+
+        // Si el último mensaje justo provocó una rotación, el actual está vacío
+        List<String> last = Files.readAllLines(file);
+        if (last.isEmpty()) {
+            last = Files.readAllLines(first);
+        }
+        boolean newest = last.get(last.size() - 1).endsWith("mensaje de relleno numero 39");
+        System.out.println(newest
+                ? "  [OK] El último mensaje está en el archivo más nuevo"
+                : "  [ERROR] El último mensaje no quedó en el archivo actual");
+    }
+
+    private static void testThreads(Path dir) throws Exception {
+        System.out.println("\n[TEST 4] VARIOS HILOS");
+        Path file = dir.resolve("hilos.log");
+        GameLog.setLevel(LogLevel.INFO);
+        GameLog.setOutput(file, 64L * 1024 * 1024, 1);
+        long droppedBefore = GameLog.getDroppedCount();
+
+        int threads = 4;
+        int perThread = 20_000;
+        Thread[] producers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    GameLog.info("hilo " + id + " mensaje " + i);
+                }
+            }, "productor-" + t);
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        long micros = (System.nanoTime() - start) / 1000;
+        GameLog.flush(5000);
+
+        long dropped = GameLog.getDroppedCount() - droppedBefore;
+        long lines;
+        try (var stream = Files.lines(file)) {
+            lines = stream.count();
+        }
+        if (lines + dropped == (long) threads * perThread) {
+            System.out.println("  [OK] " + lines + " escritos + " + dropped + " descartados (buffer lleno), "
+                    + "sin mensajes perdidos ni duplicados (" + micros / 1000 + " ms)");
+        } else {
+            System.out.println("  [ERROR] " + lines + " escritos + " + dropped + " descartados de "
+                    + threads * perThread);
+        }
+
+        // Un productor a ritmo normal (como el game loop) no pierde nada
+        droppedBefore = GameLog.getDroppedCount();
+        for (int i = 0; i < 2000; i++) {
+            GameLog.info("frame " + i);
+        }
+        GameLog.flush(2000);
+        System.out.println(GameLog.getDroppedCount() == droppedBefore
+                ? "  [OK] 2000 mensajes seguidos sin descartes"
+                : "  [ERROR] Se descartaron mensajes con el buffer holgado");
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+}
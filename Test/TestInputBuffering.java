@@ -1,67 +1,208 @@
 package Test;
 
-import Controller.GameController;
+import Controller.InputHandler;
 import Domain.*;
+import java.awt.Canvas;
 import java.awt.event.KeyEvent;
-import java.lang.reflect.Field;
-import java.util.*;
 
 /**
  * Clase de prueba para verificar que el Input Buffering funciona correctamente
- * Simula presionar múltiples teclas simultáneamente
+ * Prueba:
+ * - Toques cortos entre dos frames (no se pierden)
+ * - Teclas mantenidas con repetición automática del sistema
+ * - Varias teclas presionadas simultáneamente
+ * - Limpieza de teclas en orden con los demás eventos
+ * - Cola llena (el game loop dejó de vaciarla)
+ * - Productor y consumidor en hilos distintos
+ * - Vaciado hasta el momento de cada tick
+ * - Una entrada por tick (no por frame) en Game.advance y en la grabación
  */
 public class TestInputBuffering {
+
+    private static final Canvas SOURCE = new Canvas();
+
+    // Reloj de las pruebas: cada evento se marca con el momento indicado
+    private static volatile long clock;
+
     public static void main(String[] args) {
-        System.out.println("╔════════════════════════════════════════════════════════════════╗");
-        System.out.println("║           PRUEBA DE INPUT BUFFERING - BAD ICE CREAM            ║");
-        System.out.println("╚════════════════════════════════════════════════════════════════╝\n");
-
-        try {
-            // Crear controlador con nivel 1 (PVP, Fresa, Narval)
-            GameController controller = new GameController(GameMode.PVP, "FRESA", "NARVAL");
-            controller.startLevel(1);
-
-            // Obtener el set de teclas presionadas vía reflexión
-            Field keysField = GameController.class.getDeclaredField("keysPressed");
-            keysField.setAccessible(true);
-            @SuppressWarnings("unchecked")
-            Set<Integer> keysPressed = (Set<Integer>) keysField.get(controller);
-
-            System.out.println("✓ GameController inicializado");
-            System.out.println("✓ Set de teclas presionadas creado: " + keysPressed.getClass().getSimpleName());
-            System.out.println("  Tamaño inicial: " + keysPressed.size());
-
-            // Simular presión de teclas
-            System.out.println("\n--- Simulando presión de teclas ---");
-            keysPressed.add(KeyEvent.VK_W); // Jugador 1 hacia arriba
-            keysPressed.add(KeyEvent.VK_UP); // Jugador 2 hacia arriba
-
-            System.out
-                    .println("✓ Agregadas teclas: W (VK_W=" + KeyEvent.VK_W + ") y UP (VK_UP=" + KeyEvent.VK_UP + ")");
-            System.out.println("  Tamaño después: " + keysPressed.size());
-            System.out.println("  Contiene W: " + keysPressed.contains(KeyEvent.VK_W));
-            System.out.println("  Contiene UP: " + keysPressed.contains(KeyEvent.VK_UP));
-
-            // Simular liberación de teclas
-            System.out.println("\n--- Simulando liberación de tecla W ---");
-            keysPressed.remove(KeyEvent.VK_W);
-
-            System.out.println("✓ Removida tecla W");
-            System.out.println("  Tamaño después: " + keysPressed.size());
-            System.out.println("  Contiene W: " + keysPressed.contains(KeyEvent.VK_W));
-            System.out.println("  Contiene UP: " + keysPressed.contains(KeyEvent.VK_UP));
-
-            System.out.println("\n╔════════════════════════════════════════════════════════════════╗");
-            System.out.println("║                   PRUEBA COMPLETADA                            ║");
-            System.out.println("╚════════════════════════════════════════════════════════════════╝");
-            System.out.println("✓ El sistema de Input Buffering funciona correctamente");
-            System.out.println("✓ Se pueden mantener múltiples teclas presionadas simultáneamente");
-            System.exit(0);
-
-        } catch (Exception e) {
-            System.err.println("✗ Error durante la prueba: " + e.getMessage());
-            e.printStackTrace();
-            System.exit(1);
+        System.out.println("========== TEST INPUT BUFFERING ==========\n");
+
+        testShortTap();
+        testHeldKey();
+        testSimultaneousKeys();
+        testClearAllKeys();
+        testOverflow();
+        testThreads();
+        testDrainUntil();
+        testInputPerTick();
+
+        System.out.println("\n========== FIN TEST INPUT BUFFERING ==========");
+    }
+
+    private static InputHandler newInput() {
+        return new InputHandler(() -> clock);
+    }
+
+    private static void press(InputHandler input, int keyCode, long when) {
+        clock = when;
+        input.keyPressed(new KeyEvent(SOURCE, KeyEvent.KEY_PRESSED, when, 0, keyCode, KeyEvent.CHAR_UNDEFINED));
+    }
+
+    private static void release(InputHandler input, int keyCode, long when) {
+        clock = when;
+        input.keyReleased(new KeyEvent(SOURCE, KeyEvent.KEY_RELEASED, when, 0, keyCode, KeyEvent.CHAR_UNDEFINED));
+    }
+
+    private static void testShortTap() {
+        System.out.println("[TEST 1] TOQUE CORTO ENTRE FRAMES");
+        InputHandler input = newInput();
+        press(input, KeyEvent.VK_W, 1000);
+        release(input, KeyEvent.VK_W, 1040);
+        input.drain();
+        if (input.isKeyPressed(KeyEvent.VK_W) && input.wasKeyPressed(KeyEvent.VK_W)
+                && input.getHeldMillis(KeyEvent.VK_W, 1060) == 40) {
+            System.out.println("  [OK] El toque cuenta en el frame siguiente (40 ms)");
+        } else {
+            System.out.println("  [ERROR] Se perdió el toque entre frames");
+        }
+        input.drain();
+        System.out.println(!input.isKeyPressed(KeyEvent.VK_W) && input.getHeldMillis(KeyEvent.VK_W, 1080) == -1
+                ? "  [OK] En el frame siguiente ya no está presionada"
+                : "  [ERROR] La tecla quedó presionada");
+    }
+
+    private static void testHeldKey() {
+        System.out.println("\n[TEST 2] TECLA MANTENIDA");
+        InputHandler input = newInput();
+        press(input, KeyEvent.VK_UP, 2000);
+        input.drain();
+        boolean first = input.wasKeyPressed(KeyEvent.VK_UP);
+        press(input, KeyEvent.VK_UP, 2030); // Repetición automática
+        press(input, KeyEvent.VK_UP, 2060);
+        input.drain();
+        if (first && !input.wasKeyPressed(KeyEvent.VK_UP) && input.isKeyPressed(KeyEvent.VK_UP)
+                && input.getHeldMillis(KeyEvent.VK_UP, 2150) == 150) {
+            System.out.println("  [OK] La repetición no reinicia el tiempo ni repite la acción");
+        } else {
+            System.out.println("  [ERROR] La repetición automática cambió el estado de la tecla");
+        }
+        System.out.println(input.isMoveUp() && !input.isMoveDown()
+                ? "  [OK] isMoveUp con la flecha arriba"
+                : "  [ERROR] Dirección incorrecta");
+    }
+
+    private static void testSimultaneousKeys() {
+        System.out.println("\n[TEST 3] TECLAS SIMULTANEAS");
+        InputHandler input = newInput();
+        press(input, KeyEvent.VK_W, 3000);
+        press(input, KeyEvent.VK_UP, 3005);
+        press(input, KeyEvent.VK_SPACE, 3010);
+        release(input, KeyEvent.VK_W, 3020);
+        int events = input.drain();
+        input.drain();
+        if (events == 4 && !input.isKeyPressed(KeyEvent.VK_W) && input.isKeyPressed(KeyEvent.VK_UP)
+                && input.isToggleIce() && input.getPressedKeys().size() == 2) {
+            System.out.println("  [OK] Dos jugadores mantienen teclas a la vez");
+        } else {
+            System.out.println("  [ERROR] Estado incorrecto con varias teclas: " + input.getPressedKeys());
         }
     }
+
+    private static void testClearAllKeys() {
+        System.out.println("\n[TEST 4] LIMPIAR TECLAS");
+        InputHandler input = newInput();
+        press(input, KeyEvent.VK_A, 4000);
+        input.clearAllKeys();
+        press(input, KeyEvent.VK_D, 4010);
+        input.drain();
+        System.out.println(!input.isKeyPressed(KeyEvent.VK_A) && input.isKeyPressed(KeyEvent.VK_D)
+                ? "  [OK] La limpieza se aplica en orden con los demás eventos"
+                : "  [ERROR] La limpieza no respetó el orden de los eventos");
+    }
+
+    private static void testOverflow() {
+        System.out.println("\n[TEST 5] COLA LLENA");
+        InputHandler input = newInput();
+        for (int i = 0; i < 2000; i++) {
+            press(input, KeyEvent.VK_S, 5000 + i);
+        }
+        int events = input.drain();
+        boolean reset = events == 0 && input.getPendingEvents() == 0 && !input.isKeyPressed(KeyEvent.VK_S);
+        press(input, KeyEvent.VK_S, 8000);
+        input.drain();
+        System.out.println(reset && input.isKeyPressed(KeyEvent.VK_S)
+                ? "  [OK] Se descarta lo acumulado y se sigue recibiendo"
+                : "  [ERROR] La cola llena dejó un estado inconsistente");
+    }
+
+    private static void testThreads() {
+        System.out.println("\n[TEST 6] PRODUCTOR Y CONSUMIDOR EN HILOS DISTINTOS");
+        InputHandler input = newInput();
+        int pairs = 50_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < pairs; i++) {
+                int key = i % 2 == 0 ? KeyEvent.VK_LEFT : KeyEvent.VK_RIGHT;
+                while (input.getPendingEvents() > 1000) {
+                    Thread.onSpinWait();
+                }
+                press(input, key, 10_000 + i);
+                release(input, key, 10_000 + i);
+            }
+        });
+        long start = System.nanoTime();
+        producer.start();
+        long drained = 0;
+        while (producer.isAlive() || input.getPendingEvents() > 0) {
+            drained += input.drain();
+        }
+        input.drain();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        if (drained == 2L * pairs && !input.isKeyPressed(KeyEvent.VK_LEFT) && !input.isKeyPressed(KeyEvent.VK_RIGHT)) {
+            System.out.println("  [OK] " + drained + " eventos sin pérdidas en " + millis + " ms");
+        } else {
+            System.out.println("  [ERROR] Se procesaron " + drained + " de " + 2L * pairs + " eventos");
+        }
+    }
+
+    private static void testDrainUntil() {
+        System.out.println("\n[TEST 7] VACIADO HASTA EL MOMENTO DEL TICK");
+        InputHandler input = newInput();
+        press(input, KeyEvent.VK_Q, 100);
+        release(input, KeyEvent.VK_Q, 105);
+        press(input, KeyEvent.VK_D, 130);
+        int first = input.drain(116);
+        boolean tap = input.wasKeyPressed(KeyEvent.VK_Q) && !input.isKeyPressed(KeyEvent.VK_D);
+        int second = input.drain(132);
+        boolean later = !input.wasKeyPressed(KeyEvent.VK_Q) && input.wasKeyPressed(KeyEvent.VK_D)
+                && input.getHeldMillis(KeyEvent.VK_D, 132) == 2;
+        System.out.println(first == 2 && second == 1 && tap && later
+                ? "  [OK] Cada tick ve solo las teclas anteriores a su momento"
+                : "  [ERROR] Eventos aplicados en el tick equivocado (" + first + ", " + second + ")");
+    }
+
+    private static void testInputPerTick() {
+        System.out.println("\n[TEST 8] ENTRADA POR TICK EN GAME.ADVANCE");
+        Game game = new Game(GameMode.PVP, "Fresa", null, "Narval", null, null, null);
+        game.setClock(new GameClock(0));
+        game.setSeed(4);
+        game.setRecording(true);
+        game.startLevel(Level.createLevel1());
+
+        // Un frame lento (5 ticks) y uno rápido (0 ticks)
+        int[] calls = new int[1];
+        StringBuilder remaining = new StringBuilder();
+        int slow = game.advance(5 * GameClock.TICK_MS, ticksAfter -> {
+            calls[0]++;
+            remaining.append(ticksAfter);
+            game.applyInput(0, PlayerInput.RIGHT | PlayerInput.MOVE);
+        });
+        int fast = game.advance(GameClock.TICK_MS / 2, ticksAfter -> calls[0]++);
+        long tick = game.getClock().getTickCount();
+
+        boolean ok = slow == 5 && fast == 0 && calls[0] == 5 && remaining.toString().equals("43210");
+        System.out.println("  Ticks: " + slow + " + " + fast + ", entradas: " + calls[0] + " (" + remaining + ")");
+        System.out.println(ok && tick == 5
+                ? "  [OK] La entrada se aplica una vez por tick simulado"
+                : "  [ERROR] Entrada desacoplada de los ticks");
+    }
 }
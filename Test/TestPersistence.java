@@ -1,6 +1,17 @@
 package Test;
 
+import Domain.Direction;
 import Domain.Game;
+import Domain.GameLog;
+import Domain.GameMode;
+import Domain.Level;
+import Domain.LevelCatalog;
+import Domain.LevelCodec;
+import Domain.SaveCodec;
+import Domain.SaveWriter;
+import Domain.SnapshotJournal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * Test para verificar que el guardado y carga de partida funcionan
@@ -42,6 +53,328 @@ public class TestPersistence {
             System.out.println("[INFO] No hay archivo guardado disponible");
         }
 
+        // Test 3: Formato binario de niveles (.lvl)
+        System.out.println("\n[TEST 3] Nivel en formato binario (.lvl)");
+        testBinaryLevel();
+
+        // Test 4: Catálogo de niveles con índice y carga bajo demanda
+        System.out.println("\n[TEST 4] Catálogo de niveles");
+        testLevelCatalog();
+
+        // Test 5: Formato binario de partidas (SaveCodec)
+        System.out.println("\n[TEST 5] Partida en formato binario");
+        testBinarySave();
+
+        // Test 6: Guardado en segundo plano y limpieza de autoguardados
+        System.out.println("\n[TEST 6] Guardado en segundo plano");
+        testBackgroundSave();
+
+        // Test 7: Instantáneas delta y retroceso
+        System.out.println("\n[TEST 7] Instantáneas delta y retroceso");
+        testSnapshots();
+
         System.out.println("\n========== FIN TEST PERSISTENCIA ==========");
     }
+
+    private static void testBinaryLevel() {
+        try {
+            Level original = Level.createLevel1();
+            Path file = Files.createTempFile("nivel", LevelCodec.EXTENSION);
+            LevelCodec.write(original, file);
+            Level loaded = LevelCodec.read(file);
+            long size = Files.size(file);
+
+            boolean ok = loaded.getLevelName().equals(original.getLevelName())
+                    && loaded.getBoardWidth() == original.getBoardWidth()
+                    && loaded.getTimeLimit() == original.getTimeLimit()
+                    && loaded.getIceCreamStartPosition().equals(original.getIceCreamStartPosition())
+                    && new java.util.HashSet<>(loaded.getWallPositions())
+                            .equals(new java.util.HashSet<>(original.getWallPositions()))
+                    && new java.util.HashSet<>(loaded.getIceBlockPositions())
+                            .equals(new java.util.HashSet<>(original.getIceBlockPositions()))
+                    && loaded.getEnemyConfigs().size() == original.getEnemyConfigs().size()
+                    && loaded.getEnemyConfigs().get(0).pattern.length == 4
+                    && loaded.getTotalFruits() == original.getTotalFruits();
+            System.out.println("  Tamaño del archivo: " + size + " bytes");
+            System.out.println(ok ? "[OK] Nivel leído igual al escrito" : "[ERROR] El nivel leído no coincide");
+
+            // Un byte alterado debe detectarse
+            byte[] data = Files.readAllBytes(file);
+            data[data.length / 2] ^= 0x10;
+            Files.write(file, data);
+            try {
+                LevelCodec.read(file);
+                System.out.println("[ERROR] Se aceptó un nivel corrupto");
+            } catch (java.io.IOException e) {
+                System.out.println("[OK] Nivel corrupto rechazado: " + e.getMessage());
+            }
+            Files.deleteIfExists(file);
+        } catch (Exception e) {
+            System.out.println("[ERROR] " + e);
+        }
+    }
+
+    private static void testLevelCatalog() {
+        try {
+            Path dir = Files.createTempDirectory("niveles");
+            for (int i = 1; i <= 5; i++) {
+                Level level = Level.createLevel((i - 1) % 3 + 1);
+                Level copy = new Level(i, "Nivel " + i, level.getBoardWidth(), level.getBoardHeight());
+                level.getWallPositions().forEach(copy::addWallPosition);
+                level.getIceBlockPositions().forEach(copy::addIceBlockPosition);
+                level.getFruitConfigs().forEach(copy::addFruitConfig);
+                LevelCodec.write(copy, dir.resolve("nivel_" + i + LevelCodec.EXTENSION));
+            }
+
+            LevelCatalog catalog = new LevelCatalog(dir.toString(), 2);
+            LevelCatalog.Entry entry = catalog.getEntry(4);
+            Level level4 = Level.createLevel1();
+            boolean summary = catalog.size() == 5 && catalog.getLoadedCount() == 0 && entry != null
+                    && entry.getName().equals("Nivel 4") && entry.getTotalFruits() == level4.getTotalFruits()
+                    && entry.isBlocked(level4.getWallPositions().get(0).getX(),
+                            level4.getWallPositions().get(0).getY());
+            System.out.println(summary ? "[OK] Índice con 5 niveles sin cargar ninguno"
+                    : "[ERROR] Resumen del catálogo incorrecto: " + entry);
+
+            Level a = catalog.load(4);
+            boolean cached = a != null && catalog.load(4) == a && catalog.getFullLoadCount() == 1;
+            catalog.load(1);
+            catalog.load(2);
+            boolean evicted = catalog.getLoadedCount() == 2 && catalog.load(4) != a;
+            System.out.println(cached && evicted ? "[OK] Carga bajo demanda con caché LRU"
+                    : "[ERROR] Caché de niveles incorrecta");
+
+            // Un catálogo nuevo reutiliza el índice; un archivo nuevo se agrega
+            boolean indexed = Files.exists(dir.resolve(LevelCatalog.INDEX_FILE));
+            LevelCodec.write(new Level(6, "Nivel 6", 13, 11), dir.resolve("extra" + LevelCodec.EXTENSION));
+            LevelCatalog reopened = new LevelCatalog(dir.toString());
+            boolean refreshed = indexed && reopened.size() == 6 && reopened.getMaxLevelNumber() == 6
+                    && reopened.getEntry(4).getTotalFruits() == entry.getTotalFruits();
+            System.out.println(refreshed ? "[OK] Índice reutilizado y actualizado"
+                    : "[ERROR] Índice de niveles incorrecto");
+
+            // Cabeceras dañadas (el resumen no verifica el CRC): ancho negativo y
+            // nombre de largo negativo se omiten sin cortar el recorrido
+            byte[] good = LevelCodec.encode(new Level(7, "Nivel 7", 13, 11));
+            byte[] negativeWidth = good.clone();
+            negativeWidth[6] = (byte) 0xFF; // Ancho (short en el byte 6)
+            byte[] negativeName = good.clone();
+            negativeName[18] = (byte) 0x80; // Largo del nombre (short en el byte 18)
+            Files.write(dir.resolve("ancho" + LevelCodec.EXTENSION), negativeWidth);
+            Files.write(dir.resolve("nombre" + LevelCodec.EXTENSION), negativeName);
+            GameLog.LogLevel logLevel = GameLog.getLevel();
+            GameLog.setLevel(GameLog.LogLevel.OFF); // Sin los avisos de archivos omitidos
+            LevelCatalog damaged = new LevelCatalog(dir.toString());
+            GameLog.setLevel(logLevel);
+            boolean skipped = damaged.size() == 6 && damaged.getEntry(4) != null;
+            boolean rejected = true;
+            for (byte[] data : new byte[][] { negativeWidth, negativeName }) {
+                // Con el CRC recalculado, decode también debe rechazarlo
+                java.util.zip.CRC32 crc = new java.util.zip.CRC32();
+                crc.update(data, 0, data.length - 4);
+                java.nio.ByteBuffer.wrap(data).putInt(data.length - 4, (int) crc.getValue());
+                try {
+                    LevelCodec.decode(java.nio.ByteBuffer.wrap(data), "prueba");
+                    rejected = false;
+                } catch (java.io.IOException e) {
+                    // Esperado
+                }
+            }
+            System.out.println(skipped && rejected ? "[OK] Cabeceras dañadas rechazadas con IOException"
+                    : "[ERROR] Cabecera dañada aceptada o catálogo incompleto (" + damaged.size() + ")");
+
+            // Un nombre que no cabe en el largo (short) no se codifica
+            try {
+                LevelCodec.encode(new Level(8, "x".repeat(40_000), 13, 11));
+                System.out.println("[ERROR] Se codificó un nombre de 40000 bytes");
+            } catch (IllegalArgumentException e) {
+                System.out.println("[OK] Nombre demasiado largo rechazado: " + e.getMessage());
+            }
+
+            try (java.util.stream.Stream<Path> files = Files.list(dir)) {
+                files.forEach(f -> f.toFile().delete());
+            }
+            Files.deleteIfExists(dir);
+        } catch (Exception e) {
+            System.out.println("[ERROR] " + e);
+        }
+    }
+
+    private static void testBinarySave() {
+        try {
+            Game original = new Game(GameMode.PVM, "Fresa", null, null, null, null, null);
+            original.startLevel(2);
+            original.addScore(120);
+            original.moveIceCream(Direction.LEFT);
+            original.toggleIceBlocks();
+            for (int i = 0; i < 90; i++) {
+                original.update();
+            }
+
+            byte[] data = SaveCodec.encode(original);
+            Game loaded = SaveCodec.decode(java.nio.ByteBuffer.wrap(data), "memoria");
+            boolean ok = loaded.getScore() == original.getScore()
+                    && loaded.getRemainingTime() == original.getRemainingTime()
+                    && loaded.getGameState() == original.getGameState()
+                    && loaded.getClock().now() == original.getClock().now()
+                    && loaded.getBoard().getIceCream().getPosition()
+                            .equals(original.getBoard().getIceCream().getPosition())
+                    && loaded.getBoard().getIceBlocks().size() == original.getBoard().getIceBlocks().size()
+                    && loaded.getBoard().getRemainingFruits() == original.getBoard().getRemainingFruits()
+                    && loaded.getBoard().getEnemies().size() == original.getBoard().getEnemies().size()
+                    && loaded.getBoard().getEnemies().get(0).getPosition()
+                            .equals(original.getBoard().getEnemies().get(0).getPosition());
+            System.out.println("  Tamaño: " + data.length + " bytes");
+            System.out.println(ok ? "[OK] Partida leída igual a la escrita" : "[ERROR] La partida leída no coincide");
+
+            // Los enemigos que persiguen deben quedar enlazados al tablero nuevo
+            loaded.update();
+            System.out.println(loaded.getGameState() != null ? "[OK] La partida cargada sigue simulando"
+                    : "[ERROR] La partida cargada no simula");
+
+            data[data.length / 2] ^= 0x10;
+            try {
+                SaveCodec.decode(java.nio.ByteBuffer.wrap(data), "memoria");
+                System.out.println("[ERROR] Se aceptó una partida corrupta");
+            } catch (java.io.IOException e) {
+                System.out.println("[OK] Partida corrupta rechazada: " + e.getMessage());
+            }
+        } catch (Exception e) {
+            System.out.println("[ERROR] " + e);
+        }
+    }
+
+    private static void testBackgroundSave() {
+        try {
+            Game game = new Game(GameMode.PVM, "Vainilla", null, null, null, null, null);
+            game.startLevel(1);
+            String filename = "test_guardado_async.dat";
+
+            long start = System.nanoTime();
+            java.util.concurrent.CompletableFuture<Boolean> pending = game.saveGameAsync(filename);
+            long callerMicros = (System.nanoTime() - start) / 1000;
+            boolean saved = pending.get(10, java.util.concurrent.TimeUnit.SECONDS);
+            Game loaded = Game.loadGame(filename);
+            System.out.println("  Tiempo en el hilo del juego: " + callerMicros + " us");
+            System.out.println(saved && loaded != null && loaded.getScore() == game.getScore()
+                    ? "[OK] Partida escrita en segundo plano y legible"
+                    : "[ERROR] Guardado en segundo plano fallido");
+            Game.deleteSavedGame(filename);
+
+            // Se conservan solo los últimos autoguardados
+            Path dir = Files.createTempDirectory("saves");
+            for (int i = 1; i <= 5; i++) {
+                Files.write(dir.resolve(SaveWriter.AUTOSAVE_PREFIX + "2026010" + i + "_120000.dat"), new byte[1]);
+            }
+            Files.write(dir.resolve("partida.dat"), new byte[1]);
+            int deleted = SaveWriter.pruneAutosaves(dir.toFile(), 3);
+            boolean kept = deleted == 2 && Files.exists(dir.resolve("partida.dat"))
+                    && Files.exists(dir.resolve(SaveWriter.AUTOSAVE_PREFIX + "20260105_120000.dat"))
+                    && !Files.exists(dir.resolve(SaveWriter.AUTOSAVE_PREFIX + "20260101_120000.dat"));
+            System.out.println(kept ? "[OK] Se conservan los 3 autoguardados más nuevos"
+                    : "[ERROR] Limpieza de autoguardados incorrecta");
+
+            // Al escribir no quedan temporales en la carpeta
+            SaveWriter.write(SaveCodec.encode(game), dir.resolve("partida.dat")).join();
+            try (java.util.stream.Stream<Path> files = Files.list(dir)) {
+                boolean clean = files.noneMatch(f -> f.getFileName().toString().endsWith(".tmp"));
+                System.out.println(clean ? "[OK] Sin archivos temporales después de escribir"
+                        : "[ERROR] Quedaron archivos temporales");
+            }
+
+            // Lo encolado justo antes de System.exit se escribe igual
+            Path exitFile = dir.resolve("salida.dat");
+            Process child = new ProcessBuilder(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-Djava.awt.headless=true", "-Dbadicecream.log=OFF",
+                    "-cp", System.getProperty("java.class.path"),
+                    ExitWriter.class.getName(), exitFile.toString()).inheritIO().start();
+            boolean exited = child.waitFor(30, java.util.concurrent.TimeUnit.SECONDS);
+            boolean drained = exited && Files.exists(exitFile)
+                    && Files.size(exitFile) == ExitWriter.BLOCK * ExitWriter.BLOCKS;
+            System.out.println(drained ? "[OK] Escrituras en cola terminadas antes de salir"
+                    : "[ERROR] Se perdieron escrituras en cola al salir");
+
+            try (java.util.stream.Stream<Path> files = Files.list(dir)) {
+                files.forEach(f -> f.toFile().delete());
+            }
+            Files.deleteIfExists(dir);
+        } catch (Exception e) {
+            System.out.println("[ERROR] " + e);
+        }
+    }
+
+    private static void testSnapshots() {
+        try {
+            Game game = new Game(GameMode.PVM, "Fresa", null, null, null, null, null);
+            game.startLevel(2);
+            SnapshotJournal.Snapshot keyframe = game.getSnapshots().capture(game);
+
+            for (int i = 0; i < 60; i++) {
+                game.update();
+            }
+            game.toggleIceBlocks();
+            game.addScore(50);
+            SnapshotJournal.Snapshot delta = game.getSnapshots().capture(game);
+            byte[] expected = SaveCodec.encode(game);
+            long deltaTime = delta.getTime();
+
+            System.out.println("  Keyframe: " + keyframe.getSize() + " bytes, delta: " + delta.getSize() + " bytes");
+            System.out.println(keyframe.isKeyframe() && !delta.isKeyframe() && delta.getSize() < keyframe.getSize()
+                    ? "[OK] El delta es más chico que el keyframe"
+                    : "[ERROR] El delta no es más chico que el keyframe");
+
+            for (int i = 0; i < 200; i++) {
+                game.update();
+            }
+            game.toggleIceBlocks();
+            game.addScore(70);
+            game.getSnapshots().capture(game);
+
+            boolean rewound = game.getSnapshots().rewind(game, game.getClock().now() - deltaTime);
+            System.out.println(rewound && java.util.Arrays.equals(SaveCodec.encode(game), expected)
+                    ? "[OK] Retroceso al estado exacto del delta"
+                    : "[ERROR] El retroceso no restauró el estado del delta");
+            game.update();
+            System.out.println(game.getSnapshots().size() == 2 && game.getSnapshots().get(1).isKeyframe()
+                    ? "[OK] Se descartaron las instantáneas posteriores"
+                    : "[ERROR] Instantáneas incorrectas después de retroceder");
+
+            // Diario en disco: keyframe + deltas, recuperable
+            Path journal = Files.createTempFile("diario", ".bin");
+            SnapshotJournal snapshots = new SnapshotJournal(4, journal);
+            snapshots.capture(game);
+            for (int i = 0; i < 30; i++) {
+                game.update();
+            }
+            game.addScore(10);
+            snapshots.capture(game);
+            SaveWriter.flush();
+            Game recovered = SnapshotJournal.recover(journal);
+            System.out.println(recovered != null && recovered.getScore() == game.getScore()
+                    && recovered.getClock().now() == game.getClock().now()
+                    ? "[OK] Partida recuperada del diario"
+                    : "[ERROR] No se recuperó la partida del diario");
+            Files.deleteIfExists(journal);
+        } catch (Exception e) {
+            System.out.println("[ERROR] " + e);
+        }
+    }
+
+    /**
+     * Proceso aparte: encola escrituras grandes y sale enseguida con
+     * System.exit; la última debe quedar completa
+     */
+    public static class ExitWriter {
+        static final int BLOCK = 1 << 20;
+        static final int BLOCKS = 8;
+
+        public static void main(String[] args) {
+            Path file = Path.of(args[0]);
+            for (int i = 1; i <= BLOCKS; i++) {
+                SaveWriter.write(new byte[BLOCK * i], file);
+            }
+            System.exit(0);
+        }
+    }
 }
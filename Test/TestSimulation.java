@@ -0,0 +1,277 @@
+package Test;
+
+import Domain.*;
+import java.util.*;
+
+/**
+ * Test del ejecutor de simulaciones MVM sin interfaz gráfica
+ * Prueba:
+ * - Partidas completas por estrategia
+ * - Resultado (victoria/derrota, puntaje, ticks, frutas)
+ * - Validación de la estrategia
+ * - Torneo en paralelo y tabla de posiciones CSV
+ * - Grabación de entradas y reproducción determinista
+ * - Hash de estado incremental para detectar divergencias
+ * - Reproducción de una partida grabada mientras se dibujaba (interpolación
+ * visual en cada frame)
+ */
+public class TestSimulation {
+    public static void main(String[] args) {
+        System.out.println("========== TEST SIMULACION MVM ==========\n");
+
+        testRunAllStrategies();
+        testCustomEnemies();
+        testInvalidStrategy();
+        testTournament();
+        testReplay();
+        testStateHash();
+        testReplayWhileRendering();
+
+        System.out.println("\n========== FIN TEST SIMULACION ==========");
+    }
+
+    private static void testRunAllStrategies() {
+        System.out.println("[TEST 1] PARTIDAS POR ESTRATEGIA");
+
+        long inicio = System.currentTimeMillis();
+        boolean ok = true;
+        for (String strategy : IceCreamAIStrategyManager.getAvailableStrategies()) {
+            SimulationRunner.Result result = new SimulationRunner(Level.createLevel1(), strategy).run();
+            System.out.println("  " + result);
+            if (result.ticks <= 0 || result.finalState == GameState.PLAYING && result.won
+                    || result.fruitsCollected > result.totalFruits) {
+                ok = false;
+            }
+        }
+        System.out.println("  Tiempo total: " + (System.currentTimeMillis() - inicio) + " ms");
+
+        if (ok) {
+            System.out.println("  [OK] Simulaciones completadas");
+        } else {
+            System.out.println("  [ERROR] Resultado inconsistente");
+        }
+    }
+
+    private static void testCustomEnemies() {
+        System.out.println("\n[TEST 2] ENEMIGOS PERSONALIZADOS");
+
+        Map<String, Integer> enemies = new HashMap<>();
+        enemies.put("Narval", 2);
+        SimulationRunner.Result result = new SimulationRunner(Level.createLevel2(), "Hungry")
+                .setEnemyConfig(enemies)
+                .setMaxTicks(600)
+                .run();
+        System.out.println("  " + result);
+
+        if (result.ticks <= 600) {
+            System.out.println("  [OK] Límite de ticks respetado");
+        } else {
+            System.out.println("  [ERROR] Se superó el límite de ticks");
+        }
+    }
+
+    private static void testInvalidStrategy() {
+        System.out.println("\n[TEST 3] ESTRATEGIA INVALIDA");
+
+        try {
+            new SimulationRunner(Level.createLevel1(), "NoExiste");
+            System.out.println("  [ERROR] Se aceptó una estrategia desconocida");
+        } catch (IllegalArgumentException e) {
+            System.out.println("  [OK] " + e.getMessage());
+        }
+    }
+
+    private static void testTournament() {
+        System.out.println("\n[TEST 4] TORNEO EN PARALELO");
+
+        try {
+            List<Tournament.Standing> leaderboard = new Tournament(
+                    Arrays.asList("Hungry", "Fearful"),
+                    Arrays.asList(Level.createLevel1()),
+                    Arrays.asList("Troll", "Pot"))
+                    .setGamesPerMatchup(2)
+                    .setParallelism(4)
+                    .run();
+
+            for (Tournament.Standing standing : leaderboard) {
+                System.out.println("  " + standing);
+            }
+
+            java.nio.file.Path csv = java.nio.file.Files.createTempFile("torneo", ".csv");
+            Tournament.writeCsv(leaderboard, csv);
+            List<String> lines = java.nio.file.Files.readAllLines(csv);
+            java.nio.file.Files.delete(csv);
+
+            boolean ok = leaderboard.size() == 2 && lines.size() == 3;
+            for (Tournament.Standing standing : leaderboard) {
+                ok &= standing.getGames() == 4;
+            }
+            if (ok) {
+                System.out.println("  [OK] Torneo completado y CSV escrito (" + lines.size() + " líneas)");
+            } else {
+                System.out.println("  [ERROR] Tabla de posiciones incompleta");
+            }
+        } catch (Exception e) {
+            System.out.println("  [ERROR] " + e.getMessage());
+        }
+    }
+
+    private static void testReplay() {
+        System.out.println("\n[TEST 5] GRABACION Y REPRODUCCION");
+
+        // Misma semilla: misma partida
+        SimulationRunner.Result first = new SimulationRunner(Level.createLevel2(), "Hungry").setSeed(7).run();
+        SimulationRunner.Result second = new SimulationRunner(Level.createLevel2(), "Hungry").setSeed(7).run();
+        if (first.score == second.score && first.ticks == second.ticks && first.finalState == second.finalState) {
+            System.out.println("  [OK] Misma semilla, misma simulación (" + first + ")");
+        } else {
+            System.out.println("  [ERROR] La semilla no reproduce la simulación");
+        }
+
+        try {
+            // PVP contra un Narval: entradas "aleatorias" de ambos jugadores
+            Game game = new Game(GameMode.PVP, "Fresa", null, "Narval", null, null, null);
+            game.setRecording(true);
+            game.startLevel(2);
+            Random keys = new Random(42);
+            int[] directions = { PlayerInput.UP, PlayerInput.DOWN, PlayerInput.LEFT, PlayerInput.RIGHT };
+            int input0 = 0;
+            int input1 = 0;
+            for (int frame = 0; frame < 1500 && game.getGameState() == GameState.PLAYING; frame++) {
+                if (keys.nextInt(10) == 0) {
+                    input0 = keys.nextInt(4) == 0 ? 0 : directions[keys.nextInt(4)] | PlayerInput.MOVE;
+                }
+                if (keys.nextInt(10) == 0) {
+                    input1 = keys.nextInt(4) == 0 ? 0 : directions[keys.nextInt(4)] | PlayerInput.MOVE;
+                }
+                game.applyInput(0, input0 | (keys.nextInt(40) == 0 ? PlayerInput.ACTION : 0));
+                game.applyInput(1, input1 | (keys.nextInt(60) == 0 ? PlayerInput.ACTION : 0));
+                if (frame == 700) {
+                    game.togglePause();
+                    game.togglePause();
+                }
+                game.advance(frame % 3 == 0 ? 2 * GameClock.TICK_MS : GameClock.TICK_MS);
+            }
+
+            byte[] data = game.getReplayLog().toBytes(game);
+            ReplayPlayer.Result result = ReplayPlayer.play(ReplayLog.read(data));
+            System.out.println("  Grabación: " + data.length + " bytes, " + result);
+            if (result.matches() && result.ticks == game.getReplayLog().getTicks()
+                    && result.game.getScore() == game.getScore()) {
+                System.out.println("  [OK] La reproducción termina en el mismo estado");
+            } else {
+                System.out.println("  [ERROR] La reproducción diverge de la partida");
+            }
+
+            // Una partida cargada a mitad del nivel no tiene grabación reproducible
+            game.getSnapshots().capture(game);
+            game.rewind(1);
+            if (game.getReplayLog() == null) {
+                System.out.println("  [OK] Retroceder descarta la grabación del nivel");
+            } else {
+                System.out.println("  [ERROR] La grabación siguió después de retroceder");
+            }
+        } catch (Exception e) {
+            System.out.println("  [ERROR] " + e);
+        }
+    }
+
+    private static void testStateHash() {
+        System.out.println("\n[TEST 6] HASH DE ESTADO");
+        try {
+            // Dos simulaciones con la misma semilla, tick a tick
+            Game a = createSeededGame(11);
+            Game b = createSeededGame(11);
+            Game other = createSeededGame(12);
+            int ticks = 0;
+            int divergence = -1;
+            long otherDivergence = -1;
+            Set<Long> distinct = new HashSet<>();
+            while (a.getGameState() == GameState.PLAYING && ticks < 1500) {
+                a.update();
+                b.update();
+                other.update();
+                ticks++;
+                distinct.add(a.getBoard().getStateHash());
+                if (divergence < 0 && a.getStateHash() != b.getStateHash()) {
+                    divergence = ticks;
+                }
+                if (otherDivergence < 0 && a.getBoard().getStateHash() != other.getBoard().getStateHash()) {
+                    otherDivergence = ticks;
+                }
+            }
+            if (divergence < 0 && distinct.size() > 10) {
+                System.out.println("  [OK] Misma semilla: mismo hash en los " + ticks + " ticks ("
+                        + distinct.size() + " tableros distintos)");
+            } else {
+                System.out.println("  [ERROR] Hash distinto en el tick " + divergence + " o casi constante ("
+                        + distinct.size() + " tableros distintos)");
+            }
+            System.out.println(otherDivergence > 0
+                    ? "  [OK] Otra semilla: el tablero diverge en el tick " + otherDivergence
+                    : "  [ERROR] Otra semilla no cambió el hash");
+
+            // El hash incremental coincide con el de un tablero armado desde cero
+            a.toggleIceBlocks();
+            a.update();
+            Game copy = SaveCodec.decode(java.nio.ByteBuffer.wrap(SaveCodec.encode(a)), "prueba");
+            System.out.println(copy.getStateHash() == a.getStateHash()
+                    ? "  [OK] El hash incremental coincide con el de la partida cargada"
+                    : "  [ERROR] El hash incremental no coincide con el de la partida cargada");
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 1_000_000; i++) {
+                a.getStateHash();
+            }
+            System.out.println("  getStateHash: " + (System.nanoTime() - start) / 1_000_000 + " ns por llamada");
+        } catch (Exception e) {
+            System.out.println("  [ERROR] " + e);
+        }
+    }
+
+    private static void testReplayWhileRendering() {
+        System.out.println("\n[TEST 7] REPRODUCCION DE UNA PARTIDA DIBUJADA");
+        try {
+            // Igual que el game loop: interpolación visual después de cada frame
+            // (la reproducción nunca la llama)
+            Game game = new Game(GameMode.PVM, "Fresa", null, null, null, null, null);
+            game.setRecording(true);
+            game.startLevel(2);
+            Random keys = new Random(7);
+            int[] directions = { PlayerInput.UP, PlayerInput.DOWN, PlayerInput.LEFT, PlayerInput.RIGHT };
+            int input = 0;
+            for (int frame = 0; frame < 1200 && game.getGameState() == GameState.PLAYING; frame++) {
+                if (keys.nextInt(8) == 0) {
+                    input = keys.nextInt(3) == 0 ? 0 : directions[keys.nextInt(4)] | PlayerInput.MOVE;
+                }
+                game.applyInput(0, input | (keys.nextInt(50) == 0 ? PlayerInput.ACTION : 0));
+                game.advance(GameClock.TICK_MS);
+
+                Board board = game.getBoard();
+                board.getIceCream().updateVisualPosition();
+                for (Enemy enemy : board.getEnemies()) {
+                    if (enemy != null) {
+                        enemy.updateVisualPosition();
+                    }
+                }
+            }
+
+            ReplayPlayer.Result result = ReplayPlayer.play(ReplayLog.read(game.getReplayLog().toBytes(game)));
+            System.out.println("  " + result);
+            System.out.println(result.matches() && result.ticks == game.getReplayLog().getTicks()
+                    ? "  [OK] La interpolación visual no cambia el hash de verificación"
+                    : "  [ERROR] La reproducción diverge por el estado de la vista");
+        } catch (Exception e) {
+            System.out.println("  [ERROR] " + e);
+        }
+    }
+
+    private static Game createSeededGame(long seed) {
+        Game game = new Game(GameMode.MVM, "Vainilla", null, null, null, null, null);
+        game.setIceCreamAIStrategy("Expert");
+        game.setClock(new GameClock(0));
+        game.setSeed(seed);
+        game.startLevel(Level.createLevel2());
+        return game;
+    }
+}
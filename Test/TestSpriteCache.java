@@ -0,0 +1,102 @@
+package Test;
+
+import Presentation.SpriteCache;
+import java.awt.image.BufferedImage;
+
+/**
+ * Clase de prueba para la cache de imágenes con presupuesto (SpriteCache)
+ * Prueba:
+ * - Al pasar el presupuesto se desaloja la entrada desalojable usada hace más
+ * tiempo (LRU)
+ * - Las entradas fijas no se desalojan ni cuentan para el presupuesto
+ * - Reemplazar una clave existente corrige los contadores
+ * - Bytes residentes (fijos + desalojables) y peso de las imágenes
+ */
+public class TestSpriteCache {
+
+    public static void main(String[] args) {
+        System.out.println("========== TEST SPRITE CACHE ==========\n");
+
+        testLruEviction();
+        testPinned();
+        testReplace();
+        testResidentBytes();
+
+        System.out.println("\n========== FIN TEST SPRITE CACHE ==========");
+    }
+
+    private static void testLruEviction() {
+        System.out.println("[TEST 1] DESALOJO LRU AL PASAR EL PRESUPUESTO");
+        SpriteCache<String, String> cache = new SpriteCache<>(300);
+        cache.put("a", "A", 100);
+        cache.put("b", "B", 100);
+        cache.put("c", "C", 100);
+        cache.get("a"); // "b" queda como la menos usada
+
+        cache.put("d", "D", 100);
+        boolean lru = !cache.contains("b") && cache.contains("a") && cache.contains("c") && cache.contains("d")
+                && cache.getEvictions() == 1 && cache.getEvictableBytes() == 300;
+        System.out.println(lru
+                ? "  [OK] Se desalojó la entrada usada hace más tiempo"
+                : "  [ERROR] Desalojo incorrecto (desalojos=" + cache.getEvictions() + ", " + cache + ")");
+
+        cache.put("grande", "G", 301);
+        System.out.println(!cache.contains("grande") && cache.size() == 3
+                ? "  [OK] Un valor más grande que el presupuesto no se guarda"
+                : "  [ERROR] Se guardó un valor más grande que el presupuesto");
+    }
+
+    private static void testPinned() {
+        System.out.println("\n[TEST 2] ENTRADAS FIJAS");
+        SpriteCache<String, String> cache = new SpriteCache<>(200);
+        cache.putPinned("fija", "F", 500); // Más grande que el presupuesto y la menos usada
+        cache.put("a", "A", 100);
+        cache.put("b", "B", 100);
+        cache.put("c", "C", 100);
+
+        boolean pinned = cache.contains("fija") && !cache.contains("a") && cache.getPinnedBytes() == 500
+                && cache.getEvictableBytes() == 200 && cache.hasRoom(0) && !cache.hasRoom(1);
+        System.out.println(pinned
+                ? "  [OK] La entrada fija sobrevive y no cuenta para el presupuesto"
+                : "  [ERROR] Entrada fija desalojada o contada mal (" + cache + ")");
+    }
+
+    private static void testReplace() {
+        System.out.println("\n[TEST 3] REEMPLAZAR UNA CLAVE EXISTENTE");
+        SpriteCache<String, String> cache = new SpriteCache<>(1000);
+        cache.put("a", "A", 100);
+        cache.put("a", "A2", 40);
+        boolean smaller = "A2".equals(cache.get("a")) && cache.size() == 1 && cache.getEvictableBytes() == 40;
+
+        // Pasar de desalojable a fija (y volver) mueve los bytes de contador
+        cache.putPinned("a", "A3", 70);
+        boolean toPinned = cache.getEvictableBytes() == 0 && cache.getPinnedBytes() == 70;
+        cache.put("a", "A4", 30);
+        boolean toEvictable = cache.getEvictableBytes() == 30 && cache.getPinnedBytes() == 0 && cache.size() == 1;
+
+        System.out.println(smaller && toPinned && toEvictable
+                ? "  [OK] Los contadores reflejan solo el último valor"
+                : "  [ERROR] Contadores incorrectos tras reemplazar (" + cache + ")");
+    }
+
+    private static void testResidentBytes() {
+        System.out.println("\n[TEST 4] BYTES RESIDENTES");
+        SpriteCache<String, BufferedImage> cache = new SpriteCache<>(10_000);
+        BufferedImage sprite = new BufferedImage(10, 20, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage menu = new BufferedImage(30, 10, BufferedImage.TYPE_INT_ARGB);
+
+        cache.putPinned("sprite", sprite, SpriteCache.weigh(sprite));
+        cache.put("menu", menu, SpriteCache.weigh(menu));
+        cache.put("animado", menu, SpriteCache.weigh(menu, 6)); // GIF de 6 frames
+        cache.remove("menu");
+
+        long expected = 10 * 20 * 4 + 30 * 10 * 4 * 6;
+        boolean weights = SpriteCache.weigh(sprite) == 800 && SpriteCache.weigh(menu, 6) == 7200
+                && SpriteCache.weigh(menu, 0) == 1200 && SpriteCache.weigh(null) == 0;
+        System.out.println("  Residente: " + cache.getResidentBytes() + " bytes (esperado " + expected + ")");
+        System.out.println(weights && cache.getResidentBytes() == expected
+                && cache.getResidentBytes() == cache.getPinnedBytes() + cache.getEvictableBytes()
+                ? "  [OK] Bytes residentes = fijos + desalojables, con todos los frames"
+                : "  [ERROR] Bytes residentes incorrectos (" + cache + ")");
+    }
+}